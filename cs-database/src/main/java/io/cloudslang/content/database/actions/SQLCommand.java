@@ -28,6 +28,7 @@ import static io.cloudslang.content.constants.OutputNames.*;
 import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.database.constants.DBDefaultValues.AUTH_SQL;
+import static io.cloudslang.content.database.constants.DBDefaultValues.DEFAULT_PARAMS_DELIMITER;
 import static io.cloudslang.content.database.constants.DBDefaultValues.NEW_LINE;
 import static io.cloudslang.content.database.constants.DBInputNames.*;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
@@ -71,6 +72,12 @@ public class SQLCommand {
      * @param resultSetConcurrency      The result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
+     * @param params                    The values to bind to the '?' markers of the command, in order, separated by paramsDelimiter.
+     *                                  The command is then executed as a prepared statement, so the database parses and plans
+     *                                  it only once. The values are sent as strings and converted by the database.
+     *                                  Example: update employees set dept = ? where id = ?
+     * @param paramsDelimiter           The delimiter between the values of params.
+     *                                  Default value: ,
      * @return The return result of SQL command.
      */
     @Action(name = "SQL Command",
@@ -101,7 +108,9 @@ public class SQLCommand {
 //                                       @Param(value = TRUST_STORE_PASSWORD) String trustStorePassword,
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
-                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency) {
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = PARAMS) String params,
+                                       @Param(value = PARAMS_DELIMITER) String paramsDelimiter) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
 //        trustAllRoots = defaultIfEmpty(trustAllRoots, FALSE);
@@ -141,6 +150,7 @@ public class SQLCommand {
                     .resultSetType(getResultSetType(resultSetType))
                     .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                     .isNetcool(checkIsNetcool(dbType))
+                    .params(getSqlParams(params, defaultIfEmpty(paramsDelimiter, DEFAULT_PARAMS_DELIMITER)))
                     .build();
 
             String res = SQLCommandService.executeSqlCommand(sqlInputs);
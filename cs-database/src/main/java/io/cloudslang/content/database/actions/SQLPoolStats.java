@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.actions;
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.database.services.SQLPoolStatsService;
+import io.cloudslang.content.database.services.dbconnection.PoolStatistics;
+import io.cloudslang.content.utils.StringUtilities;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.EXCEPTION;
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBDefaultValues.NEW_LINE;
+import static io.cloudslang.content.database.constants.DBInputNames.POOL_KEY;
+import static io.cloudslang.content.database.constants.DBOutputNames.ACTIVE_CONNECTIONS;
+import static io.cloudslang.content.database.constants.DBOutputNames.IDLE_CONNECTIONS;
+import static io.cloudslang.content.database.constants.DBOutputNames.POOL_COUNT;
+import static io.cloudslang.content.database.constants.DBOutputNames.TOTAL_CONNECTIONS;
+import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
+import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
+
+/**
+ * Reports the pooled datasources opened by the database operations of this worker, with
+ * db.pooling.enable=true in their databasePoolingProperties.
+ */
+public class SQLPoolStats {
+
+    /**
+     * @param poolKey Only the pools whose key contains this text. The key of a pool is the db type followed by '.'
+     *                and the connection url, for example ORACLE.jdbc:oracle:thin:@host:1521:db
+     *                A user or a password in the url is shown as ****.
+     *                Default value: all the pools
+     * @return One line per pool with its connections and its checkout metrics: the number of checkouts, of failed
+     * checkouts and of checkouts that timed out, the average and the maximum checkout time, the number of checkouts
+     * that waited more than 20 ms for a connection and their average time.
+     */
+    @Action(name = "SQL Pool Stats",
+            outputs = {
+                    @Output(RETURN_CODE),
+                    @Output(RETURN_RESULT),
+                    @Output(POOL_COUNT),
+                    @Output(TOTAL_CONNECTIONS),
+                    @Output(ACTIVE_CONNECTIONS),
+                    @Output(IDLE_CONNECTIONS),
+                    @Output(EXCEPTION)
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = RETURN_CODE, value = SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = RETURN_CODE, value = FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute(@Param(value = POOL_KEY) String poolKey) {
+        try {
+            final List<PoolStatistics> statistics = SQLPoolStatsService.getPoolStatistics(poolKey);
+            int totalConnections = 0;
+            int activeConnections = 0;
+            int idleConnections = 0;
+            for (final PoolStatistics poolStatistics : statistics) {
+                totalConnections += poolStatistics.getTotalConnections();
+                activeConnections += poolStatistics.getActiveConnections();
+                idleConnections += poolStatistics.getIdleConnections();
+            }
+
+            final Map<String, String> result = getSuccessResultsMap(StringUtilities.join(statistics, NEW_LINE));
+            result.put(POOL_COUNT, String.valueOf(statistics.size()));
+            result.put(TOTAL_CONNECTIONS, String.valueOf(totalConnections));
+            result.put(ACTIVE_CONNECTIONS, String.valueOf(activeConnections));
+            result.put(IDLE_CONNECTIONS, String.valueOf(idleConnections));
+            return result;
+        } catch (Exception e) {
+            return getFailureResultsMap(e);
+        }
+    }
+}
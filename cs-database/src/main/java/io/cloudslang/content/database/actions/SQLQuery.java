@@ -20,12 +20,14 @@ import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.database.constants.DBReturnCodes;
 import io.cloudslang.content.database.services.SQLQueryService;
+import io.cloudslang.content.database.utils.SQLCursor;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLSessionResource;
 import io.cloudslang.content.utils.BooleanUtilities;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +43,7 @@ import static io.cloudslang.content.database.constants.DBResponseNames.NO_MORE;
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
 import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlQueryInputs;
 import static io.cloudslang.content.database.utils.SQLUtils.getRowsFromGlobalSessionMap;
+import static io.cloudslang.content.utils.NumberUtilities.isValidInt;
 import static io.cloudslang.content.utils.NumberUtilities.toInteger;
 import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
 import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
@@ -88,6 +91,21 @@ public class SQLQuery {
      * @param ignoreCase                If set to true the inputs' letters case will be ignored and converted to lowercase.
      *                                  Valid values: true, false
      *                                  Default value: true
+     * @param fetchSize                 The number of rows to fetch from the database at a time. If greater than 0, the query
+     *                                  result is not loaded in memory: the connection and the result set are kept open between
+     *                                  calls and rows are read in chunks of fetchSize. In this mode "rowsLeft" holds the
+     *                                  number of rows already fetched and not yet returned, more rows may still be available.
+     *                                  When fetchSize is greater than 0 the default resultSetType is TYPE_FORWARD_ONLY.
+     *                                  Default value: 0
+     * @param cursorIdleTimeout         Seconds after which an open result set that was not advanced is closed together with
+     *                                  its connection. Only used when fetchSize is greater than 0.
+     *                                  Default value: 600
+     * @param params                    The values to bind to the '?' markers of the command, in order, separated by paramsDelimiter.
+     *                                  The command is then executed as a prepared statement, so the database parses and plans
+     *                                  it only once. The values are sent as strings and converted by the database.
+     *                                  Example: select * from employees where dept = ? and hired > ?
+     * @param paramsDelimiter           The delimiter between the values of params.
+     *                                  Default value: ,
      * @return It contains the data of one row, separated by the "delimiter".
      */
     @Action(name = "SQL Query",
@@ -125,6 +143,10 @@ public class SQLQuery {
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
                                        @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
                                        @Param(value = IGNORE_CASE) String ignoreCase,
+                                       @Param(value = FETCH_SIZE) String fetchSize,
+                                       @Param(value = CURSOR_IDLE_TIMEOUT) String cursorIdleTimeout,
+                                       @Param(value = PARAMS) String params,
+                                       @Param(value = PARAMS_DELIMITER) String paramsDelimiter,
                                        @Param(value = GLOBAL_SESSION_OBJECT) GlobalSessionObject<Map<String, Object>> globalSessionObject) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
@@ -134,13 +156,15 @@ public class SQLQuery {
 //        trustStore = defaultIfEmpty(trustStore, EMPTY);
 //        trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
         timeout = defaultIfEmpty(timeout, DEFAULT_TIMEOUT);
-        resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
+        fetchSize = defaultIfEmpty(fetchSize, DEFAULT_FETCH_SIZE);
+        cursorIdleTimeout = defaultIfEmpty(cursorIdleTimeout, DEFAULT_CURSOR_IDLE_TIMEOUT);
+        resultSetType = defaultIfEmpty(resultSetType, isValidInt(fetchSize) && toInteger(fetchSize) > 0 ? TYPE_FORWARD_ONLY : TYPE_SCROLL_INSENSITIVE);
         resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
         ignoreCase = defaultIfEmpty(ignoreCase, TRUE);
 
         final List<String> preInputsValidation = validateSqlQueryInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, command, /*trustAllRoots, trustStore, trustStorePassword,*/
-                timeout, resultSetType, resultSetConcurrency, ignoreCase);
+                timeout, resultSetType, resultSetConcurrency, ignoreCase, fetchSize, cursorIdleTimeout);
 
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
@@ -172,6 +196,9 @@ public class SQLQuery {
                 .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                 .ignoreCase(ignoreCaseBool)
                 .isNetcool(checkIsNetcool(dbType))
+                .fetchSize(toInteger(fetchSize))
+                .cursorIdleTimeout(toInteger(cursorIdleTimeout))
+                .params(getSqlParams(params, defaultIfEmpty(paramsDelimiter, DEFAULT_PARAMS_DELIMITER)))
                 .build();
 
 
@@ -182,9 +209,19 @@ public class SQLQuery {
 
             final Map<String, Object> globalMap = globalSessionObject.get();
 
+            final Object sessionValue = globalMap.get(aKey);
+            if (sessionValue instanceof SQLCursor) {
+                return getNextCursorRow((SQLCursor) sessionValue, sqlInputs, aKey, globalSessionObject);
+            }
+            if (sqlInputs.getFetchSize() > 0 && sessionValue == null) {
+                return getNextCursorRow(SQLQueryService.openSqlCursor(sqlInputs), sqlInputs, aKey, globalSessionObject);
+            }
+
             if (globalMap.containsKey(aKey)) {
                 sqlInputs.setLRows(getRowsFromGlobalSessionMap(globalSessionObject, aKey));
             } else {
+                //rows are consumed from the head, one per call
+                sqlInputs.setLRows(new LinkedList<String>());
                 SQLQueryService.executeSqlQuery(sqlInputs);
             }
 
@@ -216,4 +253,35 @@ public class SQLQuery {
             return failureMap;
         }
     }
+
+    private Map<String, String> getNextCursorRow(final SQLCursor cursor, final SQLInputs sqlInputs, final String aKey,
+                                                 final GlobalSessionObject<Map<String, Object>> globalSessionObject) throws Exception {
+        final Map<String, Object> globalMap = globalSessionObject.get();
+        final String row;
+        try {
+            row = cursor.next();
+        } catch (Exception e) {
+            cursor.close();
+            globalMap.remove(aKey);
+            throw e;
+        }
+
+        Map<String, String> result = new HashMap<>();
+        if (row != null) {
+            result = getSuccessResultsMap(row);
+            result.put(COLUMN_NAMES, cursor.getStrColumns());
+            result.put(ROWS_LEFT, String.valueOf(cursor.getBufferedRows()));
+
+            globalMap.put(aKey, cursor);
+            globalSessionObject.setResource(new SQLSessionResource(globalMap));
+        } else {
+            result.put(SQL_QUERY, sqlInputs.getSqlCommand());
+            result.put(RETURN_RESULT, NO_MORE);
+            result.put(ROWS_LEFT, ZERO);
+            result.put(RETURN_CODE, DBReturnCodes.NO_MORE);
+
+            globalMap.remove(aKey);
+        }
+        return result;
+    }
 }
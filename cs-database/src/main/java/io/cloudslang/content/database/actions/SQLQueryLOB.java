@@ -90,6 +90,17 @@ public class SQLQueryLOB {
      * @param resultSetConcurrency      the result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
+     * @param lobDirectory              The directory where every CLOB and BLOB value is written as a file named after its
+     *                                  column label, column number and row number. The rows hold the paths of the files
+     *                                  instead of the values.
+     *                                  By default only CLOB values are written, to temporary files that are returned one by one.
+     * @param lobArchive                The path of a zip archive where every CLOB and BLOB value is written as an entry. The
+     *                                  rows hold the archive path followed by '!' and the entry name.
+     *                                  Only one of lobDirectory and lobArchive can be specified.
+     * @param maxLobSize                The maximum size of a single LOB value in bytes. The query fails if a value is larger.
+     *                                  Default value: 0 (no limit)
+     * @param lobWorkers                The number of LOB files that are written while the next rows are fetched.
+     *                                  Default value: 2
      * @return Returns the data of a row returned from query. It is delimited by <delimiter>.
      */
     @Action(name = "SQL Query LOB",
@@ -126,6 +137,10 @@ public class SQLQueryLOB {
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
                                        @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = LOB_DIRECTORY) String lobDirectory,
+                                       @Param(value = LOB_ARCHIVE) String lobArchive,
+                                       @Param(value = MAX_LOB_SIZE) String maxLobSize,
+                                       @Param(value = LOB_WORKERS) String lobWorkers,
                                        @Param(value = GLOBAL_SESSION_OBJECT) GlobalSessionObject<Map<String, Object>> globalSessionObject) {
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
         instance = defaultIfEmpty(instance, EMPTY);
@@ -137,10 +152,12 @@ public class SQLQueryLOB {
 
         resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
         resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
+        maxLobSize = defaultIfEmpty(maxLobSize, DEFAULT_MAX_LOB_SIZE);
+        lobWorkers = defaultIfEmpty(lobWorkers, DEFAULT_LOB_WORKERS);
 
         final List<String> preInputsValidation = validateSqlQueryLOBInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, command, /*trustAllRoots, trustStore, trustStorePassword,*/
-                timeout, resultSetType, resultSetConcurrency);
+                timeout, resultSetType, resultSetConcurrency, lobDirectory, lobArchive, maxLobSize, lobWorkers);
 
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
@@ -171,6 +188,10 @@ public class SQLQueryLOB {
                 .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                 .ignoreCase(true)
                 .isNetcool(checkIsNetcool(dbType))
+                .lobDirectory(defaultIfEmpty(lobDirectory, EMPTY))
+                .lobArchive(defaultIfEmpty(lobArchive, EMPTY))
+                .maxLobSize(toInteger(maxLobSize))
+                .lobWorkers(toInteger(lobWorkers))
                 .build();
 
         try {
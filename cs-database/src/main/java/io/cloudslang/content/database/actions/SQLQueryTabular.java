@@ -74,6 +74,20 @@ public class SQLQueryTabular {
      * @param resultSetConcurrency      the result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
+     * @param fetchSize                 The number of rows the JDBC driver fetches from the database at a time. 0 lets the driver decide.
+     *                                  Default value: 0
+     * @param outputFile                The path of a file to write the result to. When set, the rows are streamed to the file
+     *                                  instead of being kept in memory and "returnResult" contains the path of the file.
+     *                                  An existing file is overwritten.
+     * @param maxResultLength           The maximum number of characters of the result returned in "returnResult". The operation
+     *                                  fails as soon as the result gets longer. Not used when outputFile is set. 0 means no limit.
+     *                                  Default value: 0
+     * @param params                    The values to bind to the '?' markers of the command, in order, separated by paramsDelimiter.
+     *                                  The command is then executed as a prepared statement, so the database parses and plans
+     *                                  it only once. The values are sent as strings and converted by the database.
+     *                                  Example: select * from employees where dept = ? and hired > ?
+     * @param paramsDelimiter           The delimiter between the values of params.
+     *                                  Default value: ,
      * @return Returns the data returned from the query as a table.
      */
     @Action(name = "SQL Query Tabular",
@@ -105,7 +119,12 @@ public class SQLQueryTabular {
                                        @Param(value = TIMEOUT) String timeout,
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
-                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency) {
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = FETCH_SIZE) String fetchSize,
+                                       @Param(value = OUTPUT_FILE) String outputFile,
+                                       @Param(value = MAX_RESULT_LENGTH) String maxResultLength,
+                                       @Param(value = PARAMS) String params,
+                                       @Param(value = PARAMS_DELIMITER) String paramsDelimiter) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
         instance = defaultIfEmpty(instance, EMPTY);
@@ -117,10 +136,12 @@ public class SQLQueryTabular {
 
         resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
         resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
+        fetchSize = defaultIfEmpty(fetchSize, DEFAULT_FETCH_SIZE);
+        maxResultLength = defaultIfEmpty(maxResultLength, DEFAULT_MAX_RESULT_LENGTH);
 
         final List<String> preInputsValidation = validateSqlQueryTabularInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, command, /*trustAllRoots, trustStore, trustStorePassword,*/
-                timeout, resultSetType, resultSetConcurrency);
+                timeout, resultSetType, resultSetConcurrency, fetchSize, maxResultLength);
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
         }
@@ -146,6 +167,10 @@ public class SQLQueryTabular {
                 .resultSetType(getResultSetTypeForDbType(resultSetType, dbType))
                 .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                 .isNetcool(checkIsNetcool(dbType))
+                .fetchSize(toInteger(fetchSize))
+                .outputFile(defaultIfEmpty(outputFile, EMPTY))
+                .maxResultLength(toInteger(maxResultLength))
+                .params(getSqlParams(params, defaultIfEmpty(paramsDelimiter, DEFAULT_PARAMS_DELIMITER)))
                 .build();
         try {
             final String queryResult = SQLQueryTabularService.execSqlQueryTabular(sqlInputs);
@@ -19,26 +19,32 @@ import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.database.services.SQLScriptService;
 import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLScriptReader;
+import io.cloudslang.content.utils.BooleanUtilities;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import static io.cloudslang.content.constants.BooleanValues.FALSE;
 import static io.cloudslang.content.constants.OutputNames.*;
 import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
-import static io.cloudslang.content.database.constants.DBDefaultValues.AUTH_SQL;
-import static io.cloudslang.content.database.constants.DBDefaultValues.NEW_LINE;
+import static io.cloudslang.content.database.constants.DBDefaultValues.*;
 import static io.cloudslang.content.database.constants.DBExceptionValues.NO_SQL_COMMAND;
 import static io.cloudslang.content.database.constants.DBInputNames.*;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
+import static io.cloudslang.content.database.constants.DBOutputNames.CHUNK_TIMINGS;
 import static io.cloudslang.content.database.constants.DBOutputNames.UPDATE_COUNT;
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
 import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlScriptInputs;
+import static io.cloudslang.content.utils.NumberUtilities.toInteger;
 import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
 import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+import static org.apache.commons.lang3.StringUtils.isNoneEmpty;
 
 /**
  * Created by pinteae on 1/11/2017.
@@ -46,6 +52,9 @@ import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
 public class SQLScript {
 
     /**
+     * Consecutive statements are sent to the database as one statement batch. With batchInserts, consecutive single row
+     * INSERT ... VALUES statements that only differ in their literal values are sent as one prepared statement batch instead.
+     *
      * @param dbServerName              The hostname or ip address of the database server.
      * @param dbType                    The type of database to connect to.
      *                                  Valid values: Oracle, MSSQL, Sybase, Netcool, DB2, PostgreSQL and Custom.
@@ -74,6 +83,22 @@ public class SQLScript {
      * @param resultSetConcurrency      The result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
+     * @param commitSize                The number of statements to run in one transaction. The transaction is committed every
+     *                                  commitSize statements, so a failing script leaves the chunks before the failure committed.
+     *                                  0 runs every section in a single transaction.
+     *                                  Default value: 0
+     * @param parallelSections          The number of script sections that run at the same time, each one on its own connection.
+     *                                  The sections must not depend on each other. Use it together with sectionDelimiter.
+     *                                  Default value: 1
+     * @param sectionDelimiter          A statement that ends a section of the script, for example SECTION written as "SECTION;"
+     *                                  in the script file. Every section is committed when it ends.
+     *                                  By default the whole script is one section.
+     * @param batchInserts              If set to true, the literal values of consecutive single row INSERT statements are bound to
+     *                                  one prepared statement: quoted literals as strings and numbers as decimals. Use it only when
+     *                                  the database converts them to the column types, a DATE column written with a quoted
+     *                                  literal may not accept the string parameter.
+     *                                  Valid values: true, false
+     *                                  Default value: false
      * @return Returns a success or failure message.
      */
     @Action(name = "SQL Script",
@@ -82,6 +107,7 @@ public class SQLScript {
                     @Output(RETURN_RESULT),
                     @Output(EXCEPTION),
                     @Output(UPDATE_COUNT),
+                    @Output(CHUNK_TIMINGS),
             },
             responses = {
                     @Response(text = ResponseNames.SUCCESS, field = RETURN_CODE, value = SUCCESS,
@@ -107,7 +133,11 @@ public class SQLScript {
 //                                       @Param(value = TRUST_STORE_PASSWORD) String trustStorePassword,
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
-                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency) {
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = COMMIT_SIZE) String commitSize,
+                                       @Param(value = PARALLEL_SECTIONS) String parallelSections,
+                                       @Param(value = SECTION_DELIMITER) String sectionDelimiter,
+                                       @Param(value = BATCH_INSERTS) String batchInserts) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
         instance = defaultIfEmpty(instance, EMPTY);
@@ -118,10 +148,13 @@ public class SQLScript {
 
         resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
         resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
+        commitSize = defaultIfEmpty(commitSize, DEFAULT_COMMIT_SIZE);
+        parallelSections = defaultIfEmpty(parallelSections, DEFAULT_PARALLEL_SECTIONS);
+        batchInserts = defaultIfEmpty(batchInserts, FALSE);
 
         final List<String> preInputsValidation = validateSqlScriptInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, sqlCommands, scriptFileName, /*trustAllRoots, trustStore, trustStorePassword,*/
-                resultSetType, resultSetConcurrency);
+                resultSetType, resultSetConcurrency, commitSize, parallelSections, batchInserts);
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
         }
@@ -140,7 +173,7 @@ public class SQLScript {
                 .dbClass(getOrDefaultDBClass(dbClass, dbType))
                 .dbUrl(defaultIfEmpty(dbURL, EMPTY))
                 .strDelim(delimiter)
-                .sqlCommands(getSqlCommands(sqlCommands, scriptFileName, delimiter))
+                .sqlCommands(getSqlCommands(sqlCommands, null, delimiter))
 //                .trustAllRoots(BooleanUtilities.toBoolean(trustAllRoots))
 //                .trustStore(trustStore)
 //                .trustStorePassword(trustStorePassword)
@@ -148,19 +181,33 @@ public class SQLScript {
                 .resultSetType(getResultSetType(resultSetType))
                 .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                 .isNetcool(checkIsNetcool(dbType))
+                .commitSize(toInteger(commitSize))
+                .parallelSections(toInteger(parallelSections))
+                .sectionDelimiter(defaultIfEmpty(sectionDelimiter, EMPTY))
+                .batchInserts(BooleanUtilities.toBoolean(batchInserts))
                 .build();
 
         try {
-            final List<String> commands = sqlInputs.getSqlCommands();
-            if (!commands.isEmpty()) {
-                final String res = SQLScriptService.executeSqlScript(commands, sqlInputs);
-                final Map<String, String> result = getSuccessResultsMap(res);
-                result.put(UPDATE_COUNT, String.valueOf(sqlInputs.getIUpdateCount()));
-                return result;
+            if (isNoneEmpty(scriptFileName)) {
+                //the statements of a script file are executed while the file is read
+                try (final SQLScriptReader statements = SQLScriptReader.open(scriptFileName)) {
+                    return executeSqlStatements(statements, sqlInputs);
+                }
             }
-            return getFailureResultsMap(NO_SQL_COMMAND);
+            return executeSqlStatements(sqlInputs.getSqlCommands().iterator(), sqlInputs);
         } catch (Exception e) {
             return getFailureResultsMap(e);
         }
     }
+
+    private static Map<String, String> executeSqlStatements(final Iterator<String> statements, final SQLInputs sqlInputs) throws Exception {
+        if (!statements.hasNext()) {
+            return getFailureResultsMap(NO_SQL_COMMAND);
+        }
+        final String res = SQLScriptService.executeSqlStatements(statements, sqlInputs);
+        final Map<String, String> result = getSuccessResultsMap(res);
+        result.put(UPDATE_COUNT, String.valueOf(sqlInputs.getIUpdateCount()));
+        result.put(CHUNK_TIMINGS, StringUtils.join(sqlInputs.getChunkTimings(), NEW_LINE));
+        return result;
+    }
 }
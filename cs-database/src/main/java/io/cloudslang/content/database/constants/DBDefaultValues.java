@@ -16,4 +16,12 @@ public class DBDefaultValues {
     public static final String AUTH_SQL = "Sql";
     public static final String DEFAULT_TIMEOUT = "120";
     public static final String NEW_LINE = "\n";
+    public static final String DEFAULT_FETCH_SIZE = "0";
+    public static final String DEFAULT_CURSOR_IDLE_TIMEOUT = "600";
+    public static final String DEFAULT_MAX_RESULT_LENGTH = "0";
+    public static final String DEFAULT_COMMIT_SIZE = "0";
+    public static final String DEFAULT_PARALLEL_SECTIONS = "1";
+    public static final String DEFAULT_MAX_LOB_SIZE = "0";
+    public static final String DEFAULT_LOB_WORKERS = "2";
+    public static final String DEFAULT_PARAMS_DELIMITER = ",";
 }
@@ -35,4 +35,13 @@ public class DBExceptionValues extends ExceptionValues {
     public static final String INVALID_COMMANDS_EXCLUSIVITY = "Only one of the sqlCommands and scriptFileName can be specified";
     public static final String INVALID_AUTHENTICATION_TYPE_FOR_MS_SQL = "Invalid authentication type for MS SQL : ";
     public static final String NO_SQL_COMMAND = "No SQL command to be executed.";
+    public static final String INVALID_FETCH_SIZE = "fetchSize has to be a positive integer or 0!";
+    public static final String INVALID_MAX_RESULT_LENGTH = "maxResultLength has to be a positive integer or 0!";
+    public static final String INVALID_COMMIT_SIZE = "commitSize has to be a positive integer or 0!";
+    public static final String INVALID_BATCH_INSERTS = "The value \"%s\" is an invalid value for batchInserts input.";
+    public static final String INVALID_PARALLEL_SECTIONS = "parallelSections has to be an integer greater than zero!";
+    public static final String INVALID_LOB_EXCLUSIVITY = "Only one of the lobDirectory and lobArchive can be specified";
+    public static final String INVALID_MAX_LOB_SIZE = "maxLobSize has to be a positive integer or 0!";
+    public static final String INVALID_LOB_WORKERS = "lobWorkers has to be an integer greater than zero!";
+    public static final String INVALID_CURSOR_IDLE_TIMEOUT = "cursorIdleTimeout has to be an integer greater than zero!";
 }
@@ -40,4 +40,19 @@ public class DBInputNames extends InputNames {
     public static final String SCRIPT_FILE_NAME = "scriptFileName";
     public static final String GLOBAL_SESSION_OBJECT = "globalSessionObject";
     public static final String SQL_COMMANDS = "sqlCommands";
+    public static final String FETCH_SIZE = "fetchSize";
+    public static final String CURSOR_IDLE_TIMEOUT = "cursorIdleTimeout";
+    public static final String OUTPUT_FILE = "outputFile";
+    public static final String MAX_RESULT_LENGTH = "maxResultLength";
+    public static final String COMMIT_SIZE = "commitSize";
+    public static final String PARALLEL_SECTIONS = "parallelSections";
+    public static final String SECTION_DELIMITER = "sectionDelimiter";
+    public static final String BATCH_INSERTS = "batchInserts";
+    public static final String LOB_DIRECTORY = "lobDirectory";
+    public static final String LOB_ARCHIVE = "lobArchive";
+    public static final String MAX_LOB_SIZE = "maxLobSize";
+    public static final String LOB_WORKERS = "lobWorkers";
+    public static final String PARAMS = "params";
+    public static final String PARAMS_DELIMITER = "paramsDelimiter";
+    public static final String POOL_KEY = "poolKey";
 }
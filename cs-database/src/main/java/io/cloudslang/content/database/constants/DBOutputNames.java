@@ -20,4 +20,9 @@ public class DBOutputNames extends OutputNames {
     public static final String OUTPUT_TEXT = "outputText";
     public static final String COLUMN_NAMES = "columnNames";
     public static final String SQL_QUERY = "sqlQuery";
+    public static final String CHUNK_TIMINGS = "chunkTimings";
+    public static final String POOL_COUNT = "poolCount";
+    public static final String TOTAL_CONNECTIONS = "totalConnections";
+    public static final String ACTIVE_CONNECTIONS = "activeConnections";
+    public static final String IDLE_CONNECTIONS = "idleConnections";
 }
@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.services;
+
+import org.apache.commons.io.IOUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes LOB values to files while the result set is still being fetched.
+ * <p/>
+ * The caller thread reads every LOB from the result set in fixed size buffers and hands them to a bounded
+ * pool of writer threads, so that fetching the next rows overlaps with writing the previous LOBs to disk.
+ * At most (2 * workers) LOBs are in flight and each of them holds at most QUEUED_BUFFERS buffers, so the
+ * memory used does not depend on the size or the number of the LOBs.
+ * <p/>
+ * The LOBs are written either as files in a directory, as temporary files, or as the entries of a single zip archive.
+ * A LOB that is aborted or fails is deleted; in an archive this deletes the whole archive when the exporter is closed.
+ */
+class LobExporter implements Closeable {
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final int QUEUED_BUFFERS = 8;
+    private static final byte[] END = new byte[0];
+    private static final byte[] ABORT = new byte[0];
+
+    private final File directory;
+    private final ZipOutputStream archive;
+    private final String archivePath;
+    private final long maxLobSize;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final List<Future<Void>> writes = new ArrayList<>();
+    private volatile boolean incompleteArchive;
+
+    private LobExporter(final File directory, final File archive, final long maxLobSize, final int workers) throws IOException {
+        this.directory = directory;
+        this.archive = archive == null ? null : new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(archive), BUFFER_SIZE));
+        this.archivePath = archive == null ? null : archive.getAbsolutePath();
+        this.maxLobSize = maxLobSize;
+        //the entries of an archive have to be written one after the other
+        final int threads = archive == null ? workers : 1;
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(@NotNull final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "SQLQueryLobWriter");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.inFlight = new Semaphore(2 * threads);
+    }
+
+    /**
+     * @param directory  the directory of the files, or null for temporary files
+     * @param maxLobSize the maximum size of a LOB in bytes, 0 for no limit
+     * @param workers    the number of files written at the same time
+     */
+    static LobExporter toDirectory(final File directory, final long maxLobSize, final int workers) throws IOException {
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create the directory " + directory.getAbsolutePath());
+        }
+        return new LobExporter(directory, null, maxLobSize, workers);
+    }
+
+    /**
+     * @param archive    the zip file that receives every LOB as an entry
+     * @param maxLobSize the maximum size of a LOB in bytes, 0 for no limit
+     */
+    static LobExporter toArchive(@NotNull final File archive, final long maxLobSize) throws IOException {
+        return new LobExporter(null, archive, maxLobSize, 1);
+    }
+
+    /**
+     * Writes a character LOB encoded as UTF-8.
+     *
+     * @return the path of the file, or the archive path followed by '!' and the entry name
+     */
+    String export(@NotNull final String prefix, @NotNull final String suffix, @NotNull final Reader reader) throws Exception {
+        final ChunkOutputStream out = start(prefix, suffix);
+        try {
+            //the writer is only flushed, closing it would end the LOB before an abort
+            final Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            IOUtils.copyLarge(reader, writer, new char[BUFFER_SIZE / 2]);
+            writer.flush();
+            return out.path;
+        } catch (Exception e) {
+            out.abort();
+            throw e;
+        } finally {
+            out.close();
+            reader.close();
+        }
+    }
+
+    /**
+     * Writes a binary LOB.
+     *
+     * @return the path of the file, or the archive path followed by '!' and the entry name
+     */
+    String export(@NotNull final String prefix, @NotNull final String suffix, @NotNull final InputStream in) throws Exception {
+        final ChunkOutputStream out = start(prefix, suffix);
+        try {
+            IOUtils.copyLarge(in, out, new byte[BUFFER_SIZE]);
+            return out.path;
+        } catch (Exception e) {
+            out.abort();
+            throw e;
+        } finally {
+            out.close();
+            in.close();
+        }
+    }
+
+    /**
+     * Waits until every LOB is written. When a LOB of an archive could not be written completely the archive is
+     * deleted, so that it never holds a truncated entry.
+     *
+     * @throws IOException if a LOB could not be written, with the errors of the other LOBs as suppressed exceptions
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        boolean interrupted = false;
+        for (final Future<Void> write : writes) {
+            try {
+                write.get();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                failure = addFailure(failure, e);
+                break;
+            } catch (ExecutionException e) {
+                failure = addFailure(failure, e.getCause());
+            }
+        }
+        if (interrupted) {
+            //the writers may wait for buffers that will never come
+            for (final Future<Void> write : writes) {
+                write.cancel(true);
+            }
+        }
+        executor.shutdown();
+        //the archive is only closed once no writer uses it anymore
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (archive != null) {
+            try {
+                archive.close();
+            } catch (IOException e) {
+                failure = addFailure(failure, e);
+            }
+            if ((failure != null || incompleteArchive) && !new File(archivePath).delete()) {
+                failure = addFailure(failure, new IOException("Could not delete the incomplete archive " + archivePath));
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static IOException addFailure(final IOException failure, final Throwable error) {
+        if (failure == null) {
+            return error instanceof IOException ? (IOException) error : new IOException(error);
+        }
+        failure.addSuppressed(error);
+        return failure;
+    }
+
+    private ChunkOutputStream start(final String prefix, final String suffix) throws Exception {
+        final String path;
+        final File file;
+        if (archive != null) {
+            file = null;
+            path = archivePath + "!" + prefix + suffix;
+        } else {
+            file = directory == null ? File.createTempFile(prefix, suffix) : new File(directory, prefix + suffix);
+            path = file.getAbsolutePath();
+        }
+        inFlight.acquire();
+        final WriteTask task = new WriteTask(file, prefix + suffix);
+        try {
+            writes.add(executor.submit(task));
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        return new ChunkOutputStream(task.chunks, path);
+    }
+
+    /**
+     * Hands the written bytes to a WriteTask in buffers of BUFFER_SIZE and enforces the size limit.
+     */
+    private class ChunkOutputStream extends OutputStream {
+        private final BlockingQueue<byte[]> chunks;
+        private final String path;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int count;
+        private long size;
+        private boolean closed;
+
+        ChunkOutputStream(final BlockingQueue<byte[]> chunks, final String path) {
+            this.chunks = chunks;
+            this.path = path;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(@NotNull final byte[] b, int off, int len) throws IOException {
+            size += len;
+            if (maxLobSize > 0 && size > maxLobSize) {
+                throw new IOException("The LOB written to " + path + " is larger than the maximum of " + maxLobSize + " bytes.");
+            }
+            while (len > 0) {
+                final int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+                if (count == buffer.length) {
+                    put(Arrays.copyOf(buffer, count));
+                    count = 0;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (count > 0) {
+                put(Arrays.copyOf(buffer, count));
+            }
+            put(END);
+        }
+
+        /**
+         * Ends the LOB without writing the rest of it and deletes what was already written, or the archive.
+         */
+        void abort() throws IOException {
+            if (!closed) {
+                closed = true;
+                put(ABORT);
+            }
+        }
+
+        private void put(final byte[] chunk) throws IOException {
+            try {
+                chunks.put(chunk);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the buffers of one LOB until the END or the ABORT marker. After an error it keeps taking buffers,
+     * so the caller thread is never blocked by a failed write.
+     */
+    private class WriteTask implements Callable<Void> {
+        private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(QUEUED_BUFFERS);
+        private final File file;
+        private final String entryName;
+
+        WriteTask(final File file, final String entryName) {
+            this.file = file;
+            this.entryName = entryName;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            byte[] chunk = null;
+            try {
+                try (final OutputStream out = open()) {
+                    while ((chunk = chunks.take()) != END && chunk != ABORT) {
+                        out.write(chunk);
+                    }
+                }
+                if (chunk == ABORT) {
+                    discard();
+                }
+                return null;
+            } catch (Exception e) {
+                //an interrupted writer is cancelled, nobody sends the rest of the LOB anymore
+                while (!(e instanceof InterruptedException) && chunk != END && chunk != ABORT) {
+                    //discard the rest of the LOB
+                    chunk = chunks.take();
+                }
+                discard();
+                throw e;
+            } finally {
+                inFlight.release();
+            }
+        }
+
+        //an entry cannot be removed from an archive, the whole archive is deleted on close
+        private void discard() {
+            if (file != null) {
+                file.delete();
+            } else {
+                incompleteArchive = true;
+            }
+        }
+
+        private OutputStream open() throws IOException {
+            if (archive == null) {
+                return new FileOutputStream(file);
+            }
+            archive.putNextEntry(new ZipEntry(entryName));
+            return new OutputStream() {
+                @Override
+                public void write(final int b) throws IOException {
+                    archive.write(b);
+                }
+
+                @Override
+                public void write(@NotNull final byte[] b, final int off, final int len) throws IOException {
+                    archive.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    archive.closeEntry();
+                }
+            };
+        }
+    }
+}
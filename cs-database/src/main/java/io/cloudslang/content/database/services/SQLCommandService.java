@@ -36,6 +36,9 @@ public class SQLCommandService {
 
                 final PreparedStatement preparedStatement = connection.prepareStatement(sqlInputs.getSqlCommand());
                 preparedStatement.setQueryTimeout(sqlInputs.getTimeout());
+                if (sqlInputs.getParams() != null) {
+                    SQLUtils.setParameters(preparedStatement, sqlInputs.getParams(), SQLUtils.isTypeOtherStrings(dbType));
+                }
                 OracleDbmsOutput oracleDbmsOutput = new OracleDbmsOutput(connection);
                 preparedStatement.executeQuery();
                 sqlInputs.setIUpdateCount(preparedStatement.getUpdateCount());
@@ -44,10 +47,10 @@ public class SQLCommandService {
                 oracleDbmsOutput.close();
                 return output;
             } else {
-                final Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
+                final Statement statement = SQLUtils.createStatement(connection, sqlInputs);
                 statement.setQueryTimeout(sqlInputs.getTimeout());
                 try {
-                    statement.execute(sqlInputs.getSqlCommand());
+                    SQLUtils.execute(statement, sqlInputs.getSqlCommand());
                 } catch (SQLException e) {
                     if (SYBASE_DB_TYPE.equalsIgnoreCase(dbType)) {
                         //during a dump sybase sends back status as exceptions.
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.services;
+
+import io.cloudslang.content.database.services.dbconnection.DBConnectionManager;
+import io.cloudslang.content.database.services.dbconnection.PoolStatistics;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the connections and the checkout metrics of the pooled datasources of this worker.
+ */
+public class SQLPoolStatsService {
+
+    /**
+     * @param poolKey only the pools whose key (db type + "." + connection url) contains this text, all pools when empty
+     * @return the statistics of the matching pools
+     */
+    public static List<PoolStatistics> getPoolStatistics(final String poolKey) {
+        final List<PoolStatistics> statistics = new ArrayList<>();
+        for (final PoolStatistics poolStatistics : DBConnectionManager.getInstance().getPoolStatistics()) {
+            if (StringUtils.isEmpty(poolKey) || poolStatistics.getPoolKey().contains(poolKey)) {
+                statistics.add(poolStatistics);
+            }
+        }
+        return statistics;
+    }
+}
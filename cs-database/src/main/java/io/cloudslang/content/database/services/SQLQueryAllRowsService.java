@@ -10,10 +10,14 @@
 package io.cloudslang.content.database.services;
 
 
+import io.cloudslang.content.database.utils.BoundedWriter;
 import io.cloudslang.content.database.utils.Format;
 import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Writer;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
@@ -25,7 +29,7 @@ public class SQLQueryAllRowsService {
     /** todo
      * Run a SQL query with given configuration
      *
-     * @return the formatted result set by colDelimiter and rowDelimiter
+     * @return the formatted result set by colDelimiter and rowDelimiter, or the path of outputFile when the rows were written to a file
      * @throws ClassNotFoundException
      * @throws java.sql.SQLException
      */
@@ -34,16 +38,28 @@ public class SQLQueryAllRowsService {
         try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
             connection.setReadOnly(true);
 
-            Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
+            Statement statement = SQLUtils.createStatement(connection, sqlInputs);
 
             statement.setQueryTimeout(sqlInputs.getTimeout());
-            final ResultSet resultSet = statement.executeQuery(sqlInputs.getSqlCommand());
+            statement.setFetchSize(sqlInputs.getFetchSize());
+            final ResultSet resultSet = SQLUtils.executeQuery(statement, sqlInputs.getSqlCommand());
 
-            final String resultSetToDelimitedColsAndRows = Format.resultSetToDelimitedColsAndRows(resultSet, sqlInputs.isNetcool(), sqlInputs.getColDelimiter(), sqlInputs.getRowDelimiter());
+            if (StringUtils.isNotEmpty(sqlInputs.getOutputFile())) {
+                try (final Writer fileWriter = SQLUtils.getFileWriter(sqlInputs.getOutputFile())) {
+                    Format.resultSetToDelimitedColsAndRows(resultSet, sqlInputs.isNetcool(), sqlInputs.getColDelimiter(), sqlInputs.getRowDelimiter(), fileWriter);
+                }
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                return sqlInputs.getOutputFile();
+            }
+
+            final BoundedWriter resultSetToDelimitedColsAndRows = new BoundedWriter(sqlInputs.getMaxResultLength());
+            Format.resultSetToDelimitedColsAndRows(resultSet, sqlInputs.isNetcool(), sqlInputs.getColDelimiter(), sqlInputs.getRowDelimiter(), resultSetToDelimitedColsAndRows);
             if (resultSet != null) {
                 resultSet.close();
             }
-            return resultSetToDelimitedColsAndRows;
+            return resultSetToDelimitedColsAndRows.toString();
         }
     }
 }
@@ -11,83 +11,113 @@ package io.cloudslang.content.database.services;
 
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLUtils;
-import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
-import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
 import java.util.ArrayList;
 
-import static org.apache.commons.io.FileUtils.*;
+import static org.apache.commons.lang3.StringUtils.isNoneEmpty;
 
 /**
  * Created by victor on 13.01.2017.
  */
 public class SQLQueryLobService {
 
+    /**
+     * Runs the query and keeps its rows in sqlInputs.
+     * <p/>
+     * When lobDirectory or lobArchive is set every CLOB and BLOB value is written there and the row holds the path of
+     * the written file. Otherwise every CLOB is written to a temporary file that the SQL Query LOB action returns later.
+     *
+     * @return true if the rows reference temporary CLOB files
+     */
     public static boolean executeSqlQueryLob(SQLInputs sqlInputs) throws Exception {
         if (StringUtils.isEmpty(sqlInputs.getSqlCommand())) {
             throw new Exception("command input is empty.");
         }
         boolean isLOB = false;
+        final boolean exportLobs = isNoneEmpty(sqlInputs.getLobDirectory()) || isNoneEmpty(sqlInputs.getLobArchive());
         ConnectionService connectionService = new ConnectionService();
         try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
 
             StringBuilder strColumns = new StringBuilder(sqlInputs.getStrColumns());
 
             connection.setReadOnly(true);
-            Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
-            statement.setQueryTimeout(sqlInputs.getTimeout());
+            try (final Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency())) {
+                statement.setQueryTimeout(sqlInputs.getTimeout());
 
-            ResultSet results = statement.executeQuery(sqlInputs.getSqlCommand());
-            ResultSetMetaData mtd = results.getMetaData();
-            int iNumCols = mtd.getColumnCount();
-            for (int i = 1; i <= iNumCols; i++) {
-                if (i > 1) strColumns.append(sqlInputs.getStrDelim());
-                strColumns.append(mtd.getColumnLabel(i));
-            }
-            sqlInputs.setStrColumns(strColumns.toString());
-            int nr = -1;
-            while (results.next()) {
-                nr++;
-                final StringBuilder strRowHolder = new StringBuilder();
-                for (int i = 1; i <= iNumCols; i++) {
-                    if (i > 1) strRowHolder.append(sqlInputs.getStrDelim());
-                    Object columnObject = results.getObject(i);
-                    if (columnObject != null) {
-                        String value;
-                        if (columnObject instanceof java.sql.Clob) {
-                            isLOB = true;
-                            final File tmpFile = File.createTempFile("CLOB_" + mtd.getColumnLabel(i), ".txt");
-
-                            copyInputStreamToFile(new ReaderInputStream(results.getCharacterStream(i), StandardCharsets.UTF_8), tmpFile);
+                try (final ResultSet results = statement.executeQuery(sqlInputs.getSqlCommand());
+                     final LobExporter lobExporter = newLobExporter(sqlInputs)) {
+                    ResultSetMetaData mtd = results.getMetaData();
+                    int iNumCols = mtd.getColumnCount();
+                    for (int i = 1; i <= iNumCols; i++) {
+                        if (i > 1) strColumns.append(sqlInputs.getStrDelim());
+                        strColumns.append(mtd.getColumnLabel(i));
+                    }
+                    sqlInputs.setStrColumns(strColumns.toString());
+                    int nr = -1;
+                    while (results.next()) {
+                        nr++;
+                        final StringBuilder strRowHolder = new StringBuilder();
+                        for (int i = 1; i <= iNumCols; i++) {
+                            if (i > 1) strRowHolder.append(sqlInputs.getStrDelim());
+                            Object columnObject = results.getObject(i);
+                            if (columnObject != null) {
+                                String value;
+                                if (columnObject instanceof Clob && exportLobs) {
+                                    value = lobExporter.export(getLobFileName(mtd.getColumnLabel(i), i, nr), ".txt", results.getCharacterStream(i));
+                                } else if (columnObject instanceof Blob && exportLobs) {
+                                    value = lobExporter.export(getLobFileName(mtd.getColumnLabel(i), i, nr), ".bin", results.getBinaryStream(i));
+                                } else if (columnObject instanceof Clob) {
+                                    isLOB = true;
+                                    final String tmpFile = lobExporter.export("CLOB_" + mtd.getColumnLabel(i), ".txt", results.getCharacterStream(i));
 
-                            if (sqlInputs.getLRowsFiles().size() == nr) {
-                                sqlInputs.getLRowsFiles().add(nr, new ArrayList<String>());
-                                sqlInputs.getLRowsNames().add(nr, new ArrayList<String>());
-                            }
-                            sqlInputs.getLRowsFiles().get(nr).add(tmpFile.getAbsolutePath());
-                            sqlInputs.getLRowsNames().get(nr).add(mtd.getColumnLabel(i));
-                            value = "(CLOB)...";
+                                    if (sqlInputs.getLRowsFiles().size() == nr) {
+                                        sqlInputs.getLRowsFiles().add(nr, new ArrayList<String>());
+                                        sqlInputs.getLRowsNames().add(nr, new ArrayList<String>());
+                                    }
+                                    sqlInputs.getLRowsFiles().get(nr).add(tmpFile);
+                                    sqlInputs.getLRowsNames().get(nr).add(mtd.getColumnLabel(i));
+                                    value = "(CLOB)...";
 
-                        } else {
-                            value = results.getString(i);
-                            if (sqlInputs.isNetcool())
-                                value = SQLUtils.processNullTerminatedString(value);
+                                } else {
+                                    value = results.getString(i);
+                                    if (sqlInputs.isNetcool())
+                                        value = SQLUtils.processNullTerminatedString(value);
+                                }
+                                strRowHolder.append(value);
+                            } else
+                                strRowHolder.append("null");
                         }
-                        strRowHolder.append(value);
-                    } else
-                        strRowHolder.append("null");
+                        sqlInputs.getLRows().add(strRowHolder.toString());
+                    }
                 }
-                sqlInputs.getLRows().add(strRowHolder.toString());
             }
         }
 
         return isLOB;
     }
 
+    private static LobExporter newLobExporter(final SQLInputs sqlInputs) throws Exception {
+        if (isNoneEmpty(sqlInputs.getLobArchive())) {
+            return LobExporter.toArchive(new File(sqlInputs.getLobArchive()), sqlInputs.getMaxLobSize());
+        }
+        final File directory = isNoneEmpty(sqlInputs.getLobDirectory()) ? new File(sqlInputs.getLobDirectory()) : null;
+        return LobExporter.toDirectory(directory, sqlInputs.getMaxLobSize(), Math.max(1, sqlInputs.getLobWorkers()));
+    }
+
+    /**
+     * @return the column label made safe for a file name followed by the 1 based column and row numbers, the column
+     * number keeps the names unique when two labels only differ by the replaced characters
+     */
+    private static String getLobFileName(final String columnLabel, final int column, final int row) {
+        return columnLabel.replaceAll("[^A-Za-z0-9_.-]", "_") + "_" + column + "_" + (row + 1);
+    }
+
 }
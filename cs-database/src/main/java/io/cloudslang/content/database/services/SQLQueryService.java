@@ -9,6 +9,7 @@
  *******************************************************************************/
 package io.cloudslang.content.database.services;
 
+import io.cloudslang.content.database.utils.SQLCursor;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -19,6 +20,8 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
 
+import static io.cloudslang.content.database.constants.DBOtherValues.POSTGRES_DB_TYPE;
+
 /**
  * Created by victor on 13.01.2017.
  */
@@ -32,38 +35,55 @@ public class SQLQueryService {
         try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
 
             connection.setReadOnly(true);
-            Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
+            Statement statement = SQLUtils.createStatement(connection, sqlInputs);
             statement.setQueryTimeout(sqlInputs.getTimeout());
-            final ResultSet results = statement.executeQuery(sqlInputs.getSqlCommand());
+            final ResultSet results = SQLUtils.executeQuery(statement, sqlInputs.getSqlCommand());
 
             final ResultSetMetaData mtd = results.getMetaData();
 
             int iNumCols = mtd.getColumnCount();
 
-            final StringBuilder strColumns = new StringBuilder(sqlInputs.getStrColumns());
-
-            for (int i = 1; i <= iNumCols; i++) {
-                if (i > 1) {
-                    strColumns.append(sqlInputs.getStrDelim());
-                }
-                strColumns.append(mtd.getColumnLabel(i));
-            }
-            sqlInputs.setStrColumns(strColumns.toString());
+            sqlInputs.setStrColumns(sqlInputs.getStrColumns() + SQLUtils.getColumnLabels(mtd, sqlInputs.getStrDelim()));
 
             while (results.next()) {
-                final StringBuilder strRowHolder = new StringBuilder();
-                for (int i = 1; i <= iNumCols; i++) {
-                    if (i > 1) strRowHolder.append(sqlInputs.getStrDelim());
-                    if (results.getString(i) != null) {
-                        String value = results.getString(i).trim();
-                        if (sqlInputs.isNetcool())
-                            value = SQLUtils.processNullTerminatedString(value);
+                sqlInputs.getLRows().add(SQLUtils.getRowString(results, iNumCols, sqlInputs.getStrDelim(), sqlInputs.isNetcool()));
+            }
+        }
+    }
 
-                        strRowHolder.append(value);
-                    }
-                }
-                sqlInputs.getLRows().add(strRowHolder.toString());
+    /**
+     * Executes the query and keeps the connection and the result set open in a cursor.
+     * The driver is asked to fetch fetchSize rows per round trip.
+     *
+     * @param sqlInputs the query inputs
+     * @return a cursor over the result set, the caller is responsible for closing it
+     * @throws Exception if the query can not be executed
+     */
+    @NotNull
+    public static SQLCursor openSqlCursor(@NotNull final SQLInputs sqlInputs) throws Exception {
+        if (StringUtils.isEmpty(sqlInputs.getSqlCommand())) {
+            throw new Exception("command input is empty.");
+        }
+        ConnectionService connectionService = new ConnectionService();
+        final Connection connection = connectionService.setUpConnection(sqlInputs);
+        try {
+            connection.setReadOnly(true);
+            if (POSTGRES_DB_TYPE.equalsIgnoreCase(sqlInputs.getDbType())) {
+                //the PostgreSQL driver ignores the fetch size and reads all rows when autocommit is on
+                connection.setAutoCommit(false);
             }
+            final Statement statement = SQLUtils.createStatement(connection, sqlInputs);
+            statement.setQueryTimeout(sqlInputs.getTimeout());
+            statement.setFetchSize(sqlInputs.getFetchSize());
+            final ResultSet results = SQLUtils.executeQuery(statement, sqlInputs.getSqlCommand());
+
+            final SQLCursor cursor = new SQLCursor(connection, statement, results, sqlInputs.getStrDelim(),
+                    sqlInputs.isNetcool(), sqlInputs.getFetchSize(), sqlInputs.getCursorIdleTimeout());
+            sqlInputs.setStrColumns(cursor.getStrColumns());
+            return cursor;
+        } catch (Exception e) {
+            connection.close();
+            throw e;
         }
     }
 }
@@ -9,10 +9,14 @@
  *******************************************************************************/
 package io.cloudslang.content.database.services;
 
+import io.cloudslang.content.database.utils.BoundedWriter;
 import io.cloudslang.content.database.utils.Format;
 import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.Writer;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
@@ -25,7 +29,7 @@ public class SQLQueryTabularService {
     /**
      * Run a SQL query with given configuration
      *
-     * @return the formatted result set by colDelimiter and rowDelimiter
+     * @return the result set formatted as a table, or the path of outputFile when the table was written to a file
      * @throws ClassNotFoundException
      * @throws java.sql.SQLException
      */
@@ -34,14 +38,24 @@ public class SQLQueryTabularService {
         try (final Connection connection = connectionService.setUpConnection(sqlInputs)){
             connection.setReadOnly(true);
 
-            final Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
+            final Statement statement = SQLUtils.createStatement(connection, sqlInputs);
             statement.setQueryTimeout(sqlInputs.getTimeout());
+            statement.setFetchSize(sqlInputs.getFetchSize());
 
-            final ResultSet resultSet = statement.executeQuery(sqlInputs.getSqlCommand());
+            final ResultSet resultSet = SQLUtils.executeQuery(statement, sqlInputs.getSqlCommand());
 
-            final String resultSetToTable = Format.resultSetToTable(resultSet, sqlInputs.isNetcool());
+            if (StringUtils.isNotEmpty(sqlInputs.getOutputFile())) {
+                try (final Writer fileWriter = SQLUtils.getFileWriter(sqlInputs.getOutputFile())) {
+                    Format.resultSetToTable(resultSet, sqlInputs.isNetcool(), fileWriter);
+                }
+                resultSet.close();
+                return sqlInputs.getOutputFile();
+            }
+
+            final BoundedWriter resultSetToTable = new BoundedWriter(sqlInputs.getMaxResultLength());
+            Format.resultSetToTable(resultSet, sqlInputs.isNetcool(), resultSetToTable);
             resultSet.close();
-            return resultSetToTable;
+            return resultSetToTable.toString();
         }
     }
 }
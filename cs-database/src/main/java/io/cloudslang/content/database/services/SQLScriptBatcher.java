@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.services;
+
+import io.cloudslang.content.database.utils.SQLStatementShape;
+import io.cloudslang.content.database.utils.SQLUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes the statements of a script on one connection, in order.
+ * Consecutive statements are sent as one Statement batch. With batchInserts, consecutive INSERT statements
+ * with the same shape are sent as one PreparedStatement batch instead. The transaction is committed every
+ * commitSize statements, or once at the end of a section when commitSize is 0.
+ */
+class SQLScriptBatcher {
+    //the maximum number of statements sent to the database in one batch
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final Connection connection;
+    private final Statement statement;
+    private final int timeout;
+    private final int commitSize;
+    private final boolean typeOtherStrings;
+    private final boolean batchInserts;
+    private final List<String> chunkTimings;
+
+    private final List<String> plainBatch = new ArrayList<>();
+    private String preparedShape;
+    private PreparedStatement preparedStatement;
+    private int preparedBatchSize;
+
+    private int section = 1;
+    private int chunk = 1;
+    private int chunkStatements;
+    private long chunkStart;
+
+    private int statementCount;
+    private int updateCount;
+    private int lastUpdateCount;
+
+    /**
+     * @param connection       a connection with autocommit disabled
+     * @param statement        the statement used for everything that is not a batched INSERT
+     * @param timeout          the query timeout for the prepared statements
+     * @param commitSize       commit every commitSize statements, 0 to commit only at the end of a section
+     * @param typeOtherStrings bind string literals as Types.OTHER so that the database infers their type, as it does for literals
+     * @param batchInserts     bind the literals of INSERT statements to prepared statements, which only works when the
+     *                         database converts string and decimal parameters to the column types
+     * @param chunkTimings     receives one line per committed chunk
+     */
+    SQLScriptBatcher(@NotNull final Connection connection, @NotNull final Statement statement, final int timeout, final int commitSize,
+                     final boolean typeOtherStrings, final boolean batchInserts, @NotNull final List<String> chunkTimings) {
+        this.connection = connection;
+        this.statement = statement;
+        this.timeout = timeout;
+        this.commitSize = commitSize;
+        this.typeOtherStrings = typeOtherStrings;
+        this.batchInserts = batchInserts;
+        this.chunkTimings = chunkTimings;
+    }
+
+    void add(@NotNull final String sql) throws SQLException {
+        if (chunkStatements == 0) {
+            chunkStart = System.nanoTime();
+        }
+        final SQLStatementShape shape = batchInserts ? SQLStatementShape.parse(sql) : null;
+        if (shape != null) {
+            executePlainBatch();
+            if (!shape.getShape().equals(preparedShape)) {
+                executePreparedBatch();
+                closePreparedStatement();
+                preparedStatement = connection.prepareStatement(shape.getShape());
+                preparedStatement.setQueryTimeout(timeout);
+                preparedShape = shape.getShape();
+            }
+            SQLUtils.setParameters(preparedStatement, shape.getParameters(), typeOtherStrings);
+            preparedStatement.addBatch();
+            if (++preparedBatchSize >= MAX_BATCH_SIZE) {
+                executePreparedBatch();
+            }
+        } else {
+            executePreparedBatch();
+            plainBatch.add(sql);
+            if (plainBatch.size() >= MAX_BATCH_SIZE) {
+                executePlainBatch();
+            }
+        }
+        statementCount++;
+        if (++chunkStatements == commitSize) {
+            commitChunk();
+        }
+    }
+
+    /**
+     * Executes and commits what is left of the current section. The next statements start a new section.
+     */
+    void endSection() throws SQLException {
+        commitChunk();
+        closePreparedStatement();
+        section++;
+        chunk = 1;
+    }
+
+    void setSection(final int section) {
+        this.section = section;
+    }
+
+    int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * @return the sum of the positive update counts, or the update count of the only statement when
+     * the script had a single statement
+     */
+    int getUpdateCount() {
+        return statementCount == 1 ? lastUpdateCount : updateCount;
+    }
+
+    void close() {
+        closePreparedStatement();
+    }
+
+    private void commitChunk() throws SQLException {
+        if (chunkStatements == 0) {
+            return;
+        }
+        executePlainBatch();
+        executePreparedBatch();
+        connection.commit();
+        chunkTimings.add("section " + section + ", chunk " + chunk + ": " + chunkStatements + " statements in " +
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - chunkStart) + " ms");
+        chunk++;
+        chunkStatements = 0;
+    }
+
+    private void executePlainBatch() throws SQLException {
+        if (plainBatch.isEmpty()) {
+            return;
+        }
+        if (plainBatch.size() == 1) {
+            statement.execute(plainBatch.get(0));
+            addUpdateCount(statement.getUpdateCount());
+        } else {
+            for (final String sql : plainBatch) {
+                statement.addBatch(sql);
+            }
+            addUpdateCounts(statement.executeBatch());
+        }
+        plainBatch.clear();
+    }
+
+    private void executePreparedBatch() throws SQLException {
+        if (preparedBatchSize == 0) {
+            return;
+        }
+        addUpdateCounts(preparedStatement.executeBatch());
+        preparedBatchSize = 0;
+    }
+
+    private void addUpdateCounts(final int[] updateCounts) {
+        for (final int count : updateCounts) {
+            addUpdateCount(count);
+        }
+    }
+
+    private void addUpdateCount(final int count) {
+        lastUpdateCount = count;
+        if (count > 0) {
+            updateCount += count;
+        }
+    }
+
+    private void closePreparedStatement() {
+        if (preparedStatement != null) {
+            try {
+                preparedStatement.close();
+            } catch (SQLException ignored) {
+            }
+            preparedStatement = null;
+            preparedShape = null;
+        }
+    }
+}
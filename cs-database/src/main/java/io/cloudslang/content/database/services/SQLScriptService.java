@@ -12,11 +12,23 @@ package io.cloudslang.content.database.services;
 
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.cloudslang.content.database.constants.DBOtherValues.SYBASE_DB_TYPE;
 
@@ -30,6 +42,32 @@ public class SQLScriptService {
         if (lines == null || lines.isEmpty()) {
             throw new Exception("No SQL command to be executed.");
         }
+        return executeSqlStatements(lines.iterator(), sqlInputs);
+    }
+
+    /**
+     * Executes the statements in the order they are returned by the iterator, so a script can start running
+     * before all of it was read.
+     * A statement equal to the section delimiter ends a section. With parallelSections greater than 1 the sections
+     * run at the same time, each on its own connection and in its own transactions, so they must not depend on each other.
+     *
+     * @param statements the statements of the script
+     * @param sqlInputs  the inputs; the update count and the chunk timings are set on it
+     * @return the result message
+     * @throws Exception if a statement fails
+     */
+    public static String executeSqlStatements(@NotNull final Iterator<String> statements, @NotNull final SQLInputs sqlInputs)
+            throws Exception {
+        if (!statements.hasNext()) {
+            throw new Exception("No SQL command to be executed.");
+        }
+        final List<String> chunkTimings = new ArrayList<>();
+        sqlInputs.setChunkTimings(chunkTimings);
+        if (sqlInputs.getParallelSections() > 1) {
+            executeSectionsInParallel(statements, sqlInputs, chunkTimings);
+            return "Command completed successfully";
+        }
+
         ConnectionService connectionService = new ConnectionService();
         try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
 
@@ -38,41 +76,170 @@ public class SQLScriptService {
             } catch (Exception e) {
             } // not all drivers support this
 
+            String firstStatement = null;
             try (final Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency())) {
                 statement.setQueryTimeout(sqlInputs.getTimeout());
                 boolean autoCommit = connection.getAutoCommit();
                 connection.setAutoCommit(false);
-                int updateCount = 0;
-                if (lines.size() > 1) {
-                    for (String line : lines) {
-                        statement.addBatch(line);
-                    }
-                    int[] updateCounts = statement.executeBatch();
-                    for (int i : updateCounts) {
-                        if (i > 0) {
-                            updateCount += i;
+                final SQLScriptBatcher batcher = newBatcher(connection, statement, sqlInputs, chunkTimings);
+                try {
+                    while (statements.hasNext()) {
+                        final String line = statements.next();
+                        if (firstStatement == null) {
+                            firstStatement = line;
+                        }
+                        if (isSectionDelimiter(line, sqlInputs)) {
+                            batcher.endSection();
+                        } else {
+                            batcher.add(line);
                         }
                     }
-                } else {
-                    statement.execute(lines.get(0));
-                    updateCount = statement.getUpdateCount();
+                    batcher.endSection();
+                } finally {
+                    batcher.close();
                 }
-                sqlInputs.setIUpdateCount(updateCount);
-                connection.commit();
+                sqlInputs.setIUpdateCount(batcher.getUpdateCount());
                 connection.setAutoCommit(autoCommit);
             } catch (SQLException e) {
                 //during a dump sybase sends back status as exceptions.
                 final String dbType = sqlInputs.getDbType();
-                if (SYBASE_DB_TYPE.equalsIgnoreCase(dbType)) {
-                    if (lines.get(0).trim().toLowerCase().startsWith("dump")) {
+                if (SYBASE_DB_TYPE.equalsIgnoreCase(dbType) && firstStatement != null) {
+                    if (firstStatement.trim().toLowerCase().startsWith("dump")) {
                         return SQLUtils.processDumpException(e);
-                    } else if (lines.get(0).trim().toLowerCase().startsWith("load")) {
+                    } else if (firstStatement.trim().toLowerCase().startsWith("load")) {
                         return SQLUtils.processLoadException(e);
                     }
-                } else
-                    throw e;
+                }
+                throw e;
             }
         }
         return "Command completed successfully";
     }
+
+    /**
+     * Opens parallelSections connections up front and hands every section to the first free one.
+     * Reading the script waits while all connections are busy, so at most parallelSections sections are held in memory.
+     */
+    private static void executeSectionsInParallel(final Iterator<String> statements, final SQLInputs sqlInputs,
+                                                  final List<String> chunkTimings) throws Exception {
+        final int parallelSections = sqlInputs.getParallelSections();
+        final BlockingQueue<Connection> freeConnections = new ArrayBlockingQueue<>(parallelSections);
+        final List<Connection> connections = new ArrayList<>(parallelSections);
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelSections);
+        try {
+            final ConnectionService connectionService = new ConnectionService();
+            for (int i = 0; i < parallelSections; i++) {
+                final Connection connection = connectionService.setUpConnection(sqlInputs);
+                connections.add(connection);
+                freeConnections.add(connection);
+            }
+
+            final AtomicBoolean failed = new AtomicBoolean();
+            final List<Future<SectionResult>> results = new ArrayList<>();
+            List<String> section = new ArrayList<>();
+            while (statements.hasNext() && !failed.get()) {
+                final String line = statements.next();
+                if (!isSectionDelimiter(line, sqlInputs)) {
+                    section.add(line);
+                } else if (!section.isEmpty()) {
+                    results.add(submitSection(executor, freeConnections, failed, section, results.size() + 1, sqlInputs));
+                    section = new ArrayList<>();
+                }
+            }
+            if (!section.isEmpty() && !failed.get()) {
+                results.add(submitSection(executor, freeConnections, failed, section, results.size() + 1, sqlInputs));
+            }
+
+            int updateCount = 0;
+            for (final Future<SectionResult> result : results) {
+                try {
+                    final SectionResult sectionResult = result.get();
+                    updateCount += sectionResult.updateCount;
+                    chunkTimings.addAll(sectionResult.chunkTimings);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+            sqlInputs.setIUpdateCount(updateCount);
+        } finally {
+            executor.shutdownNow();
+            for (final Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+    }
+
+    private static Future<SectionResult> submitSection(final ExecutorService executor, final BlockingQueue<Connection> freeConnections,
+                                                       final AtomicBoolean failed, final List<String> section, final int sectionNumber, final SQLInputs sqlInputs)
+            throws InterruptedException {
+        final Connection connection = freeConnections.take();
+        return executor.submit(new Callable<SectionResult>() {
+            @Override
+            public SectionResult call() throws Exception {
+                try {
+                    return executeSection(connection, section, sectionNumber, sqlInputs);
+                } catch (Exception e) {
+                    failed.set(true);
+                    throw e;
+                } finally {
+                    freeConnections.add(connection);
+                }
+            }
+        });
+    }
+
+    private static SectionResult executeSection(final Connection connection, final List<String> section, final int sectionNumber,
+                                                final SQLInputs sqlInputs) throws SQLException {
+        try {
+            connection.setReadOnly(false);
+        } catch (Exception e) {
+        } // not all drivers support this
+
+        final SectionResult result = new SectionResult();
+        try (final Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency())) {
+            statement.setQueryTimeout(sqlInputs.getTimeout());
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            final SQLScriptBatcher batcher = newBatcher(connection, statement, sqlInputs, result.chunkTimings);
+            batcher.setSection(sectionNumber);
+            try {
+                for (final String line : section) {
+                    batcher.add(line);
+                }
+                batcher.endSection();
+            } catch (SQLException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException ignored) {
+                }
+                throw e;
+            } finally {
+                batcher.close();
+            }
+            connection.setAutoCommit(autoCommit);
+            result.updateCount = batcher.getUpdateCount();
+        }
+        return result;
+    }
+
+    private static SQLScriptBatcher newBatcher(final Connection connection, final Statement statement, final SQLInputs sqlInputs,
+                                               final List<String> chunkTimings) {
+        return new SQLScriptBatcher(connection, statement, sqlInputs.getTimeout(), sqlInputs.getCommitSize(),
+                SQLUtils.isTypeOtherStrings(sqlInputs.getDbType()), sqlInputs.isBatchInserts(), chunkTimings);
+    }
+
+    private static boolean isSectionDelimiter(final String line, final SQLInputs sqlInputs) {
+        return StringUtils.isNotEmpty(sqlInputs.getSectionDelimiter()) && sqlInputs.getSectionDelimiter().equalsIgnoreCase(line.trim());
+    }
+
+    private static class SectionResult {
+        private final List<String> chunkTimings = new ArrayList<>();
+        private int updateCount;
+    }
 }
@@ -60,6 +60,12 @@ public class C3P0PooledDataSourceProvider extends PooledDataSourceProvider {
     //trying to getConneciton on its own if the connection fails. set this to
     //be true to clean the pool, so it won't keep trying
     private final static String C3P0_BREAK_AFTERACQUIREFAILURE_NAME = "breakAfterAcquireFailure";
+    //deal with the statement cache, c3p0 keeps an LRU cache of prepared statements per connection
+    //set default 20
+    private final static String C3P0_MAX_STATEMENTS_PER_CONNECTION_NAME = "maxStatementsPerConnection";
+    //closing a cached statement while its connection is in use can deadlock some drivers,
+    //a deferred close thread closes them once the connection is checked in
+    private final static String C3P0_STATEMENT_CACHE_NUM_DEFERRED_CLOSE_THREADS_NAME = "statementCacheNumDeferredCloseThreads";
 
     /**
      * constructor
@@ -185,6 +191,12 @@ public class C3P0PooledDataSourceProvider extends PooledDataSourceProvider {
                 CONNECTION_BREAKAFTERACQUIREFAILURE_DEFAULT_VALUE);
         retMap.put(C3P0_BREAK_AFTERACQUIREFAILURE_NAME, breakAfterFailure);
 
+        //statement cache size
+        String maxStatements = this.getPropStringValue(MAX_STATEMENTS_PER_CONNECTION_NAME,
+                MAX_STATEMENTS_PER_CONNECTION_DEFAULT_VALUE);
+        retMap.put(C3P0_MAX_STATEMENTS_PER_CONNECTION_NAME, maxStatements);
+        retMap.put(C3P0_STATEMENT_CACHE_NUM_DEFERRED_CLOSE_THREADS_NAME, "1");
+
         //db specific properties
         //connection life time
         String conLifeTimeName;
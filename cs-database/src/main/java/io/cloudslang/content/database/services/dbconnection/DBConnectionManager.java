@@ -13,11 +13,21 @@ import com.mchange.v2.c3p0.PooledDataSource;
 import io.cloudslang.content.database.services.dbconnection.PooledDataSourceCleaner.STATE_CLEANER;
 import io.cloudslang.content.database.utils.TripleDES;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
@@ -25,6 +35,8 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
  * Created by victor on 13.01.2017.
  */
 public class DBConnectionManager {
+    //the name the pool statistics are registered with in the platform mbean server
+    public static final String POOLS_MBEAN_NAME = "io.cloudslang.content.database:type=DBConnectionPools";
     //logging
 //    protected static final Log logger = LogFactory.getLog(DBConnectionManager.class);
 
@@ -67,26 +79,29 @@ public class DBConnectionManager {
     //singleton instance, make it protected so it can be mocked
     protected static volatile DBConnectionManager instance = null;
     //table to hole the providers, for now it only has c3p0 provider
-    protected Hashtable<String, PooledDataSourceProvider> providerTable = null;
+    protected volatile ConcurrentMap<String, PooledDataSourceProvider> providerTable = null;
     //dbms pool table, key = dbType + "." + dbUrl
     //the reason that keep the dbType is we might use this dbType to find what
     //datasource provider later if we have different kinds of datasource provider
     //right now we only have one provider c3p0. Other provider might be implemented
     //if it is necessary.
-    //the dbms pool table will have Hashtable dsTable which contians DataSources
+    //the dbms pool table will have the map dsTable which contians DataSources
     //the key for the dsTable is dbUrl + "." + username + "." + encryptedpassword
-    //hashtable is synchronized already
-    protected Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable = null;
+    //both maps are concurrent, checking out a connection from an existing datasource takes no lock,
+    //a new datasource is created while holding the lock of its dsTable only
+    protected volatile ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = null;
+    //checkout metrics of every dbms pool, same key as the dbms pool table
+    protected final ConcurrentMap<String, PoolMetrics> poolMetricsTable = new ConcurrentHashMap<>();
     //properties that contain configurable connection pooling params
-    protected Properties dbPoolingProperties = null;
+    protected volatile Properties dbPoolingProperties = null;
     /**
      * if the pooling is enabled or not, default is false
      */
-    protected boolean isPoolingEnabled = false;
+    protected volatile boolean isPoolingEnabled = false;
     //datasource cleaner to clean the datasource with 0 connections.
-    private PooledDataSourceCleaner datasourceCleaner = null;
+    private volatile PooledDataSourceCleaner datasourceCleaner = null;
     //the thread that will run the cleaner runnable
-    private Thread cleanerThread = null;
+    private volatile Thread cleanerThread = null;
 
 
     /**
@@ -135,7 +150,12 @@ public class DBConnectionManager {
 
     private void createPoolTable() {
         if (dbmsPoolTable == null) {
-            dbmsPoolTable = new Hashtable<>();
+            synchronized (this) {
+                if (dbmsPoolTable == null) {
+                    dbmsPoolTable = new ConcurrentHashMap<>();
+                    registerPoolsMBean();
+                }
+            }
         }
     }
 
@@ -158,7 +178,7 @@ public class DBConnectionManager {
      * @return a Connection to db
      * @throws SQLException
      */
-    public synchronized Connection getConnection(DBType aDbType, String aDbUrl, String aUsername, String aPassword, Properties properties)
+    public Connection getConnection(DBType aDbType, String aDbUrl, String aUsername, String aPassword, Properties properties)
             throws SQLException {
         if (isEmpty(aDbUrl)) {
             throw new SQLException("Failed to check out connection dbUrl is empty");
@@ -186,10 +206,7 @@ public class DBConnectionManager {
             //if the runnable has been shutdown when dbmspoolsize is 0
             //then need to resumbit to the thread and start it again
             if (datasourceCleaner.getState() == STATE_CLEANER.SHUTDOWN) {
-                //submit it to the thread to run
-                cleanerThread = new Thread(datasourceCleaner);
-                cleanerThread.setPriority(Thread.MIN_PRIORITY);
-                cleanerThread.start();
+                restartCleaner();
             }
             //will use pooled datasource provider
             return getPooledConnection(aDbType, aDbUrl, aUsername, aPassword);
@@ -202,17 +219,14 @@ public class DBConnectionManager {
      */
     public void cleanDataSources() {
 
-        Hashtable<String, List<String>> removedDsKeyTable = null;
+        Map<String, List<String>> removedDsKeyTable = null;
 
-        //gather all the empty ds's key, can't remove item while iterate
-        Enumeration<String> allPoolKeys = dbmsPoolTable.keys();
-        while (allPoolKeys.hasMoreElements()) {
-            String dbPoolKey = allPoolKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbPoolKey);
-            Enumeration<String> allDsKeys = dsTable.keys();
-            while (allDsKeys.hasMoreElements()) {
-                String dsKey = allDsKeys.nextElement();
-                DataSource ds = dsTable.get(dsKey);
+        //gather all the empty ds's key
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> dbmsPoolEntry : dbmsPoolTable.entrySet()) {
+            String dbPoolKey = dbmsPoolEntry.getKey();
+            for (Map.Entry<String, DataSource> dsEntry : dbmsPoolEntry.getValue().entrySet()) {
+                String dsKey = dsEntry.getKey();
+                DataSource ds = dsEntry.getValue();
 
                 //c3p0 impl
                 if (ds != null && ds instanceof PooledDataSource) {
@@ -228,20 +242,15 @@ public class DBConnectionManager {
                     }
                     //no connections
                     if (conCount == 0) {
-                        List<String> removedList = null;
                         if (removedDsKeyTable == null) {
-                            removedDsKeyTable = new Hashtable<>();
-                        } else {
-                            removedList = removedDsKeyTable.get(dbPoolKey);
+                            removedDsKeyTable = new HashMap<>();
                         }
-
+                        List<String> removedList = removedDsKeyTable.get(dbPoolKey);
                         if (removedList == null) {
                             removedList = new ArrayList<>();
-                            removedList.add(dsKey);
                             removedDsKeyTable.put(dbPoolKey, removedList);
-                        } else {
-                            removedList.add(dsKey);
                         }
+                        removedList.add(dsKey);
                     }
                 }
             }
@@ -249,39 +258,51 @@ public class DBConnectionManager {
 
         //have empty ds
         if (removedDsKeyTable != null && !removedDsKeyTable.isEmpty()) {
-            Enumeration<String> removedPoolKeys = removedDsKeyTable.keys();
-            while (removedPoolKeys.hasMoreElements()) {
-                String removedPoolKey = removedPoolKeys.nextElement();
+            for (Map.Entry<String, List<String>> removedEntry : removedDsKeyTable.entrySet()) {
+                String removedPoolKey = removedEntry.getKey();
                 PooledDataSourceProvider provider = this.getProvider(removedPoolKey);
-                List<String> removedDsList = removedDsKeyTable.get(removedPoolKey);
-                Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(removedPoolKey);
-                for (String dsKey : removedDsList) {
-                    DataSource removedDs = dsTable.remove(dsKey);
-                    try {
-                        provider.closePooledDataSource(removedDs);
-                    } catch (SQLException e) {
-                        //can't show the dsKey since it has encrypted password there
+                ConcurrentMap<String, DataSource> dsTable = dbmsPoolTable.get(removedPoolKey);
+                if (dsTable == null) {
+                    continue;
+                }
+                //same lock as the datasource creation, so a new datasource is never put in a removed dsTable
+                synchronized (dsTable) {
+                    for (String dsKey : removedEntry.getValue()) {
+                        DataSource removedDs = dsTable.remove(dsKey);
+                        if (removedDs == null) {
+                            continue;
+                        }
+                        try {
+                            provider.closePooledDataSource(removedDs);
+                        } catch (SQLException e) {
+                            //can't show the dsKey since it has encrypted password there
 //                  todo      logger.error("Failed to close datadsource in dmbs poolKey = "
 //                                + removedPoolKey, e);
-                        continue;
-                    }
+                            continue;
+                        }
 
-                    //tracing
+                        //tracing
 //                todo    if (logger.isDebugEnabled()) {
 //                        logger.debug("Removed one datasource in dbms poolKey = "
 //                                + removedPoolKey);
 //                    }
-                }
-                //don't have any ds for the pool key
-                if (dsTable.isEmpty()) {
-                    dbmsPoolTable.remove(removedPoolKey);
-                    //tracing
+                    }
+                    //don't have any ds for the pool key
+                    if (dsTable.isEmpty()) {
+                        //the metrics go with the pool
+                        if (dbmsPoolTable.remove(removedPoolKey, dsTable)) {
+                            poolMetricsTable.remove(removedPoolKey);
+                        }
+                        //tracing
 //              todo      if (logger.isDebugEnabled()) {
 //                        logger.debug("Removed dbms poolKey = " + removedPoolKey);
 //                    }
+                    }
                 }
             }
         }
+        //a caller that got the dsTable just before it was removed may have added its metrics again
+        poolMetricsTable.keySet().retainAll(dbmsPoolTable.keySet());
     }
 
     /**
@@ -295,15 +316,15 @@ public class DBConnectionManager {
         //shell for the runnable
         cleanerThread.interrupt();//stop the thread
         cleanerThread = null;
+        unregisterPoolsMBean();
+        poolMetricsTable.clear();
 
         if (dbmsPoolTable == null) {
             return;
         }
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsKey = allDbmsKeys.nextElement();
-            PooledDataSourceProvider provider = this.getProvider(dbmsKey);
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsKey);
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> dbmsPoolEntry : dbmsPoolTable.entrySet()) {
+            PooledDataSourceProvider provider = this.getProvider(dbmsPoolEntry.getKey());
+            Map<String, DataSource> dsTable = dbmsPoolEntry.getValue();
             for (DataSource ds : dsTable.values()) {
                 try {
                     provider.closePooledDataSource(ds);
@@ -357,17 +378,36 @@ public class DBConnectionManager {
      */
     private void createCleaner() {
         if (cleanerThread == null) {
-            int interval = getPropIntValue
-                    (DB_DATASOURCE_CLEAN_INTERNAL_NAME,
-                            DB_DATASOURCE_CLEAN_INTERNAL_DEFAULT_VALUE);
-
+            synchronized (this) {
+                if (cleanerThread == null) {
+                    int interval = getPropIntValue
+                            (DB_DATASOURCE_CLEAN_INTERNAL_NAME,
+                                    DB_DATASOURCE_CLEAN_INTERNAL_DEFAULT_VALUE);
+
+
+                    //this runnable
+                    this.datasourceCleaner = new PooledDataSourceCleaner(this, interval);
+                    //submit it to the thread to run
+                    Thread thread = new Thread(datasourceCleaner);
+                    thread.setDaemon(true);
+                    thread.start();
+                    this.cleanerThread = thread;
+                }
+            }
+        }
+    }
 
-            //this runnable
-            this.datasourceCleaner = new PooledDataSourceCleaner(this, interval);
+    /**
+     * start the cleaner again if it stopped itself when there were no pools left.
+     */
+    private synchronized void restartCleaner() {
+        if (datasourceCleaner != null && datasourceCleaner.getState() == STATE_CLEANER.SHUTDOWN) {
             //submit it to the thread to run
-            this.cleanerThread = new Thread(datasourceCleaner);
-            this.cleanerThread.setDaemon(true);
-            this.cleanerThread.start();
+            Thread thread = new Thread(datasourceCleaner);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.setDaemon(true);
+            thread.start();
+            cleanerThread = thread;
         }
     }
 
@@ -407,60 +447,110 @@ public class DBConnectionManager {
      * @throws SQLException
      */
     protected Connection getPooledConnection(DBType aDbType, String aDbUrl, String aUsername, String aPassword) throws SQLException {
-        Connection retCon;
-
-        //key to hashtable of datasources for that dbms
+        //key to the map of datasources for that dbms
         String dbmsKey = aDbType + "." + aDbUrl;
 
+        String encryptedPass;
+        try {
+            encryptedPass = TripleDES.encryptPassword(aPassword);
+        } catch (Exception e) {
+            throw new SQLException("Failed to encrypt password for key = " + dbmsKey, e);
+        }
+        String dsTableKey = aDbUrl + "." + aUsername + "." + encryptedPass;
 
-        if (dbmsPoolTable.containsKey(dbmsKey)) {
-
+        while (true) {
             //each pool has pooled datasources, pool is based on dbUrl
             //so we can control the total size of connection to dbms
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsKey);
-
-            String encryptedPass;
-            try {
-                encryptedPass = TripleDES.encryptPassword(aPassword);
-            } catch (Exception e) {
-                throw new SQLException
-                        ("Failed to encrypt password for key = " + dbmsKey, e);
+            ConcurrentMap<String, DataSource> dsTable = dbmsPoolTable.get(dbmsKey);
+            if (dsTable == null) {
+                ConcurrentMap<String, DataSource> newDsTable = new ConcurrentHashMap<>();
+                dsTable = dbmsPoolTable.putIfAbsent(dbmsKey, newDsTable);
+                if (dsTable == null) {
+                    dsTable = newDsTable;
+                }
             }
+            //only after the dsTable, so the cleaner never leaves the metrics of a removed pool behind
+            PoolMetrics metrics = getPoolMetrics(dbmsKey);
 
-            String dsTableKey = aDbUrl + "." + aUsername + "." + encryptedPass;
-
-            DataSource ds;
-            if (dsTable.containsKey(dsTableKey)) {
+            DataSource ds = dsTable.get(dsTableKey);
+            if (ds != null) {
+                return getPooledConnection(ds, metrics, aUsername, aPassword);
+            }
 
+            //only the callers of the same dbms wait for the datasource to be created
+            synchronized (dsTable) {
+                //the cleaner may have removed the dsTable in the meantime
+                if (dbmsPoolTable.get(dbmsKey) != dsTable) {
+                    continue;
+                }
                 ds = dsTable.get(dsTableKey);
-                retCon = ds.getConnection();
-            } else {
-
+                if (ds != null) {
+                    return getPooledConnection(ds, metrics, aUsername, aPassword);
+                }
                 //need to check if it is ok to create another ds
                 ds = this.createDataSource(aDbType, aDbUrl, aUsername, aPassword, dsTable);
+                Connection retCon;
+                try {
+                    retCon = getPooledConnection(ds, metrics, aUsername, aPassword);
+                } catch (SQLException e) {
+                    closeDataSource(dbmsKey, ds);
+                    throw e;
+                }
+                dsTable.put(dsTableKey, ds);
+                return retCon;
+            }
+        }
+    }
+
+    private Connection getPooledConnection(DataSource ds, PoolMetrics metrics, String aUsername, String aPassword) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Connection retCon;
+            if (ds instanceof PooledDataSource) {
+                retCon = getPooledConnection((PooledDataSource) ds, aUsername, aPassword);
+            } else {
                 retCon = ds.getConnection();
+            }
+            metrics.checkedOut(System.nanoTime() - start);
+            return retCon;
+        } catch (SQLException e) {
+            metrics.checkoutFailed(System.nanoTime() - start, isCheckoutTimeout(e));
+            throw e;
+        }
+    }
 
-                dsTable.put(dsTableKey, ds);
+    /**
+     * @return if c3p0 gave up waiting for a connection after the checkout timeout
+     */
+    private boolean isCheckoutTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof com.mchange.v2.resourcepool.TimeoutException) {
+                return true;
             }
-        } else//don't have dbmsKey, will create one for that dbtype.dburl
-        {
+        }
+        return false;
+    }
 
-            //just create, don't need to check, since we don't have this dbmsKey
-            PooledDataSource ds = (PooledDataSource) this.createDataSource(aDbType, aDbUrl, aUsername, aPassword);
-            retCon = getPooledConnection(ds, aUsername, aPassword);
+    private PoolMetrics getPoolMetrics(String aDbmsPoolKey) {
+        PoolMetrics metrics = poolMetricsTable.get(aDbmsPoolKey);
+        if (metrics == null) {
+            PoolMetrics newMetrics = new PoolMetrics();
+            metrics = poolMetricsTable.putIfAbsent(aDbmsPoolKey, newMetrics);
+            if (metrics == null) {
+                metrics = newMetrics;
+            }
+        }
+        return metrics;
+    }
 
-            Hashtable<String, DataSource> dsTable = new Hashtable<>();
-            String encryptedPass;
+    private void closeDataSource(String aDbmsPoolKey, DataSource ds) {
+        PooledDataSourceProvider provider = this.getProvider(aDbmsPoolKey);
+        if (provider != null) {
             try {
-                encryptedPass = TripleDES.encryptPassword(aPassword);
-            } catch (Exception e) {
-                throw new SQLException("Failed to encrypt password for key = " + dbmsKey, e);
+                provider.closePooledDataSource(ds);
+            } catch (SQLException ignored) {
             }
-            String dsTableKey = aDbUrl + "." + aUsername + "." + encryptedPass;
-            dsTable.put(dsTableKey, ds);
-            dbmsPoolTable.put(dbmsKey, dsTable);
         }
-        return retCon;
     }
 
     private Connection getPooledConnection(PooledDataSource ds, String aUsername, String aPassword) throws SQLException {
@@ -469,15 +559,15 @@ public class DBConnectionManager {
             retCon = ds.getConnection();
         } catch (Exception e) {
             if (ds.sampleLastAcquisitionFailureStackTrace(aUsername, aPassword) != null) {
-                throw new SQLException(ds.sampleLastAcquisitionFailureStackTrace(aUsername, aPassword));
+                throw new SQLException(ds.sampleLastAcquisitionFailureStackTrace(aUsername, aPassword), e);
             } else if (ds.sampleLastCheckinFailureStackTrace(aUsername, aPassword) != null) {
-                throw new SQLException(ds.sampleLastCheckinFailureStackTrace(aUsername, aPassword));
+                throw new SQLException(ds.sampleLastCheckinFailureStackTrace(aUsername, aPassword), e);
             } else if (ds.sampleLastCheckoutFailureStackTrace(aUsername, aPassword) != null) {
-                throw new SQLException(ds.sampleLastCheckoutFailureStackTrace(aUsername, aPassword));
+                throw new SQLException(ds.sampleLastCheckoutFailureStackTrace(aUsername, aPassword), e);
             } else if (ds.sampleLastConnectionTestFailureStackTrace(aUsername, aPassword) != null) {
-                throw new SQLException(ds.sampleLastConnectionTestFailureStackTrace(aUsername, aPassword));
+                throw new SQLException(ds.sampleLastConnectionTestFailureStackTrace(aUsername, aPassword), e);
             } else if (ds.sampleLastIdleTestFailureStackTrace(aUsername, aPassword) != null) {
-                throw new SQLException(ds.sampleLastIdleTestFailureStackTrace(aUsername, aPassword));
+                throw new SQLException(ds.sampleLastIdleTestFailureStackTrace(aUsername, aPassword), e);
             } else {
                 throw new SQLException(e);
             }
@@ -504,7 +594,7 @@ public class DBConnectionManager {
                                           String aDbUrl,
                                           String aUsername,
                                           String aPassword,
-                                          Hashtable<String, DataSource> aDsTable)
+                                          Map<String, DataSource> aDsTable)
             throws SQLException {
         DataSource retDatasource;
 
@@ -569,17 +659,19 @@ public class DBConnectionManager {
         PooledDataSourceProvider provider;
 
         if (providerTable == null) {
-
-            switch (aDbType) {
-                //only has one at the moment
-                default:
-                    provider = new C3P0PooledDataSourceProvider(dbPoolingProperties);
+            synchronized (this) {
+                if (providerTable == null) {
+                    switch (aDbType) {
+                        //only has one at the moment
+                        default:
+                            provider = new C3P0PooledDataSourceProvider(dbPoolingProperties);
+                    }
+                    String name = provider.getProviderName();
+                    ConcurrentMap<String, PooledDataSourceProvider> newProviderTable = new ConcurrentHashMap<>();
+                    newProviderTable.put(name, provider);
+                    providerTable = newProviderTable;
+                }
             }
-            String name = provider.getProviderName();
-            providerTable = new Hashtable<>();
-            providerTable.put(name, provider);
-
-
         }
 
         String providerName;
@@ -607,6 +699,69 @@ public class DBConnectionManager {
         return dbmsPoolTable.size();
     }
 
+    /**
+     * @return the connections and the checkout metrics of every dbms pool
+     */
+    public List<PoolStatistics> getPoolStatistics() {
+        List<PoolStatistics> retStatistics = new ArrayList<>();
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> poolTable = dbmsPoolTable;
+        if (poolTable == null) {
+            return retStatistics;
+        }
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> dbmsPoolEntry : poolTable.entrySet()) {
+            String dbmsPoolKey = dbmsPoolEntry.getKey();
+            PooledDataSourceProvider provider = providerTable == null ? null : this.getProvider(dbmsPoolKey);
+            int total = 0;
+            int active = 0;
+            int idle = 0;
+            for (DataSource ds : dbmsPoolEntry.getValue().values()) {
+                if (provider == null) {
+                    continue;
+                }
+                try {
+                    total = total + provider.getAllConnectionNumber(ds);
+                    active = active + provider.getCheckedOutConnectionNumber(ds);
+                    idle = idle + provider.getCheckedInConnectionNumber(ds);
+                } catch (SQLException e) {
+//          todo          logger.error("Failed to get number of connections in dbms poolKey = "
+//                            + dbmsPoolKey, e);
+                }
+            }
+            PoolMetrics metrics = poolMetricsTable.get(dbmsPoolKey);
+            retStatistics.add(new PoolStatistics(PoolStatistics.maskCredentials(dbmsPoolKey), dbmsPoolEntry.getValue().size(), total, active, idle,
+                    metrics == null ? new PoolMetrics() : metrics));
+        }
+        return retStatistics;
+    }
+
+    /**
+     * publish the pool statistics of this manager through jmx, replacing the ones of a previous manager.
+     */
+    private void registerPoolsMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(POOLS_MBEAN_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new DBConnectionPools(this), name);
+        } catch (JMException e) {
+//          todo  logger.warn("Failed to register the pool statistics mbean", e);
+        }
+    }
+
+    private void unregisterPoolsMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(POOLS_MBEAN_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+//          todo  logger.warn("Failed to unregister the pool statistics mbean", e);
+        }
+    }
+
     //The followings are only for testing purpose
 
     /**
@@ -619,7 +774,7 @@ public class DBConnectionManager {
         int retTotal = 0;
 
         String dbmsPoolKey = aDbType + "." + aDbUrl;
-        Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
+        Map<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
         PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
 
         if (dsTable != null) {
@@ -642,7 +797,7 @@ public class DBConnectionManager {
         int retTotal = 0;
 
         String dbmsPoolKey = aDbType + "." + aDbUrl;
-        Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
+        Map<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
         PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
 
         if (dsTable != null) {
@@ -664,7 +819,7 @@ public class DBConnectionManager {
         int retTotal = 0;
 
         String dbmsPoolKey = aDbType + "." + aDbUrl;
-        Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
+        Map<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
         PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
 
         if (dsTable != null) {
@@ -683,10 +838,9 @@ public class DBConnectionManager {
     public int getTotalConnectionSize() throws SQLException {
         int retTotal = 0;
 
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsPoolKey = allDbmsKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> dbmsPoolEntry : dbmsPoolTable.entrySet()) {
+            String dbmsPoolKey = dbmsPoolEntry.getKey();
+            Map<String, DataSource> dsTable = dbmsPoolEntry.getValue();
             PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
 
             if (dsTable != null) {
@@ -705,10 +859,9 @@ public class DBConnectionManager {
     public int getTotalCheckedOutConnectionSize() throws SQLException {
         int retTotal = 0;
 
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsPoolKey = allDbmsKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> dbmsPoolEntry : dbmsPoolTable.entrySet()) {
+            String dbmsPoolKey = dbmsPoolEntry.getKey();
+            Map<String, DataSource> dsTable = dbmsPoolEntry.getValue();
             PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
 
             if (dsTable != null) {
@@ -727,10 +880,9 @@ public class DBConnectionManager {
     public int getTotalCheckedInConnectionSize() throws SQLException {
         int retTotal = 0;
 
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsPoolKey = allDbmsKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> dbmsPoolEntry : dbmsPoolTable.entrySet()) {
+            String dbmsPoolKey = dbmsPoolEntry.getKey();
+            Map<String, DataSource> dsTable = dbmsPoolEntry.getValue();
             PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
             if (dsTable != null) {
                 for (DataSource ds : dsTable.values()) {
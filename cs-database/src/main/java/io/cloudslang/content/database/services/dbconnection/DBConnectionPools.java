@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.services.dbconnection;
+
+import java.util.List;
+
+/**
+ * Publishes the pool statistics of a DBConnectionManager through JMX.
+ */
+class DBConnectionPools implements DBConnectionPoolsMXBean {
+    private final DBConnectionManager manager;
+
+    DBConnectionPools(DBConnectionManager aManager) {
+        this.manager = aManager;
+    }
+
+    @Override
+    public int getPoolCount() {
+        return manager.getPoolStatistics().size();
+    }
+
+    @Override
+    public int getTotalConnections() {
+        int retTotal = 0;
+        for (PoolStatistics statistics : manager.getPoolStatistics()) {
+            retTotal = retTotal + statistics.getTotalConnections();
+        }
+        return retTotal;
+    }
+
+    @Override
+    public int getActiveConnections() {
+        int retTotal = 0;
+        for (PoolStatistics statistics : manager.getPoolStatistics()) {
+            retTotal = retTotal + statistics.getActiveConnections();
+        }
+        return retTotal;
+    }
+
+    @Override
+    public int getIdleConnections() {
+        int retTotal = 0;
+        for (PoolStatistics statistics : manager.getPoolStatistics()) {
+            retTotal = retTotal + statistics.getIdleConnections();
+        }
+        return retTotal;
+    }
+
+    @Override
+    public List<PoolStatistics> getPoolStatistics() {
+        return manager.getPoolStatistics();
+    }
+}
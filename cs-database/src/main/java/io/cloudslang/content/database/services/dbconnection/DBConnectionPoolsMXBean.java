@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.services.dbconnection;
+
+import java.util.List;
+
+/**
+ * The JMX view of the pooled datasources of the DBConnectionManager. It is registered as
+ * {@value DBConnectionManager#POOLS_MBEAN_NAME} while pooling is enabled.
+ */
+public interface DBConnectionPoolsMXBean {
+    int getPoolCount();
+
+    int getTotalConnections();
+
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    List<PoolStatistics> getPoolStatistics();
+}
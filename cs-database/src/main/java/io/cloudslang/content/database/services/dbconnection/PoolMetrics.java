@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.services.dbconnection;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the connection checkouts of one dbms pool. A checkout waited when it took longer than WAIT_THRESHOLD_NANOS,
+ * checking out an idle connection and testing it takes less, so the caller had to wait for a connection to be checked
+ * in or acquired. The time is measured by the caller, asking the pool for its idle connections would take its lock.
+ */
+class PoolMetrics {
+    static final long WAIT_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final AtomicLong checkouts = new AtomicLong();
+    private final AtomicLong failedCheckouts = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong checkoutNanos = new AtomicLong();
+    private final AtomicLong maxCheckoutNanos = new AtomicLong();
+    private final AtomicLong waits = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    void checkedOut(final long nanos) {
+        checkouts.incrementAndGet();
+        addCheckoutTime(nanos);
+    }
+
+    void checkoutFailed(final long nanos, final boolean timedOut) {
+        failedCheckouts.incrementAndGet();
+        if (timedOut) {
+            timeouts.incrementAndGet();
+        }
+        addCheckoutTime(nanos);
+    }
+
+    long getCheckouts() {
+        return checkouts.get();
+    }
+
+    long getFailedCheckouts() {
+        return failedCheckouts.get();
+    }
+
+    long getTimeouts() {
+        return timeouts.get();
+    }
+
+    long getCheckoutNanos() {
+        return checkoutNanos.get();
+    }
+
+    long getMaxCheckoutNanos() {
+        return maxCheckoutNanos.get();
+    }
+
+    long getWaits() {
+        return waits.get();
+    }
+
+    long getWaitNanos() {
+        return waitNanos.get();
+    }
+
+    private void addCheckoutTime(final long nanos) {
+        checkoutNanos.addAndGet(nanos);
+        long max;
+        while (nanos > (max = maxCheckoutNanos.get()) && !maxCheckoutNanos.compareAndSet(max, nanos)) {
+            //another checkout updated the maximum, compare again
+        }
+        if (nanos > WAIT_THRESHOLD_NANOS) {
+            waits.incrementAndGet();
+            waitNanos.addAndGet(nanos);
+        }
+    }
+}
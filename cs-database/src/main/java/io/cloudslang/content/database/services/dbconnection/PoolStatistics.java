@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.services.dbconnection;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * A snapshot of the connections and the checkout metrics of one dbms pool, the pool of all the
+ * datasources opened for the same db type and connection url.
+ */
+public class PoolStatistics {
+    //user=, password= and the like in the properties of the url
+    private static final Pattern CREDENTIAL_PROPERTY = Pattern.compile("(?i)(\\b(?:user|username|user id|uid|password|pwd)\\s*=)[^;&)]*");
+    //user/password@ (oracle) and user:password@ (url user info) before the host
+    private static final Pattern CREDENTIAL_USER_INFO = Pattern.compile("([:/])[^:/@;?&=]+[:/][^:/@;?&=]+@");
+    private static final String MASK = "****";
+
+    private final String poolKey;
+    private final int dataSources;
+    private final int totalConnections;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final long checkouts;
+    private final long failedCheckouts;
+    private final long timeouts;
+    private final long averageCheckoutMillis;
+    private final long maxCheckoutMillis;
+    private final long waits;
+    private final long averageWaitMillis;
+
+    PoolStatistics(final String poolKey, final int dataSources, final int totalConnections, final int activeConnections,
+                   final int idleConnections, final PoolMetrics metrics) {
+        this.poolKey = poolKey;
+        this.dataSources = dataSources;
+        this.totalConnections = totalConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.checkouts = metrics.getCheckouts();
+        this.failedCheckouts = metrics.getFailedCheckouts();
+        this.timeouts = metrics.getTimeouts();
+        this.averageCheckoutMillis = averageMillis(metrics.getCheckoutNanos(), checkouts + failedCheckouts);
+        this.maxCheckoutMillis = TimeUnit.NANOSECONDS.toMillis(metrics.getMaxCheckoutNanos());
+        this.waits = metrics.getWaits();
+        this.averageWaitMillis = averageMillis(metrics.getWaitNanos(), waits);
+    }
+
+    /**
+     * @return the db type and the connection url of the pool, without the user and the password the url may contain
+     */
+    public String getPoolKey() {
+        return poolKey;
+    }
+
+    public int getDataSources() {
+        return dataSources;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    /**
+     * @return the connections that are checked out
+     */
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    /**
+     * @return the connections that are checked in
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public long getCheckouts() {
+        return checkouts;
+    }
+
+    public long getFailedCheckouts() {
+        return failedCheckouts;
+    }
+
+    /**
+     * @return the checkouts that failed because no connection became available within the checkout timeout
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public long getAverageCheckoutMillis() {
+        return averageCheckoutMillis;
+    }
+
+    public long getMaxCheckoutMillis() {
+        return maxCheckoutMillis;
+    }
+
+    /**
+     * @return the checkouts that waited for a connection, see PoolMetrics.WAIT_THRESHOLD_NANOS
+     */
+    public long getWaits() {
+        return waits;
+    }
+
+    public long getAverageWaitMillis() {
+        return averageWaitMillis;
+    }
+
+    @Override
+    public String toString() {
+        return poolKey +
+                ": dataSources=" + dataSources +
+                ", totalConnections=" + totalConnections +
+                ", activeConnections=" + activeConnections +
+                ", idleConnections=" + idleConnections +
+                ", checkouts=" + checkouts +
+                ", failedCheckouts=" + failedCheckouts +
+                ", timeouts=" + timeouts +
+                ", averageCheckoutMillis=" + averageCheckoutMillis +
+                ", maxCheckoutMillis=" + maxCheckoutMillis +
+                ", waits=" + waits +
+                ", averageWaitMillis=" + averageWaitMillis;
+    }
+
+    /**
+     * @return the pool key with the values of the credentials in its url replaced by ****
+     */
+    static String maskCredentials(final String poolKey) {
+        final String masked = CREDENTIAL_PROPERTY.matcher(poolKey).replaceAll("$1" + MASK);
+        return CREDENTIAL_USER_INFO.matcher(masked).replaceAll("$1" + MASK + "@");
+    }
+
+    private static long averageMillis(final long nanos, final long count) {
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(nanos / count);
+    }
+}
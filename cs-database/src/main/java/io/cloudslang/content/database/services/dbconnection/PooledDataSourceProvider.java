@@ -84,6 +84,11 @@ public abstract class PooledDataSourceProvider {
     public static String CONNECTION_BREAKAFTERACQUIREFAILURE_NAME =
             "connection.break_afteracquirefailure";
     public static String CONNECTION_BREAKAFTERACQUIREFAILURE_DEFAULT_VALUE = "true";
+    //Number of prepared statements every pooled connection keeps open for reuse, the least
+    //recently used statement is closed when a new one does not fit. Zero disables the cache.
+    public static String MAX_STATEMENTS_PER_CONNECTION_NAME =
+            "connection.maxstatementsperconnection";
+    public static String MAX_STATEMENTS_PER_CONNECTION_DEFAULT_VALUE = "20";
     //properties in databasePooling.properties which are specific for
     //dbtype
     //oracle
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * An in memory writer that fails as soon as more than maxLength characters are written,
+ * instead of growing until the heap is exhausted.
+ */
+public class BoundedWriter extends Writer {
+    private final StringBuilder buffer = new StringBuilder();
+    private final int maxLength;
+
+    /**
+     * @param maxLength the maximum number of characters that can be written, 0 or less for no limit
+     */
+    public BoundedWriter(final int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureCapacity(len);
+        buffer.append(cbuf, off, len);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureCapacity(1);
+        buffer.append((char) c);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureCapacity(len);
+        buffer.append(str, off, off + len);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String toString() {
+        return buffer.toString();
+    }
+
+    private void ensureCapacity(final int len) throws IOException {
+        if (maxLength > 0 && buffer.length() + len > maxLength) {
+            throw new IOException("The result is longer than " + maxLength + " characters. " +
+                    "Increase maxResultLength or write the result to an outputFile.");
+        }
+    }
+}
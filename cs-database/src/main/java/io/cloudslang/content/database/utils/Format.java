@@ -9,20 +9,31 @@
  *******************************************************************************/
 package io.cloudslang.content.database.utils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.List;
 
 import static io.cloudslang.content.database.constants.DBDefaultValues.NEW_LINE;
-import static org.apache.commons.lang3.StringUtils.EMPTY;
 
 /**
  * Created by victor on 13.01.2017.
  */
 public class Format {
+    // the number of characters of a table kept in memory before the values are spilled to a temporary file
+    public static final long SPILL_THRESHOLD = 1024 * 1024;
     public static int colPadding = 2;
 
     /**
@@ -36,8 +47,10 @@ public class Format {
      * @param checkNullTermination
      * @return
      */
-    public static String resultSetToTable(ResultSet result, boolean checkNullTermination) throws SQLException {
-        return resultSetToTable(result, Calendar.getInstance(), checkNullTermination);
+    public static String resultSetToTable(ResultSet result, boolean checkNullTermination) throws SQLException, IOException {
+        final StringWriter resultWriter = new StringWriter();
+        resultSetToTable(result, checkNullTermination, resultWriter);
+        return resultWriter.toString();
     }
 
     /**
@@ -86,71 +99,130 @@ public class Format {
 
 
     /**
-     * Returns tabular form of resultSet similar to what you would get from
-     * running a query from the command line
+     * Writes the tabular form of resultSet, similar to what you would get from
+     * running a query from the command line, to a writer.
+     * The column widths are only known after the last row was read, so the values are kept in memory
+     * in a first pass and padded while copying them to the writer in a second pass. Once the values
+     * exceed {@link #SPILL_THRESHOLD} characters they are spilled to a temporary file instead,
+     * so a big result set does not have to fit in memory.
      *
-     * @param result populated result set
-     * @param cal    calendar to use to format
-     * @return
+     * @param result               populated result set
+     * @param checkNullTermination perform the null termination check on a string (eg. netcool)
+     * @param out                  the writer that receives the table, it is flushed but not closed
+     * @return the number of rows written
      * @throws SQLException
+     * @throws IOException if the spill file or the writer fail
      */
-    private static String resultSetToTable(ResultSet result, Calendar cal, boolean checkNullTermination) throws SQLException {
+    public static long resultSetToTable(ResultSet result, boolean checkNullTermination, Writer out) throws SQLException, IOException {
+        return resultSetToTable(result, checkNullTermination, out, SPILL_THRESHOLD);
+    }
+
+    static long resultSetToTable(ResultSet result, boolean checkNullTermination, Writer out, long spillThreshold)
+            throws SQLException, IOException {
         assert (result != null);
 
         ResultSetMetaData md = result.getMetaData();
         int nCols = md.getColumnCount();
         String[] headers = new String[nCols];
         int[] headerSz = new int[nCols]; // Note: Eclipse has a friendly getDisplaySizes() function
-        int maxWidth = 1; // maximum column width - initially set at 1 to prevent an edge case
-
-        List<String[]> rows = new ArrayList<>(); // columns
-        // This is fairly space intensive because we don't want to turn this into an O^2(n) problem
-        // instead of a O(n) problem. It's O(n) space but with a k of 2, and same with space.
-        // Ugh, stupid time-memory tradeoffs
-        // We're storing it ALL in Java data structures to figure out width of columns first, then padding later
-        // for serialization
+
         for (int colheader = 0; colheader < nCols; colheader++) {
             headers[colheader] = md.getColumnLabel(colheader + 1);
             headerSz[colheader] = headers[colheader].length();
         }
 
-        // setup columns to be width of column labels
-        while (result.next()) {
-            String[] row = new String[headers.length];
-            for (int colN = 0; colN < nCols; colN++) {
-                String colVal = getColumn(result, colN + 1, checkNullTermination);
-                headerSz[colN] = colVal.length() > headerSz[colN] ? colVal.length() : headerSz[colN];
-                row[colN] = colVal;
+        final List<String> values = new ArrayList<>();
+        long valuesLength = 0;
+        File spillFile = null;
+        DataOutputStream spill = null;
+        try {
+            // first pass: setup columns to be width of the widest value and keep or spill the values
+            long nRows = 0;
+            while (result.next()) {
+                for (int colN = 0; colN < nCols; colN++) {
+                    String colVal = getColumn(result, colN + 1, checkNullTermination);
+                    headerSz[colN] = colVal.length() > headerSz[colN] ? colVal.length() : headerSz[colN];
+                    if (spill != null) {
+                        writeValue(spill, colVal);
+                        continue;
+                    }
+                    values.add(colVal);
+                    valuesLength += colVal.length();
+                    if (valuesLength > spillThreshold) {
+                        spillFile = File.createTempFile("cs-database-table", ".tmp");
+                        spill = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile)));
+                        for (String value : values) {
+                            writeValue(spill, value);
+                        }
+                        values.clear();
+                    }
+                }
+                nRows++;
             }
-            rows.add(row);
-        }
-        // column widths set, now start populating the string builder
-        StringBuilder resultSb = new StringBuilder(headers.length * maxWidth / 2);
-        // construct the headers
-        for (int colheader = 0; colheader < nCols; colheader++) {
-            resultSb.append(headers[colheader]);
-            for (int count = 0; count < headerSz[colheader] - headers[colheader].length() + colPadding; count++)
-                resultSb.append(" ");
-        }
-        resultSb.append(NEW_LINE);
-        for (int colheader = 0; colheader < nCols; colheader++) {
-            for (int count = 0; count < headerSz[colheader]; count++)
-                resultSb.append("-");
-            for (int count = 0; count < colPadding; count++)
-                resultSb.append(" ");
-        }
-        resultSb.append(NEW_LINE);
-        // now append the data itself
-        for (String[] row : rows) {
-            for (int col = 0; col < nCols; col++) {
-                resultSb.append(row[col]);
-                for (int padIdx = 0; padIdx < headerSz[col] - row[col].length() + colPadding; padIdx++)
-                    resultSb.append(" ");
+            if (spill != null) {
+                spill.close();
+            }
+
+            // column widths set, now write the headers
+            for (int colheader = 0; colheader < nCols; colheader++) {
+                out.write(headers[colheader]);
+                pad(out, ' ', headerSz[colheader] - headers[colheader].length() + colPadding);
+            }
+            out.write(NEW_LINE);
+            for (int colheader = 0; colheader < nCols; colheader++) {
+                pad(out, '-', headerSz[colheader]);
+                pad(out, ' ', colPadding);
+            }
+            out.write(NEW_LINE);
+
+            // second pass: now write the data itself
+            if (spillFile == null) {
+                int valueIdx = 0;
+                for (long row = 0; row < nRows; row++) {
+                    for (int col = 0; col < nCols; col++) {
+                        writeCell(out, values.get(valueIdx++), headerSz[col]);
+                    }
+                    out.write(NEW_LINE);
+                }
+            } else {
+                try (DataInputStream spilled = new DataInputStream(new BufferedInputStream(new FileInputStream(spillFile)))) {
+                    for (long row = 0; row < nRows; row++) {
+                        for (int col = 0; col < nCols; col++) {
+                            final byte[] bytes = new byte[spilled.readInt()];
+                            spilled.readFully(bytes);
+                            writeCell(out, new String(bytes, StandardCharsets.UTF_8), headerSz[col]);
+                        }
+                        out.write(NEW_LINE);
+                    }
+                }
+            }
+            out.flush();
+            return nRows;
+        } finally {
+            if (spill != null) {
+                spill.close();
+            }
+            if (spillFile != null && !spillFile.delete()) {
+                spillFile.deleteOnExit();
             }
-            resultSb.append(NEW_LINE);
         }
+    }
+
+    private static void writeValue(DataOutputStream spill, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        spill.writeInt(bytes.length);
+        spill.write(bytes);
+    }
 
-        return resultSb.toString();
+    private static void writeCell(Writer out, String value, int width) throws IOException {
+        out.write(value);
+        pad(out, ' ', width - value.length() + colPadding);
+    }
+
+    private static void pad(Writer out, char padChar, int count) throws IOException {
+        for (int padIdx = 0; padIdx < count; padIdx++) {
+            out.write(padChar);
+        }
     }
 
     /**
@@ -161,31 +233,43 @@ public class Format {
      * @return
      * @throws SQLException
      */
-    public static String resultSetToDelimitedColsAndRows(ResultSet resultSet, boolean checkNullTermination, String colDelimiter, String rowDelimiter) throws SQLException {
-//        assert (resultSet != null);
+    public static String resultSetToDelimitedColsAndRows(ResultSet resultSet, boolean checkNullTermination, String colDelimiter, String rowDelimiter) throws SQLException, IOException {
+        final StringWriter delimitedResult = new StringWriter();
+        resultSetToDelimitedColsAndRows(resultSet, checkNullTermination, colDelimiter, rowDelimiter, delimitedResult);
+        return delimitedResult.toString();
+    }
 
-        final StringBuilder delimitedResult = new StringBuilder();
+    /**
+     * Writes the rows of resultSet to a writer, the values separated by colDelimiter and the rows by rowDelimiter.
+     * The row delimiter is written before every row but the first, so nothing has to be removed at the end.
+     *
+     * @param resultSet populated result set
+     * @param out       the writer that receives the rows, it is flushed but not closed
+     * @return the number of rows written
+     * @throws SQLException
+     * @throws IOException if the writer fails
+     */
+    public static long resultSetToDelimitedColsAndRows(ResultSet resultSet, boolean checkNullTermination, String colDelimiter, String rowDelimiter, Writer out) throws SQLException, IOException {
+        long nRows = 0;
         if (resultSet != null) {
             final int nCols = resultSet.getMetaData()
                     .getColumnCount();
             // populate rows and cols
             while (resultSet.next()) {
+                if (nRows != 0) {
+                    out.write(rowDelimiter);
+                }
                 for (int colN = 0; colN < nCols; colN++) {
                     if (colN != 0) {
-                        delimitedResult.append(colDelimiter);
+                        out.write(colDelimiter);
                     }
-                    delimitedResult.append(getColumn(resultSet, colN + 1, checkNullTermination));
+                    out.write(getColumn(resultSet, colN + 1, checkNullTermination));
                 }
-                delimitedResult.append(rowDelimiter);
+                nRows++;
             }
         }
-
-        //If a multi-char delimiter is used, removing the last character is not enough
-        int length = rowDelimiter.length();
-        if ((delimitedResult.length() - length) >= 0) {
-            return delimitedResult.substring(0, delimitedResult.length() - length);
-        }
-        return EMPTY;
+        out.flush();
+        return nRows;
     }
 
 }
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An open query result that is kept in the global session between SQL Query calls.
+ * The connection, statement and result set stay open and rows are read from the result set
+ * in chunks of fetchSize, so only the current chunk is held in memory.
+ * Cursors that are not advanced for longer than their idle timeout are closed by a background reaper.
+ */
+public class SQLCursor implements Closeable {
+    //interval when the reaper wakes up in seconds
+    private static final long REAPER_INTERVAL = 30;
+
+    private static final Set<SQLCursor> openCursors = Collections.newSetFromMap(new ConcurrentHashMap<SQLCursor, Boolean>());
+    private static volatile ScheduledExecutorService reaper;
+
+    private final Connection connection;
+    private final Statement statement;
+    private final ResultSet resultSet;
+    private final String strDelim;
+    private final boolean isNetcool;
+    private final int fetchSize;
+    private final long idleTimeoutMillis;
+    private final int columnCount;
+    private final String strColumns;
+    private final Deque<String> chunk;
+
+    private volatile long lastAccess;
+    private boolean exhausted;
+    private boolean closed;
+
+    /**
+     * @param connection         the connection the statement was created on, closed together with the cursor
+     * @param statement          the statement that produced the result set
+     * @param resultSet          an open result set positioned before the first row
+     * @param strDelim           the delimiter used between the values of a row and between the column names
+     * @param isNetcool          true if the values have to be processed as Netcool null terminated strings
+     * @param fetchSize          the number of rows read from the result set at a time
+     * @param idleTimeoutSeconds seconds after which an unused cursor is closed
+     * @throws SQLException if the result set metadata can not be read
+     */
+    public SQLCursor(@NotNull final Connection connection, @NotNull final Statement statement, @NotNull final ResultSet resultSet,
+                     @NotNull final String strDelim, final boolean isNetcool, final int fetchSize, final int idleTimeoutSeconds) throws SQLException {
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.strDelim = strDelim;
+        this.isNetcool = isNetcool;
+        this.fetchSize = Math.max(1, fetchSize);
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+        this.chunk = new ArrayDeque<>(this.fetchSize);
+
+        final ResultSetMetaData mtd = resultSet.getMetaData();
+        this.columnCount = mtd.getColumnCount();
+        this.strColumns = SQLUtils.getColumnLabels(mtd, strDelim);
+        this.lastAccess = System.currentTimeMillis();
+
+        closeIdleCursors(lastAccess);
+        openCursors.add(this);
+        startReaper();
+    }
+
+    /**
+     * Returns the next row and reads a new chunk from the result set when the current one is used up.
+     * The cursor closes itself after the last row was returned.
+     *
+     * @return the values of the next row separated by the delimiter or null if there are no more rows
+     * @throws SQLException if the cursor was closed or reading from the result set failed
+     */
+    public synchronized String next() throws SQLException {
+        if (closed) {
+            throw new SQLException("The cursor was closed after being idle for more than " +
+                    TimeUnit.MILLISECONDS.toSeconds(idleTimeoutMillis) + " seconds.");
+        }
+        lastAccess = System.currentTimeMillis();
+        if (chunk.isEmpty() && !exhausted) {
+            readChunk();
+        }
+        final String row = chunk.pollFirst();
+        if (row == null) {
+            close();
+        }
+        return row;
+    }
+
+    /**
+     * @return the number of rows already read from the database and not yet returned.
+     * More rows may still be available in the result set.
+     */
+    public synchronized int getBufferedRows() {
+        return chunk.size();
+    }
+
+    public String getStrColumns() {
+        return strColumns;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the result set, the statement and the connection. Errors on close are ignored.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        chunk.clear();
+        openCursors.remove(this);
+        try {
+            resultSet.close();
+        } catch (SQLException ignored) {
+        }
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * @return the number of cursors that are still open
+     */
+    public static int getOpenCursorCount() {
+        return openCursors.size();
+    }
+
+    /**
+     * Closes every cursor that was not used for longer than its idle timeout.
+     *
+     * @param now the current time in milliseconds
+     */
+    public static void closeIdleCursors(final long now) {
+        for (final SQLCursor cursor : openCursors) {
+            cursor.closeIfIdle(now);
+        }
+    }
+
+    private synchronized void closeIfIdle(final long now) {
+        if (now - lastAccess > idleTimeoutMillis) {
+            close();
+        }
+    }
+
+    private void readChunk() throws SQLException {
+        for (int i = 0; i < fetchSize; i++) {
+            if (!resultSet.next()) {
+                exhausted = true;
+                return;
+            }
+            chunk.addLast(SQLUtils.getRowString(resultSet, columnCount, strDelim, isNetcool));
+        }
+    }
+
+    private static void startReaper() {
+        if (reaper == null) {
+            synchronized (SQLCursor.class) {
+                if (reaper == null) {
+                    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                        @Override
+                        public Thread newThread(@NotNull final Runnable runnable) {
+                            final Thread thread = new Thread(runnable, "SQLCursorReaper");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                    executor.scheduleWithFixedDelay(new Runnable() {
+                        @Override
+                        public void run() {
+                            closeIdleCursors(System.currentTimeMillis());
+                        }
+                    }, REAPER_INTERVAL, REAPER_INTERVAL, TimeUnit.SECONDS);
+                    reaper = executor;
+                }
+            }
+        }
+    }
+}
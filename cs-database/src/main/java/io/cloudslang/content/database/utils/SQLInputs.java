@@ -52,9 +52,23 @@ public class SQLInputs {
     private Integer resultSetType;
     private Integer resultSetConcurrency;
     private List<String> sqlCommands = new ArrayList<>();
-
-    @java.beans.ConstructorProperties({"sqlCommand", "dbServer", "dbName", "dbPort", "dbType", "key", "username", "password", "authenticationType", "instance", "ignoreCase", "timeout", "dbUrl", "dbClass", "isNetcool", "lRowsFiles", "lRowsNames", "skip", "strDelim", "strColumns", "lRows", "iUpdateCount", "databasePoolingProperties", "trustStore", "trustStorePassword", "trustAllRoots", "colDelimiter", "rowDelimiter", "resultSetType", "resultSetConcurrency", "sqlCommands"})
-    SQLInputs(String sqlCommand, String dbServer, String dbName, int dbPort, String dbType, String key, String username, String password, String authenticationType, String instance, boolean ignoreCase, int timeout, String dbUrl, String dbClass, boolean isNetcool, List<List<String>> lRowsFiles, List<List<String>> lRowsNames, long skip, String strDelim, String strColumns, List<String> lRows, int iUpdateCount, Properties databasePoolingProperties, String trustStore, String trustStorePassword, boolean trustAllRoots, String colDelimiter, String rowDelimiter, Integer resultSetType, Integer resultSetConcurrency, List<String> sqlCommands) {
+    private int fetchSize;
+    private int cursorIdleTimeout;
+    private String outputFile;
+    private int maxResultLength;
+    private int commitSize;
+    private int parallelSections;
+    private String sectionDelimiter;
+    private boolean batchInserts;
+    private List<String> chunkTimings;
+    private String lobDirectory;
+    private String lobArchive;
+    private int maxLobSize;
+    private int lobWorkers;
+    private List<String> params;
+
+    @java.beans.ConstructorProperties({"sqlCommand", "dbServer", "dbName", "dbPort", "dbType", "key", "username", "password", "authenticationType", "instance", "ignoreCase", "timeout", "dbUrl", "dbClass", "isNetcool", "lRowsFiles", "lRowsNames", "skip", "strDelim", "strColumns", "lRows", "iUpdateCount", "databasePoolingProperties", "trustStore", "trustStorePassword", "trustAllRoots", "colDelimiter", "rowDelimiter", "resultSetType", "resultSetConcurrency", "sqlCommands", "fetchSize", "cursorIdleTimeout", "outputFile", "maxResultLength", "commitSize", "parallelSections", "sectionDelimiter", "batchInserts", "chunkTimings", "lobDirectory", "lobArchive", "maxLobSize", "lobWorkers", "params"})
+    SQLInputs(String sqlCommand, String dbServer, String dbName, int dbPort, String dbType, String key, String username, String password, String authenticationType, String instance, boolean ignoreCase, int timeout, String dbUrl, String dbClass, boolean isNetcool, List<List<String>> lRowsFiles, List<List<String>> lRowsNames, long skip, String strDelim, String strColumns, List<String> lRows, int iUpdateCount, Properties databasePoolingProperties, String trustStore, String trustStorePassword, boolean trustAllRoots, String colDelimiter, String rowDelimiter, Integer resultSetType, Integer resultSetConcurrency, List<String> sqlCommands, int fetchSize, int cursorIdleTimeout, String outputFile, int maxResultLength, int commitSize, int parallelSections, String sectionDelimiter, boolean batchInserts, List<String> chunkTimings, String lobDirectory, String lobArchive, int maxLobSize, int lobWorkers, List<String> params) {
         this.sqlCommand = sqlCommand;
         this.dbServer = dbServer;
         this.dbName = dbName;
@@ -86,6 +100,20 @@ public class SQLInputs {
         this.resultSetType = resultSetType;
         this.resultSetConcurrency = resultSetConcurrency;
         this.sqlCommands = sqlCommands == null ? new ArrayList<String>() : sqlCommands;
+        this.fetchSize = fetchSize;
+        this.cursorIdleTimeout = cursorIdleTimeout;
+        this.outputFile = outputFile;
+        this.maxResultLength = maxResultLength;
+        this.commitSize = commitSize;
+        this.parallelSections = parallelSections;
+        this.sectionDelimiter = sectionDelimiter;
+        this.batchInserts = batchInserts;
+        this.chunkTimings = chunkTimings;
+        this.lobDirectory = lobDirectory;
+        this.lobArchive = lobArchive;
+        this.maxLobSize = maxLobSize;
+        this.lobWorkers = lobWorkers;
+        this.params = params;
     }
 
     public static SQLInputsBuilder builder() {
@@ -336,6 +364,118 @@ public class SQLInputs {
         return this.sqlCommands;
     }
 
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getCursorIdleTimeout() {
+        return this.cursorIdleTimeout;
+    }
+
+    public void setCursorIdleTimeout(int cursorIdleTimeout) {
+        this.cursorIdleTimeout = cursorIdleTimeout;
+    }
+
+    public String getOutputFile() {
+        return this.outputFile;
+    }
+
+    public void setOutputFile(String outputFile) {
+        this.outputFile = outputFile;
+    }
+
+    public int getMaxResultLength() {
+        return this.maxResultLength;
+    }
+
+    public void setMaxResultLength(int maxResultLength) {
+        this.maxResultLength = maxResultLength;
+    }
+
+    public int getCommitSize() {
+        return this.commitSize;
+    }
+
+    public void setCommitSize(int commitSize) {
+        this.commitSize = commitSize;
+    }
+
+    public int getParallelSections() {
+        return this.parallelSections;
+    }
+
+    public void setParallelSections(int parallelSections) {
+        this.parallelSections = parallelSections;
+    }
+
+    public String getSectionDelimiter() {
+        return this.sectionDelimiter;
+    }
+
+    public void setSectionDelimiter(String sectionDelimiter) {
+        this.sectionDelimiter = sectionDelimiter;
+    }
+
+    public boolean isBatchInserts() {
+        return this.batchInserts;
+    }
+
+    public void setBatchInserts(boolean batchInserts) {
+        this.batchInserts = batchInserts;
+    }
+
+    public List<String> getChunkTimings() {
+        return this.chunkTimings;
+    }
+
+    public void setChunkTimings(List<String> chunkTimings) {
+        this.chunkTimings = chunkTimings;
+    }
+
+    public String getLobDirectory() {
+        return this.lobDirectory;
+    }
+
+    public void setLobDirectory(String lobDirectory) {
+        this.lobDirectory = lobDirectory;
+    }
+
+    public String getLobArchive() {
+        return this.lobArchive;
+    }
+
+    public void setLobArchive(String lobArchive) {
+        this.lobArchive = lobArchive;
+    }
+
+    public int getMaxLobSize() {
+        return this.maxLobSize;
+    }
+
+    public void setMaxLobSize(int maxLobSize) {
+        this.maxLobSize = maxLobSize;
+    }
+
+    public int getLobWorkers() {
+        return this.lobWorkers;
+    }
+
+    public void setLobWorkers(int lobWorkers) {
+        this.lobWorkers = lobWorkers;
+    }
+
+    public List<String> getParams() {
+        return this.params;
+    }
+
+    public void setParams(List<String> params) {
+        this.params = params;
+    }
+
     public boolean equals(Object o) {
         if (o == this) return true;
         if (!(o instanceof SQLInputs)) return false;
@@ -433,6 +573,38 @@ public class SQLInputs {
         final Object other$sqlCommands = other.getSqlCommands();
         if (this$sqlCommands == null ? other$sqlCommands != null : !this$sqlCommands.equals(other$sqlCommands))
             return false;
+        if (this.getFetchSize() != other.getFetchSize()) return false;
+        if (this.getCursorIdleTimeout() != other.getCursorIdleTimeout()) return false;
+        final Object this$outputFile = this.getOutputFile();
+        final Object other$outputFile = other.getOutputFile();
+        if (this$outputFile == null ? other$outputFile != null : !this$outputFile.equals(other$outputFile))
+            return false;
+        if (this.getMaxResultLength() != other.getMaxResultLength()) return false;
+        if (this.getCommitSize() != other.getCommitSize()) return false;
+        if (this.getParallelSections() != other.getParallelSections()) return false;
+        final Object this$sectionDelimiter = this.getSectionDelimiter();
+        final Object other$sectionDelimiter = other.getSectionDelimiter();
+        if (this$sectionDelimiter == null ? other$sectionDelimiter != null : !this$sectionDelimiter.equals(other$sectionDelimiter))
+            return false;
+        if (this.isBatchInserts() != other.isBatchInserts()) return false;
+        final Object this$chunkTimings = this.getChunkTimings();
+        final Object other$chunkTimings = other.getChunkTimings();
+        if (this$chunkTimings == null ? other$chunkTimings != null : !this$chunkTimings.equals(other$chunkTimings))
+            return false;
+        final Object this$lobDirectory = this.getLobDirectory();
+        final Object other$lobDirectory = other.getLobDirectory();
+        if (this$lobDirectory == null ? other$lobDirectory != null : !this$lobDirectory.equals(other$lobDirectory))
+            return false;
+        final Object this$lobArchive = this.getLobArchive();
+        final Object other$lobArchive = other.getLobArchive();
+        if (this$lobArchive == null ? other$lobArchive != null : !this$lobArchive.equals(other$lobArchive))
+            return false;
+        if (this.getMaxLobSize() != other.getMaxLobSize()) return false;
+        if (this.getLobWorkers() != other.getLobWorkers()) return false;
+        final Object this$params = this.getParams();
+        final Object other$params = other.getParams();
+        if (this$params == null ? other$params != null : !this$params.equals(other$params))
+            return false;
         return true;
     }
 
@@ -495,6 +667,26 @@ public class SQLInputs {
         result = result * PRIME + ($resultSetConcurrency == null ? 43 : $resultSetConcurrency.hashCode());
         final Object $sqlCommands = this.getSqlCommands();
         result = result * PRIME + ($sqlCommands == null ? 43 : $sqlCommands.hashCode());
+        result = result * PRIME + this.getFetchSize();
+        result = result * PRIME + this.getCursorIdleTimeout();
+        final Object $outputFile = this.getOutputFile();
+        result = result * PRIME + ($outputFile == null ? 43 : $outputFile.hashCode());
+        result = result * PRIME + this.getMaxResultLength();
+        result = result * PRIME + this.getCommitSize();
+        result = result * PRIME + this.getParallelSections();
+        final Object $sectionDelimiter = this.getSectionDelimiter();
+        result = result * PRIME + ($sectionDelimiter == null ? 43 : $sectionDelimiter.hashCode());
+        result = result * PRIME + (this.isBatchInserts() ? 79 : 97);
+        final Object $chunkTimings = this.getChunkTimings();
+        result = result * PRIME + ($chunkTimings == null ? 43 : $chunkTimings.hashCode());
+        final Object $lobDirectory = this.getLobDirectory();
+        result = result * PRIME + ($lobDirectory == null ? 43 : $lobDirectory.hashCode());
+        final Object $lobArchive = this.getLobArchive();
+        result = result * PRIME + ($lobArchive == null ? 43 : $lobArchive.hashCode());
+        result = result * PRIME + this.getMaxLobSize();
+        result = result * PRIME + this.getLobWorkers();
+        final Object $params = this.getParams();
+        result = result * PRIME + ($params == null ? 43 : $params.hashCode());
         return result;
     }
 
@@ -503,7 +695,7 @@ public class SQLInputs {
     }
 
     public String toString() {
-        return "io.cloudslang.content.database.utils.SQLInputs(sqlCommand=" + this.getSqlCommand() + ", dbServer=" + this.getDbServer() + ", dbName=" + this.getDbName() + ", dbPort=" + this.getDbPort() + ", dbType=" + this.getDbType() + ", key=" + this.getKey() + ", username=" + this.getUsername() + ", password=" + this.getPassword() + ", authenticationType=" + this.getAuthenticationType() + ", instance=" + this.getInstance() + ", ignoreCase=" + this.isIgnoreCase() + ", timeout=" + this.getTimeout() + ", dbUrl=" + this.getDbUrl() + ", dbClass=" + this.getDbClass() + ", isNetcool=" + this.isNetcool() + ", lRowsFiles=" + this.getLRowsFiles() + ", lRowsNames=" + this.getLRowsNames() + ", skip=" + this.getSkip() + ", strDelim=" + this.getStrDelim() + ", strColumns=" + this.getStrColumns() + ", lRows=" + this.getLRows() + ", iUpdateCount=" + this.getIUpdateCount() + ", databasePoolingProperties=" + this.getDatabasePoolingProperties() + ", trustStore=" + this.getTrustStore() + ", trustStorePassword=" + this.getTrustStorePassword() + ", trustAllRoots=" + this.isTrustAllRoots() + ", colDelimiter=" + this.getColDelimiter() + ", rowDelimiter=" + this.getRowDelimiter() + ", resultSetType=" + this.getResultSetType() + ", resultSetConcurrency=" + this.getResultSetConcurrency() + ", sqlCommands=" + this.getSqlCommands() + ")";
+        return "io.cloudslang.content.database.utils.SQLInputs(sqlCommand=" + this.getSqlCommand() + ", dbServer=" + this.getDbServer() + ", dbName=" + this.getDbName() + ", dbPort=" + this.getDbPort() + ", dbType=" + this.getDbType() + ", key=" + this.getKey() + ", username=" + this.getUsername() + ", password=" + this.getPassword() + ", authenticationType=" + this.getAuthenticationType() + ", instance=" + this.getInstance() + ", ignoreCase=" + this.isIgnoreCase() + ", timeout=" + this.getTimeout() + ", dbUrl=" + this.getDbUrl() + ", dbClass=" + this.getDbClass() + ", isNetcool=" + this.isNetcool() + ", lRowsFiles=" + this.getLRowsFiles() + ", lRowsNames=" + this.getLRowsNames() + ", skip=" + this.getSkip() + ", strDelim=" + this.getStrDelim() + ", strColumns=" + this.getStrColumns() + ", lRows=" + this.getLRows() + ", iUpdateCount=" + this.getIUpdateCount() + ", databasePoolingProperties=" + this.getDatabasePoolingProperties() + ", trustStore=" + this.getTrustStore() + ", trustStorePassword=" + this.getTrustStorePassword() + ", trustAllRoots=" + this.isTrustAllRoots() + ", colDelimiter=" + this.getColDelimiter() + ", rowDelimiter=" + this.getRowDelimiter() + ", resultSetType=" + this.getResultSetType() + ", resultSetConcurrency=" + this.getResultSetConcurrency() + ", sqlCommands=" + this.getSqlCommands() + ", fetchSize=" + this.getFetchSize() + ", cursorIdleTimeout=" + this.getCursorIdleTimeout() + ", outputFile=" + this.getOutputFile() + ", maxResultLength=" + this.getMaxResultLength() + ", commitSize=" + this.getCommitSize() + ", parallelSections=" + this.getParallelSections() + ", sectionDelimiter=" + this.getSectionDelimiter() + ", batchInserts=" + this.isBatchInserts() + ", chunkTimings=" + this.getChunkTimings() + ", lobDirectory=" + this.getLobDirectory() + ", lobArchive=" + this.getLobArchive() + ", maxLobSize=" + this.getMaxLobSize() + ", lobWorkers=" + this.getLobWorkers() + ", params=" + this.getParams() + ")";
     }
 
     public static class SQLInputsBuilder {
@@ -538,6 +730,20 @@ public class SQLInputs {
         private Integer resultSetType;
         private Integer resultSetConcurrency;
         private List<String> sqlCommands;
+        private int fetchSize;
+        private int cursorIdleTimeout;
+        private String outputFile;
+        private int maxResultLength;
+        private int commitSize;
+        private int parallelSections;
+        private String sectionDelimiter;
+        private boolean batchInserts;
+        private List<String> chunkTimings;
+        private String lobDirectory;
+        private String lobArchive;
+        private int maxLobSize;
+        private int lobWorkers;
+        private List<String> params;
 
         SQLInputsBuilder() {
         }
@@ -668,12 +874,82 @@ public class SQLInputs {
             return this;
         }
 
+        public SQLInputs.SQLInputsBuilder fetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder cursorIdleTimeout(int cursorIdleTimeout) {
+            this.cursorIdleTimeout = cursorIdleTimeout;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder outputFile(String outputFile) {
+            this.outputFile = outputFile;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder maxResultLength(int maxResultLength) {
+            this.maxResultLength = maxResultLength;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder commitSize(int commitSize) {
+            this.commitSize = commitSize;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder parallelSections(int parallelSections) {
+            this.parallelSections = parallelSections;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder sectionDelimiter(String sectionDelimiter) {
+            this.sectionDelimiter = sectionDelimiter;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder batchInserts(boolean batchInserts) {
+            this.batchInserts = batchInserts;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder chunkTimings(List<String> chunkTimings) {
+            this.chunkTimings = chunkTimings;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder lobDirectory(String lobDirectory) {
+            this.lobDirectory = lobDirectory;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder lobArchive(String lobArchive) {
+            this.lobArchive = lobArchive;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder maxLobSize(int maxLobSize) {
+            this.maxLobSize = maxLobSize;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder lobWorkers(int lobWorkers) {
+            this.lobWorkers = lobWorkers;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder params(List<String> params) {
+            this.params = params;
+            return this;
+        }
+
         public SQLInputs build() {
-            return new SQLInputs(sqlCommand, dbServer, dbName, dbPort, dbType, key, username, password, authenticationType, instance, ignoreCase, timeout, dbUrl, dbClass, isNetcool, lRowsFiles, lRowsNames, skip, strDelim, strColumns, lRows, iUpdateCount, databasePoolingProperties, trustStore, trustStorePassword, trustAllRoots, colDelimiter, rowDelimiter, resultSetType, resultSetConcurrency, sqlCommands);
+            return new SQLInputs(sqlCommand, dbServer, dbName, dbPort, dbType, key, username, password, authenticationType, instance, ignoreCase, timeout, dbUrl, dbClass, isNetcool, lRowsFiles, lRowsNames, skip, strDelim, strColumns, lRows, iUpdateCount, databasePoolingProperties, trustStore, trustStorePassword, trustAllRoots, colDelimiter, rowDelimiter, resultSetType, resultSetConcurrency, sqlCommands, fetchSize, cursorIdleTimeout, outputFile, maxResultLength, commitSize, parallelSections, sectionDelimiter, batchInserts, chunkTimings, lobDirectory, lobArchive, maxLobSize, lobWorkers, params);
         }
 
         public String toString() {
-            return "io.cloudslang.content.database.utils.SQLInputs.SQLInputsBuilder(sqlCommand=" + this.sqlCommand + ", dbServer=" + this.dbServer + ", dbName=" + this.dbName + ", dbPort=" + this.dbPort + ", dbType=" + this.dbType + ", key=" + this.key + ", username=" + this.username + ", password=" + this.password + ", authenticationType=" + this.authenticationType + ", instance=" + this.instance + ", ignoreCase=" + this.ignoreCase + ", timeout=" + this.timeout + ", dbUrl=" + this.dbUrl + ", dbClass=" + this.dbClass + ", isNetcool=" + this.isNetcool + ", lRowsFiles=" + this.lRowsFiles + ", lRowsNames=" + this.lRowsNames + ", skip=" + this.skip + ", strDelim=" + this.strDelim + ", strColumns=" + this.strColumns + ", lRows=" + this.lRows + ", iUpdateCount=" + this.iUpdateCount + ", databasePoolingProperties=" + this.databasePoolingProperties + ", trustStore=" + this.trustStore + ", trustStorePassword=" + this.trustStorePassword + ", trustAllRoots=" + this.trustAllRoots + ", colDelimiter=" + this.colDelimiter + ", rowDelimiter=" + this.rowDelimiter + ", resultSetType=" + this.resultSetType + ", resultSetConcurrency=" + this.resultSetConcurrency + ", sqlCommands=" + this.sqlCommands + ")";
+            return "io.cloudslang.content.database.utils.SQLInputs.SQLInputsBuilder(sqlCommand=" + this.sqlCommand + ", dbServer=" + this.dbServer + ", dbName=" + this.dbName + ", dbPort=" + this.dbPort + ", dbType=" + this.dbType + ", key=" + this.key + ", username=" + this.username + ", password=" + this.password + ", authenticationType=" + this.authenticationType + ", instance=" + this.instance + ", ignoreCase=" + this.ignoreCase + ", timeout=" + this.timeout + ", dbUrl=" + this.dbUrl + ", dbClass=" + this.dbClass + ", isNetcool=" + this.isNetcool + ", lRowsFiles=" + this.lRowsFiles + ", lRowsNames=" + this.lRowsNames + ", skip=" + this.skip + ", strDelim=" + this.strDelim + ", strColumns=" + this.strColumns + ", lRows=" + this.lRows + ", iUpdateCount=" + this.iUpdateCount + ", databasePoolingProperties=" + this.databasePoolingProperties + ", trustStore=" + this.trustStore + ", trustStorePassword=" + this.trustStorePassword + ", trustAllRoots=" + this.trustAllRoots + ", colDelimiter=" + this.colDelimiter + ", rowDelimiter=" + this.rowDelimiter + ", resultSetType=" + this.resultSetType + ", resultSetConcurrency=" + this.resultSetConcurrency + ", sqlCommands=" + this.sqlCommands + ", fetchSize=" + this.fetchSize + ", cursorIdleTimeout=" + this.cursorIdleTimeout + ", outputFile=" + this.outputFile + ", maxResultLength=" + this.maxResultLength + ", commitSize=" + this.commitSize + ", parallelSections=" + this.parallelSections + ", sectionDelimiter=" + this.sectionDelimiter + ", batchInserts=" + this.batchInserts + ", chunkTimings=" + this.chunkTimings + ", lobDirectory=" + this.lobDirectory + ", lobArchive=" + this.lobArchive + ", maxLobSize=" + this.maxLobSize + ", lobWorkers=" + this.lobWorkers + ", params=" + this.params + ")";
         }
     }
 }
@@ -92,6 +92,17 @@ public class SQLInputsUtils {
         return Collections.emptyList();
     }
 
+    /**
+     * @return the values to bind to the '?' markers of the command, empty values are kept
+     */
+    @NotNull
+    public static List<String> getSqlParams(final String params, final String paramsDelimiter) {
+        if (isEmpty(params)) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(splitByWholeSeparatorPreserveAllTokens(params, paramsDelimiter));
+    }
+
     @NotNull
     public static List<String> getDbUrls(final String dbUrl) {
         final List<String> dbUrls = new ArrayList<>();
@@ -166,11 +177,17 @@ public class SQLInputsUtils {
         if (sqlInputs.isIgnoreCase()) {
             return SQLUtils.computeSessionId(sqlInputs.getDbServer().toLowerCase() + sqlInputs.getDbType().toLowerCase() +
                     sqlInputs.getUsername() + sqlInputs.getPassword() + sqlInputs.getInstance() + sqlInputs.getDbPort() + sqlInputs.getDbName() +
-                    sqlInputs.getAuthenticationType().toLowerCase() + sqlInputs.getSqlCommand().toLowerCase() + sqlInputs.getKey());
+                    sqlInputs.getAuthenticationType().toLowerCase() + sqlInputs.getSqlCommand().toLowerCase() + sqlInputs.getKey() +
+                    getParamsKey(sqlInputs));
         }
         return SQLUtils.computeSessionId(sqlInputs.getDbServer() + sqlInputs.getDbType() +
                 sqlInputs.getUsername() + sqlInputs.getPassword() + sqlInputs.getInstance() + sqlInputs.getDbPort() + sqlInputs.getDbName() +
-                sqlInputs.getAuthenticationType() + sqlInputs.getSqlCommand() + sqlInputs.getKey());
+                sqlInputs.getAuthenticationType() + sqlInputs.getSqlCommand() + sqlInputs.getKey() + getParamsKey(sqlInputs));
+    }
+
+    //the same command with different params is a different query, without params the key stays the same as before
+    private static String getParamsKey(@NotNull final SQLInputs sqlInputs) {
+        return sqlInputs.getParams() == null || sqlInputs.getParams().isEmpty() ? EMPTY : sqlInputs.getParams().toString();
     }
 
 
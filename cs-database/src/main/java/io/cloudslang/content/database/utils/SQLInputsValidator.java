@@ -45,52 +45,69 @@ public class SQLInputsValidator {
     public static List<String> validateSqlQueryInputs(String dbServerName, String dbType, String username, String password,
                                                       String instance, String dbPort, String database, String authenticationType, String command,
 //                                                      String trustAllRoots, String trustStore, String trustStorePassword,
-                                                      String timeout, String resultSetType, String resultSetConcurrency, String ignoreCase) {
+                                                      String timeout, String resultSetType, String resultSetConcurrency, String ignoreCase,
+                                                      String fetchSize, String cursorIdleTimeout) {
         final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort,
                 database, authenticationType, /*trustAllRoots, trustStore, trustStorePassword,*/ resultSetType, resultSetConcurrency);
         validateIgnoreCase(ignoreCase, validationList);
         validateNoneEmpty(command, INVALID_COMMAND, validationList);
         validateTimeout(timeout, validationList);
+        validateFetchSize(fetchSize, validationList);
+        validateCursorIdleTimeout(cursorIdleTimeout, validationList);
         return validationList;
     }
 
     public static List<String> validateSqlQueryAllRowsInputs(String dbServerName, String dbType, String username, String password,
                                                              String instance, String dbPort, String database, String authenticationType, String command,
 //                                                             String trustAllRoots, String trustStore, String trustStorePassword,
-                                                             String timeout, String resultSetType, String resultSetConcurrency) {
+                                                             String timeout, String resultSetType, String resultSetConcurrency,
+                                                             String fetchSize, String maxResultLength) {
         final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort, database, authenticationType, /*trustAllRoots, trustStore, trustStorePassword,*/ resultSetType, resultSetConcurrency);
         validateNoneEmpty(command, INVALID_COMMAND, validationList);
         validateTimeout(timeout, validationList);
+        validateFetchSize(fetchSize, validationList);
+        validateMaxResultLength(maxResultLength, validationList);
         return validationList;
     }
 
     public static List<String> validateSqlQueryLOBInputs(String dbServerName, String dbType, String username, String password,
                                                          String instance, String dbPort, String database, String authenticationType, String command,
 //                                                         String trustAllRoots, String trustStore, String trustStorePassword,
-                                                         String timeout, String resultSetType, String resultSetConcurrency) {
+                                                         String timeout, String resultSetType, String resultSetConcurrency,
+                                                         String lobDirectory, String lobArchive, String maxLobSize, String lobWorkers) {
         final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort,
                 database, authenticationType, /*trustAllRoots, trustStore, trustStorePassword,*/ resultSetType, resultSetConcurrency);
         validateNoneEmpty(command, INVALID_COMMAND, validationList);
         validateTimeout(timeout, validationList);
+        validateLobExclusivity(lobDirectory, lobArchive, validationList);
+        validateMaxLobSize(maxLobSize, validationList);
+        validateLobWorkers(lobWorkers, validationList);
         return validationList;
     }
 
     public static List<String> validateSqlQueryTabularInputs(String dbServerName, String dbType, String username, String password,
                                                              String instance, String dbPort, String database, String authenticationType, String command,
 //                                                             String trustAllRoots, String trustStore, String trustStorePassword,
-                                                             String timeout, String resultSetType, String resultSetConcurrency) {
+                                                             String timeout, String resultSetType, String resultSetConcurrency,
+                                                             String fetchSize, String maxResultLength) {
         final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort, database, authenticationType, /*trustAllRoots, trustStore, trustStorePassword,*/ resultSetType, resultSetConcurrency);
         validateNoneEmpty(command, INVALID_COMMAND, validationList);
         validateTimeout(timeout, validationList);
+        validateFetchSize(fetchSize, validationList);
+        validateMaxResultLength(maxResultLength, validationList);
         return validationList;
     }
 
     public static List<String> validateSqlScriptInputs(String dbServerName, String dbType, String username, String password,
                                                        String instance, String dbPort, String database, String authenticationType, String sqlCommands, String scriptFileName,
 //                                                       String trustAllRoots, String trustStore, String trustStorePassword,
-                                                       String resultSetType, String resultSetConcurrency) {
+                                                       String resultSetType, String resultSetConcurrency, String commitSize, String parallelSections,
+                                                       String batchInserts) {
         final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort, database, authenticationType, /*trustAllRoots, trustStore, trustStorePassword,*/ resultSetType, resultSetConcurrency);
         validateMExclusivityCommands(sqlCommands, scriptFileName, validationList);
+        validateCommitSize(commitSize, validationList);
+        validateParallelSections(parallelSections, validationList);
+        validateBatchInserts(batchInserts, validationList);
         return validationList;
     }
 
@@ -123,6 +140,24 @@ public class SQLInputsValidator {
         }
     }
 
+    private static void validateLobExclusivity(final String lobDirectory, final String lobArchive, final List<String> validationList) {
+        if (isNoneEmpty(lobDirectory) && isNoneEmpty(lobArchive)) {
+            validationList.add(INVALID_LOB_EXCLUSIVITY);
+        }
+    }
+
+    private static void validateMaxLobSize(final String maxLobSize, final List<String> validationList) {
+        if (!NumberUtilities.isValidInt(maxLobSize) || NumberUtilities.toInteger(maxLobSize) < 0) {
+            validationList.add(INVALID_MAX_LOB_SIZE);
+        }
+    }
+
+    private static void validateLobWorkers(final String lobWorkers, final List<String> validationList) {
+        if (!NumberUtilities.isValidInt(lobWorkers) || NumberUtilities.toInteger(lobWorkers) <= 0) {
+            validationList.add(INVALID_LOB_WORKERS);
+        }
+    }
+
     private static void validateDbPort(final String dbPort, final List<String> validationList) {
         if (isNoneEmpty(dbPort) && !isValidInt(dbPort)) {
             validationList.add(INVALID_DB_PORT);
@@ -155,6 +190,42 @@ public class SQLInputsValidator {
         }
     }
 
+    private static void validateFetchSize(final String fetchSize, final List<String> validationList) {
+        if (!NumberUtilities.isValidInt(fetchSize) || NumberUtilities.toInteger(fetchSize) < 0) {
+            validationList.add(INVALID_FETCH_SIZE);
+        }
+    }
+
+    private static void validateMaxResultLength(final String maxResultLength, final List<String> validationList) {
+        if (!NumberUtilities.isValidInt(maxResultLength) || NumberUtilities.toInteger(maxResultLength) < 0) {
+            validationList.add(INVALID_MAX_RESULT_LENGTH);
+        }
+    }
+
+    private static void validateCommitSize(final String commitSize, final List<String> validationList) {
+        if (!NumberUtilities.isValidInt(commitSize) || NumberUtilities.toInteger(commitSize) < 0) {
+            validationList.add(INVALID_COMMIT_SIZE);
+        }
+    }
+
+    private static void validateParallelSections(final String parallelSections, final List<String> validationList) {
+        if (!NumberUtilities.isValidInt(parallelSections) || NumberUtilities.toInteger(parallelSections) <= 0) {
+            validationList.add(INVALID_PARALLEL_SECTIONS);
+        }
+    }
+
+    private static void validateBatchInserts(final String batchInserts, final List<String> validationList) {
+        if (!BooleanUtilities.isValid(batchInserts)) {
+            validationList.add(String.format(INVALID_BATCH_INSERTS, batchInserts));
+        }
+    }
+
+    private static void validateCursorIdleTimeout(final String cursorIdleTimeout, final List<String> validationList) {
+        if (!NumberUtilities.isValidInt(cursorIdleTimeout) || NumberUtilities.toInteger(cursorIdleTimeout) <= 0) {
+            validationList.add(INVALID_CURSOR_IDLE_TIMEOUT);
+        }
+    }
+
     private static void validateInstance(final String instance, final String dbType, final List<String> validationList) {
         if (isNoneEmpty(instance) && !MSSQL_DB_TYPE.equalsIgnoreCase(dbType)) {
             validationList.add(INVALID_INSTANCE);
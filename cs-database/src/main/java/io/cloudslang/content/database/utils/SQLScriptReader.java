@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits a SQL script into statements while it is being read, one statement at a time, so a script
+ * can be executed before it was read completely and only the current statement is held in memory.
+ * <p/>
+ * Statements end with ';'. A ';' inside a string literal or a quoted identifier does not end a statement.
+ * Comments (-- and /* *&#47;) are removed and line breaks outside of literals are replaced by a space.
+ * The last statement of the script does not need a ';'.
+ */
+public class SQLScriptReader implements Iterator<String>, Closeable {
+    //the number of bytes of a script file decoded at once
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private static final int EOF = -1;
+    private static final int NONE = -2;
+    private static final char STATEMENT_END = ';';
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int bufferPos;
+    private int bufferLen;
+    private int pushedBack = NONE;
+
+    private final StringBuilder statement = new StringBuilder();
+    private String nextStatement;
+
+    public SQLScriptReader(@NotNull final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Opens a script file that is read through a small buffer, so that even very large dump files are not
+     * copied into the heap before they are parsed. The file is released as soon as the reader is closed.
+     *
+     * @param fileName the path of the script, read in the platform charset
+     * @return a reader for the statements of the file
+     * @throws IOException if the file can not be opened
+     */
+    public static SQLScriptReader open(@NotNull final String fileName) throws IOException {
+        return open(new File(fileName), Charset.defaultCharset());
+    }
+
+    static SQLScriptReader open(@NotNull final File file, @NotNull final Charset charset) throws IOException {
+        final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        return new SQLScriptReader(Channels.newReader(channel, charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE), FILE_BUFFER_SIZE));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextStatement == null) {
+            try {
+                nextStatement = readStatement();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read the SQL script: " + e.getMessage(), e);
+            }
+        }
+        return nextStatement != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final String current = nextStatement;
+        nextStatement = null;
+        return current;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String readStatement() throws IOException {
+        statement.setLength(0);
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == '\'' || c == '"') {
+                readQuoted((char) c);
+            } else if (c == '-' && peek() == '-') {
+                skipLineComment();
+                appendSpace();
+            } else if (c == '/' && peek() == '*') {
+                read();
+                skipBlockComment();
+                appendSpace();
+            } else if (c == STATEMENT_END) {
+                final String sql = statement.toString().trim();
+                if (!sql.isEmpty()) {
+                    return sql;
+                }
+                statement.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                appendSpace();
+            } else {
+                statement.append((char) c);
+            }
+        }
+        final String sql = statement.toString().trim();
+        return sql.isEmpty() ? null : sql;
+    }
+
+    /**
+     * Copies a literal or a quoted identifier verbatim. A doubled quote is read as the end of
+     * the literal followed by the start of a new one, which copies it unchanged.
+     */
+    private void readQuoted(final char quote) throws IOException {
+        statement.append(quote);
+        int c;
+        while ((c = read()) != EOF) {
+            statement.append((char) c);
+            if (c == quote) {
+                return;
+            }
+        }
+    }
+
+    private void skipLineComment() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != EOF && c != '\n' && c != '\r');
+    }
+
+    private void skipBlockComment() throws IOException {
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == '*' && peek() == '/') {
+                read();
+                return;
+            }
+        }
+    }
+
+    private void appendSpace() {
+        if (statement.length() > 0 && statement.charAt(statement.length() - 1) != ' ') {
+            statement.append(' ');
+        }
+    }
+
+    private int peek() throws IOException {
+        if (pushedBack == NONE) {
+            pushedBack = readBuffered();
+        }
+        return pushedBack;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            final int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return readBuffered();
+    }
+
+    private int readBuffered() throws IOException {
+        if (bufferPos == bufferLen) {
+            bufferLen = reader.read(buffer, 0, buffer.length);
+            bufferPos = 0;
+            if (bufferLen <= 0) {
+                bufferLen = 0;
+                return EOF;
+            }
+        }
+        return buffer[bufferPos++];
+    }
+}
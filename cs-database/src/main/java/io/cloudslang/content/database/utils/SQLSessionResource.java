@@ -31,6 +31,13 @@ public class SQLSessionResource extends SessionResource<Map<String, Object>> {
 
     @Override
     public void release() {
+        if (sqlConnectionMap != null) {
+            for (final Object value : sqlConnectionMap.values()) {
+                if (value instanceof SQLCursor) {
+                    ((SQLCursor) value).close();
+                }
+            }
+        }
         sqlConnectionMap = null;
     }
 }
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The shape of a single row INSERT ... VALUES (...) statement: the statement text with its literal values
+ * replaced by '?' markers, and the literals themselves.
+ * Statements with the same shape can be executed as one PreparedStatement batch.
+ * <p/>
+ * Only string literals ('text', with '' as an escaped quote) and plain numbers are replaced.
+ * Anything else in the values list (NULL, function calls, expressions) stays part of the shape.
+ * A statement with a backslash in a string literal has no shape: some databases, like MySQL, read backslash
+ * escapes in literals, so the text between the quotes is not always the value that would be stored.
+ */
+public class SQLStatementShape {
+    private static final Pattern NUMBER = Pattern.compile("[-+]?\\d+(\\.\\d+)?([eE][-+]?\\d+)?");
+    private static final String INSERT = "insert";
+    private static final String VALUES = "values";
+
+    private final String shape;
+    private final List<Object> parameters;
+
+    private SQLStatementShape(@NotNull final String shape, @NotNull final List<Object> parameters) {
+        this.shape = shape;
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+
+    /**
+     * @return the statement with every literal value replaced by '?'
+     */
+    public String getShape() {
+        return shape;
+    }
+
+    /**
+     * @return the literal values in order, String for string literals and BigDecimal for numbers
+     */
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @param sql a single SQL statement without the trailing delimiter
+     * @return the shape of the statement or null if it is not a single row INSERT ... VALUES statement with literal values
+     */
+    public static SQLStatementShape parse(@NotNull final String sql) {
+        final String trimmed = sql.trim();
+        if (!trimmed.regionMatches(true, 0, INSERT, 0, INSERT.length())) {
+            return null;
+        }
+        final int valuesIdx = indexOfValues(trimmed);
+        if (valuesIdx < 0) {
+            return null;
+        }
+        int pos = valuesIdx + VALUES.length();
+        while (pos < trimmed.length() && Character.isWhitespace(trimmed.charAt(pos))) {
+            pos++;
+        }
+        if (pos >= trimmed.length() || trimmed.charAt(pos) != '(' || trimmed.charAt(trimmed.length() - 1) != ')') {
+            return null;
+        }
+
+        final List<String> values = splitValues(trimmed.substring(pos + 1, trimmed.length() - 1));
+        if (values == null) {
+            return null;
+        }
+        final StringBuilder shape = new StringBuilder(trimmed.substring(0, pos + 1));
+        final List<Object> parameters = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                shape.append(", ");
+            }
+            final String value = values.get(i);
+            if (isStringLiteral(value)) {
+                parameters.add(value.substring(1, value.length() - 1).replace("''", "'"));
+                shape.append('?');
+            } else if (NUMBER.matcher(value).matches()) {
+                parameters.add(new BigDecimal(value));
+                shape.append('?');
+            } else {
+                shape.append(value);
+            }
+        }
+        if (parameters.isEmpty()) {
+            return null;
+        }
+        return new SQLStatementShape(shape.append(')').toString(), parameters);
+    }
+
+    /**
+     * Finds the VALUES keyword that is not part of an identifier or a quoted name.
+     */
+    private static int indexOfValues(final String sql) {
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            final char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`' || c == '[') {
+                quote = c == '[' ? ']' : c;
+            } else if ((i == 0 || !isIdentifierPart(sql.charAt(i - 1))) && sql.regionMatches(true, i, VALUES, 0, VALUES.length())
+                    && (i + VALUES.length() == sql.length() || !isIdentifierPart(sql.charAt(i + VALUES.length())))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Splits the values list on the commas that are outside of literals and parentheses.
+     *
+     * @return the trimmed values or null if the list is not well formed, holds more than one row
+     * or has a backslash in a string literal
+     */
+    private static List<String> splitValues(final String valuesList) {
+        final List<String> values = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        boolean inString = false;
+        for (int i = 0; i < valuesList.length(); i++) {
+            final char c = valuesList.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    return null;
+                }
+                if (c == '\'') {
+                    if (i + 1 < valuesList.length() && valuesList.charAt(i + 1) == '\'') {
+                        i++;
+                    } else {
+                        inString = false;
+                    }
+                }
+            } else if (c == '\'') {
+                inString = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (--depth < 0) {
+                    return null;
+                }
+            } else if (c == ',' && depth == 0) {
+                values.add(valuesList.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        if (inString || depth != 0) {
+            return null;
+        }
+        values.add(valuesList.substring(start).trim());
+        return values;
+    }
+
+    private static boolean isStringLiteral(final String value) {
+        if (value.length() < 2 || value.charAt(0) != '\'' || value.charAt(value.length() - 1) != '\'') {
+            return false;
+        }
+        for (int i = 1; i < value.length() - 1; i++) {
+            if (value.charAt(i) == '\'') {
+                if (value.charAt(i + 1) != '\'' || i + 1 == value.length() - 1) {
+                    return false;
+                }
+                i++;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIdentifierPart(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+    }
+}
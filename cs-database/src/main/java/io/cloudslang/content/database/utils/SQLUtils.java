@@ -16,13 +16,21 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
-import static io.cloudslang.content.database.constants.DBOtherValues.SEMI_COLON;
+import static io.cloudslang.content.database.constants.DBOtherValues.POSTGRES_DB_TYPE;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
@@ -54,6 +62,120 @@ public class SQLUtils {
         return value;
     }
 
+    /**
+     * @param outputFile the path of the file to write to, an existing file is overwritten
+     * @return a buffered UTF-8 writer to the file
+     */
+    @NotNull
+    public static Writer getFileWriter(@NotNull final String outputFile) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates the statement for the command of sqlInputs. When params are given the command is prepared and the params
+     * are bound to its '?' markers, so the database parses and plans it once and pooled connections can reuse it
+     * from their statement cache.
+     *
+     * @return a PreparedStatement when there are params, a plain Statement otherwise
+     */
+    @NotNull
+    public static Statement createStatement(@NotNull final Connection connection, @NotNull final SQLInputs sqlInputs) throws SQLException {
+        if (sqlInputs.getParams() == null || sqlInputs.getParams().isEmpty()) {
+            return connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
+        }
+        final PreparedStatement preparedStatement = connection.prepareStatement(sqlInputs.getSqlCommand(),
+                sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
+        setParameters(preparedStatement, sqlInputs.getParams(), isTypeOtherStrings(sqlInputs.getDbType()));
+        return preparedStatement;
+    }
+
+    /**
+     * Executes a statement from {@link #createStatement(Connection, SQLInputs)}.
+     */
+    public static ResultSet executeQuery(@NotNull final Statement statement, @NotNull final String sql) throws SQLException {
+        if (statement instanceof PreparedStatement) {
+            return ((PreparedStatement) statement).executeQuery();
+        }
+        return statement.executeQuery(sql);
+    }
+
+    /**
+     * Executes a statement from {@link #createStatement(Connection, SQLInputs)}.
+     */
+    public static boolean execute(@NotNull final Statement statement, @NotNull final String sql) throws SQLException {
+        if (statement instanceof PreparedStatement) {
+            return ((PreparedStatement) statement).execute();
+        }
+        return statement.execute(sql);
+    }
+
+    /**
+     * Binds BigDecimal values as numbers and any other value as a string.
+     *
+     * @param typeOtherStrings bind the strings as Types.OTHER so that the database infers their type, as it does for literals
+     */
+    public static void setParameters(@NotNull final PreparedStatement statement, @NotNull final List<?> parameters,
+                                     final boolean typeOtherStrings) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            final Object parameter = parameters.get(i);
+            if (parameter instanceof BigDecimal) {
+                statement.setBigDecimal(i + 1, (BigDecimal) parameter);
+            } else if (typeOtherStrings) {
+                statement.setObject(i + 1, parameter, Types.OTHER);
+            } else {
+                statement.setString(i + 1, (String) parameter);
+            }
+        }
+    }
+
+    /**
+     * PostgreSQL refuses to convert a varchar parameter to another type, an untyped parameter behaves like a literal.
+     */
+    public static boolean isTypeOtherStrings(final String dbType) {
+        return POSTGRES_DB_TYPE.equalsIgnoreCase(dbType);
+    }
+
+    /**
+     * @param mtd      the metadata of a result set
+     * @param strDelim the delimiter to put between the column labels
+     * @return the column labels separated by the delimiter
+     */
+    @NotNull
+    public static String getColumnLabels(@NotNull final ResultSetMetaData mtd, @NotNull final String strDelim) throws SQLException {
+        final StringBuilder strColumns = new StringBuilder();
+        final int iNumCols = mtd.getColumnCount();
+        for (int i = 1; i <= iNumCols; i++) {
+            if (i > 1) {
+                strColumns.append(strDelim);
+            }
+            strColumns.append(mtd.getColumnLabel(i));
+        }
+        return strColumns.toString();
+    }
+
+    /**
+     * @param results   a result set positioned on a row
+     * @param iNumCols  the number of columns in the result set
+     * @param strDelim  the delimiter to put between the values
+     * @param isNetcool true if the values have to be processed as Netcool null terminated strings
+     * @return the trimmed values of the current row separated by the delimiter, null values are left empty
+     */
+    @NotNull
+    public static String getRowString(@NotNull final ResultSet results, final int iNumCols, @NotNull final String strDelim,
+                                      final boolean isNetcool) throws SQLException {
+        final StringBuilder strRowHolder = new StringBuilder();
+        for (int i = 1; i <= iNumCols; i++) {
+            if (i > 1) {
+                strRowHolder.append(strDelim);
+            }
+            final String value = results.getString(i);
+            if (value != null) {
+                strRowHolder.append(isNetcool ? processNullTerminatedString(value.trim()) : value.trim());
+            }
+        }
+        return strRowHolder.toString();
+    }
+
     /**
      * Method returning the host surrounded by square brackets if 'dbServer' is IPv6 format.
      * Otherwise the returned string will be the same.
@@ -143,80 +265,14 @@ public class SQLUtils {
         throw e;
     }
 
+    /**
+     * Reads all the statements of a script file into memory. Use a {@link SQLScriptReader} to execute a script while it is read.
+     */
     public static List<String> readFromFile(String fileName) {
         final List<String> lines = new ArrayList<>();
-
-
-        try (final FileInputStream fstream = new FileInputStream(new File(fileName));
-             final DataInputStream in = new DataInputStream(fstream);
-             final InputStreamReader inputStreamReader = new InputStreamReader(in);
-             final BufferedReader br = new BufferedReader(inputStreamReader)) {
-
-            String strLine;
-            StringBuilder aString = new StringBuilder();
-            int i = 0;
-            boolean youAreInAMultiLineComment = false;
-            while ((strLine = br.readLine()) != null) {
-                //ignore multi line comments
-                if (youAreInAMultiLineComment) {
-                    if (strLine.contains("*/")) {
-                        int indx = strLine.indexOf("*/");
-                        strLine = strLine.substring(indx + 2);
-                        youAreInAMultiLineComment = false;
-                    } else {
-                        continue;
-                    }
-                }
-
-                if (strLine.contains("/*")) {
-                    int indx = strLine.indexOf("/*");
-                    String firstPart = strLine.substring(0, indx);
-                    String secondPart = strLine.substring(indx + 2);
-                    strLine = firstPart;
-                    youAreInAMultiLineComment = true;
-
-                    if (secondPart.contains("*/")) {    //the comment starts and ends in the middle of the line
-                        indx = secondPart.indexOf("*/");
-                        secondPart = secondPart.substring(indx + 2);
-                        youAreInAMultiLineComment = false;
-                        strLine += secondPart;
-                    }
-                }
-
-                //ignore one line comments
-                if (strLine.contains("--")) {
-                    int indx = strLine.indexOf("--");
-                    strLine = strLine.substring(0, indx);
-                }
-
-                //ingnore empty lines
-                if (0 == strLine.length()) {
-                    continue;
-                }
-
-                //consider if a SQL statement is separated in different lines. eg,
-                //create table employee(
-                //  first varchar(15));
-                //if a sql command finishes in one line, add in commands
-                if (strLine.endsWith(SEMI_COLON)) {
-                    //get rid of ';',otherwise the operation will fail on Oracle database
-                    int indx = strLine.indexOf(SEMI_COLON, 0);
-                    strLine = strLine.substring(0, indx);
-                    //if the command has only one line
-                    if (i == 0) {
-                        lines.add(strLine);
-                    }
-                    //if the command has multiple lines
-                    else {
-                        aString.append(strLine);
-                        lines.add(aString.toString());
-                        aString = new StringBuilder();
-                        i = 0;
-                    }
-                } else {//if a line doesn't finish with a ';', it means the sql commands is not finished
-                    aString.append(strLine).append(" ");
-                    i++;
-                }
+        try (final SQLScriptReader reader = SQLScriptReader.open(fileName)) {
+            while (reader.hasNext()) {
+                lines.add(reader.next());
             }
         } catch (Exception e) {
             e.printStackTrace(); //todo
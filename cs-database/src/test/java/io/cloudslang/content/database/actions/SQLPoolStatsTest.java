@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.actions;
+
+import io.cloudslang.content.database.services.SQLPoolStatsService;
+import io.cloudslang.content.database.services.dbconnection.PoolStatistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBOutputNames.ACTIVE_CONNECTIONS;
+import static io.cloudslang.content.database.constants.DBOutputNames.IDLE_CONNECTIONS;
+import static io.cloudslang.content.database.constants.DBOutputNames.POOL_COUNT;
+import static io.cloudslang.content.database.constants.DBOutputNames.TOTAL_CONNECTIONS;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.powermock.api.mockito.PowerMockito.*;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({SQLPoolStatsService.class, PoolStatistics.class})
+public class SQLPoolStatsTest {
+
+    @Test
+    public void executeNoPools() throws Exception {
+        mockStatic(SQLPoolStatsService.class);
+        when(SQLPoolStatsService.getPoolStatistics(anyString())).thenReturn(Collections.<PoolStatistics>emptyList());
+
+        final Map<String, String> resultMap = new SQLPoolStats().execute(EMPTY);
+        assertThat(resultMap.get(RETURN_CODE), is(SUCCESS));
+        assertThat(resultMap.get(RETURN_RESULT), is(EMPTY));
+        assertThat(resultMap.get(POOL_COUNT), is("0"));
+        assertThat(resultMap.get(TOTAL_CONNECTIONS), is("0"));
+    }
+
+    @Test
+    public void executeSuccess() throws Exception {
+        final PoolStatistics oracle = mockStatistics("ORACLE.url1", 5, 2, 3);
+        final PoolStatistics mssql = mockStatistics("MSSQL.url2", 4, 4, 0);
+        mockStatic(SQLPoolStatsService.class);
+        when(SQLPoolStatsService.getPoolStatistics(anyString())).thenReturn(Arrays.asList(oracle, mssql));
+
+        final Map<String, String> resultMap = new SQLPoolStats().execute(EMPTY);
+        assertThat(resultMap.get(RETURN_CODE), is(SUCCESS));
+        assertThat(resultMap.get(RETURN_RESULT), is("ORACLE.url1\nMSSQL.url2"));
+        assertThat(resultMap.get(POOL_COUNT), is("2"));
+        assertThat(resultMap.get(TOTAL_CONNECTIONS), is("9"));
+        assertThat(resultMap.get(ACTIVE_CONNECTIONS), is("6"));
+        assertThat(resultMap.get(IDLE_CONNECTIONS), is("3"));
+    }
+
+    @Test
+    public void executeFailure() throws Exception {
+        mockStatic(SQLPoolStatsService.class);
+        when(SQLPoolStatsService.getPoolStatistics(anyString())).thenThrow(new IllegalStateException("no pools"));
+
+        final Map<String, String> resultMap = new SQLPoolStats().execute(EMPTY);
+        assertThat(resultMap.get(RETURN_CODE), is(FAILURE));
+        assertThat(resultMap.get(RETURN_RESULT), is("no pools"));
+    }
+
+    private static PoolStatistics mockStatistics(final String poolKey, final int total, final int active, final int idle) {
+        final PoolStatistics statistics = mock(PoolStatistics.class);
+        when(statistics.toString()).thenReturn(poolKey);
+        when(statistics.getTotalConnections()).thenReturn(total);
+        when(statistics.getActiveConnections()).thenReturn(active);
+        when(statistics.getIdleConnections()).thenReturn(idle);
+        return statistics;
+    }
+}
@@ -11,6 +11,7 @@ package io.cloudslang.content.database.actions;
 
 import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
 import io.cloudslang.content.database.constants.DBResponseNames;
+import io.cloudslang.content.database.utils.SQLCursor;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLInputsUtils;
 import io.cloudslang.content.database.utils.SQLSessionResource;
@@ -27,8 +28,11 @@ import static io.cloudslang.content.constants.BooleanValues.FALSE;
 import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
 import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
 import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.database.constants.DBDefaultValues.AUTH_SQL;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
+import static io.cloudslang.content.database.constants.DBOutputNames.COLUMN_NAMES;
+import static io.cloudslang.content.database.constants.DBOutputNames.ROWS_LEFT;
 import static io.cloudslang.content.database.constants.DBReturnCodes.NO_MORE;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.hamcrest.CoreMatchers.is;
@@ -49,7 +53,7 @@ public class SQLQueryTest {
     @Test
     public void executeFailValidation() throws Exception {
         final Map<String, String> resultMap = new SQLQuery().execute(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, null);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, null);
         assertThat(resultMap.get(RETURN_CODE), is(FAILURE));
         assertThat(resultMap.get(RETURN_RESULT), is("dbServerName can't be empty\nusername input is empty.\npassword input is empty.\ndatabase input is empty.\ncommand input is empty."));
     }
@@ -68,11 +72,59 @@ public class SQLQueryTest {
 
         when(SQLInputsUtils.getOrDefaultGlobalSessionObj(any(GlobalSessionObject.class))).thenReturn(globalSessionObject);
         final Map<String, String> resultMap = sqlQuery.execute("1", MSSQL_DB_TYPE, "username", "Password", "someInstance", "123", "db",
-                AUTH_SQL, EMPTY, EMPTY, "something", EMPTY, EMPTY, EMPTY, EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, FALSE, globalSessionObject);
+                AUTH_SQL, EMPTY, EMPTY, "something", EMPTY, EMPTY, EMPTY, EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, FALSE, EMPTY, EMPTY, EMPTY, EMPTY, globalSessionObject);
 
         verifyStatic();
         assertThat(resultMap.get(RETURN_CODE), is(NO_MORE));
         assertThat(resultMap.get(RETURN_RESULT), is(DBResponseNames.NO_MORE));
     }
 
+    @Test
+    public void executeCursorNextRow() throws Exception {
+        final String aKey = "akey";
+        final SQLCursor cursorMock = mock(SQLCursor.class);
+        when(cursorMock.next()).thenReturn("1,a");
+        when(cursorMock.getStrColumns()).thenReturn("id,name");
+        when(cursorMock.getBufferedRows()).thenReturn(4);
+        final GlobalSessionObject<Map<String, Object>> globalSessionObject = new GlobalSessionObject<>();
+        final Map<String, Object> stringMap = new HashMap<>();
+        stringMap.put(aKey, cursorMock);
+        globalSessionObject.setResource(new SQLSessionResource(stringMap));
+
+        mockStatic(SQLInputsUtils.class);
+        when(SQLInputsUtils.getSqlKey(any(SQLInputs.class))).thenReturn(aKey);
+        when(SQLInputsUtils.getOrDefaultGlobalSessionObj(any(GlobalSessionObject.class))).thenReturn(globalSessionObject);
+
+        final Map<String, String> resultMap = sqlQuery.execute("1", MSSQL_DB_TYPE, "username", "Password", "someInstance", "123", "db",
+                AUTH_SQL, EMPTY, EMPTY, "something", ",", EMPTY, EMPTY, EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, FALSE, "100", EMPTY, EMPTY, EMPTY, globalSessionObject);
+
+        assertThat(resultMap.get(RETURN_CODE), is(SUCCESS));
+        assertThat(resultMap.get(RETURN_RESULT), is("1,a"));
+        assertThat(resultMap.get(COLUMN_NAMES), is("id,name"));
+        assertThat(resultMap.get(ROWS_LEFT), is("4"));
+        assertThat(globalSessionObject.get().get(aKey), is((Object) cursorMock));
+    }
+
+    @Test
+    public void executeCursorNoMoreRows() throws Exception {
+        final String aKey = "akey";
+        final SQLCursor cursorMock = mock(SQLCursor.class);
+        when(cursorMock.next()).thenReturn(null);
+        final GlobalSessionObject<Map<String, Object>> globalSessionObject = new GlobalSessionObject<>();
+        final Map<String, Object> stringMap = new HashMap<>();
+        stringMap.put(aKey, cursorMock);
+        globalSessionObject.setResource(new SQLSessionResource(stringMap));
+
+        mockStatic(SQLInputsUtils.class);
+        when(SQLInputsUtils.getSqlKey(any(SQLInputs.class))).thenReturn(aKey);
+        when(SQLInputsUtils.getOrDefaultGlobalSessionObj(any(GlobalSessionObject.class))).thenReturn(globalSessionObject);
+
+        final Map<String, String> resultMap = sqlQuery.execute("1", MSSQL_DB_TYPE, "username", "Password", "someInstance", "123", "db",
+                AUTH_SQL, EMPTY, EMPTY, "something", ",", EMPTY, EMPTY, EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, FALSE, "100", EMPTY, EMPTY, EMPTY, globalSessionObject);
+
+        assertThat(resultMap.get(RETURN_CODE), is(NO_MORE));
+        assertThat(resultMap.get(ROWS_LEFT), is(ZERO));
+        assertThat(globalSessionObject.get().containsKey(aKey), is(false));
+    }
+
 }
\ No newline at end of file
@@ -11,7 +11,10 @@ package io.cloudslang.content.database.actions;
 
 import io.cloudslang.content.database.services.SQLScriptService;
 import io.cloudslang.content.database.utils.SQLInputs;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -19,7 +22,8 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
-import java.util.List;
+import java.io.File;
+import java.util.Iterator;
 import java.util.Map;
 
 import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
@@ -27,6 +31,7 @@ import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
 import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.database.constants.DBDefaultValues.AUTH_SQL;
+import static io.cloudslang.content.database.constants.DBExceptionValues.NO_SQL_COMMAND;
 import static io.cloudslang.content.database.constants.DBOtherValues.CONCUR_READ_ONLY;
 import static io.cloudslang.content.database.constants.DBOtherValues.MSSQL_DB_TYPE;
 import static io.cloudslang.content.database.constants.DBOtherValues.TYPE_FORWARD_ONLY;
@@ -45,13 +50,16 @@ import static org.powermock.api.mockito.PowerMockito.when;
 @PrepareForTest({SQLScript.class, SQLScriptService.class})
 public class SQLScriptTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Spy
     private SQLScript sqlScript = new SQLScript();
 
     @Test
     public void executeFailValidation() throws Exception {
         final Map<String, String> resultMap = new SQLScript().execute(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(resultMap.get(RETURN_CODE), is(FAILURE));
         assertThat(resultMap.get(RETURN_RESULT), is("dbServerName can't be empty\nusername input is empty.\npassword input is empty.\ndatabase input is empty.\nOnly one of the sqlCommands and scriptFileName can be specified"));
     }
@@ -62,18 +70,30 @@ public class SQLScriptTest {
 
         mockStatic(SQLScriptService.class);
 
-        final List<String> anyList = any(List.class);
+        final Iterator<String> anyIterator = any(Iterator.class);
 
-        when(SQLScriptService.executeSqlScript(anyList, any(SQLInputs.class))).thenReturn(res);
+        when(SQLScriptService.executeSqlStatements(anyIterator, any(SQLInputs.class))).thenReturn(res);
 
         final Map<String, String> resultMap = sqlScript.execute("1", MSSQL_DB_TYPE, "username", "Password", "someInstance", "123", "db",
-                AUTH_SQL, EMPTY, EMPTY, EMPTY, "something", EMPTY, EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+                AUTH_SQL, EMPTY, EMPTY, EMPTY, "something", EMPTY, EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, EMPTY, EMPTY, EMPTY);
 
         verifyStatic();
         assertThat(resultMap.get(RETURN_CODE), is(SUCCESS));
         assertThat(resultMap.get(RETURN_RESULT), is(res));
     }
 
+    @Test
+    public void executeEmptyScriptFile() throws Exception {
+        final File script = folder.newFile("empty.sql");
+        FileUtils.writeStringToFile(script, "-- nothing to run\n;\n");
+
+        final Map<String, String> resultMap = sqlScript.execute("1", MSSQL_DB_TYPE, "username", "Password", "someInstance", "123", "db",
+                AUTH_SQL, EMPTY, EMPTY, EMPTY, EMPTY, script.getAbsolutePath(), EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, EMPTY, EMPTY, EMPTY, EMPTY);
+
+        assertThat(resultMap.get(RETURN_CODE), is(FAILURE));
+        assertThat(resultMap.get(RETURN_RESULT), is(NO_SQL_COMMAND));
+    }
+
 
 
 }
\ No newline at end of file
@@ -24,6 +24,9 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -132,4 +135,29 @@ public class SQLQueryAllRowsServiceTest {
         verify(resultSetMock, Mockito.times(1)).close();
     }
 
+    @Test
+    public void testExecuteQueryAllRowsToOutputFile() throws Exception {
+        final File outputFile = File.createTempFile("allRows", ".txt");
+        outputFile.deleteOnExit();
+        when(resultSetMetadataMock.getColumnCount()).thenReturn(2);
+        when(resultSetMock.next()).thenReturn(true, true, false);
+        when(resultSetMock.getString(1)).thenReturn("1", "2");
+        when(resultSetMock.getString(2)).thenReturn("a", "b");
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        sqlInputs.setDbPort(30);
+        sqlInputs.setDbServer("localhost");
+        sqlInputs.setDbName("/dbName");
+        sqlInputs.setRowDelimiter("\n");
+        sqlInputs.setColDelimiter("|");
+        sqlInputs.setTimeout(QUYERY_TIMEOUT);
+        sqlInputs.setSqlCommand(SQL_QUERY);
+        sqlInputs.setFetchSize(500);
+        sqlInputs.setOutputFile(outputFile.getAbsolutePath());
+        final String execQueryAllRows = SQLQueryAllRowsService.execQueryAllRows(sqlInputs);
+
+        assertEquals(outputFile.getAbsolutePath(), execQueryAllRows);
+        assertEquals("1|a\n2|b", new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+        verify(statementMock, Mockito.times(1)).setFetchSize(500);
+        verify(resultSetMock, Mockito.times(1)).close();
+    }
 }
@@ -12,6 +12,9 @@ package io.cloudslang.content.database.services;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.Constants;
 import io.cloudslang.content.database.utils.InputsProcessor;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -24,15 +27,28 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Blob;
+import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
+import java.util.zip.ZipFile;
 
 
 import static io.cloudslang.content.database.constants.DBOtherValues.ORACLE_DB_TYPE;
 import static io.cloudslang.content.database.constants.DBOtherValues.POSTGRES_DB_TYPE;
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
+import static org.junit.Assert.assertArrayEquals;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
 
@@ -47,6 +63,8 @@ public class SQLQueryLobServiceTest {
     public  static final String SQL_QUERY = "select * from dbTable";
     private static final java.lang.Integer COLUMN_COUNT = 3;
     private static final java.lang.String DEFAUL_LABEL = "defaulLabel";
+    private static final String CLOB_VALUE = "a CLOB value, long enough to go over the limit \u00e9";
+    private static final byte[] BLOB_VALUE = {0, 1, 2, (byte) 0xff};
     private SQLInputs sqlInputs;
 
     @Mock
@@ -63,9 +81,15 @@ public class SQLQueryLobServiceTest {
     private ResultSet resultSetMock;
     @Mock
     private ResultSetMetaData resultSetMetadataMock;
+    @Mock
+    private Clob clobMock;
+    @Mock
+    private Blob blobMock;
+    private File lobDirectory;
 
     @Before
     public void setUp() throws Exception {
+        lobDirectory = Files.createTempDirectory("lobs").toFile();
         sqlInputs = SQLInputs.builder().build();
         InputsProcessor.init(sqlInputs);
         PowerMockito.whenNew(ConnectionService.class).withNoArguments().thenReturn(connectionServiceMock);
@@ -77,6 +101,11 @@ public class SQLQueryLobServiceTest {
         when(resultSetMetadataMock.getColumnLabel(Matchers.any(Integer.class))).thenReturn(DEFAUL_LABEL);
     }
 
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(lobDirectory);
+    }
+
     @Test
     public void testExecuteSqlQueryLob() throws Exception {
         sqlInputs.setDbType(ORACLE_DB_TYPE);
@@ -113,6 +142,120 @@ public class SQLQueryLobServiceTest {
     }
 
 
+    @Test
+    public void testExecuteSqlQueryLobTempFiles() throws Exception {
+        sqlInputs.setSqlCommand(SQL_QUERY);
+        sqlInputs.setStrDelim(",");
+        mockLobRow();
+
+        final boolean executeSqlCommand = SQLQueryLobService.executeSqlQueryLob(sqlInputs);
+
+        assertEquals(true, executeSqlCommand);
+        assertEquals("(CLOB)...,[B@blob,1", sqlInputs.getLRows().get(0).replaceAll("\\[B@\\w+", "[B@blob"));
+        final File clobFile = new File(sqlInputs.getLRowsFiles().get(0).get(0));
+        assertEquals(CLOB_VALUE, FileUtils.readFileToString(clobFile, StandardCharsets.UTF_8));
+        FileUtils.deleteQuietly(clobFile);
+        verify(resultSetMock, Mockito.times(1)).close();
+        verify(statementMock, Mockito.times(1)).close();
+    }
+
+    @Test
+    public void testExecuteSqlQueryLobToDirectory() throws Exception {
+        sqlInputs.setSqlCommand(SQL_QUERY);
+        sqlInputs.setStrDelim(",");
+        sqlInputs.setLobDirectory(lobDirectory.getAbsolutePath());
+        mockLobRow();
+
+        final boolean executeSqlCommand = SQLQueryLobService.executeSqlQueryLob(sqlInputs);
+
+        assertEquals(false, executeSqlCommand);
+        final File clobFile = new File(lobDirectory, "defaulLabel_1_1.txt");
+        final File blobFile = new File(lobDirectory, "defaulLabel_2_1.bin");
+        assertEquals(clobFile.getAbsolutePath() + "," + blobFile.getAbsolutePath() + ",1", sqlInputs.getLRows().get(0));
+        assertEquals(CLOB_VALUE, FileUtils.readFileToString(clobFile, StandardCharsets.UTF_8));
+        assertArrayEquals(BLOB_VALUE, FileUtils.readFileToByteArray(blobFile));
+    }
+
+    @Test
+    public void testExecuteSqlQueryLobToArchive() throws Exception {
+        final File archive = new File(lobDirectory, "lobs.zip");
+        sqlInputs.setSqlCommand(SQL_QUERY);
+        sqlInputs.setStrDelim(",");
+        sqlInputs.setLobArchive(archive.getAbsolutePath());
+        mockLobRow();
+
+        SQLQueryLobService.executeSqlQueryLob(sqlInputs);
+
+        assertEquals(archive.getAbsolutePath() + "!defaulLabel_1_1.txt," + archive.getAbsolutePath() + "!defaulLabel_2_1.bin,1",
+                sqlInputs.getLRows().get(0));
+        try (final ZipFile zipFile = new ZipFile(archive)) {
+            assertEquals(CLOB_VALUE, IOUtils.toString(zipFile.getInputStream(zipFile.getEntry("defaulLabel_1_1.txt")), StandardCharsets.UTF_8));
+            assertArrayEquals(BLOB_VALUE, IOUtils.toByteArray(zipFile.getInputStream(zipFile.getEntry("defaulLabel_2_1.bin"))));
+        }
+    }
+
+    @Test
+    public void testExecuteSqlQueryLobToArchiveTooLarge() throws Exception {
+        final File archive = new File(lobDirectory, "lobs.zip");
+        sqlInputs.setSqlCommand(SQL_QUERY);
+        sqlInputs.setLobArchive(archive.getAbsolutePath());
+        sqlInputs.setMaxLobSize(10);
+        mockLobRow();
+
+        try {
+            SQLQueryLobService.executeSqlQueryLob(sqlInputs);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("is larger than the maximum of 10 bytes."));
+        }
+        assertFalse(archive.exists());
+    }
+
+    @Test
+    public void testExecuteSqlQueryLobSameSafeLabels() throws Exception {
+        sqlInputs.setSqlCommand(SQL_QUERY);
+        sqlInputs.setStrDelim(",");
+        sqlInputs.setLobDirectory(lobDirectory.getAbsolutePath());
+        mockLobRow();
+        when(resultSetMetadataMock.getColumnLabel(1)).thenReturn("a b");
+        when(resultSetMetadataMock.getColumnLabel(2)).thenReturn("a_b");
+        when(resultSetMock.getObject(2)).thenReturn(clobMock);
+        when(resultSetMock.getCharacterStream(2)).thenReturn(new StringReader("other"));
+
+        SQLQueryLobService.executeSqlQueryLob(sqlInputs);
+
+        assertEquals(CLOB_VALUE, FileUtils.readFileToString(new File(lobDirectory, "a_b_1_1.txt"), StandardCharsets.UTF_8));
+        assertEquals("other", FileUtils.readFileToString(new File(lobDirectory, "a_b_2_1.txt"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testExecuteSqlQueryLobTooLarge() throws Exception {
+        sqlInputs.setSqlCommand(SQL_QUERY);
+        sqlInputs.setLobDirectory(lobDirectory.getAbsolutePath());
+        sqlInputs.setMaxLobSize(10);
+        mockLobRow();
+
+        try {
+            SQLQueryLobService.executeSqlQueryLob(sqlInputs);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("is larger than the maximum of 10 bytes."));
+        }
+        assertFalse(new File(lobDirectory, "defaulLabel_1_1.txt").exists());
+        verify(resultSetMock, Mockito.times(1)).close();
+    }
+
+    private void mockLobRow() throws Exception {
+        when(resultSetMock.next()).thenReturn(true, false);
+        when(resultSetMock.getObject(1)).thenReturn(clobMock);
+        when(resultSetMock.getCharacterStream(1)).thenReturn(new StringReader(CLOB_VALUE));
+        when(resultSetMock.getObject(2)).thenReturn(blobMock);
+        when(resultSetMock.getBinaryStream(2)).thenReturn(new ByteArrayInputStream(BLOB_VALUE));
+        when(resultSetMock.getString(2)).thenReturn(BLOB_VALUE.toString());
+        when(resultSetMock.getObject(3)).thenReturn(1);
+        when(resultSetMock.getString(3)).thenReturn("1");
+    }
+
     @Test
     public void testExecuteSqlQueryLobNoCommand() throws Exception {
         expectedEx.expect(Exception.class);
@@ -9,6 +9,7 @@
  *******************************************************************************/
 package io.cloudslang.content.database.services;
 
+import io.cloudslang.content.database.utils.SQLCursor;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.Constants;
 import io.cloudslang.content.database.utils.InputsProcessor;
@@ -26,9 +27,11 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
+import java.util.Arrays;
 
 
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
@@ -61,6 +64,8 @@ public class SQLQueryServiceTest {
     @Rule
     private ExpectedException expectedEx = ExpectedException.none();
 
+    @Mock
+    private PreparedStatement preparedStatementMock;
     @Mock
     private ResultSet resultSetMock;
     @Mock
@@ -96,6 +101,28 @@ public class SQLQueryServiceTest {
         verify(statementMock, Mockito.times(1)).executeQuery(SQL_QUERY);
     }
 
+    @Test
+    public void testExecuteSqlQueryWithParams() throws Exception {
+        final String query = "select * from dbTable where id = ? and name = ?";
+        when(connectionMock.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(preparedStatementMock);
+        when(preparedStatementMock.executeQuery()).thenReturn(resultSetMock);
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        sqlInputs.setSqlCommand(query);
+        sqlInputs.setResultSetType(ResultSet.TYPE_FORWARD_ONLY);
+        sqlInputs.setResultSetConcurrency(ResultSet.CONCUR_READ_ONLY);
+        sqlInputs.setTimeout(SQL_QUERY_TIMEOUT);
+        sqlInputs.setParams(Arrays.asList("1", "name"));
+
+        SQLQueryService.executeSqlQuery(sqlInputs);
+
+        assertEquals("defaulLabel,defaulLabel,defaulLabel", sqlInputs.getStrColumns());
+        verify(preparedStatementMock, Mockito.times(1)).setString(1, "1");
+        verify(preparedStatementMock, Mockito.times(1)).setString(2, "name");
+        verify(preparedStatementMock, Mockito.times(1)).setQueryTimeout(SQL_QUERY_TIMEOUT);
+        verify(preparedStatementMock, Mockito.times(1)).executeQuery();
+        verify(connectionMock, Mockito.times(0)).createStatement(Matchers.any(Integer.class), Matchers.any(Integer.class));
+    }
+
     @Test
     public void testExecuteSqlQueryPSQLLocal() throws Exception {
         sqlInputs.setDbType(POSTGRES_DB_TYPE);
@@ -121,4 +148,30 @@ public class SQLQueryServiceTest {
         expectedEx.expectMessage("command input is empty.");
         SQLQueryService.executeSqlQuery(sqlInputs);
     }
+
+    @Test
+    public void testOpenSqlCursor() throws Exception {
+        sqlInputs.setDbType(POSTGRES_DB_TYPE);
+        sqlInputs.setDbPort(5432);
+        sqlInputs.setDbServer("localhost");
+        sqlInputs.setDbName("/dbName");
+        sqlInputs.setSqlCommand(SQL_QUERY);
+        sqlInputs.setResultSetType(getResultSetType(TYPE_FORWARD_ONLY));
+        sqlInputs.setResultSetConcurrency(getResultSetConcurrency(CONCUR_READ_ONLY));
+        sqlInputs.setTimeout(SQL_QUERY_TIMEOUT);
+        sqlInputs.setFetchSize(100);
+        sqlInputs.setCursorIdleTimeout(600);
+
+        final SQLCursor cursor = SQLQueryService.openSqlCursor(sqlInputs);
+
+        assertEquals("defaulLabel,defaulLabel,defaulLabel", sqlInputs.getStrColumns());
+        verify(connectionMock, Mockito.times(1)).setReadOnly(true);
+        verify(connectionMock, Mockito.times(1)).setAutoCommit(false);
+        verify(statementMock, Mockito.times(1)).setFetchSize(100);
+        verify(statementMock, Mockito.times(1)).executeQuery(SQL_QUERY);
+        verify(connectionMock, Mockito.never()).close();
+
+        cursor.close();
+        verify(connectionMock, Mockito.times(1)).close();
+    }
 }
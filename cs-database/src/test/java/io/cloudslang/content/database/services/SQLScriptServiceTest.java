@@ -25,13 +25,16 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 
 import static io.cloudslang.content.database.constants.DBOtherValues.ORACLE_DB_TYPE;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
 
@@ -56,6 +59,8 @@ public class SQLScriptServiceTest {
     @Rule
     private ExpectedException expectedEx = ExpectedException.none();
 
+    @Mock
+    private PreparedStatement preparedStatementMock;
     @Mock
     private ResultSet resultSetMock;
     @Mock
@@ -115,6 +120,71 @@ public class SQLScriptServiceTest {
         verify(statementMock, Mockito.times(0)).execute(SQL_COMMAND);
     }
 
+    @Test
+    public void testExecuteSqlScriptPreparedBatch() throws Exception {
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        sqlInputs.setTimeout(QUYERY_TIMEOUT);
+        sqlInputs.setBatchInserts(true);
+        when(connectionMock.prepareStatement("insert into t values (?, ?)")).thenReturn(preparedStatementMock);
+        when(preparedStatementMock.executeBatch()).thenReturn(new int[]{1, 1, 1});
+
+        SQLScriptService.executeSqlScript(Arrays.asList("insert into t values (1, 'a')", "insert into t values (2, 'b')",
+                "insert into t values (3, 'c')"), sqlInputs);
+
+        verify(connectionMock, Mockito.times(1)).prepareStatement("insert into t values (?, ?)");
+        verify(preparedStatementMock, Mockito.times(3)).addBatch();
+        verify(preparedStatementMock, Mockito.times(1)).setString(2, "b");
+        verify(preparedStatementMock, Mockito.times(1)).executeBatch();
+        verify(statementMock, Mockito.times(0)).executeBatch();
+        verify(connectionMock, Mockito.times(1)).commit();
+        assertEquals(3, sqlInputs.getIUpdateCount());
+    }
+
+    @Test
+    public void testExecuteSqlScriptInsertsWithoutBatchInserts() throws Exception {
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        when(statementMock.executeBatch()).thenReturn(new int[]{1, 1});
+
+        SQLScriptService.executeSqlScript(Arrays.asList("insert into t (id, created) values (1, '2017-01-31')",
+                "insert into t (id, created) values (2, '2017-02-28')"), sqlInputs);
+
+        verify(connectionMock, Mockito.times(0)).prepareStatement(Matchers.anyString());
+        verify(statementMock, Mockito.times(1)).addBatch("insert into t (id, created) values (1, '2017-01-31')");
+        verify(statementMock, Mockito.times(1)).addBatch("insert into t (id, created) values (2, '2017-02-28')");
+        verify(statementMock, Mockito.times(1)).executeBatch();
+        assertEquals(2, sqlInputs.getIUpdateCount());
+    }
+
+    @Test
+    public void testExecuteSqlScriptCommitSize() throws Exception {
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        sqlInputs.setCommitSize(2);
+        lines.add(SQL_COMMAND);
+        lines.add(SQL_COMMAND);
+        lines.add(SQL_COMMAND);
+
+        SQLScriptService.executeSqlScript(lines, sqlInputs);
+
+        verify(statementMock, Mockito.times(2)).executeBatch();
+        verify(connectionMock, Mockito.times(2)).commit();
+        assertEquals(2, sqlInputs.getChunkTimings().size());
+    }
+
+    @Test
+    public void testExecuteSqlScriptSections() throws Exception {
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        sqlInputs.setSectionDelimiter("GO");
+        lines.add("go");
+        lines.add(SQL_COMMAND);
+
+        SQLScriptService.executeSqlScript(lines, sqlInputs);
+
+        verify(statementMock, Mockito.times(2)).execute(SQL_COMMAND);
+        verify(connectionMock, Mockito.times(2)).commit();
+        assertEquals(Arrays.asList("section 1", "section 2"), Arrays.asList(
+                sqlInputs.getChunkTimings().get(0).split(",")[0], sqlInputs.getChunkTimings().get(1).split(",")[0]));
+    }
+
     @Test
     public void testExecuteSqlScriptNullLines() throws Exception {
         expectedEx.expect(Exception.class);
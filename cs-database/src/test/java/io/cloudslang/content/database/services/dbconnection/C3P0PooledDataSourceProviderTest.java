@@ -14,15 +14,18 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import javax.sql.DataSource;
+import java.util.Map;
 import java.util.Properties;
 
 import static io.cloudslang.content.database.constants.DBInputNames.USERNAME;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.mock;
 
@@ -73,4 +76,17 @@ public class C3P0PooledDataSourceProviderTest {
         DataSources.unpooledDataSource(anyString(), anyString(), anyString());
         DataSources.pooledDataSource(any(DataSource.class), anyMap());
     }
+
+    @Test
+    public void testOpenPooledDataSourceStatementCache() throws Exception {
+        PowerMockito.mockStatic(DataSources.class);
+        final ArgumentCaptor<Map> properties = ArgumentCaptor.forClass(Map.class);
+
+        provider.openPooledDataSource(DBConnectionManager.DBType.MYSQL, "url", USERNAME, "password");
+
+        PowerMockito.verifyStatic();
+        DataSources.pooledDataSource(any(DataSource.class), properties.capture());
+        assertTrue(properties.getValue().containsKey("maxStatementsPerConnection"));
+        assertEquals("1", properties.getValue().get("statementCacheNumDeferredCloseThreads"));
+    }
 }
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.services.dbconnection;
+
+import io.cloudslang.content.database.services.dbconnection.DBConnectionManager.DBType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures checking out pooled connections from many threads, each thread using its own database.
+ * The datasources return stub connections that take {@link #CHECKOUT_MICROS} to check out, so the benchmark
+ * shows whether checkouts to independent databases wait for each other.
+ * Run the main method from the test classpath; it repeats the benchmark with 1 to 32 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DBConnectionManagerBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+    private static final long CHECKOUT_MICROS = 50;
+
+    @Param({"1", "32"})
+    private int databaseCount;
+
+    private DBConnectionManager dbConnectionManager;
+    private Properties properties;
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private String dbUrl;
+
+        @Setup
+        public void setUp(DBConnectionManagerBenchmark benchmark) {
+            dbUrl = "jdbc:stub://db" + benchmark.threadIndex.getAndIncrement() % benchmark.databaseCount;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        properties = new Properties();
+        properties.put("db.pooling.enable", "true");
+        dbConnectionManager = new DBConnectionManager() {
+            @Override
+            protected DataSource createDataSource(DBType aDbType, String aDbUrl, String aUsername, String aPassword,
+                                                  Map<String, DataSource> aDsTable) throws SQLException {
+                return newStub(DataSource.class);
+            }
+        };
+    }
+
+    @Benchmark
+    public Connection getConnection(ThreadState threadState) throws SQLException {
+        return dbConnectionManager.getConnection(DBType.CUSTOM, threadState.dbUrl, "user", "password", properties);
+    }
+
+    private static <T> T newStub(final Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("getConnection".equals(method.getName())) {
+                    long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(CHECKOUT_MICROS);
+                    while (System.nanoTime() < end) {
+                        Thread.yield();
+                    }
+                    return newStub(Connection.class);
+                }
+                return null;
+            }
+        }));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREAD_COUNTS) {
+            Options options = new OptionsBuilder()
+                    .include(DBConnectionManagerBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(5)
+                    .measurementIterations(5)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
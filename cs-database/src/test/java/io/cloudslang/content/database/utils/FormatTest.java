@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.utils;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FormatTest {
+
+    @Rule
+    public ExpectedException expectedEx = ExpectedException.none();
+
+    @Mock
+    private ResultSet resultSetMock;
+    @Mock
+    private ResultSetMetaData resultSetMetaDataMock;
+
+    @Before
+    public void setUp() throws Exception {
+        when(resultSetMock.getMetaData()).thenReturn(resultSetMetaDataMock);
+        when(resultSetMetaDataMock.getColumnCount()).thenReturn(2);
+        when(resultSetMetaDataMock.getColumnLabel(1)).thenReturn("id");
+        when(resultSetMetaDataMock.getColumnLabel(2)).thenReturn("name");
+        when(resultSetMock.next()).thenReturn(true, true, false);
+        when(resultSetMock.getString(1)).thenReturn("1", "1000");
+        when(resultSetMock.getString(2)).thenReturn("first", null);
+    }
+
+    @Test
+    public void testResultSetToTable() throws Exception {
+        assertEquals("id    name   \n" +
+                "----  -----  \n" +
+                "1     first  \n" +
+                "1000  null   \n", Format.resultSetToTable(resultSetMock, false));
+    }
+
+    @Test
+    public void testResultSetToTableWriter() throws Exception {
+        final StringWriter out = new StringWriter();
+        assertEquals(2, Format.resultSetToTable(resultSetMock, false, out));
+        assertEquals("id    name   \n" +
+                "----  -----  \n" +
+                "1     first  \n" +
+                "1000  null   \n", out.toString());
+    }
+
+    @Test
+    public void testResultSetToTableSpilled() throws Exception {
+        final StringWriter out = new StringWriter();
+        assertEquals(2, Format.resultSetToTable(resultSetMock, false, out, 6));
+        assertEquals("id    name   \n" +
+                "----  -----  \n" +
+                "1     first  \n" +
+                "1000  null   \n", out.toString());
+    }
+
+    @Test
+    public void testResultSetToDelimitedColsAndRows() throws Exception {
+        assertEquals("1|first||1000|null", Format.resultSetToDelimitedColsAndRows(resultSetMock, false, "|", "||"));
+    }
+
+    @Test
+    public void testResultSetToDelimitedColsAndRowsNoRows() throws Exception {
+        when(resultSetMock.next()).thenReturn(false);
+        final StringWriter out = new StringWriter();
+        assertEquals(0, Format.resultSetToDelimitedColsAndRows(resultSetMock, false, ",", "\n", out));
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    public void testResultSetToDelimitedColsAndRowsBounded() throws Exception {
+        expectedEx.expect(IOException.class);
+        expectedEx.expectMessage("The result is longer than 10 characters.");
+        Format.resultSetToDelimitedColsAndRows(resultSetMock, false, "|", "\n", new BoundedWriter(10));
+    }
+}
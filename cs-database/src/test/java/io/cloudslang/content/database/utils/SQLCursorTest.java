@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.utils;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SQLCursorTest {
+
+    private static final int IDLE_TIMEOUT = 60;
+
+    @Rule
+    public ExpectedException expectedEx = ExpectedException.none();
+
+    @Mock
+    private Connection connectionMock;
+    @Mock
+    private Statement statementMock;
+    @Mock
+    private ResultSet resultSetMock;
+    @Mock
+    private ResultSetMetaData resultSetMetaDataMock;
+
+    @Before
+    public void setUp() throws Exception {
+        when(resultSetMock.getMetaData()).thenReturn(resultSetMetaDataMock);
+        when(resultSetMetaDataMock.getColumnCount()).thenReturn(2);
+        when(resultSetMetaDataMock.getColumnLabel(1)).thenReturn("id");
+        when(resultSetMetaDataMock.getColumnLabel(2)).thenReturn("name");
+        when(resultSetMock.next()).thenReturn(true, true, true, false);
+        when(resultSetMock.getString(1)).thenReturn("1", "2", "3");
+        when(resultSetMock.getString(2)).thenReturn(" a ", null, "c");
+    }
+
+    @Test
+    public void testNextReadsRowsInChunks() throws Exception {
+        final SQLCursor cursor = new SQLCursor(connectionMock, statementMock, resultSetMock, ",", false, 2, IDLE_TIMEOUT);
+        assertEquals("id,name", cursor.getStrColumns());
+
+        assertEquals("1,a", cursor.next());
+        verify(resultSetMock, times(2)).next();
+        assertEquals(1, cursor.getBufferedRows());
+        assertEquals("2,", cursor.next());
+        assertEquals(0, cursor.getBufferedRows());
+
+        assertEquals("3,c", cursor.next());
+        verify(resultSetMock, times(4)).next();
+        assertFalse(cursor.isClosed());
+
+        assertNull(cursor.next());
+        assertTrue(cursor.isClosed());
+        verify(resultSetMock).close();
+        verify(statementMock).close();
+        verify(connectionMock).close();
+    }
+
+    @Test
+    public void testCloseIdleCursors() throws Exception {
+        final SQLCursor cursor = new SQLCursor(connectionMock, statementMock, resultSetMock, ",", false, 2, IDLE_TIMEOUT);
+        assertEquals("1,a", cursor.next());
+
+        SQLCursor.closeIdleCursors(System.currentTimeMillis());
+        assertFalse(cursor.isClosed());
+
+        SQLCursor.closeIdleCursors(System.currentTimeMillis() + (IDLE_TIMEOUT + 1) * 1000L);
+        assertTrue(cursor.isClosed());
+        verify(connectionMock).close();
+
+        expectedEx.expect(SQLException.class);
+        cursor.next();
+    }
+
+    @Test
+    public void testSessionReleaseClosesCursors() throws Exception {
+        final SQLCursor cursor = new SQLCursor(connectionMock, statementMock, resultSetMock, ",", false, 2, IDLE_TIMEOUT);
+        final Map<String, Object> sessionMap = new HashMap<>();
+        sessionMap.put("key", cursor);
+
+        new SQLSessionResource(sessionMap).release();
+
+        assertTrue(cursor.isClosed());
+        verify(connectionMock).close();
+    }
+}
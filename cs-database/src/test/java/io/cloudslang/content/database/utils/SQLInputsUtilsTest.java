@@ -292,6 +292,24 @@ public class SQLInputsUtilsTest {
         assertThat(getSqlKey(getTestInputsSqlKey(false)), is("SQLQuery:8835ea6c637a5e1b67bf01952bc9225597ae33ceeaf17e913aae50193c18346d"));
     }
 
+    @Test
+    public void getSqlKeyWithParams() throws Exception {
+        final SQLInputs sqlInputs = getTestInputsSqlKey(false);
+        sqlInputs.setParams(Collections.<String>emptyList());
+        assertThat(getSqlKey(sqlInputs), is("SQLQuery:8835ea6c637a5e1b67bf01952bc9225597ae33ceeaf17e913aae50193c18346d"));
+        sqlInputs.setParams(Arrays.asList("1", "2"));
+        final String key = getSqlKey(sqlInputs);
+        sqlInputs.setParams(Arrays.asList("1", "3"));
+        assertNotEquals(key, getSqlKey(sqlInputs));
+    }
+
+    @Test
+    public void getSqlParamsSimple() throws Exception {
+        assertThat(SQLInputsUtils.getSqlParams(EMPTY, ","), is(Collections.<String>emptyList()));
+        assertThat(SQLInputsUtils.getSqlParams("a,,b c", ","), is(Arrays.asList("a", "", "b c")));
+        assertThat(SQLInputsUtils.getSqlParams("a, b||c", "||"), is(Arrays.asList("a, b", "c")));
+    }
+
     @Test
     public void getDbClassForTypeSimple() throws Exception {
         assertThat(getDbClassForType(ORACLE_DB_TYPE), instanceOf(OracleDatabase.class));
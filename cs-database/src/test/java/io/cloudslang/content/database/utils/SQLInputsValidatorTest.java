@@ -61,93 +61,112 @@ public class SQLInputsValidatorTest {
     @Test
     public void validateSqlQueryInputsValid() throws Exception {
         final List<String> validationList = validateSqlQueryInputs("1", MSSQL_DB_TYPE, "username",
-                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, FALSE);
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, FALSE, "100", "600");
         assertThat(validationList, is(Collections.<String>emptyList()));
     }
 
     @Test
     public void validateSqlQueryInputsEmpty() throws Exception {
         final List<String> validationList1 = validateSqlQueryInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList1, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD,
                 INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, String.format(INVALID_IGNORE_CASE, EMPTY),
-                INVALID_COMMAND, INVALID_TIMEOUT)));
+                INVALID_COMMAND, INVALID_TIMEOUT, INVALID_FETCH_SIZE, INVALID_CURSOR_IDLE_TIMEOUT)));
 
         final List<String> validationList2 = validateSqlQueryInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, "1a12a", EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList2, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD,
                 INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_DB_PORT, String.format(INVALID_IGNORE_CASE, EMPTY),
-                INVALID_COMMAND, INVALID_TIMEOUT)));
+                INVALID_COMMAND, INVALID_TIMEOUT, INVALID_FETCH_SIZE, INVALID_CURSOR_IDLE_TIMEOUT)));
     }
 
     @Test
     public void validateSqlQueryAllRowsInputsValid() throws Exception {
         final List<String> validationList = validateSqlQueryAllRowsInputs("1", MSSQL_DB_TYPE, "username",
                 "Password", "someInstance", "123", "database", AUTH_SQL, "Command",
-                "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+                "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, "100", "0");
         assertThat(validationList, is(Collections.<String>emptyList()));
     }
 
     @Test
     public void validateSqlQueryAllRowsInputsEmpty() throws Exception {
         final List<String> validationList1 = validateSqlQueryAllRowsInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList1, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD,
-                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_TIMEOUT)));
+                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_TIMEOUT, INVALID_FETCH_SIZE, INVALID_MAX_RESULT_LENGTH)));
 
         final List<String> validationList2 = validateSqlQueryAllRowsInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, "-1", EMPTY, EMPTY);
+                EMPTY, EMPTY, "-1", EMPTY, EMPTY, "-1", "-1");
         assertThat(validationList2, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD,
-                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_NEGATIVE_TIMEOUT)));
+                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_NEGATIVE_TIMEOUT, INVALID_FETCH_SIZE, INVALID_MAX_RESULT_LENGTH)));
     }
 
     @Test
     public void validateSqlQueryLOBInputsValid() throws Exception {
         final List<String> validationList = validateSqlQueryLOBInputs("1", MSSQL_DB_TYPE, "username",
-                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY,
+                "/tmp/lobs", EMPTY, "1048576", "4");
         assertThat(validationList, is(Collections.<String>emptyList()));
     }
 
     @Test
     public void validateSqlQueryLOBInputsEmpty() throws Exception {
         final List<String> validationList1 = validateSqlQueryLOBInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList1, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD,
-                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_TIMEOUT)));
+                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_TIMEOUT, INVALID_MAX_LOB_SIZE,
+                INVALID_LOB_WORKERS)));
+    }
+
+    @Test
+    public void validateSqlQueryLOBInputsInvalidLobOutput() throws Exception {
+        final List<String> validationList = validateSqlQueryLOBInputs("1", MSSQL_DB_TYPE, "username",
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Command", "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY,
+                "/tmp/lobs", "/tmp/lobs.zip", "-1", "0");
+        assertThat(validationList, is(Arrays.asList(INVALID_LOB_EXCLUSIVITY, INVALID_MAX_LOB_SIZE, INVALID_LOB_WORKERS)));
     }
 
     @Test
     public void validateSqlQueryTabularInputsValid() throws Exception {
         final List<String> validationList = validateSqlQueryTabularInputs("1", MSSQL_DB_TYPE, "username",
                 "Password", "someInstance", "123", "database", AUTH_SQL, "Command",
-                "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+                "1", TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, "100", "0");
         assertThat(validationList, is(Collections.<String>emptyList()));
     }
 
     @Test
     public void validateSqlQueryTabularInputsEmpty() throws Exception {
         final List<String> validationList1 = validateSqlQueryTabularInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList1, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD,
-                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_TIMEOUT)));
+                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMAND, INVALID_TIMEOUT, INVALID_FETCH_SIZE, INVALID_MAX_RESULT_LENGTH)));
     }
 
     @Test
     public void validateSqlScriptInputsValid() throws Exception {
         final List<String> validationList = validateSqlScriptInputs("1", MSSQL_DB_TYPE, "username",
-                "Password", "someInstance", "123", "database", AUTH_SQL, "Commands", EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Commands", EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, "100", "4", "true");
         assertThat(validationList, is(Collections.<String>emptyList()));
     }
 
     @Test
     public void validateSqlScriptInputsEmpty() throws Exception {
         final List<String> validationList1 = validateSqlScriptInputs(EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY,
-                EMPTY, EMPTY, EMPTY, EMPTY);
+                EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
         assertThat(validationList1, is(Arrays.asList(INVALID_DB_TYPE, INVALID_DB_SERVER_NAME, INVALID_USERNAME, INVALID_PASSWORD,
-                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMANDS_EXCLUSIVITY)));
+                INVALID_RESULT_SET_TYPE, INVALID_RESULT_SET_CONCURRENCY, INVALID_COMMANDS_EXCLUSIVITY, INVALID_COMMIT_SIZE,
+                INVALID_PARALLEL_SECTIONS, String.format(INVALID_BATCH_INSERTS, EMPTY))));
 
     }
 
+    @Test
+    public void validateSqlScriptInputsInvalidBatching() throws Exception {
+        final List<String> validationList = validateSqlScriptInputs("1", MSSQL_DB_TYPE, "username",
+                "Password", "someInstance", "123", "database", AUTH_SQL, "Commands", EMPTY, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, "-1", "0", "yes");
+        assertThat(validationList, is(Arrays.asList(INVALID_COMMIT_SIZE, INVALID_PARALLEL_SECTIONS,
+                String.format(INVALID_BATCH_INSERTS, "yes"))));
+    }
+
     @Test
     public void isValidAuthTypeValid() throws Exception {
         assertTrue(isValidAuthType(AUTH_WINDOWS));
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.utils;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SQLScriptReaderTest {
+
+    private static final String SCRIPT = "/* header\n spanning lines; */\n" +
+            "create table employee(\n" +
+            "  first varchar(15)); -- trailing comment\n" +
+            "\n" +
+            "insert into employee values ('a;b'' -- not a comment');\n" +
+            "insert into \"odd;name\" values ('x');;\n" +
+            "select 'é' from dual";
+
+    private static final List<String> STATEMENTS = Arrays.asList(
+            "create table employee(   first varchar(15))",
+            "insert into employee values ('a;b'' -- not a comment')",
+            "insert into \"odd;name\" values ('x')",
+            "select 'é' from dual");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReadStatements() throws Exception {
+        assertEquals(STATEMENTS, readAll(new SQLScriptReader(new StringReader(SCRIPT))));
+    }
+
+    @Test
+    public void testReadEmptyScript() throws Exception {
+        assertEquals(Collections.<String>emptyList(), readAll(new SQLScriptReader(new StringReader("-- only a comment\n;\n"))));
+    }
+
+    @Test
+    public void testReadFileInCharset() throws Exception {
+        final File script = folder.newFile("script.sql");
+        FileUtils.writeStringToFile(script, SCRIPT, StandardCharsets.UTF_8);
+        assertEquals(STATEMENTS, readAll(SQLScriptReader.open(script, StandardCharsets.UTF_8)));
+        //the file is not held open once the statements were read
+        assertTrue(script.delete());
+    }
+
+    @Test
+    public void testReadFromFile() throws Exception {
+        final File script = folder.newFile("script.sql");
+        FileUtils.writeStringToFile(script, "select 1 from dual;\nselect 2 from dual;\n");
+        assertEquals(Arrays.asList("select 1 from dual", "select 2 from dual"), SQLUtils.readFromFile(script.getAbsolutePath()));
+    }
+
+    private static List<String> readAll(final SQLScriptReader reader) throws Exception {
+        final List<String> statements = new ArrayList<>();
+        try {
+            while (reader.hasNext()) {
+                statements.add(reader.next());
+            }
+        } finally {
+            reader.close();
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.database.utils;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SQLStatementShapeTest {
+
+    @Test
+    public void testParseInsert() {
+        final SQLStatementShape shape = SQLStatementShape.parse("INSERT INTO t (id, name, created) VALUES (1, 'it''s, fine', NOW())");
+        assertEquals("INSERT INTO t (id, name, created) VALUES (?, ?, NOW())", shape.getShape());
+        assertEquals(Arrays.<Object>asList(new BigDecimal("1"), "it's, fine"), shape.getParameters());
+    }
+
+    @Test
+    public void testSameShape() {
+        assertEquals(SQLStatementShape.parse("insert into t values(1,'a')").getShape(),
+                SQLStatementShape.parse("insert into t values(-2.5, 'b')").getShape());
+    }
+
+    @Test
+    public void testParseValuesInIdentifier() {
+        final SQLStatementShape shape = SQLStatementShape.parse("insert into my_values (\"values\") values ('x')");
+        assertEquals("insert into my_values (\"values\") values (?)", shape.getShape());
+    }
+
+    @Test
+    public void testParseNotBatchable() {
+        assertNull(SQLStatementShape.parse("select * from t"));
+        assertNull(SQLStatementShape.parse("insert into t values (1), (2)"));
+        assertNull(SQLStatementShape.parse("insert into t select * from s"));
+        assertNull(SQLStatementShape.parse("insert into t values (NULL, DEFAULT)"));
+        assertNull(SQLStatementShape.parse("insert into t values ('unterminated)"));
+        assertNull(SQLStatementShape.parse("insert into t values (1, 'a\\\\b')"));
+        assertNull(SQLStatementShape.parse("insert into t values (1, 'it\\'s')"));
+    }
+}
@@ -15,19 +15,25 @@ import io.cloudslang.content.httpclient.build.*;
 import io.cloudslang.content.httpclient.build.auth.AuthSchemeProviderLookupBuilder;
 import io.cloudslang.content.httpclient.build.auth.AuthTypes;
 import io.cloudslang.content.httpclient.build.auth.CredentialsProviderBuilder;
+import io.cloudslang.content.httpclient.build.conn.AsyncClientBuilder;
 import io.cloudslang.content.httpclient.build.conn.ConnectionManagerBuilder;
+import io.cloudslang.content.httpclient.build.cache.ResponseCacheStorage;
+import io.cloudslang.content.httpclient.build.conn.HttpClientCache;
 import io.cloudslang.content.httpclient.build.conn.SSLConnectionSocketFactoryBuilder;
 import io.cloudslang.content.httpclient.consume.FinalLocationConsumer;
 import io.cloudslang.content.httpclient.consume.HeadersConsumer;
 import io.cloudslang.content.httpclient.consume.HttpResponseConsumer;
 import io.cloudslang.content.httpclient.consume.StatusConsumer;
+import io.cloudslang.content.httpclient.execute.HttpAsyncClientExecutor;
 import io.cloudslang.content.httpclient.execute.HttpClientExecutor;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthSchemeProvider;
 import org.apache.http.client.CookieStore;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.cache.HttpCacheContext;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
@@ -40,13 +46,20 @@ import org.apache.http.impl.NoConnectionReuseStrategy;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
 
 import java.io.IOException;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Created with IntelliJ IDEA.
@@ -64,6 +77,8 @@ public class CSHttpClient {
     public static final String RESPONSE_HEADERS = "responseHeaders";
     public static final String PROTOCOL_VERSION = "protocolVersion";
     public static final String REASON_PHRASE = "reasonPhrase";
+    public static final String RESPONSE_FILE = "responseFile";
+    public static final String CACHE_RESPONSE_STATUS = "cacheResponseStatus";
 
     private CookieStoreBuilder cookieStoreBuilder;
     private AuthSchemeProviderLookupBuilder authSchemeProviderLookupBuilder;
@@ -78,6 +93,8 @@ public class CSHttpClient {
     private ConnectionManagerBuilder poolingHttpClientConnectionManagerBuilder;
     private ContextBuilder contextBuilder;
     private HttpClientExecutor httpClientExecutor;
+    private AsyncClientBuilder asyncClientBuilder;
+    private HttpAsyncClientExecutor httpAsyncClientExecutor;
     private HttpResponseConsumer httpResponseConsumer;
     private FinalLocationConsumer finalLocationConsumer;
     private HeadersConsumer headersConsumer;
@@ -87,13 +104,21 @@ public class CSHttpClient {
         initSessionsObjects(httpClientInputs);
         HttpComponents httpComponents = buildHttpComponents(httpClientInputs);
 
-        CloseableHttpResponse httpResponse = execute(httpComponents.getCloseableHttpClient(),
-                httpComponents.getHttpRequestBase(),
-                httpComponents.getHttpClientContext());
+        CloseableHttpResponse httpResponse;
+        ResponseCacheStorage.setContextKey(httpComponents.getResponseCacheContextKey());
+        try {
+            httpResponse = execute(httpComponents.getCloseableHttpClient(),
+                    httpComponents.getHttpRequestBase(),
+                    httpComponents.getHttpClientContext());
+        } finally {
+            ResponseCacheStorage.removeContextKey();
+        }
 
         Map<String, String> result = parseResponse(httpResponse,
                 httpClientInputs.getResponseCharacterSet(),
                 httpClientInputs.getDestinationFile(),
+                httpClientInputs.getBinaryResponse(),
+                httpClientInputs.getMaxInMemoryResponseSize(),
                 httpComponents.getUri(),
                 httpComponents.getHttpClientContext(),
                 httpComponents.getCookieStore(),
@@ -107,6 +132,65 @@ public class CSHttpClient {
         return result;
     }
 
+    /**
+     * Submits the request to a shared non-blocking client and returns without waiting for the response.
+     * The I/O of all the in-flight requests is handled by a few dispatcher threads, while the number of concurrent
+     * requests to the same route is limited by the 'connectionsMaxPerRoute' input. The response entity is kept in memory
+     * up to 'maxInMemoryResponseSize' bytes and in a temporary file above it, and the returned future produces the same
+     * outputs as {@link #execute(HttpClientInputs)}.
+     */
+    public Future<Map<String, String>> executeAsync(HttpClientInputs httpClientInputs) {
+        initSessionsObjects(httpClientInputs);
+        HttpComponents httpComponents = buildRequestComponents(httpClientInputs);
+
+        SSLIOSessionStrategy sslIOSessionStrategy = sslConnectionSocketFactoryBuilder
+                .setTrustAllRoots(httpClientInputs.getTrustAllRoots())
+                .setKeystore(httpClientInputs.getKeystore())
+                .setKeystorePassword(httpClientInputs.getKeystorePassword())
+                .setTrustKeystore(httpClientInputs.getTrustKeystore())
+                .setTrustPassword(httpClientInputs.getTrustPassword())
+                .setX509HostnameVerifier(httpClientInputs.getX509HostnameVerifier())
+                .buildIOSessionStrategy();
+
+        boolean keepAlive = StringUtils.isEmpty(httpClientInputs.getKeepAlive()) || Boolean.parseBoolean(httpClientInputs.getKeepAlive());
+        CloseableHttpAsyncClient closeableHttpAsyncClient = asyncClientBuilder
+                .setAsyncClientKey(httpClientInputs.getTrustAllRoots(),
+                        httpClientInputs.getX509HostnameVerifier(),
+                        httpClientInputs.getKeystore(),
+                        httpClientInputs.getTrustKeystore(),
+                        String.valueOf(keepAlive))
+                .setSslIOSessionStrategy(sslIOSessionStrategy)
+                .setKeepAlive(keepAlive)
+                .setDefaultMaxPerRoute(httpClientInputs.getConnectionsMaxPerRoute())
+                .setTotalMax(httpClientInputs.getConnectionsMaxTotal())
+                .build();
+
+        Future<HttpResponse> responseFuture = httpAsyncClientExecutor
+                .setCloseableHttpAsyncClient(closeableHttpAsyncClient)
+                .setHttpRequestBase(httpComponents.getHttpRequestBase())
+                .setContext(httpComponents.getHttpClientContext())
+                .setMaxInMemorySize(getAsyncMaxInMemorySize(httpClientInputs))
+                .execute();
+
+        return new AsyncResponseFuture(responseFuture, httpClientInputs, httpComponents);
+    }
+
+    //a response written to the destination file is never kept in memory, like with the blocking client
+    private long getAsyncMaxInMemorySize(HttpClientInputs httpClientInputs) {
+        if (!StringUtils.isEmpty(httpClientInputs.getDestinationFile())) {
+            return 0;
+        }
+        if (StringUtils.isEmpty(httpClientInputs.getMaxInMemoryResponseSize())) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(httpClientInputs.getMaxInMemoryResponseSize());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("the '" + HttpClientInputs.MAX_IN_MEMORY_RESPONSE_SIZE
+                    + "' input should be integer" + e.getMessage(), e);
+        }
+    }
+
     private void initSessionsObjects(HttpClientInputs httpClientInputs) {
         SerializableSessionObject cookieStoreSessionObject = httpClientInputs.getCookieStoreSessionObject();
         if (cookieStoreSessionObject == null) {
@@ -119,7 +203,10 @@ public class CSHttpClient {
         }
     }
 
-    public HttpComponents buildHttpComponents(HttpClientInputs httpClientInputs) {
+    /**
+     * Builds the request and its context, the parts that do not depend on the client executing the request.
+     */
+    public HttpComponents buildRequestComponents(HttpClientInputs httpClientInputs) {
         buildDefaultServices();
 
         URI uri = uriBuilder.setUrl(httpClientInputs.getUrl())
@@ -168,8 +255,6 @@ public class CSHttpClient {
                 .buildRequestConfig();
         httpRequestBase.setConfig(requestConfig);
 
-        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
-
         AuthTypes authTypes = new AuthTypes(httpClientInputs.getAuthType());
 
         CredentialsProvider credentialsProvider = credentialsProviderBuilder
@@ -183,7 +268,6 @@ public class CSHttpClient {
                 .setProxyHost(httpClientInputs.getProxyHost())
                 .setProxyPort(httpClientInputs.getProxyPort())
                 .buildCredentialsProvider();
-        httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
 
         Lookup<AuthSchemeProvider> authSchemeLookup = authSchemeProviderLookupBuilder
                 .setAuthTypes(authTypes)
@@ -195,7 +279,6 @@ public class CSHttpClient {
                 .setUsername(httpClientInputs.getUsername())
                 .setPassword(httpClientInputs.getPassword())
                 .buildAuthSchemeProviderLookup();
-        httpClientBuilder.setDefaultAuthSchemeRegistry(authSchemeLookup);
 
         httpRequestBase.setHeaders(theHeaders.toArray(new Header[theHeaders.size()]));
 
@@ -203,9 +286,25 @@ public class CSHttpClient {
                 .setUseCookies(httpClientInputs.getUseCookies())
                 .setCookieStoreSessionObject(httpClientInputs.getCookieStoreSessionObject())
                 .buildCookieStore();
-        if (cookieStore != null) {
-            httpClientBuilder.setDefaultCookieStore(cookieStore);
-        }
+
+        HttpClientContext context = contextBuilder
+                .setAuthSchemeLookup(authSchemeLookup)
+                .setAuthTypes(authTypes)
+                .setCredentialsProvider(credentialsProvider)
+                .setCookieStore(cookieStore)
+                .setUri(uri)
+                .setPreemptiveAuth(httpClientInputs.getPreemptiveAuth()).build();
+
+        HttpComponents result = new HttpComponents();
+        result.setHttpRequestBase(httpRequestBase);
+        result.setHttpClientContext(context);
+        result.setUri(uri);
+        result.setCookieStore(cookieStore);
+        return result;
+    }
+
+    public HttpComponents buildHttpComponents(HttpClientInputs httpClientInputs) {
+        HttpComponents result = buildRequestComponents(httpClientInputs);
 
         SSLConnectionSocketFactory sslConnectionSocketFactory = sslConnectionSocketFactoryBuilder
                 .setTrustAllRoots(httpClientInputs.getTrustAllRoots())
@@ -223,38 +322,66 @@ public class CSHttpClient {
         PoolingHttpClientConnectionManager connManager = poolingHttpClientConnectionManagerBuilder
                 .setConnectionManagerMapKey(connectionKey)
                 .setConnectionPoolHolder(httpClientInputs.getConnectionPoolSessionObject())
+                .setRoute(ConnectionManagerBuilder.buildRoute(result.getUri(), result.getHttpRequestBase().getConfig().getProxy()))
                 .setSslsf(sslConnectionSocketFactory)
                 .setDefaultMaxPerRoute(httpClientInputs.getConnectionsMaxPerRoute())
                 .setTotalMax(httpClientInputs.getConnectionsMaxTotal())
                 .buildConnectionManager();
 
-        httpClientBuilder.setConnectionManager(connManager);
-
-        if (StringUtils.isEmpty(httpClientInputs.getKeepAlive()) || Boolean.parseBoolean(httpClientInputs.getKeepAlive())) {
-            httpClientBuilder.setConnectionReuseStrategy(DefaultConnectionReuseStrategy.INSTANCE);
-        } else {
-            httpClientBuilder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+        boolean keepAlive = StringUtils.isEmpty(httpClientInputs.getKeepAlive()) || Boolean.parseBoolean(httpClientInputs.getKeepAlive());
+        boolean contentCompression = StringUtils.isEmpty(httpClientInputs.getContentCompression())
+                || Boolean.parseBoolean(httpClientInputs.getContentCompression());
+        String responseCacheContextKey = null;
+        if (Boolean.parseBoolean(httpClientInputs.getResponseCache())) {
+            responseCacheContextKey = ResponseCacheStorage.buildContextKey(result.getCookieStore(),
+                    httpClientInputs.getAuthType(),
+                    httpClientInputs.getUsername(),
+                    httpClientInputs.getPassword(),
+                    httpClientInputs.getKeystore());
+        }
+        //one caching client serves all the contexts, the context of each request is given to the storage when it is executed
+        String httpClientKey = ConnectionManagerBuilder.buildConnectionManagerMapKey(connectionKey, String.valueOf(keepAlive),
+                String.valueOf(contentCompression), String.valueOf(responseCacheContextKey != null));
+        HttpClientCache httpClientCache = HttpClientCache.getHttpClientCache(httpClientInputs.getConnectionPoolSessionObject());
+
+        HttpClientBuilder httpClientBuilder = null;
+        CloseableHttpClient closeableHttpClient = null;
+        if (httpClientCache != null) {
+            closeableHttpClient = httpClientCache.get(httpClientKey, connManager);
         }
+        if (closeableHttpClient == null) {
+            if (responseCacheContextKey != null) {
+                httpClientBuilder = CachingHttpClientBuilder.create()
+                        .setCacheConfig(ResponseCacheStorage.CACHE_CONFIG)
+                        .setHttpCacheStorage(new ResponseCacheStorage())
+                        .setResourceFactory(ResponseCacheStorage.getResourceFactory());
+            } else {
+                httpClientBuilder = HttpClientBuilder.create();
+            }
+            httpClientBuilder.setConnectionManager(connManager);
 
-        httpClientBuilder.setRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+            if (keepAlive) {
+                httpClientBuilder.setConnectionReuseStrategy(DefaultConnectionReuseStrategy.INSTANCE);
+            } else {
+                httpClientBuilder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+            }
 
-        CloseableHttpClient closeableHttpClient = httpClientBuilder.build();
+            if (!contentCompression) {
+                httpClientBuilder.disableContentCompression();
+            }
 
-        HttpClientContext context = contextBuilder
-                .setAuthSchemeLookup(authSchemeLookup)
-                .setAuthTypes(authTypes)
-                .setCredentialsProvider(credentialsProvider)
-                .setUri(uri)
-                .setPreemptiveAuth(httpClientInputs.getPreemptiveAuth()).build();
+            httpClientBuilder.setRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+
+            closeableHttpClient = httpClientBuilder.build();
+            if (httpClientCache != null) {
+                httpClientCache.put(httpClientKey, connManager, closeableHttpClient);
+            }
+        }
 
-        HttpComponents result = new HttpComponents();
         result.setCloseableHttpClient(closeableHttpClient);
-        result.setHttpRequestBase(httpRequestBase);
-        result.setHttpClientContext(context);
-        result.setUri(uri);
         result.setConnManager(connManager);
-        result.setCookieStore(cookieStore);
         result.setHttpClientBuilder(httpClientBuilder);
+        result.setResponseCacheContextKey(responseCacheContextKey);
         return result;
     }
 
@@ -270,14 +397,17 @@ public class CSHttpClient {
                 .execute();
     }
 
-    public Map<String, String> parseResponse(CloseableHttpResponse httpResponse,
+    public Map<String, String> parseResponse(HttpResponse httpResponse,
                                              String responseCharacterSet,
                                              String destinationFile,
+                                             String binaryResponse,
+                                             String maxInMemoryResponseSize,
                                              URI uri,
                                              HttpClientContext httpClientContext,
                                              CookieStore cookieStore,
                                              SerializableSessionObject cookieStoreSessionObject
     ) {
+        buildDefaultServices();
         Map<String, String> result = new HashMap<>();
 
         try {
@@ -285,6 +415,8 @@ public class CSHttpClient {
                     .setHttpResponse(httpResponse)
                     .setResponseCharacterSet(responseCharacterSet)
                     .setDestinationFile(destinationFile)
+                    .setBinaryResponse(binaryResponse)
+                    .setMaxInMemoryResponseSize(maxInMemoryResponseSize)
                     .consume(result);
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -298,10 +430,14 @@ public class CSHttpClient {
         headersConsumer.setHeaders(httpResponse.getAllHeaders()).consume(result);
         statusConsumer.setStatusLine(httpResponse.getStatusLine()).consume(result);
 
+        Object cacheResponseStatus = httpClientContext.getAttribute(HttpCacheContext.CACHE_RESPONSE_STATUS);
+        if (cacheResponseStatus != null) {
+            result.put(CACHE_RESPONSE_STATUS, cacheResponseStatus.toString());
+        }
+
         if (cookieStore != null) {
             try {
-                cookieStoreSessionObject.setValue(
-                        CookieStoreBuilder.serialize(cookieStore));
+                CookieStoreBuilder.saveCookieStore(cookieStore, cookieStoreSessionObject);
             } catch (IOException e) {
                 throw new RuntimeException(e.getMessage(), e);
             }
@@ -403,6 +539,12 @@ public class CSHttpClient {
         if (httpClientExecutor == null) {
             httpClientExecutor = new HttpClientExecutor();
         }
+        if (asyncClientBuilder == null) {
+            asyncClientBuilder = new AsyncClientBuilder();
+        }
+        if (httpAsyncClientExecutor == null) {
+            httpAsyncClientExecutor = new HttpAsyncClientExecutor();
+        }
         if (httpResponseConsumer == null) {
             httpResponseConsumer = new HttpResponseConsumer();
         }
@@ -416,4 +558,64 @@ public class CSHttpClient {
             statusConsumer = new StatusConsumer();
         }
     }
+
+    private static class AsyncResponseFuture implements Future<Map<String, String>> {
+        private final Future<HttpResponse> responseFuture;
+        private final HttpClientInputs httpClientInputs;
+        private final HttpComponents httpComponents;
+        private Map<String, String> result;
+
+        private AsyncResponseFuture(Future<HttpResponse> responseFuture, HttpClientInputs httpClientInputs,
+                                    HttpComponents httpComponents) {
+            this.responseFuture = responseFuture;
+            this.httpClientInputs = httpClientInputs;
+            this.httpComponents = httpComponents;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return responseFuture.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return responseFuture.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return responseFuture.isDone();
+        }
+
+        @Override
+        public Map<String, String> get() throws InterruptedException, ExecutionException {
+            return parse(responseFuture.get());
+        }
+
+        @Override
+        public Map<String, String> get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return parse(responseFuture.get(timeout, unit));
+        }
+
+        //the response is parsed on the caller thread, with its own consumers, so the futures can be read concurrently
+        private synchronized Map<String, String> parse(HttpResponse httpResponse) throws ExecutionException {
+            if (result == null) {
+                try {
+                    result = new CSHttpClient().parseResponse(httpResponse,
+                            httpClientInputs.getResponseCharacterSet(),
+                            httpClientInputs.getDestinationFile(),
+                            httpClientInputs.getBinaryResponse(),
+                            httpClientInputs.getMaxInMemoryResponseSize(),
+                            httpComponents.getUri(),
+                            httpComponents.getHttpClientContext(),
+                            httpComponents.getCookieStore(),
+                            httpClientInputs.getCookieStoreSessionObject());
+                } catch (RuntimeException e) {
+                    throw new ExecutionException(e.getMessage(), e);
+                }
+            }
+            return result;
+        }
+    }
 }
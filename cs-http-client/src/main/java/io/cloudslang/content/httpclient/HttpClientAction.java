@@ -22,6 +22,7 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
 
@@ -122,6 +123,23 @@ public class HttpClientAction {
      * @param destinationFile                    The absolute path of a file on disk where to save the entity returned by the response.
      *                                           'returnResult' will no longer be populated with the entity if this is specified.
      *                                           You should not use this for method=HEAD or OPTIONS. Example: C:\temp\destinationFile.txt
+     * @param binaryResponse                     Specifies whether the entity is saved to 'destinationFile' exactly as received,
+     *                                           without decoding it with 'responseCharacterSet'. Use this for large or binary downloads.
+     *                                           Default value: false. Valid values: true, false
+     * @param maxInMemoryResponseSize            The maximum size, in bytes, of an entity returned in 'returnResult'. A bigger entity is saved
+     *                                           as is to a temporary file, 'returnResult' is left empty and the path of the file is returned
+     *                                           in 'responseFile'. This input is ignored if 'destinationFile' is specified. Default value: no limit
+     * @param contentCompression                 Specifies whether to ask for gzip or deflate compressed responses and to decompress them
+     *                                           transparently. Default value: true. Valid values: true, false
+     * @param responseCache                      Specifies whether to cache the responses according to their ETag, Last-Modified and
+     *                                           Cache-Control headers. A repeated GET is then answered from the cache or revalidated
+     *                                           with a conditional request. The cached responses are private to the credentials,
+     *                                           client keystore and cookie names of the request. Default value: false. Valid values: true, false
+     * @param nonBlocking                        Specifies whether to execute the request with the shared non-blocking http client.
+     *                                           The connection I/O of all the non-blocking requests of the process is handled by a few
+     *                                           dispatcher threads, with connections pooled per TLS configuration instead of in
+     *                                           'httpClientPoolingConnectionManager'. 'contentCompression' and 'responseCache'
+     *                                           are not applied to non-blocking requests. Default value: false. Valid values: true, false
      * @param followRedirects                    Specifies whether the HTTP client automatically follows redirects.
      *                                           Redirects explicitly prohibited by the HTTP specification as requiring user intervention
      *                                           will not be followed (redirects on POST and PUT requests that are converted to GET requests).
@@ -223,6 +241,9 @@ public class HttpClientAction {
      * <br><b>responseHeaders</b> - The list containing the headers of the response message, separated by newline.
      * Format: This is conforming to HTTP standard for headers (RFC 2616).
      * <br><b>protocolVersion</b> - The HTTP protocol version. Examples: HTTP/1.1
+     * <br><b>responseFile</b> - The temporary file holding the entity if it exceeded 'maxInMemoryResponseSize'.
+     * <br><b>cacheResponseStatus</b> - How the response was produced when 'responseCache' is true.
+     * <br>Valid values: CACHE_HIT, CACHE_MISS, CACHE_MODULE_RESPONSE, VALIDATED
      * <br><b>reasonPhrase</b> - The reason phrase from the origin HTTP response. This depends on the status code and are according to RFC 1945 and RFC 2048
      * <br>Examples: (HTTP 1.0): OK, Created, Accepted, No Content, Moved Permanently, Moved Temporarily, Not Modified, Bad Request,
      * Unauthorized, Forbidden, Not Found, Internal Server Error, Not Implemented, Bad Gateway,
@@ -243,6 +264,8 @@ public class HttpClientAction {
                     @Output(CSHttpClient.RESPONSE_HEADERS),
                     @Output(CSHttpClient.PROTOCOL_VERSION),
                     @Output(CSHttpClient.REASON_PHRASE),
+                    @Output(CSHttpClient.RESPONSE_FILE),
+                    @Output(CSHttpClient.CACHE_RESPONSE_STATUS),
                     @Output("returnCode"),
                     @Output("returnResult")
             },
@@ -279,6 +302,11 @@ public class HttpClientAction {
             @Param(HttpClientInputs.HEADERS) String headers,
             @Param(HttpClientInputs.RESPONSE_CHARACTER_SET) String responseCharacterSet,
             @Param(HttpClientInputs.DESTINATION_FILE) String destinationFile,
+            @Param(HttpClientInputs.BINARY_RESPONSE) String binaryResponse,
+            @Param(HttpClientInputs.MAX_IN_MEMORY_RESPONSE_SIZE) String maxInMemoryResponseSize,
+            @Param(HttpClientInputs.CONTENT_COMPRESSION) String contentCompression,
+            @Param(HttpClientInputs.RESPONSE_CACHE) String responseCache,
+            @Param(HttpClientInputs.NON_BLOCKING) String nonBlocking,
             @Param(HttpClientInputs.FOLLOW_REDIRECTS) String followRedirects,
             @Param(HttpClientInputs.QUERY_PARAMS) String queryParams,
             @Param(HttpClientInputs.QUERY_PARAMS_ARE_URLENCODED) String queryParamsAreURLEncoded,
@@ -329,6 +357,11 @@ public class HttpClientAction {
         httpClientInputs.setHeaders(headers);
         httpClientInputs.setResponseCharacterSet(responseCharacterSet);
         httpClientInputs.setDestinationFile(destinationFile);
+        httpClientInputs.setBinaryResponse(binaryResponse);
+        httpClientInputs.setMaxInMemoryResponseSize(maxInMemoryResponseSize);
+        httpClientInputs.setContentCompression(contentCompression);
+        httpClientInputs.setResponseCache(responseCache);
+        httpClientInputs.setNonBlocking(nonBlocking);
         httpClientInputs.setFollowRedirects(followRedirects);
         httpClientInputs.setQueryParams(queryParams);
         httpClientInputs.setQueryParamsAreURLEncoded(queryParamsAreURLEncoded);
@@ -350,12 +383,26 @@ public class HttpClientAction {
         httpClientInputs.setConnectionPoolSessionObject(httpClientPoolingConnectionManager);
 
         try {
+            if (Boolean.parseBoolean(nonBlocking)) {
+                return executeNonBlocking(httpClientInputs);
+            }
             return new CSHttpClient().execute(httpClientInputs);
         } catch (Exception e) {
             return exceptionResult(e.getMessage(), e);
         }
     }
 
+    private Map<String, String> executeNonBlocking(HttpClientInputs httpClientInputs) throws Exception {
+        try {
+            return new CSHttpClient().executeAsync(httpClientInputs).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     private Map<String, String> exceptionResult(String message, Exception e) {
         StringWriter writer = new StringWriter();
         e.printStackTrace(new PrintWriter(writer));
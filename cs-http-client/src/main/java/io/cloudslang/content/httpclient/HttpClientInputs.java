@@ -56,6 +56,11 @@ public class HttpClientInputs {
     public static final String HEADERS = "headers";
     public static final String RESPONSE_CHARACTER_SET = "responseCharacterSet";
     public static final String DESTINATION_FILE = "destinationFile";
+    public static final String BINARY_RESPONSE = "binaryResponse";
+    public static final String MAX_IN_MEMORY_RESPONSE_SIZE = "maxInMemoryResponseSize";
+    public static final String CONTENT_COMPRESSION = "contentCompression";
+    public static final String RESPONSE_CACHE = "responseCache";
+    public static final String NON_BLOCKING = "nonBlocking";
     public static final String MULTIPART_BODIES = "multipartBodies";
     public static final String MULTIPART_BODIES_CONTENT_TYPE = "multipartBodiesContentType";
     public static final String MULTIPART_FILES = "multipartFiles";
@@ -93,6 +98,11 @@ public class HttpClientInputs {
     private String headers;
     private String responseCharacterSet;
     private String destinationFile;
+    private String binaryResponse;
+    private String maxInMemoryResponseSize;
+    private String contentCompression;
+    private String responseCache;
+    private String nonBlocking;
     private String followRedirects;
     private String queryParams;
     private String queryParamsAreURLEncoded;
@@ -330,6 +340,46 @@ public class HttpClientInputs {
         this.destinationFile = destinationFile;
     }
 
+    public String getBinaryResponse() {
+        return binaryResponse;
+    }
+
+    public void setBinaryResponse(String binaryResponse) {
+        this.binaryResponse = binaryResponse;
+    }
+
+    public String getMaxInMemoryResponseSize() {
+        return maxInMemoryResponseSize;
+    }
+
+    public void setMaxInMemoryResponseSize(String maxInMemoryResponseSize) {
+        this.maxInMemoryResponseSize = maxInMemoryResponseSize;
+    }
+
+    public String getContentCompression() {
+        return contentCompression;
+    }
+
+    public void setContentCompression(String contentCompression) {
+        this.contentCompression = contentCompression;
+    }
+
+    public String getResponseCache() {
+        return responseCache;
+    }
+
+    public void setResponseCache(String responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    public String getNonBlocking() {
+        return nonBlocking;
+    }
+
+    public void setNonBlocking(String nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
+
     public String getFollowRedirects() {
         return followRedirects;
     }
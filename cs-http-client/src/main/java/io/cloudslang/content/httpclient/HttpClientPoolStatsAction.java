@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient;
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.httpclient.build.conn.ConnectionManagerMap;
+import org.apache.http.pool.PoolStats;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+public class HttpClientPoolStatsAction {
+
+    public static final String RETURN_CODE = "returnCode";
+    public static final String RETURN_RESULT = "returnResult";
+    public static final String LEASED_CONNECTIONS = "leasedConnections";
+    public static final String AVAILABLE_CONNECTIONS = "availableConnections";
+    public static final String PENDING_CONNECTIONS = "pendingConnections";
+
+    /**
+     * This operation reports the state of the connection pools used by the 'Http Client' operation in the current execution.
+     * Use it to find out if slow requests are caused by waiting for a free pooled connection.
+     *
+     * @param httpClientPoolingConnectionManager the GlobalSessionObject that holds the http client pooling connection manager.
+     * @return a map containing the output of the operation. Keys present in the map are:
+     * <br><br><b>returnResult</b> - The leased, available, pending and maximum number of connections of each pool
+     * and of each route served by that pool, one per line. The last line shows the usage of the http client cache.
+     * In case of an error this output will contain the error message.
+     * <br><b>leasedConnections</b> - The number of connections in use, summed over all the pools.
+     * <br><b>availableConnections</b> - The number of idle connections ready to be reused, summed over all the pools.
+     * <br><b>pendingConnections</b> - The number of requests waiting for a connection, summed over all the pools.
+     * <br><b>returnCode</b> - the return code of the operation. 0 if the operation goes to success, -1 if the operation goes to failure.
+     * <br><b>exception</b> - In case of success response, this result is empty. In case of failure response,
+     * this result contains the java stack trace of the runtime exception.
+     */
+    @Action(name = "Http Client Pool Stats",
+            outputs = {
+                    @Output(CSHttpClient.EXCEPTION),
+                    @Output(LEASED_CONNECTIONS),
+                    @Output(AVAILABLE_CONNECTIONS),
+                    @Output(PENDING_CONNECTIONS),
+                    @Output(RETURN_CODE),
+                    @Output(RETURN_RESULT)
+            },
+            responses = {
+                    @Response(text = "success", field = RETURN_CODE, value = "0", matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = "failure", field = RETURN_CODE, value = "-1", matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR)
+            }
+    )
+    public Map<String, String> execute(
+            @Param(HttpClientInputs.SESSION_CONNECTION_POOL) GlobalSessionObject httpClientPoolingConnectionManager) {
+
+        try {
+            Map<String, String> result = new HashMap<>();
+            ConnectionManagerMap connectionManagerMap = ConnectionManagerMap.getConnectionManagerMap(httpClientPoolingConnectionManager);
+            if (connectionManagerMap == null) {
+                result.put(RETURN_RESULT, "");
+                result.put(LEASED_CONNECTIONS, "0");
+                result.put(AVAILABLE_CONNECTIONS, "0");
+                result.put(PENDING_CONNECTIONS, "0");
+            } else {
+                PoolStats totalStats = connectionManagerMap.getTotalStats();
+                result.put(RETURN_RESULT, connectionManagerMap.getPoolStats());
+                result.put(LEASED_CONNECTIONS, String.valueOf(totalStats.getLeased()));
+                result.put(AVAILABLE_CONNECTIONS, String.valueOf(totalStats.getAvailable()));
+                result.put(PENDING_CONNECTIONS, String.valueOf(totalStats.getPending()));
+            }
+            result.put(RETURN_CODE, CSHttpClient.SUCCESS);
+            return result;
+        } catch (Exception e) {
+            return exceptionResult(e.getMessage(), e);
+        }
+    }
+
+    private Map<String, String> exceptionResult(String message, Exception e) {
+        StringWriter writer = new StringWriter();
+        e.printStackTrace(new PrintWriter(writer));
+        String eStr = writer.toString().replace("" + (char) 0x00, "");
+
+        Map<String, String> returnResult = new HashMap<>();
+        returnResult.put(RETURN_RESULT, message);
+        returnResult.put(RETURN_CODE, "-1");
+        returnResult.put(CSHttpClient.EXCEPTION, eStr);
+        return returnResult;
+    }
+}
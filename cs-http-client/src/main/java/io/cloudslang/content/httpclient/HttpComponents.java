@@ -31,6 +31,7 @@ public class HttpComponents {
     private CookieStore cookieStore;
     private URI uri;
     private HttpClientBuilder httpClientBuilder;
+    private String responseCacheContextKey;
 
     public CloseableHttpClient getCloseableHttpClient() {
         return closeableHttpClient;
@@ -87,4 +88,12 @@ public class HttpComponents {
     public HttpClientBuilder getHttpClientBuilder() {
         return httpClientBuilder;
     }
+
+    public String getResponseCacheContextKey() {
+        return responseCacheContextKey;
+    }
+
+    public void setResponseCacheContextKey(String responseCacheContextKey) {
+        this.responseCacheContextKey = responseCacheContextKey;
+    }
 }
@@ -36,10 +36,16 @@ public class CookieStoreBuilder {
         if (Boolean.parseBoolean(useCookies) && cookieStoreSessionObject != null) {
             BasicCookieStore cookieStore;
             if (cookieStoreSessionObject.getValue() == null) {
-                cookieStore = new BasicCookieStore();
+                cookieStore = new SessionCookieStore();
             } else {
                 try {
-                    cookieStore = (BasicCookieStore) deserialize((byte[]) cookieStoreSessionObject.getValue());
+                    byte[] bytes = (byte[]) cookieStoreSessionObject.getValue();
+                    if (SessionCookieStore.isEncoded(bytes)) {
+                        cookieStore = SessionCookieStore.fromByteArray(bytes);
+                    } else {
+                        //stores saved by the previous versions are java serialized
+                        cookieStore = SessionCookieStore.fromCookieStore((BasicCookieStore) deserialize(bytes));
+                    }
                 } catch (IOException | ClassNotFoundException e) {
                     throw new RuntimeException(e.getMessage(), e);
                 }
@@ -49,6 +55,21 @@ public class CookieStoreBuilder {
         return null;
     }
 
+    /**
+     * Saves the cookie store in the session object, unless it is unchanged since it was built.
+     */
+    public static void saveCookieStore(CookieStore cookieStore, SerializableSessionObject cookieStoreSessionObject)
+            throws IOException {
+        if (cookieStore instanceof SessionCookieStore) {
+            byte[] bytes = ((SessionCookieStore) cookieStore).toByteArrayIfChanged();
+            if (bytes != null) {
+                cookieStoreSessionObject.setValue(bytes);
+            }
+        } else {
+            cookieStoreSessionObject.setValue(serialize(cookieStore));
+        }
+    }
+
     public static byte[] serialize(Object obj) throws IOException {
         ByteArrayOutputStream b = new ByteArrayOutputStream();
         ObjectOutputStream o = new ObjectOutputStream(b);
@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build;
+
+import org.apache.http.cookie.ClientCookie;
+import org.apache.http.cookie.Cookie;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.cookie.BasicClientCookie;
+import org.apache.http.impl.cookie.BasicClientCookie2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cookie store kept in the cookies session object in a compact binary form.
+ * It keeps the encoded form of every cookie it holds and compares each added cookie with it, so that saving the
+ * store only writes it when a cookie was really added, changed or removed.
+ */
+public class SessionCookieStore extends BasicCookieStore {
+    //"CSC1", cannot be mistaken for the 0xACED header of a java serialized store
+    public static final int MAGIC = 0x43534331;
+
+    private static final String[] ATTRIBUTES = {ClientCookie.VERSION_ATTR, ClientCookie.PATH_ATTR,
+            ClientCookie.DOMAIN_ATTR, ClientCookie.MAX_AGE_ATTR, ClientCookie.SECURE_ATTR, ClientCookie.COMMENT_ATTR,
+            ClientCookie.EXPIRES_ATTR, ClientCookie.PORT_ATTR, ClientCookie.COMMENTURL_ATTR, ClientCookie.DISCARD_ATTR};
+    private static final byte COOKIE = 1;
+    private static final byte COOKIE2 = 2;
+
+    private transient Map<String, byte[]> records = new LinkedHashMap<>();
+    private transient boolean changed;
+
+    public static boolean isEncoded(byte[] bytes) {
+        return bytes != null && bytes.length >= 4
+                && ((bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF)) == MAGIC;
+    }
+
+    public static SessionCookieStore fromByteArray(byte[] bytes) throws IOException {
+        SessionCookieStore cookieStore = new SessionCookieStore();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid cookie store content");
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            byte[] record = new byte[in.readInt()];
+            in.readFully(record);
+            Cookie cookie = decode(record);
+            cookieStore.addLoadedCookie(cookie, record);
+        }
+        return cookieStore;
+    }
+
+    /**
+     * Copies the cookies of another store. All of them count as added, so the next save writes them.
+     */
+    public static SessionCookieStore fromCookieStore(BasicCookieStore source) {
+        SessionCookieStore cookieStore = new SessionCookieStore();
+        for (Cookie cookie : source.getCookies()) {
+            cookieStore.addCookie(cookie);
+        }
+        return cookieStore;
+    }
+
+    @Override
+    public synchronized void addCookie(Cookie cookie) {
+        super.addCookie(cookie);
+        if (cookie != null) {
+            String key = key(cookie);
+            //an expired cookie only removes the cookie it replaces
+            if (cookie.isExpired(new Date())) {
+                changed |= records.remove(key) != null;
+            } else {
+                byte[] record = encode(cookie);
+                changed |= !Arrays.equals(records.put(key, record), record);
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean clearExpired(Date date) {
+        boolean expired = super.clearExpired(date);
+        if (expired) {
+            Set<String> keys = new HashSet<>();
+            for (Cookie cookie : getCookies()) {
+                keys.add(key(cookie));
+            }
+            records.keySet().retainAll(keys);
+            changed = true;
+        }
+        return expired;
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+        changed |= !records.isEmpty();
+        records.clear();
+    }
+
+    /**
+     * @return the encoded store, or null when its cookies are the same as when it was loaded or last encoded.
+     */
+    public synchronized byte[] toByteArrayIfChanged() throws IOException {
+        if (!changed) {
+            return null;
+        }
+        changed = false;
+        return write(records);
+    }
+
+    private void addLoadedCookie(Cookie cookie, byte[] record) {
+        super.addCookie(cookie);
+        records.put(key(cookie), record);
+    }
+
+    private static byte[] write(Map<String, byte[]> records) throws IOException {
+        int size = 8;
+        for (byte[] record : records.values()) {
+            size += 4 + record.length;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(size);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(records.size());
+        for (byte[] record : records.values()) {
+            out.writeInt(record.length);
+            out.write(record);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static String key(Cookie cookie) {
+        String domain = cookie.getDomain() != null ? cookie.getDomain().toLowerCase(Locale.ENGLISH) : "";
+        String path = cookie.getPath() != null ? cookie.getPath() : "/";
+        return cookie.getName() + '\u0000' + domain + '\u0000' + path;
+    }
+
+    static byte[] encode(Cookie cookie) {
+        try {
+            return encode(cookie, new ByteArrayOutputStream(128));
+        } catch (IOException e) {
+            //a ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static byte[] encode(Cookie cookie, ByteArrayOutputStream bytes) throws IOException {
+        DataOutputStream out = new DataOutputStream(bytes);
+        boolean cookie2 = cookie instanceof BasicClientCookie2;
+        out.writeByte(cookie2 ? COOKIE2 : COOKIE);
+        writeString(out, cookie.getName());
+        writeString(out, cookie.getValue());
+        writeString(out, cookie.getDomain());
+        writeString(out, cookie.getPath());
+        writeString(out, cookie.getComment());
+        out.writeLong(cookie.getExpiryDate() != null ? cookie.getExpiryDate().getTime() : Long.MIN_VALUE);
+        out.writeBoolean(cookie.isSecure());
+        out.writeInt(cookie.getVersion());
+        if (cookie2) {
+            //the discard flag is not written: a discard cookie is expired for the store, so it is never saved
+            writeString(out, cookie.getCommentURL());
+            int[] ports = cookie.getPorts();
+            out.writeInt(ports != null ? ports.length : -1);
+            if (ports != null) {
+                for (int port : ports) {
+                    out.writeInt(port);
+                }
+            }
+        }
+        if (cookie instanceof ClientCookie) {
+            ClientCookie clientCookie = (ClientCookie) cookie;
+            for (String attribute : ATTRIBUTES) {
+                String value = clientCookie.getAttribute(attribute);
+                if (value != null) {
+                    out.writeBoolean(true);
+                    writeString(out, attribute);
+                    writeString(out, value);
+                }
+            }
+        }
+        out.writeBoolean(false);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static Cookie decode(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        boolean cookie2 = in.readByte() == COOKIE2;
+        String name = readString(in);
+        String value = readString(in);
+        BasicClientCookie cookie = cookie2 ? new BasicClientCookie2(name, value) : new BasicClientCookie(name, value);
+        cookie.setDomain(readString(in));
+        cookie.setPath(readString(in));
+        cookie.setComment(readString(in));
+        long expiryDate = in.readLong();
+        cookie.setExpiryDate(expiryDate != Long.MIN_VALUE ? new Date(expiryDate) : null);
+        cookie.setSecure(in.readBoolean());
+        cookie.setVersion(in.readInt());
+        if (cookie2) {
+            BasicClientCookie2 basicClientCookie2 = (BasicClientCookie2) cookie;
+            basicClientCookie2.setCommentURL(readString(in));
+            int portCount = in.readInt();
+            if (portCount >= 0) {
+                int[] ports = new int[portCount];
+                for (int i = 0; i < portCount; i++) {
+                    ports[i] = in.readInt();
+                }
+                basicClientCookie2.setPorts(ports);
+            }
+        }
+        while (in.readBoolean()) {
+            cookie.setAttribute(readString(in), readString(in));
+        }
+        return cookie;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        records = new LinkedHashMap<>();
+        for (Cookie cookie : getCookies()) {
+            records.put(key(cookie), encode(cookie));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.cache;
+
+import org.apache.http.client.cache.InputLimit;
+import org.apache.http.client.cache.Resource;
+import org.apache.http.client.cache.ResourceFactory;
+import org.apache.http.impl.client.cache.FileResourceFactory;
+import org.apache.http.impl.client.cache.HeapResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+/**
+ * Keeps the cached response bodies up to a given size in memory and writes the bigger ones to files.
+ */
+public class OverflowResourceFactory implements ResourceFactory {
+    private final int maxInMemorySize;
+    private final FileResourceFactory fileResourceFactory;
+
+    public OverflowResourceFactory(int maxInMemorySize, File cacheDir) {
+        this.maxInMemorySize = maxInMemorySize;
+        this.fileResourceFactory = new FileResourceFactory(cacheDir);
+    }
+
+    @Override
+    public Resource generate(String requestId, InputStream instream, InputLimit limit) throws IOException {
+        long maxLength = limit != null ? limit.getValue() : Long.MAX_VALUE;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] bytes = new byte[2048];
+        int count;
+        while ((count = instream.read(bytes)) != -1) {
+            buffer.write(bytes, 0, count);
+            if (buffer.size() > maxLength) {
+                limit.reached();
+                break;
+            }
+            if (buffer.size() > maxInMemorySize) {
+                InputStream content = new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), instream);
+                return fileResourceFactory.generate(requestId, content, limit);
+            }
+        }
+        return new HeapResource(buffer.toByteArray());
+    }
+
+    @Override
+    public Resource copy(String requestId, Resource resource) throws IOException {
+        if (resource.length() > maxInMemorySize) {
+            return fileResourceFactory.copy(requestId, resource);
+        }
+        try (InputStream content = resource.getInputStream()) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) resource.length());
+            byte[] bytes = new byte[2048];
+            int count;
+            while ((count = content.read(bytes)) != -1) {
+                buffer.write(bytes, 0, count);
+            }
+            return new HeapResource(buffer.toByteArray());
+        }
+    }
+}
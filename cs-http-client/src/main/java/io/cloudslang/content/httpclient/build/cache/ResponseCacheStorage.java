@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.cache;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.client.CookieStore;
+import org.apache.http.client.cache.HttpCacheEntry;
+import org.apache.http.client.cache.HttpCacheStorage;
+import org.apache.http.client.cache.HttpCacheUpdateCallback;
+import org.apache.http.client.cache.HttpCacheUpdateException;
+import org.apache.http.cookie.Cookie;
+import org.apache.http.impl.client.cache.CacheConfig;
+import org.apache.http.impl.client.cache.ManagedHttpCacheStorage;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The response cache shared by all the caching http clients, partitioned by the context of the request being executed.
+ * The context is set on the executing thread with {@link #setContextKey(String)}, and the entries of a context are
+ * stored under keys prefixed with the context key, so the same URL requested with other credentials or cookies
+ * never gets a response cached for another context. Without a context nothing is cached.
+ * <br>The shared storage keeps the most recently used entries; the bodies over {@link #MAX_IN_MEMORY_SIZE} are kept
+ * in files of the temporary directory and deleted when their entries are evicted.
+ */
+public class ResponseCacheStorage implements HttpCacheStorage {
+    public static final int MAX_CACHE_ENTRIES = 1000;
+    public static final long MAX_OBJECT_SIZE = 10 * 1024 * 1024;
+    public static final int MAX_IN_MEMORY_SIZE = 16 * 1024;
+
+    public static final CacheConfig CACHE_CONFIG = CacheConfig.custom()
+            .setMaxCacheEntries(MAX_CACHE_ENTRIES)
+            .setMaxObjectSize(MAX_OBJECT_SIZE)
+            //the context key makes the cache private to the credentials, so authenticated responses can be cached
+            .setSharedCache(false)
+            //the context is only known on the executing thread, so entries are never revalidated in the background
+            .setAsynchronousWorkersMax(0)
+            .build();
+
+    private static final ManagedHttpCacheStorage SHARED_STORAGE = new ManagedHttpCacheStorage(CACHE_CONFIG);
+    private static final ThreadLocal<String> CONTEXT_KEY = new ThreadLocal<>();
+    private static volatile OverflowResourceFactory resourceFactory;
+
+    /**
+     * @return a digest of the credentials and of the names of the cookies that identifies the context of a request.
+     * The cookie values are left out, so a rotating session cookie does not start a new context on every request.
+     */
+    public static String buildContextKey(CookieStore cookieStore, String... credentials) {
+        StringBuilder context = new StringBuilder();
+        for (String credential : credentials) {
+            context.append(credential).append('\u0000');
+        }
+        if (cookieStore != null) {
+            for (Cookie cookie : cookieStore.getCookies()) {
+                context.append(cookie.getName()).append(';').append(cookie.getDomain())
+                        .append(';').append(cookie.getPath()).append('\u0000');
+            }
+        }
+        return DigestUtils.sha256Hex(context.toString());
+    }
+
+    /**
+     * Sets the context of the requests executed by the current thread, until {@link #removeContextKey()}.
+     */
+    public static void setContextKey(String contextKey) {
+        CONTEXT_KEY.set(contextKey);
+    }
+
+    public static void removeContextKey() {
+        CONTEXT_KEY.remove();
+    }
+
+    public static OverflowResourceFactory getResourceFactory() {
+        if (resourceFactory == null) {
+            synchronized (ResponseCacheStorage.class) {
+                if (resourceFactory == null) {
+                    File cacheDir = new File(System.getProperty("java.io.tmpdir"), "cs-http-client-cache");
+                    if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+                        throw new IllegalStateException("Could not create the response cache directory " + cacheDir);
+                    }
+                    resourceFactory = new OverflowResourceFactory(MAX_IN_MEMORY_SIZE, cacheDir);
+                }
+            }
+        }
+        return resourceFactory;
+    }
+
+    @Override
+    public void putEntry(String key, HttpCacheEntry entry) throws IOException {
+        String contextKey = CONTEXT_KEY.get();
+        if (contextKey != null) {
+            SHARED_STORAGE.putEntry(contextKey + '|' + key, entry);
+            //deletes the files of the entries evicted so far
+            SHARED_STORAGE.cleanResources();
+        }
+    }
+
+    @Override
+    public HttpCacheEntry getEntry(String key) throws IOException {
+        String contextKey = CONTEXT_KEY.get();
+        return contextKey != null ? SHARED_STORAGE.getEntry(contextKey + '|' + key) : null;
+    }
+
+    @Override
+    public void removeEntry(String key) throws IOException {
+        String contextKey = CONTEXT_KEY.get();
+        if (contextKey != null) {
+            SHARED_STORAGE.removeEntry(contextKey + '|' + key);
+        }
+    }
+
+    @Override
+    public void updateEntry(String key, HttpCacheUpdateCallback callback) throws IOException, HttpCacheUpdateException {
+        String contextKey = CONTEXT_KEY.get();
+        if (contextKey != null) {
+            SHARED_STORAGE.updateEntry(contextKey + '|' + key, callback);
+        }
+    }
+}
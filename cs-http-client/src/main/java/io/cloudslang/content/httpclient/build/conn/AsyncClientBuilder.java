@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.conn;
+
+import io.cloudslang.content.httpclient.HttpClientInputs;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the non-blocking http clients used by CSHttpClient.executeAsync.
+ * The clients are shared by the whole process, one per TLS configuration and keep-alive setting,
+ * so all the in-flight requests are multiplexed over a small number of I/O dispatcher threads.
+ * <br>At most {@link #MAX_ASYNC_CLIENTS} clients are kept. A client that has no connection in use and was not
+ * requested for {@link #MAX_IDLE_MILLIS} is closed, and the least recently used client is closed when a new one
+ * would exceed the bound, which stops their I/O dispatcher threads.
+ */
+public class AsyncClientBuilder {
+    public static final int DEFAULT_IO_THREAD_COUNT = Math.min(4, Runtime.getRuntime().availableProcessors());
+    public static final int MAX_ASYNC_CLIENTS = 10;
+    public static final long MAX_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final Map<String, AsyncClient> ASYNC_CLIENTS = new ConcurrentHashMap<>();
+    private static final AtomicInteger IO_THREAD_COUNTER = new AtomicInteger();
+
+    private SSLIOSessionStrategy sslIOSessionStrategy;
+    private String asyncClientKey;
+    private boolean keepAlive = true;
+    private String defaultMaxPerRoute;
+    private String totalMax;
+
+    public AsyncClientBuilder setSslIOSessionStrategy(SSLIOSessionStrategy sslIOSessionStrategy) {
+        this.sslIOSessionStrategy = sslIOSessionStrategy;
+        return this;
+    }
+
+    public AsyncClientBuilder setAsyncClientKey(String... asyncClientKeys) {
+        this.asyncClientKey = ConnectionManagerBuilder.buildConnectionManagerMapKey(asyncClientKeys);
+        return this;
+    }
+
+    public AsyncClientBuilder setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    public AsyncClientBuilder setDefaultMaxPerRoute(String defaultMaxPerRoute) {
+        this.defaultMaxPerRoute = defaultMaxPerRoute;
+        return this;
+    }
+
+    public AsyncClientBuilder setTotalMax(String totalMax) {
+        this.totalMax = totalMax;
+        return this;
+    }
+
+    public CloseableHttpAsyncClient build() {
+        long now = System.currentTimeMillis();
+        AsyncClient asyncClient = ASYNC_CLIENTS.get(asyncClientKey);
+        if (asyncClient == null) {
+            synchronized (ASYNC_CLIENTS) {
+                asyncClient = ASYNC_CLIENTS.get(asyncClientKey);
+                if (asyncClient == null) {
+                    asyncClient = createAsyncClient(now);
+                    ASYNC_CLIENTS.put(asyncClientKey, asyncClient);
+                    evict(asyncClientKey, now);
+                }
+            }
+        } else if (asyncClient.lastAccess != now) {
+            asyncClient.lastAccess = now;
+        }
+
+        //the DefaultMaxPerRoute default is 2, it is the number of concurrent requests to the same route
+        if (!StringUtils.isEmpty(defaultMaxPerRoute)) {
+            try {
+                int maxPerRoute = Integer.parseInt(defaultMaxPerRoute);
+                if (asyncClient.connManager.getDefaultMaxPerRoute() != maxPerRoute) {
+                    asyncClient.connManager.setDefaultMaxPerRoute(maxPerRoute);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("the '" + HttpClientInputs.CONNECTIONS_MAX_PER_ROUTE
+                        + "' input should be integer" + e.getMessage(), e);
+            }
+        }
+        //the Default totalMax default is 20
+        if (!StringUtils.isEmpty(totalMax)) {
+            try {
+                int maxTotal = Integer.parseInt(totalMax);
+                if (asyncClient.connManager.getMaxTotal() != maxTotal) {
+                    asyncClient.connManager.setMaxTotal(maxTotal);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("the '" + HttpClientInputs.CONNECTIONS_MAX_TOTAL
+                        + "' input should be integer" + e.getMessage(), e);
+            }
+        }
+        return asyncClient.client;
+    }
+
+    /**
+     * Closes all the shared non-blocking clients and stops their I/O dispatcher threads.
+     */
+    public static void shutdown() {
+        synchronized (ASYNC_CLIENTS) {
+            for (AsyncClient asyncClient : ASYNC_CLIENTS.values()) {
+                asyncClient.close();
+            }
+            ASYNC_CLIENTS.clear();
+        }
+    }
+
+    /**
+     * @return the number of shared non-blocking clients that are currently open.
+     */
+    public static int size() {
+        return ASYNC_CLIENTS.size();
+    }
+
+    //called while holding the ASYNC_CLIENTS lock, right after a client was added
+    private static void evict(String addedKey, long now) {
+        Iterator<Map.Entry<String, AsyncClient>> iterator = ASYNC_CLIENTS.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, AsyncClient> entry = iterator.next();
+            if (!entry.getKey().equals(addedKey) && entry.getValue().isIdle(now)) {
+                iterator.remove();
+                entry.getValue().close();
+            }
+        }
+        while (ASYNC_CLIENTS.size() > MAX_ASYNC_CLIENTS) {
+            Map.Entry<String, AsyncClient> eldest = null;
+            for (Map.Entry<String, AsyncClient> entry : ASYNC_CLIENTS.entrySet()) {
+                if (!entry.getKey().equals(addedKey)
+                        && (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess)) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            ASYNC_CLIENTS.remove(eldest.getKey());
+            eldest.getValue().close();
+        }
+    }
+
+    private AsyncClient createAsyncClient(long now) {
+        Registry<SchemeIOSessionStrategy> ioSessionStrategyRegistry = RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", sslIOSessionStrategy)
+                .build();
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(DEFAULT_IO_THREAD_COUNT)
+                .build();
+        PoolingNHttpClientConnectionManager connManager;
+        try {
+            connManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(ioReactorConfig, new IOThreadFactory()), ioSessionStrategyRegistry);
+        } catch (IOReactorException e) {
+            throw new RuntimeException("Could not start the I/O reactor: " + e.getMessage(), e);
+        }
+
+        CloseableHttpAsyncClient client = HttpAsyncClientBuilder.create()
+                .setConnectionManager(connManager)
+                .setConnectionReuseStrategy(keepAlive ? DefaultConnectionReuseStrategy.INSTANCE : NoConnectionReuseStrategy.INSTANCE)
+                .build();
+        client.start();
+        return new AsyncClient(client, connManager, now);
+    }
+
+    private static class AsyncClient {
+        private final CloseableHttpAsyncClient client;
+        private final PoolingNHttpClientConnectionManager connManager;
+        private volatile long lastAccess;
+
+        private AsyncClient(CloseableHttpAsyncClient client, PoolingNHttpClientConnectionManager connManager, long lastAccess) {
+            this.client = client;
+            this.connManager = connManager;
+            this.lastAccess = lastAccess;
+        }
+
+        private boolean isIdle(long now) {
+            PoolStats totalStats = connManager.getTotalStats();
+            return now - lastAccess > MAX_IDLE_MILLIS && totalStats.getLeased() == 0 && totalStats.getPending() == 0;
+        }
+
+        private void close() {
+            try {
+                client.close();
+            } catch (IOException ignore) {
+            }
+        }
+    }
+
+    //daemon threads, so the shared clients never keep the JVM alive
+    private static class IOThreadFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cs-http-client-io-" + IO_THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
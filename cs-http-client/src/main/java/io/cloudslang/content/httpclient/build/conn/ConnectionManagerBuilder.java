@@ -13,14 +13,16 @@ import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
 import com.hp.oo.sdk.content.plugin.SessionResource;
 import io.cloudslang.content.httpclient.HttpClientInputs;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHost;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
-import java.util.HashMap;
+import java.net.URI;
 import java.util.Map;
 
 public class ConnectionManagerBuilder {
@@ -29,6 +31,7 @@ public class ConnectionManagerBuilder {
     private String connectionManagerMapKey;
     private String defaultMaxPerRoute;
     private String totalMax;
+    private HttpRoute route;
 
     public ConnectionManagerBuilder setConnectionPoolHolder(GlobalSessionObject connectionPoolHolder) {
         this.connectionPoolHolder = connectionPoolHolder;
@@ -50,6 +53,11 @@ public class ConnectionManagerBuilder {
         return this;
     }
 
+    public ConnectionManagerBuilder setRoute(HttpRoute route) {
+        this.route = route;
+        return this;
+    }
+
     public ConnectionManagerBuilder setConnectionManagerMapKey(String... connectionManagerMapKeys) {
         this.connectionManagerMapKey = buildConnectionManagerMapKey(connectionManagerMapKeys);
         return this;
@@ -66,15 +74,54 @@ public class ConnectionManagerBuilder {
         return keyBuilder.toString();
     }
 
+    /**
+     * Builds the route the same way the default route planner does, so it can be used to read the pool statistics.
+     */
+    public static HttpRoute buildRoute(URI uri, HttpHost proxy) {
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+        HttpHost target = new HttpHost(uri.getHost(), port, uri.getScheme());
+        return proxy == null ? new HttpRoute(target, null, secure) : new HttpRoute(target, null, proxy, secure);
+    }
+
     public PoolingHttpClientConnectionManager buildConnectionManager() {
         if (connectionPoolHolder != null) {
-            PoolingHttpClientConnectionManager connManager = null;
-            synchronized (connectionPoolHolder) {
-                Map<String, PoolingHttpClientConnectionManager> connectionManagerMap
-                        = connectionPoolHolder.get();
+            Map<String, PoolingHttpClientConnectionManager> connectionManagerMap = getConnectionManagerMap();
+            PoolingHttpClientConnectionManager connManager;
+            if (connectionManagerMap instanceof ConnectionManagerMap) {
+                ConnectionManagerMap concurrentConnectionManagerMap = (ConnectionManagerMap) connectionManagerMap;
+                connManager = getConnectionManager(concurrentConnectionManagerMap);
+                //resizing takes the pool lock, so it is done only when the inputs change
+                String poolSizes = defaultMaxPerRoute + ":" + totalMax;
+                if (!poolSizes.equals(concurrentConnectionManagerMap.getPoolSizes(connectionManagerMapKey))) {
+                    synchronized (connManager) {
+                        setPoolSizes(connManager);
+                        concurrentConnectionManagerMap.setPoolSizes(connectionManagerMapKey, poolSizes);
+                    }
+                }
+            } else {
+                //a map that was not created by this builder has no support for concurrent access
+                synchronized (connectionManagerMap) {
+                    connManager = connectionManagerMap.get(connectionManagerMapKey);
+                    if (connManager == null) {
+                        connManager = createConnectionManager();
+                        connectionManagerMap.put(connectionManagerMapKey, connManager);
+                    }
+                }
+                setPoolSizes(connManager);
+            }
+            return connManager;
+        }
+        return null;
+    }
 
+    private Map<String, PoolingHttpClientConnectionManager> getConnectionManagerMap() {
+        Map<String, PoolingHttpClientConnectionManager> connectionManagerMap = connectionPoolHolder.get();
+        if (connectionManagerMap == null) {
+            synchronized (connectionPoolHolder) {
+                connectionManagerMap = connectionPoolHolder.get();
                 if (connectionManagerMap == null) {
-                    final HashMap<String, PoolingHttpClientConnectionManager> connectionManagerMapFinal = new HashMap<>();
+                    final ConnectionManagerMap connectionManagerMapFinal = new ConnectionManagerMap();
                     connectionPoolHolder.setResource(new SessionResource<Map<String, PoolingHttpClientConnectionManager>>() {
                         @Override
                         public Map<String, PoolingHttpClientConnectionManager> get() {
@@ -87,39 +134,57 @@ public class ConnectionManagerBuilder {
                     });
                     connectionManagerMap = connectionPoolHolder.get();
                 }
+            }
+        }
+        return connectionManagerMap;
+    }
 
-                connManager = connectionManagerMap.get(connectionManagerMapKey);
+    private PoolingHttpClientConnectionManager getConnectionManager(ConnectionManagerMap connectionManagerMap) {
+        while (true) {
+            PoolingHttpClientConnectionManager connManager = connectionManagerMap.get(connectionManagerMapKey);
+            if (connManager == null) {
+                PoolingHttpClientConnectionManager newConnManager = createConnectionManager();
+                connManager = connectionManagerMap.putIfAbsent(connectionManagerMapKey, newConnManager);
                 if (connManager == null) {
-                    Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
-                            .register("http", PlainConnectionSocketFactory.getSocketFactory())
-                            .register("https", sslsf)
-                            .build();
-                    connManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
-
-                    connectionManagerMap.put(connectionManagerMapKey, connManager);
+                    connManager = newConnManager;
+                } else {
+                    newConnManager.shutdown();
                 }
             }
+            connectionManagerMap.touch(connectionManagerMapKey, route);
+            //the pool may have been removed as unused before it was touched
+            if (connectionManagerMap.get(connectionManagerMapKey) == connManager) {
+                return connManager;
+            }
+        }
+    }
 
-            //the DefaultMaxPerRoute default is 2
-            if (!StringUtils.isEmpty(defaultMaxPerRoute)) {
-                try {
-                    connManager.setDefaultMaxPerRoute(Integer.parseInt(defaultMaxPerRoute));
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("the '" + HttpClientInputs.CONNECTIONS_MAX_PER_ROUTE
-                            + "' input should be integer" + e.getMessage(), e);
-                }
+    private PoolingHttpClientConnectionManager createConnectionManager() {
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslsf)
+                .build();
+        return new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+    }
+
+    private void setPoolSizes(PoolingHttpClientConnectionManager connManager) {
+        //the DefaultMaxPerRoute default is 2
+        if (!StringUtils.isEmpty(defaultMaxPerRoute)) {
+            try {
+                connManager.setDefaultMaxPerRoute(Integer.parseInt(defaultMaxPerRoute));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("the '" + HttpClientInputs.CONNECTIONS_MAX_PER_ROUTE
+                        + "' input should be integer" + e.getMessage(), e);
             }
-            //the Default totalMax default is 20
-            if (!StringUtils.isEmpty(totalMax)) {
-                try {
-                    connManager.setMaxTotal(Integer.parseInt(totalMax));
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("the '" + HttpClientInputs.CONNECTIONS_MAX_TOTAL
-                            + "' input should be integer" + e.getMessage(), e);
-                }
+        }
+        //the Default totalMax default is 20
+        if (!StringUtils.isEmpty(totalMax)) {
+            try {
+                connManager.setMaxTotal(Integer.parseInt(totalMax));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("the '" + HttpClientInputs.CONNECTIONS_MAX_TOTAL
+                        + "' input should be integer" + e.getMessage(), e);
             }
-            return connManager;
         }
-        return null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The connection pool map stored in the connection pool GlobalSessionObject. Besides the connection managers
+ * it also holds the cache of the http clients built on top of them and the bookkeeping needed to report
+ * pool statistics and to remove the pools that are no longer used.
+ * <br>The map is safe for concurrent use without external locking.
+ */
+public class ConnectionManagerMap extends ConcurrentHashMap<String, PoolingHttpClientConnectionManager> {
+    public static final int MAX_TRACKED_ROUTES = 256;
+    private final HttpClientCache httpClientCache = new HttpClientCache();
+    private final ConcurrentMap<String, AtomicLong> lastUsed = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<HttpRoute>> routes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> poolSizes = new ConcurrentHashMap<>();
+
+    public ConnectionManagerMap() {
+        ConnectionPoolMonitor.getInstance().register(this);
+    }
+
+    public static ConnectionManagerMap getConnectionManagerMap(GlobalSessionObject connectionPoolHolder) {
+        if (connectionPoolHolder != null) {
+            Object connectionManagerMap = connectionPoolHolder.get();
+            if (connectionManagerMap instanceof ConnectionManagerMap) {
+                return (ConnectionManagerMap) connectionManagerMap;
+            }
+        }
+        return null;
+    }
+
+    public HttpClientCache getHttpClientCache() {
+        return httpClientCache;
+    }
+
+    public void touch(String key, HttpRoute route) {
+        long now = System.currentTimeMillis();
+        AtomicLong keyLastUsed = lastUsed.get(key);
+        if (keyLastUsed == null) {
+            AtomicLong newKeyLastUsed = new AtomicLong(now);
+            keyLastUsed = lastUsed.putIfAbsent(key, newKeyLastUsed);
+            if (keyLastUsed == null) {
+                keyLastUsed = newKeyLastUsed;
+            }
+        }
+        //skip the write when the value is already current to keep the cache line shared between threads
+        if (keyLastUsed.get() != now) {
+            keyLastUsed.set(now);
+        }
+        if (route != null) {
+            Set<HttpRoute> poolRoutes = routes.get(key);
+            if (poolRoutes == null) {
+                Set<HttpRoute> newPoolRoutes = Collections.newSetFromMap(new ConcurrentHashMap<HttpRoute, Boolean>());
+                poolRoutes = routes.putIfAbsent(key, newPoolRoutes);
+                if (poolRoutes == null) {
+                    poolRoutes = newPoolRoutes;
+                }
+            }
+            if (!poolRoutes.contains(route) && poolRoutes.size() < MAX_TRACKED_ROUTES) {
+                poolRoutes.add(route);
+            }
+        }
+    }
+
+    /**
+     * @return the "maxPerRoute:maxTotal" sizes last applied to the pool with the given key, or null.
+     */
+    public String getPoolSizes(String key) {
+        return poolSizes.get(key);
+    }
+
+    public void setPoolSizes(String key, String sizes) {
+        poolSizes.put(key, sizes);
+    }
+
+    /**
+     * Closes the expired connections and the connections idle for longer than the given time, in all the pools.
+     */
+    public void closeIdleConnections(long idleTimeMillis) {
+        for (PoolingHttpClientConnectionManager connManager : values()) {
+            connManager.closeExpiredConnections();
+            connManager.closeIdleConnections(idleTimeMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Shuts down and removes the pools that were not used for longer than the given time and have no leased connections.
+     *
+     * @return the number of removed pools
+     */
+    public int removeUnusedPools(long unusedTimeMillis) {
+        int removed = 0;
+        for (Map.Entry<String, PoolingHttpClientConnectionManager> entry : entrySet()) {
+            String key = entry.getKey();
+            PoolingHttpClientConnectionManager connManager = entry.getValue();
+            PoolStats totalStats = connManager.getTotalStats();
+            if (isUnused(key, unusedTimeMillis) && totalStats.getLeased() == 0 && totalStats.getPending() == 0
+                    && remove(key, connManager)) {
+                //a builder touches the key before it checks the pool is still in the map
+                if (!isUnused(key, unusedTimeMillis) && putIfAbsent(key, connManager) == null) {
+                    continue;
+                }
+                lastUsed.remove(key);
+                routes.remove(key);
+                poolSizes.remove(key);
+                httpClientCache.invalidate(connManager);
+                connManager.shutdown();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private boolean isUnused(String key, long unusedTimeMillis) {
+        AtomicLong keyLastUsed = lastUsed.get(key);
+        return keyLastUsed != null && System.currentTimeMillis() - keyLastUsed.get() > unusedTimeMillis;
+    }
+
+    public PoolStats getTotalStats() {
+        int leased = 0;
+        int pending = 0;
+        int available = 0;
+        int max = 0;
+        for (PoolingHttpClientConnectionManager connManager : values()) {
+            PoolStats poolStats = connManager.getTotalStats();
+            leased += poolStats.getLeased();
+            pending += poolStats.getPending();
+            available += poolStats.getAvailable();
+            max += poolStats.getMax();
+        }
+        return new PoolStats(leased, pending, available, max);
+    }
+
+    /**
+     * @return the total and per route statistics of every pool, one line for each.
+     */
+    public String getPoolStats() {
+        StringBuilder stats = new StringBuilder();
+        for (Map.Entry<String, PoolingHttpClientConnectionManager> entry : entrySet()) {
+            appendStats(stats, "pool", entry.getKey(), entry.getValue().getTotalStats());
+            Set<HttpRoute> poolRoutes = routes.get(entry.getKey());
+            if (poolRoutes != null) {
+                for (HttpRoute route : poolRoutes) {
+                    appendStats(stats, "  route", route.toString(), entry.getValue().getStats(route));
+                }
+            }
+        }
+        stats.append("httpClientCache: size=").append(httpClientCache.size())
+                .append(", hits=").append(httpClientCache.getHitCount())
+                .append(", misses=").append(httpClientCache.getMissCount());
+        return stats.toString();
+    }
+
+    private static void appendStats(StringBuilder stats, String type, String name, PoolStats poolStats) {
+        stats.append(type).append(" ").append(name)
+                .append(": leased=").append(poolStats.getLeased())
+                .append(", available=").append(poolStats.getAvailable())
+                .append(", pending=").append(poolStats.getPending())
+                .append(", max=").append(poolStats.getMax())
+                .append("\n");
+    }
+
+    //the map is shared by reference, content based equality would break the monitor registry
+    @Override
+    public boolean equals(Object o) {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.conn;
+
+import org.apache.http.pool.PoolStats;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of all the connection pool maps of the process. A background daemon thread closes the idle and
+ * expired connections and removes the pools that were not used for a while. The aggregated statistics are
+ * published through JMX.
+ */
+public class ConnectionPoolMonitor implements ConnectionPoolMonitorMXBean {
+    public static final long EVICTION_PERIOD_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    public static final long IDLE_CONNECTION_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    public static final long UNUSED_POOL_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    public static final String OBJECT_NAME = "io.cloudslang.content.httpclient:type=ConnectionPools";
+    private static final ConnectionPoolMonitor INSTANCE = new ConnectionPoolMonitor();
+
+    private final List<WeakReference<ConnectionManagerMap>> connectionManagerMaps = new ArrayList<>();
+    private ScheduledExecutorService evictor;
+
+    private ConnectionPoolMonitor() {
+    }
+
+    public static ConnectionPoolMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void register(ConnectionManagerMap connectionManagerMap) {
+        connectionManagerMaps.add(new WeakReference<>(connectionManagerMap));
+        if (evictor == null) {
+            evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "cs-http-client-pool-evictor");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            evictor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    evict();
+                }
+            }, EVICTION_PERIOD_MILLIS, EVICTION_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+            registerMBean();
+        }
+    }
+
+    public void evict() {
+        for (ConnectionManagerMap connectionManagerMap : getConnectionManagerMaps()) {
+            try {
+                connectionManagerMap.closeIdleConnections(IDLE_CONNECTION_TIMEOUT_MILLIS);
+                connectionManagerMap.removeUnusedPools(UNUSED_POOL_TIMEOUT_MILLIS);
+            } catch (RuntimeException ignore) {
+                //a failing pool must not stop the eviction of the others
+            }
+        }
+    }
+
+    @Override
+    public int getLeasedConnections() {
+        return getTotalStats().getLeased();
+    }
+
+    @Override
+    public int getAvailableConnections() {
+        return getTotalStats().getAvailable();
+    }
+
+    @Override
+    public int getPendingConnections() {
+        return getTotalStats().getPending();
+    }
+
+    @Override
+    public String getPoolStats() {
+        StringBuilder stats = new StringBuilder();
+        for (ConnectionManagerMap connectionManagerMap : getConnectionManagerMaps()) {
+            stats.append(connectionManagerMap.getPoolStats()).append("\n");
+        }
+        return stats.toString();
+    }
+
+    private PoolStats getTotalStats() {
+        int leased = 0;
+        int pending = 0;
+        int available = 0;
+        int max = 0;
+        for (ConnectionManagerMap connectionManagerMap : getConnectionManagerMaps()) {
+            PoolStats poolStats = connectionManagerMap.getTotalStats();
+            leased += poolStats.getLeased();
+            pending += poolStats.getPending();
+            available += poolStats.getAvailable();
+            max += poolStats.getMax();
+        }
+        return new PoolStats(leased, pending, available, max);
+    }
+
+    private synchronized List<ConnectionManagerMap> getConnectionManagerMaps() {
+        List<ConnectionManagerMap> liveMaps = new ArrayList<>();
+        Iterator<WeakReference<ConnectionManagerMap>> iterator = connectionManagerMaps.iterator();
+        while (iterator.hasNext()) {
+            ConnectionManagerMap connectionManagerMap = iterator.next().get();
+            if (connectionManagerMap == null) {
+                iterator.remove();
+            } else {
+                liveMaps.add(connectionManagerMap);
+            }
+        }
+        return liveMaps;
+    }
+
+    private void registerMBean() {
+        try {
+            //the content jars may be loaded by several class loaders, so the name is made unique for each one
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName(OBJECT_NAME + ",id=" + System.identityHashCode(this)));
+        } catch (JMException ignore) {
+            //the statistics are still available through the pool stats operation
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of the http clients built by CSHttpClient, kept next to the connection managers map.
+ * A cached client is only reused while it still wraps the connection manager currently in the pool map.
+ * Evicted clients are dropped and not closed, because closing a client shuts down its shared connection manager.
+ * <br>Lookups do not lock, the least recently used entries are evicted when a new client is added.
+ */
+public class HttpClientCache {
+    public static final int DEFAULT_MAX_SIZE = 100;
+    public static final long DEFAULT_MAX_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final int maxSize;
+    private final long maxIdleMillis;
+    private final ConcurrentMap<String, Entry> clients = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public HttpClientCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_MAX_IDLE_MILLIS);
+    }
+
+    public HttpClientCache(final int maxSize, long maxIdleMillis) {
+        this.maxSize = maxSize;
+        this.maxIdleMillis = maxIdleMillis;
+    }
+
+    public static HttpClientCache getHttpClientCache(GlobalSessionObject connectionPoolHolder) {
+        ConnectionManagerMap connectionManagerMap = ConnectionManagerMap.getConnectionManagerMap(connectionPoolHolder);
+        return connectionManagerMap != null ? connectionManagerMap.getHttpClientCache() : null;
+    }
+
+    public CloseableHttpClient get(String key, PoolingHttpClientConnectionManager connManager) {
+        long now = System.currentTimeMillis();
+        Entry entry = clients.get(key);
+        if (entry != null && now - entry.lastAccess > maxIdleMillis) {
+            clients.remove(key, entry);
+            entry = null;
+        }
+        if (entry == null || entry.connManager != connManager) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        if (entry.lastAccess != now) {
+            entry.lastAccess = now;
+        }
+        hitCount.incrementAndGet();
+        return entry.client;
+    }
+
+    public void put(String key, PoolingHttpClientConnectionManager connManager, CloseableHttpClient client) {
+        long now = System.currentTimeMillis();
+        clients.put(key, new Entry(client, connManager, now));
+        if (clients.size() > maxSize) {
+            evict(key, now);
+        }
+    }
+
+    public void invalidate(PoolingHttpClientConnectionManager connManager) {
+        Iterator<Entry> iterator = clients.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().connManager == connManager) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private void evict(String addedKey, long now) {
+        Iterator<Entry> iterator = clients.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().lastAccess > maxIdleMillis) {
+                iterator.remove();
+            }
+        }
+        while (clients.size() > maxSize) {
+            Map.Entry<String, Entry> eldest = null;
+            for (Map.Entry<String, Entry> client : clients.entrySet()) {
+                if (!client.getKey().equals(addedKey)
+                        && (eldest == null || client.getValue().lastAccess < eldest.getValue().lastAccess)) {
+                    eldest = client;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            clients.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private static class Entry {
+        private final CloseableHttpClient client;
+        private final PoolingHttpClientConnectionManager connManager;
+        private volatile long lastAccess;
+
+        private Entry(CloseableHttpClient client, PoolingHttpClientConnectionManager connManager, long lastAccess) {
+            this.client = client;
+            this.connManager = connManager;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -9,9 +9,12 @@
  *******************************************************************************/
 package io.cloudslang.content.httpclient.build.conn;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.conn.ssl.*;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
 
+import javax.net.ssl.SSLContext;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -19,6 +22,8 @@ import java.net.URL;
 import java.security.*;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Created with IntelliJ IDEA.
@@ -37,6 +42,10 @@ public class SSLConnectionSocketFactoryBuilder {
     public static final String TLSv11 = "TLSv1.1";
     public static final String TLSv12 = "TLSv1.2";
     public static final String[] SUPPORTED_PROTOCOLS = new String[]{SSLv3, TLSv10, TLSv11, TLSv12};
+    private static final String FILE_PREFIX = "file:";
+    //process wide caches, so the keystores are read and the SSLContext is built again only when a keystore file changes
+    private static final ConcurrentMap<String, CachedValue<SSLComponents>> SOCKET_FACTORY_CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CachedValue<KeyStore>> KEYSTORE_CACHE = new ConcurrentHashMap<>();
     private String trustAllRootsStr = "false";
     private String keystore;
     private String keystorePassword;
@@ -49,6 +58,22 @@ public class SSLConnectionSocketFactoryBuilder {
         if (url == null) {
             throw new IllegalArgumentException("Keystore url may not be null");
         }
+        if (!"file".equals(url.getProtocol())) {
+            return loadKeyStore(url, password);
+        }
+        String cacheKey = url.toExternalForm() + ":" + hash(password);
+        String fileStamp = fileStamp(url.getPath());
+        CachedValue<KeyStore> cachedKeyStore = KEYSTORE_CACHE.get(cacheKey);
+        if (cachedKeyStore != null && cachedKeyStore.fileStamp.equals(fileStamp)) {
+            return cachedKeyStore.value;
+        }
+        KeyStore keystore = loadKeyStore(url, password);
+        KEYSTORE_CACHE.put(cacheKey, new CachedValue<>(fileStamp, keystore));
+        return keystore;
+    }
+
+    private KeyStore loadKeyStore(final URL url, final String password)
+            throws KeyStoreException, NoSuchAlgorithmException, CertificateException, IOException {
         KeyStore keystore = KeyStore.getInstance("jks");
         InputStream is = null;
         try {
@@ -61,14 +86,48 @@ public class SSLConnectionSocketFactoryBuilder {
     }
 
     public SSLConnectionSocketFactory build() {
+        return buildSSLComponents().socketFactory;
+    }
+
+    /**
+     * Builds the non-blocking counterpart of {@link #build()}, sharing the same cached SSLContext.
+     */
+    public SSLIOSessionStrategy buildIOSessionStrategy() {
+        return buildSSLComponents().ioSessionStrategy;
+    }
+
+    private SSLComponents buildSSLComponents() {
         if (!"true".equalsIgnoreCase(trustAllRootsStr) && !"false".equalsIgnoreCase(trustAllRootsStr)) {
             throw new IllegalArgumentException("'trustAllRoots' can only be 'true' or 'false'");
         }
+        String javaKeystore = System.getProperty("java.home") + "/lib/security/cacerts";
+
+        //keystores downloaded over http have no modification time to check, so they are not cached
+        if (isRemote(keystore) || isRemote(trustKeystore)) {
+            return createSSLComponents(javaKeystore);
+        }
+        String cacheKey = trustAllRootsStr.toLowerCase() + ":" + x509HostnameVerifierInputValue.toLowerCase() + ":"
+                + keystore + ":" + hash(keystorePassword) + ":" + trustKeystore + ":" + hash(trustPassword);
+        String fileStamp = fileStamp(keystore) + ":" + fileStamp(trustKeystore) + ":" + fileStamp(javaKeystore);
+        CachedValue<SSLComponents> cachedComponents = SOCKET_FACTORY_CACHE.get(cacheKey);
+        if (cachedComponents != null && cachedComponents.fileStamp.equals(fileStamp)) {
+            return cachedComponents.value;
+        }
+        SSLComponents sslComponents = createSSLComponents(javaKeystore);
+        SOCKET_FACTORY_CACHE.put(cacheKey, new CachedValue<>(fileStamp, sslComponents));
+        return sslComponents;
+    }
+
+    public static void clearCache() {
+        SOCKET_FACTORY_CACHE.clear();
+        KEYSTORE_CACHE.clear();
+    }
+
+    private SSLComponents createSSLComponents(String javaKeystore) {
         boolean trustAllRoots = Boolean.parseBoolean(trustAllRootsStr);
 
         SSLContextBuilder sslContextBuilder = SSLContexts.custom();
         String changeit = "changeit";
-        String javaKeystore = System.getProperty("java.home") + "/lib/security/cacerts";
         if (!trustAllRoots) {
             boolean useClientCert = StringUtils.isNotEmpty(keystore);
             //validate SSL certificates sent by the server
@@ -117,7 +176,7 @@ public class SSLConnectionSocketFactoryBuilder {
         sslContextBuilder.useSSL();
         sslContextBuilder.useTLS();
 
-        SSLConnectionSocketFactory sslsf;
+        SSLComponents sslComponents;
         try {
             String x509HostnameVerifierStr = x509HostnameVerifierInputValue.toLowerCase();
             X509HostnameVerifier x509HostnameVerifier;
@@ -135,14 +194,33 @@ public class SSLConnectionSocketFactoryBuilder {
                     throw new IllegalArgumentException("Invalid value '" + x509HostnameVerifierInputValue + "' for input 'x509HostnameVerifier'. Valid values: 'strict','browser_compatible','allow_all'.");
             }
             // Allow SSLv3, TLSv1, TLSv1.1 and TLSv1.2 protocols only. Client-server communication starts with TLSv1.2 and fallbacks to SSLv3 if needed.
-            sslsf = new SSLConnectionSocketFactory(sslContextBuilder.build(), SUPPORTED_PROTOCOLS, null, x509HostnameVerifier);
+            SSLContext sslContext = sslContextBuilder.build();
+            sslComponents = new SSLComponents(
+                    new SSLConnectionSocketFactory(sslContext, SUPPORTED_PROTOCOLS, null, x509HostnameVerifier),
+                    new SSLIOSessionStrategy(sslContext, SUPPORTED_PROTOCOLS, null, x509HostnameVerifier));
         } catch (Exception e) {
             if (e instanceof IllegalArgumentException) {
                 throw new IllegalArgumentException(e.getMessage());
             }
             throw new RuntimeException(e.getMessage() + ". " + SSL_CONNECTION_ERROR, e);
         }
-        return sslsf;
+        return sslComponents;
+    }
+
+    private static boolean isRemote(String keystore) {
+        return keystore != null && keystore.startsWith("http");
+    }
+
+    private static String fileStamp(String path) {
+        if (StringUtils.isEmpty(path)) {
+            return "";
+        }
+        File file = new File(StringUtils.removeStart(path, FILE_PREFIX));
+        return file.lastModified() + "-" + file.length();
+    }
+
+    private static String hash(String password) {
+        return password == null ? "" : DigestUtils.sha256Hex(password);
     }
 
     protected void createKeystore(SSLContextBuilder sslContextBuilder, boolean useClientCert) {
@@ -207,4 +285,24 @@ public class SSLConnectionSocketFactoryBuilder {
         }
         return this;
     }
+
+    private static class SSLComponents {
+        private final SSLConnectionSocketFactory socketFactory;
+        private final SSLIOSessionStrategy ioSessionStrategy;
+
+        private SSLComponents(SSLConnectionSocketFactory socketFactory, SSLIOSessionStrategy ioSessionStrategy) {
+            this.socketFactory = socketFactory;
+            this.ioSessionStrategy = ioSessionStrategy;
+        }
+    }
+
+    private static class CachedValue<T> {
+        private final String fileStamp;
+        private final T value;
+
+        private CachedValue(String fileStamp, T value) {
+            this.fileStamp = fileStamp;
+            this.value = value;
+        }
+    }
 }
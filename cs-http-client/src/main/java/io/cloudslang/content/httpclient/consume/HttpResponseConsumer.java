@@ -20,6 +20,11 @@ import org.apache.http.NameValuePair;
 import org.apache.http.message.BasicHeaderValueParser;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.Map;
 
@@ -29,9 +34,13 @@ import java.util.Map;
  * Date: 7/28/14
  */
 public class HttpResponseConsumer {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long TRANSFER_CHUNK_SIZE = 8 * 1024 * 1024;
     private HttpResponse httpResponse;
     private String responseCharacterSet;
     private String destinationFile;
+    private String binaryResponse = "false";
+    private String maxInMemoryResponseSize;
 
     public HttpResponseConsumer setHttpResponse(HttpResponse httpResponse) {
         this.httpResponse = httpResponse;
@@ -48,6 +57,18 @@ public class HttpResponseConsumer {
         return this;
     }
 
+    public HttpResponseConsumer setBinaryResponse(String binaryResponse) {
+        if (!StringUtils.isEmpty(binaryResponse)) {
+            this.binaryResponse = binaryResponse;
+        }
+        return this;
+    }
+
+    public HttpResponseConsumer setMaxInMemoryResponseSize(String maxInMemoryResponseSize) {
+        this.maxInMemoryResponseSize = maxInMemoryResponseSize;
+        return this;
+    }
+
     public void consume(Map<String, String> result) throws IOException {
         if (httpResponse.getEntity() != null) {
             if (responseCharacterSet == null || responseCharacterSet.isEmpty()) {
@@ -71,7 +92,9 @@ public class HttpResponseConsumer {
     }
 
     protected void consumeResponseContent(Map<String, String> result) throws IOException {
-        if (StringUtils.isEmpty(destinationFile)) {
+        if (StringUtils.isEmpty(destinationFile) && !StringUtils.isEmpty(maxInMemoryResponseSize)) {
+            consumeWithMaxInMemorySize(result);
+        } else if (StringUtils.isEmpty(destinationFile)) {
             String document;
             try {
                 document = IOUtils.toString(httpResponse.getEntity().getContent(), responseCharacterSet);
@@ -79,11 +102,75 @@ public class HttpResponseConsumer {
                 throw new IllegalArgumentException("Could not parse responseCharacterSet. " + e.getMessage(), e);
             }
             result.put(CSHttpClient.RETURN_RESULT, document);
+        } else if (Boolean.parseBoolean(binaryResponse)) {
+            InputStream content = httpResponse.getEntity().getContent();
+            try {
+                transferToFile(content, new File(destinationFile), null, 0);
+            } finally {
+                safeClose(content);
+            }
         } else {
             consumeToDestinationFile();
         }
     }
 
+    private void consumeWithMaxInMemorySize(Map<String, String> result) throws IOException {
+        long maxSize;
+        try {
+            maxSize = Long.parseLong(maxInMemoryResponseSize);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("the '" + HttpClientInputs.MAX_IN_MEMORY_RESPONSE_SIZE
+                    + "' input should be integer" + e.getMessage(), e);
+        }
+        Charset charset;
+        try {
+            charset = Charset.forName(responseCharacterSet);
+        } catch (UnsupportedCharsetException | IllegalCharsetNameException e) {
+            throw new IllegalArgumentException("Could not parse responseCharacterSet. " + e.getMessage(), e);
+        }
+
+        InputStream content = httpResponse.getEntity().getContent();
+        try {
+            ByteArrayOutputStream inMemoryContent = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                if (inMemoryContent.size() + read > maxSize) {
+                    //the entity is too big for returnResult, so it is spilled as is to a temporary file
+                    File spillFile = File.createTempFile("httpResponse", ".tmp");
+                    inMemoryContent.write(buffer, 0, read);
+                    transferToFile(content, spillFile, inMemoryContent.toByteArray(), inMemoryContent.size());
+                    result.put(CSHttpClient.RETURN_RESULT, "");
+                    result.put(CSHttpClient.RESPONSE_FILE, spillFile.getAbsolutePath());
+                    return;
+                }
+                inMemoryContent.write(buffer, 0, read);
+            }
+            result.put(CSHttpClient.RETURN_RESULT, new String(inMemoryContent.toByteArray(), charset));
+        } finally {
+            safeClose(content);
+        }
+    }
+
+    private void transferToFile(InputStream content, File file, byte[] head, int headLength) throws IOException {
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            if (head != null) {
+                fos.write(head, 0, headLength);
+            }
+            FileChannel fileChannel = fos.getChannel();
+            ReadableByteChannel contentChannel = Channels.newChannel(content);
+            long position = headLength;
+            long transferred;
+            //a blocking source channel only transfers 0 bytes once the end of stream is reached
+            while ((transferred = fileChannel.transferFrom(contentChannel, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                position += transferred;
+            }
+        } finally {
+            safeClose(fos);
+        }
+    }
+
     private void consumeToDestinationFile() throws IOException {
         BufferedReader reader;
         BufferedWriter fileWriter = null;
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.execute;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+
+import java.util.concurrent.Future;
+
+/**
+ * Submits a request to a non-blocking http client. The response entity is read by the I/O dispatcher,
+ * in memory up to maxInMemorySize bytes and in a temporary file above it,
+ * so the caller thread is only needed once the response is complete.
+ */
+public class HttpAsyncClientExecutor {
+    private HttpRequestBase httpRequestBase;
+    private CloseableHttpAsyncClient closeableHttpAsyncClient;
+    private HttpClientContext context;
+    private long maxInMemorySize = Long.MAX_VALUE;
+
+    public HttpAsyncClientExecutor setHttpRequestBase(HttpRequestBase httpRequestBase) {
+        this.httpRequestBase = httpRequestBase;
+        return this;
+    }
+
+    public HttpAsyncClientExecutor setCloseableHttpAsyncClient(CloseableHttpAsyncClient closeableHttpAsyncClient) {
+        this.closeableHttpAsyncClient = closeableHttpAsyncClient;
+        return this;
+    }
+
+    public HttpAsyncClientExecutor setContext(HttpClientContext context) {
+        this.context = context;
+        return this;
+    }
+
+    public HttpAsyncClientExecutor setMaxInMemorySize(long maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
+        return this;
+    }
+
+    public Future<HttpResponse> execute() {
+        return closeableHttpAsyncClient.execute(HttpAsyncMethods.create(httpRequestBase),
+                new SpillingResponseConsumer(maxInMemorySize), context, null);
+    }
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.execute;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.FileEntity;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads the response of a non-blocking request on the I/O dispatcher thread. The entity is kept in memory up to
+ * the given size, a bigger entity is written to a temporary file that is deleted once its content is read.
+ */
+public class SpillingResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final long maxInMemorySize;
+    private HttpResponse response;
+    private HttpEntity receivedEntity;
+    private ByteBuffer buffer;
+    private ByteArrayOutputStream inMemoryContent;
+    private File spillFile;
+    private FileOutputStream spillStream;
+    private FileChannel spillChannel;
+    private boolean spillFileReturned;
+
+    /**
+     * @param maxInMemorySize the number of bytes of the entity kept in memory, 0 to always use a temporary file.
+     */
+    public SpillingResponseConsumer(long maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse response) {
+        this.response = response;
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) throws IOException {
+        receivedEntity = entity;
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        inMemoryContent = new ByteArrayOutputStream();
+        if (maxInMemorySize <= 0) {
+            startSpilling();
+        }
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl ioControl) throws IOException {
+        while (decoder.read(buffer) > 0) {
+            buffer.flip();
+            if (spillChannel == null && inMemoryContent.size() + buffer.remaining() > maxInMemorySize) {
+                startSpilling();
+            }
+            if (spillChannel != null) {
+                while (buffer.hasRemaining()) {
+                    spillChannel.write(buffer);
+                }
+            } else {
+                inMemoryContent.write(buffer.array(), 0, buffer.limit());
+            }
+            buffer.clear();
+        }
+    }
+
+    @Override
+    protected HttpResponse buildResult(HttpContext context) throws IOException {
+        if (receivedEntity != null) {
+            AbstractHttpEntity entity;
+            if (spillChannel != null) {
+                spillStream.close();
+                entity = new TempFileEntity(spillFile);
+                spillFileReturned = true;
+            } else {
+                entity = new ByteArrayEntity(inMemoryContent.toByteArray());
+            }
+            entity.setContentType(receivedEntity.getContentType());
+            entity.setContentEncoding(receivedEntity.getContentEncoding());
+            response.setEntity(entity);
+        }
+        return response;
+    }
+
+    @Override
+    protected void releaseResources() {
+        buffer = null;
+        inMemoryContent = null;
+        if (spillStream != null) {
+            try {
+                spillStream.close();
+            } catch (IOException ignore) {
+            }
+        }
+        if (spillFile != null && !spillFileReturned) {
+            spillFile.delete();
+        }
+    }
+
+    File getSpillFile() {
+        return spillFile;
+    }
+
+    //the bytes already received are moved to the temporary file
+    private void startSpilling() throws IOException {
+        spillFile = File.createTempFile("httpAsyncResponse", ".tmp");
+        spillStream = new FileOutputStream(spillFile);
+        spillStream.write(inMemoryContent.toByteArray());
+        spillChannel = spillStream.getChannel();
+        inMemoryContent = null;
+    }
+
+    private static class TempFileEntity extends FileEntity {
+        private TempFileEntity(File file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(new FileInputStream(file)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        file.delete();
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
+import io.cloudslang.content.httpclient.build.CookieStoreBuilder;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.cookie.BasicClientCookie;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class CSHttpClientBuildTest {
+
+    @Test
+    public void buildHttpComponentsSharesCachingClientAcrossCookieValues() throws IOException {
+        GlobalSessionObject connectionPool = new GlobalSessionObject();
+        SerializableSessionObject cookies = new SerializableSessionObject();
+        HttpComponents first = buildCachingComponents(connectionPool, cookies, "session", "1", "user");
+        HttpComponents second = buildCachingComponents(connectionPool, cookies, "session", "2", "user");
+
+        assertSame(first.getCloseableHttpClient(), second.getCloseableHttpClient());
+        assertEquals(first.getResponseCacheContextKey(), second.getResponseCacheContextKey());
+    }
+
+    @Test
+    public void buildHttpComponentsSharesCachingClientAcrossCredentials() throws IOException {
+        GlobalSessionObject connectionPool = new GlobalSessionObject();
+        HttpComponents first = buildCachingComponents(connectionPool, new SerializableSessionObject(), "session", "1", "user");
+        HttpComponents second = buildCachingComponents(connectionPool, new SerializableSessionObject(), "session", "1", "user2");
+
+        assertSame(first.getCloseableHttpClient(), second.getCloseableHttpClient());
+        assertNotEquals(first.getResponseCacheContextKey(), second.getResponseCacheContextKey());
+    }
+
+    private HttpComponents buildCachingComponents(GlobalSessionObject connectionPool, SerializableSessionObject cookies,
+                                                  String cookieName, String cookieValue, String username) throws IOException {
+        BasicClientCookie cookie = new BasicClientCookie(cookieName, cookieValue);
+        cookie.setDomain("localhost");
+        cookie.setPath("/");
+        BasicCookieStore cookieStore = new BasicCookieStore();
+        cookieStore.addCookie(cookie);
+        cookies.setValue(CookieStoreBuilder.serialize(cookieStore));
+
+        HttpClientInputs inputs = new HttpClientInputs();
+        inputs.setUrl("http://localhost/resource");
+        inputs.setMethod("GET");
+        inputs.setAuthType("basic");
+        inputs.setUsername(username);
+        inputs.setPassword("password");
+        inputs.setTrustAllRoots("true");
+        inputs.setKeystore(System.getProperty("java.home") + "/lib/security/cacerts");
+        inputs.setKeystorePassword("changeit");
+        inputs.setResponseCache("true");
+        inputs.setCookieStoreSessionObject(cookies);
+        inputs.setConnectionPoolSessionObject(connectionPool);
+        return new CSHttpClient().buildHttpComponents(inputs);
+    }
+}
@@ -59,6 +59,10 @@ public class CSHttpClientTest {
     @Mock
     private String destinationFile;
     @Mock
+    private String binaryResponse;
+    @Mock
+    private String maxInMemoryResponseSize;
+    @Mock
     private URI uri;
     @Mock
     private Map<String, String> result;
@@ -77,7 +81,7 @@ public class CSHttpClientTest {
         PowerMockito.doReturn(httpComponents).when(csHttpClient, "buildHttpComponents", httpClientInputs);
         PowerMockito.doReturn(httpResponse).when(csHttpClient, "execute", closeableHttpClient, httpRequestBase, httpClientContext);
         PowerMockito.doReturn(result).when(csHttpClient, "parseResponse", httpResponse, responseCharacterSet, destinationFile,
-                uri, httpClientContext, cookieStore, serializableSessionObject);
+                binaryResponse, maxInMemoryResponseSize, uri, httpClientContext, cookieStore, serializableSessionObject);
 
         PowerMockito.when(httpComponents.getHttpRequestBase()).thenReturn(httpRequestBase);
         PowerMockito.when(httpComponents.getCloseableHttpClient()).thenReturn(closeableHttpClient);
@@ -88,6 +92,8 @@ public class CSHttpClientTest {
 
         PowerMockito.when(httpClientInputs.getResponseCharacterSet()).thenReturn(responseCharacterSet);
         PowerMockito.when(httpClientInputs.getDestinationFile()).thenReturn(destinationFile);
+        PowerMockito.when(httpClientInputs.getBinaryResponse()).thenReturn(binaryResponse);
+        PowerMockito.when(httpClientInputs.getMaxInMemoryResponseSize()).thenReturn(maxInMemoryResponseSize);
         PowerMockito.when(httpClientInputs.getCookieStoreSessionObject()).thenReturn(serializableSessionObject);
     }
 
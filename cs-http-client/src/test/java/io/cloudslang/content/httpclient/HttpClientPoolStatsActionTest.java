@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.httpclient.build.conn.ConnectionManagerBuilder;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.net.URI;
+import java.util.Map;
+
+import static io.cloudslang.content.httpclient.HttpClientPoolStatsAction.AVAILABLE_CONNECTIONS;
+import static io.cloudslang.content.httpclient.HttpClientPoolStatsAction.LEASED_CONNECTIONS;
+import static io.cloudslang.content.httpclient.HttpClientPoolStatsAction.PENDING_CONNECTIONS;
+import static io.cloudslang.content.httpclient.HttpClientPoolStatsAction.RETURN_CODE;
+import static io.cloudslang.content.httpclient.HttpClientPoolStatsAction.RETURN_RESULT;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HttpClientPoolStatsActionTest {
+
+    @Mock
+    private GlobalSessionObject brokenSessionObjectMock;
+
+    @Test
+    public void executeWithoutPools() {
+        Map<String, String> result = new HttpClientPoolStatsAction().execute(new GlobalSessionObject());
+
+        assertEquals("0", result.get(RETURN_CODE));
+        assertEquals("", result.get(RETURN_RESULT));
+        assertEquals("0", result.get(LEASED_CONNECTIONS));
+        assertEquals("0", result.get(AVAILABLE_CONNECTIONS));
+        assertEquals("0", result.get(PENDING_CONNECTIONS));
+        assertFalse(result.containsKey(CSHttpClient.EXCEPTION));
+    }
+
+    @Test
+    public void executeWithPool() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        new ConnectionManagerBuilder()
+                .setConnectionManagerMapKey("key")
+                .setConnectionPoolHolder(holder)
+                .setRoute(ConnectionManagerBuilder.buildRoute(URI.create("http://localhost/path"), null))
+                .setSslsf(SSLConnectionSocketFactory.getSocketFactory())
+                .buildConnectionManager();
+
+        Map<String, String> result = new HttpClientPoolStatsAction().execute(holder);
+
+        assertEquals("0", result.get(RETURN_CODE));
+        assertTrue(result.get(RETURN_RESULT).contains("pool key: leased=0, available=0, pending=0"));
+        assertTrue(result.get(RETURN_RESULT).contains("route {}->http://localhost:80"));
+        assertEquals("0", result.get(LEASED_CONNECTIONS));
+        assertEquals("0", result.get(AVAILABLE_CONNECTIONS));
+        assertEquals("0", result.get(PENDING_CONNECTIONS));
+    }
+
+    @Test
+    public void executeFailure() {
+        when(brokenSessionObjectMock.get()).thenThrow(new IllegalStateException("session object is closed"));
+
+        Map<String, String> result = new HttpClientPoolStatsAction().execute(brokenSessionObjectMock);
+
+        assertEquals("-1", result.get(RETURN_CODE));
+        assertEquals("session object is closed", result.get(RETURN_RESULT));
+        assertTrue(result.get(CSHttpClient.EXCEPTION).contains("IllegalStateException"));
+        assertFalse(result.containsKey(LEASED_CONNECTIONS));
+    }
+}
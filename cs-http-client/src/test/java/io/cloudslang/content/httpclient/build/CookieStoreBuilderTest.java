@@ -11,14 +11,21 @@ package io.cloudslang.content.httpclient.build;
 
 import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
 import org.apache.http.client.CookieStore;
+import org.apache.http.cookie.Cookie;
 import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.cookie.BasicClientCookie;
+import org.apache.http.impl.cookie.BasicClientCookie2;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Date;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
 import static org.junit.Assert.assertNotNull;
 
 /**
@@ -78,4 +85,111 @@ public class CookieStoreBuilderTest {
 
         assertNull(cookieStore);
     }
+
+    @Test
+    public void saveAndBuildCookieStore() throws IOException {
+        SerializableSessionObject sessionObjectHolder = new SerializableSessionObject();
+        CookieStore cookieStore = cookieStoreBuilder
+                .setCookieStoreSessionObject(sessionObjectHolder)
+                .buildCookieStore();
+        BasicClientCookie cookie = newCookie("name", "value");
+        cookie.setExpiryDate(new Date(System.currentTimeMillis() + 60000));
+        cookie.setSecure(true);
+        cookie.setAttribute(BasicClientCookie.DOMAIN_ATTR, "example.com");
+        BasicClientCookie2 cookie2 = new BasicClientCookie2("name2", "value2");
+        cookie2.setDomain("example.com");
+        cookie2.setPorts(new int[]{80, 443});
+        cookie2.setCommentURL("http://example.com/comment");
+        cookieStore.addCookie(cookie);
+        cookieStore.addCookie(cookie2);
+        CookieStoreBuilder.saveCookieStore(cookieStore, sessionObjectHolder);
+        assertTrue(SessionCookieStore.isEncoded((byte[]) sessionObjectHolder.getValue()));
+
+        CookieStore builtCookieStore = new CookieStoreBuilder()
+                .setCookieStoreSessionObject(sessionObjectHolder)
+                .buildCookieStore();
+        assertEquals(2, builtCookieStore.getCookies().size());
+        Cookie builtCookie = builtCookieStore.getCookies().get(0);
+        assertEquals("value", builtCookie.getValue());
+        assertEquals(cookie.getExpiryDate(), builtCookie.getExpiryDate());
+        assertTrue(builtCookie.isSecure());
+        assertEquals("example.com", ((BasicClientCookie) builtCookie).getAttribute(BasicClientCookie.DOMAIN_ATTR));
+        Cookie builtCookie2 = builtCookieStore.getCookies().get(1);
+        assertTrue(builtCookie2 instanceof BasicClientCookie2);
+        assertEquals(443, builtCookie2.getPorts()[1]);
+        assertEquals("http://example.com/comment", builtCookie2.getCommentURL());
+    }
+
+    @Test
+    public void saveUnchangedCookieStore() throws IOException {
+        SerializableSessionObject sessionObjectHolder = new SerializableSessionObject();
+        CookieStore cookieStore = cookieStoreBuilder.setCookieStoreSessionObject(sessionObjectHolder).buildCookieStore();
+        cookieStore.addCookie(newCookie("name", "value"));
+        CookieStoreBuilder.saveCookieStore(cookieStore, sessionObjectHolder);
+        byte[] saved = (byte[]) sessionObjectHolder.getValue();
+
+        CookieStore builtCookieStore = new CookieStoreBuilder().setCookieStoreSessionObject(sessionObjectHolder).buildCookieStore();
+        builtCookieStore.addCookie(newCookie("name", "value"));
+        CookieStoreBuilder.saveCookieStore(builtCookieStore, sessionObjectHolder);
+        assertSame(saved, sessionObjectHolder.getValue());
+
+        builtCookieStore.addCookie(newCookie("name", "otherValue"));
+        CookieStoreBuilder.saveCookieStore(builtCookieStore, sessionObjectHolder);
+        assertFalse(saved == sessionObjectHolder.getValue());
+        assertEquals("otherValue", new CookieStoreBuilder().setCookieStoreSessionObject(sessionObjectHolder)
+                .buildCookieStore().getCookies().get(0).getValue());
+    }
+
+    @Test
+    public void saveCookieStoreWithRemovedCookie() throws IOException {
+        SerializableSessionObject sessionObjectHolder = new SerializableSessionObject();
+        CookieStore cookieStore = cookieStoreBuilder.setCookieStoreSessionObject(sessionObjectHolder).buildCookieStore();
+        cookieStore.addCookie(newCookie("name", "value"));
+        CookieStoreBuilder.saveCookieStore(cookieStore, sessionObjectHolder);
+        cookieStore.clear();
+        CookieStoreBuilder.saveCookieStore(cookieStore, sessionObjectHolder);
+        assertEquals(0, new CookieStoreBuilder().setCookieStoreSessionObject(sessionObjectHolder)
+                .buildCookieStore().getCookies().size());
+    }
+
+    @Test
+    public void saveCookieStoreWithoutEffectiveChange() throws IOException {
+        SerializableSessionObject sessionObjectHolder = new SerializableSessionObject();
+        CookieStore cookieStore = cookieStoreBuilder.setCookieStoreSessionObject(sessionObjectHolder).buildCookieStore();
+        cookieStore.addCookie(newCookie("name", "value"));
+        CookieStoreBuilder.saveCookieStore(cookieStore, sessionObjectHolder);
+        byte[] saved = (byte[]) sessionObjectHolder.getValue();
+
+        BasicClientCookie expiredCookie = newCookie("other", "value");
+        expiredCookie.setExpiryDate(new Date(System.currentTimeMillis() - 60000));
+        cookieStore.addCookie(expiredCookie);
+        cookieStore.addCookie(newCookie("name", "value"));
+        cookieStore.clearExpired(new Date());
+        CookieStoreBuilder.saveCookieStore(cookieStore, sessionObjectHolder);
+        assertSame(saved, sessionObjectHolder.getValue());
+
+        CookieStore emptyCookieStore = new CookieStoreBuilder().setCookieStoreSessionObject(new SerializableSessionObject())
+                .buildCookieStore();
+        emptyCookieStore.clear();
+        assertNull(((SessionCookieStore) emptyCookieStore).toByteArrayIfChanged());
+    }
+
+    @Test
+    public void buildCookieStoreFromSerializedStore() throws IOException {
+        BasicCookieStore basicCookieStore = new BasicCookieStore();
+        basicCookieStore.addCookie(newCookie("name", "value"));
+        SerializableSessionObject sessionObjectHolder = new SerializableSessionObject();
+        sessionObjectHolder.setValue(CookieStoreBuilder.serialize(basicCookieStore));
+        CookieStore cookieStore = cookieStoreBuilder.setCookieStoreSessionObject(sessionObjectHolder).buildCookieStore();
+        assertEquals("value", cookieStore.getCookies().get(0).getValue());
+        CookieStoreBuilder.saveCookieStore(cookieStore, sessionObjectHolder);
+        assertTrue(SessionCookieStore.isEncoded((byte[]) sessionObjectHolder.getValue()));
+    }
+
+    private static BasicClientCookie newCookie(String name, String value) {
+        BasicClientCookie cookie = new BasicClientCookie(name, value);
+        cookie.setDomain("example.com");
+        cookie.setPath("/");
+        return cookie;
+    }
 }
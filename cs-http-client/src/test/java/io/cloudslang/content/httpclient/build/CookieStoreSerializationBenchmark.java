@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build;
+
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.cookie.BasicClientCookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares saving the cookie store with java serialization and with the SessionCookieStore encoding,
+ * for a response that resends the same cookies and for one that changes a single cookie.
+ * Run the main method from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CookieStoreSerializationBenchmark {
+    @Param({"10", "100"})
+    private int cookieCount;
+
+    private BasicCookieStore basicCookieStore;
+    private byte[] serializedStore;
+    private byte[] encodedStore;
+    private int round;
+
+    @Setup
+    public void setUp() throws IOException, ClassNotFoundException {
+        basicCookieStore = new BasicCookieStore();
+        for (int i = 0; i < cookieCount; i++) {
+            basicCookieStore.addCookie(newCookie(i, "value" + i));
+        }
+        serializedStore = CookieStoreBuilder.serialize(basicCookieStore);
+        encodedStore = SessionCookieStore.fromCookieStore(basicCookieStore).toByteArrayIfChanged();
+    }
+
+    @Benchmark
+    public byte[] javaSerializationUnchanged() throws IOException, ClassNotFoundException {
+        BasicCookieStore cookieStore = (BasicCookieStore) CookieStoreBuilder.deserialize(serializedStore);
+        cookieStore.addCookie(newCookie(0, "value0"));
+        return CookieStoreBuilder.serialize(cookieStore);
+    }
+
+    @Benchmark
+    public byte[] javaSerializationChanged() throws IOException, ClassNotFoundException {
+        BasicCookieStore cookieStore = (BasicCookieStore) CookieStoreBuilder.deserialize(serializedStore);
+        cookieStore.addCookie(newCookie(0, "changed" + round++));
+        return CookieStoreBuilder.serialize(cookieStore);
+    }
+
+    @Benchmark
+    public byte[] sessionCookieStoreUnchanged() throws IOException {
+        SessionCookieStore cookieStore = SessionCookieStore.fromByteArray(encodedStore);
+        cookieStore.addCookie(newCookie(0, "value0"));
+        return cookieStore.toByteArrayIfChanged();
+    }
+
+    @Benchmark
+    public byte[] sessionCookieStoreChanged() throws IOException {
+        SessionCookieStore cookieStore = SessionCookieStore.fromByteArray(encodedStore);
+        cookieStore.addCookie(newCookie(0, "changed" + round++));
+        return cookieStore.toByteArrayIfChanged();
+    }
+
+    private static BasicClientCookie newCookie(int index, String value) {
+        BasicClientCookie cookie = new BasicClientCookie("cookie" + index, value);
+        cookie.setDomain("example.com");
+        cookie.setPath("/");
+        cookie.setExpiryDate(new Date(Long.MAX_VALUE / 2));
+        cookie.setAttribute(BasicClientCookie.DOMAIN_ATTR, "example.com");
+        return cookie;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CookieStoreSerializationBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build();
+        new Runner(options).run();
+    }
+}
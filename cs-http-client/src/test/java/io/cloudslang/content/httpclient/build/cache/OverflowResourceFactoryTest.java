@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.cache;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.client.cache.InputLimit;
+import org.apache.http.client.cache.Resource;
+import org.apache.http.impl.client.cache.FileResource;
+import org.apache.http.impl.client.cache.HeapResource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OverflowResourceFactoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void generateInMemoryResource() throws IOException {
+        OverflowResourceFactory factory = new OverflowResourceFactory(10, folder.getRoot());
+        Resource resource = factory.generate("id", new ByteArrayInputStream(newContent(10)), new InputLimit(100));
+        assertTrue(resource instanceof HeapResource);
+        assertArrayEquals(newContent(10), IOUtils.toByteArray(resource.getInputStream()));
+    }
+
+    @Test
+    public void generateFileResource() throws IOException {
+        OverflowResourceFactory factory = new OverflowResourceFactory(10, folder.getRoot());
+        Resource resource = factory.generate("id", new ByteArrayInputStream(newContent(5000)), new InputLimit(10000));
+        assertTrue(resource instanceof FileResource);
+        assertArrayEquals(newContent(5000), IOUtils.toByteArray(resource.getInputStream()));
+        assertEquals(1, folder.getRoot().list().length);
+
+        Resource copy = factory.copy("id2", resource);
+        assertTrue(copy instanceof FileResource);
+        assertEquals(5000, copy.length());
+    }
+
+    @Test
+    public void generateResourceOverLimit() throws IOException {
+        OverflowResourceFactory factory = new OverflowResourceFactory(10000, folder.getRoot());
+        InputLimit limit = new InputLimit(100);
+        factory.generate("id", new ByteArrayInputStream(newContent(5000)), limit);
+        assertTrue(limit.isReached());
+    }
+
+    private static byte[] newContent(int length) {
+        byte[] content = new byte[length];
+        Arrays.fill(content, (byte) 'a');
+        return content;
+    }
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.cache;
+
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.cache.HttpCacheEntry;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.cache.HeapResource;
+import org.apache.http.impl.cookie.BasicClientCookie;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ResponseCacheStorageTest {
+
+    @Test
+    public void buildContextKey() {
+        BasicCookieStore cookieStore = new BasicCookieStore();
+        String contextKey = ResponseCacheStorage.buildContextKey(cookieStore, "basic", "user", "pass");
+        assertEquals(contextKey, ResponseCacheStorage.buildContextKey(new BasicCookieStore(), "basic", "user", "pass"));
+        assertNotEquals(contextKey, ResponseCacheStorage.buildContextKey(cookieStore, "basic", "user2", "pass"));
+        cookieStore.addCookie(new BasicClientCookie("session", "1"));
+        String sessionContextKey = ResponseCacheStorage.buildContextKey(cookieStore, "basic", "user", "pass");
+        assertNotEquals(contextKey, sessionContextKey);
+        cookieStore.addCookie(new BasicClientCookie("session", "2"));
+        assertEquals(sessionContextKey, ResponseCacheStorage.buildContextKey(cookieStore, "basic", "user", "pass"));
+    }
+
+    @Test
+    public void getEntryOfContext() throws IOException {
+        ResponseCacheStorage storage = new ResponseCacheStorage();
+        HttpCacheEntry entry = new HttpCacheEntry(new Date(), new Date(),
+                new BasicStatusLine(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK"),
+                new BasicHeader[]{new BasicHeader("ETag", "\"1\"")}, new HeapResource(new byte[]{1}));
+        try {
+            ResponseCacheStorage.setContextKey("context1");
+            storage.putEntry("http://localhost/getEntryOfContext", entry);
+            assertSame(entry, storage.getEntry("http://localhost/getEntryOfContext"));
+            ResponseCacheStorage.setContextKey("context2");
+            assertNull(storage.getEntry("http://localhost/getEntryOfContext"));
+            ResponseCacheStorage.removeContextKey();
+            assertNull(storage.getEntry("http://localhost/getEntryOfContext"));
+            ResponseCacheStorage.setContextKey("context1");
+            storage.removeEntry("http://localhost/getEntryOfContext");
+            assertNull(storage.getEntry("http://localhost/getEntryOfContext"));
+        } finally {
+            ResponseCacheStorage.removeContextKey();
+        }
+    }
+
+    @Test
+    public void putEntryWithoutContext() throws IOException {
+        ResponseCacheStorage storage = new ResponseCacheStorage();
+        HttpCacheEntry entry = new HttpCacheEntry(new Date(), new Date(),
+                new BasicStatusLine(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK"),
+                new BasicHeader[0], new HeapResource(new byte[]{1}));
+        storage.putEntry("http://localhost/putEntryWithoutContext", entry);
+        assertNull(storage.getEntry("http://localhost/putEntryWithoutContext"));
+    }
+}
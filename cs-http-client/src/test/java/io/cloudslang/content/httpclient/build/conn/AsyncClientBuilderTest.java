@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.conn;
+
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncClientBuilderTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+    @Mock
+    private SSLIOSessionStrategy sslIOSessionStrategyMock;
+
+    @After
+    public void tearDown() {
+        AsyncClientBuilder.shutdown();
+    }
+
+    @Test
+    public void buildReusesAsyncClientForSameKey() {
+        CloseableHttpAsyncClient first = new AsyncClientBuilder()
+                .setAsyncClientKey("key1", "key2")
+                .setSslIOSessionStrategy(sslIOSessionStrategyMock)
+                .build();
+        CloseableHttpAsyncClient second = new AsyncClientBuilder()
+                .setAsyncClientKey("key1", "key2")
+                .setSslIOSessionStrategy(sslIOSessionStrategyMock)
+                .setDefaultMaxPerRoute("10")
+                .build();
+        assertSame(first, second);
+        assertTrue(first.isRunning());
+    }
+
+    @Test
+    public void buildCreatesAsyncClientForDifferentKey() {
+        CloseableHttpAsyncClient first = new AsyncClientBuilder()
+                .setAsyncClientKey("key1", "true")
+                .setSslIOSessionStrategy(sslIOSessionStrategyMock)
+                .build();
+        CloseableHttpAsyncClient second = new AsyncClientBuilder()
+                .setAsyncClientKey("key1", "false")
+                .setSslIOSessionStrategy(sslIOSessionStrategyMock)
+                .setKeepAlive(false)
+                .build();
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void buildClosesLeastRecentlyUsedClientOverMaxSize() throws InterruptedException {
+        CloseableHttpAsyncClient eldest = new AsyncClientBuilder()
+                .setAsyncClientKey("key0")
+                .setSslIOSessionStrategy(sslIOSessionStrategyMock)
+                .build();
+        Thread.sleep(5);
+        for (int i = 1; i <= AsyncClientBuilder.MAX_ASYNC_CLIENTS; i++) {
+            new AsyncClientBuilder()
+                    .setAsyncClientKey("key" + i)
+                    .setSslIOSessionStrategy(sslIOSessionStrategyMock)
+                    .build();
+        }
+        assertEquals(AsyncClientBuilder.MAX_ASYNC_CLIENTS, AsyncClientBuilder.size());
+        assertFalse(eldest.isRunning());
+    }
+
+    @Test
+    public void shutdownClosesAllClients() {
+        CloseableHttpAsyncClient client = new AsyncClientBuilder()
+                .setAsyncClientKey("key1")
+                .setSslIOSessionStrategy(sslIOSessionStrategyMock)
+                .build();
+        AsyncClientBuilder.shutdown();
+        assertEquals(0, AsyncClientBuilder.size());
+        assertFalse(client.isRunning());
+    }
+
+    @Test
+    public void buildWithInvalidMaxPerRoute() {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("connectionsMaxPerRoute");
+
+        new AsyncClientBuilder()
+                .setAsyncClientKey("key1")
+                .setSslIOSessionStrategy(sslIOSessionStrategyMock)
+                .setDefaultMaxPerRoute("many")
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the connection manager lookup done on every request, with a warm pool map.
+ * Run the main method from the test classpath; it repeats the benchmark with 1 to 64 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConnectionManagerBuilderBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    private GlobalSessionObject connectionPoolHolder;
+    private SSLConnectionSocketFactory sslsf;
+
+    @Setup
+    public void setUp() {
+        connectionPoolHolder = new GlobalSessionObject();
+        sslsf = SSLConnectionSocketFactory.getSocketFactory();
+        buildConnectionManager();
+    }
+
+    @Benchmark
+    public PoolingHttpClientConnectionManager buildConnectionManager() {
+        return new ConnectionManagerBuilder()
+                .setConnectionPoolHolder(connectionPoolHolder)
+                .setSslsf(sslsf)
+                .setConnectionManagerMapKey("false", "strict", "", "")
+                .setDefaultMaxPerRoute("2")
+                .setTotalMax("20")
+                .buildConnectionManager();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREAD_COUNTS) {
+            Options options = new OptionsBuilder()
+                    .include(ConnectionManagerBuilderBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(5)
+                    .measurementIterations(5)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -75,4 +75,36 @@ public class ConnectionManagerBuilderTest {
                 .buildConnectionManager();
         assertEquals(connectionManagerMock, connectionManager);
     }
+
+    @Test
+    public void buildConnectionManagerReusesConnectionManager() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        PoolingHttpClientConnectionManager connectionManager = buildConnectionManager(holder, "5");
+        assertSame(connectionManager, buildConnectionManager(holder, "5"));
+        assertEquals(5, connectionManager.getDefaultMaxPerRoute());
+        assertEquals("5:20", ConnectionManagerMap.getConnectionManagerMap(holder).getPoolSizes("key1:key2"));
+    }
+
+    @Test
+    public void buildConnectionManagerAppliesChangedPoolSizes() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        PoolingHttpClientConnectionManager connectionManager = buildConnectionManager(holder, "5");
+        assertSame(connectionManager, buildConnectionManager(holder, "7"));
+        assertEquals(7, connectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildConnectionManagerInvalidMaxPerRoute() {
+        buildConnectionManager(new GlobalSessionObject(), "abc");
+    }
+
+    private PoolingHttpClientConnectionManager buildConnectionManager(GlobalSessionObject holder, String maxPerRoute) {
+        return new ConnectionManagerBuilder()
+                .setConnectionManagerMapKey("key1", "key2")
+                .setSslsf(sslConnectionSocketFactoryMock)
+                .setConnectionPoolHolder(holder)
+                .setDefaultMaxPerRoute(maxPerRoute)
+                .setTotalMax("20")
+                .buildConnectionManager();
+    }
 }
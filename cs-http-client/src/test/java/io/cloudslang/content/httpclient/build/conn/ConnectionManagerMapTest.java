@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.net.URI;
+
+import static junit.framework.Assert.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConnectionManagerMapTest {
+
+    @Mock
+    private CloseableHttpClient httpClientMock;
+    private ConnectionManagerMap connectionManagerMap;
+    private PoolingHttpClientConnectionManager connManager;
+
+    @Before
+    public void setUp() {
+        connectionManagerMap = new ConnectionManagerMap();
+        connManager = new PoolingHttpClientConnectionManager();
+        connectionManagerMap.put("key", connManager);
+    }
+
+    @Test
+    public void removeUnusedPools() throws InterruptedException {
+        connectionManagerMap.touch("key", null);
+        connectionManagerMap.getHttpClientCache().put("key:true", connManager, httpClientMock);
+        Thread.sleep(10);
+
+        assertEquals(1, connectionManagerMap.removeUnusedPools(1));
+        assertTrue(connectionManagerMap.isEmpty());
+        assertEquals(0, connectionManagerMap.getHttpClientCache().size());
+    }
+
+    @Test
+    public void keepRecentlyUsedPools() {
+        connectionManagerMap.touch("key", null);
+
+        assertEquals(0, connectionManagerMap.removeUnusedPools(60000));
+        assertEquals(connManager, connectionManagerMap.get("key"));
+    }
+
+    @Test
+    public void getPoolStats() {
+        HttpRoute route = ConnectionManagerBuilder.buildRoute(URI.create("http://localhost/path"), null);
+        connectionManagerMap.touch("key", route);
+
+        String poolStats = connectionManagerMap.getPoolStats();
+        assertTrue(poolStats.contains("pool key: leased=0, available=0, pending=0, max=20"));
+        assertTrue(poolStats.contains("route {}->http://localhost:80: leased=0, available=0, pending=0, max=2"));
+        assertEquals(20, connectionManagerMap.getTotalStats().getMax());
+    }
+
+    @Test
+    public void buildRouteWithProxy() {
+        HttpHost proxy = new HttpHost("proxy", 8080);
+        HttpRoute route = ConnectionManagerBuilder.buildRoute(URI.create("https://localhost/path"), proxy);
+        assertEquals(new HttpHost("localhost", 443, "https"), route.getTargetHost());
+        assertEquals(proxy, route.getProxyHost());
+        assertTrue(route.isSecure());
+    }
+
+    @Test
+    public void getConnectionManagerMap() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        assertNull(ConnectionManagerMap.getConnectionManagerMap(holder));
+        new ConnectionManagerBuilder()
+                .setConnectionManagerMapKey("key")
+                .setConnectionPoolHolder(holder)
+                .setSslsf(SSLConnectionSocketFactory.getSocketFactory())
+                .buildConnectionManager();
+        assertNotNull(ConnectionManagerMap.getConnectionManagerMap(holder));
+    }
+}
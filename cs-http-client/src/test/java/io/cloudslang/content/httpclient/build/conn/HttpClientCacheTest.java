@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static junit.framework.Assert.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HttpClientCacheTest {
+
+    @Mock
+    private PoolingHttpClientConnectionManager connManagerMock;
+    @Mock
+    private PoolingHttpClientConnectionManager otherConnManagerMock;
+    @Mock
+    private CloseableHttpClient httpClientMock;
+    @Mock
+    private CloseableHttpClient otherHttpClientMock;
+    @Mock
+    private SSLConnectionSocketFactory sslConnectionSocketFactoryMock;
+
+    @Test
+    public void getCachedClient() {
+        HttpClientCache cache = new HttpClientCache();
+        assertNull(cache.get("key", connManagerMock));
+        cache.put("key", connManagerMock, httpClientMock);
+        assertEquals(httpClientMock, cache.get("key", connManagerMock));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void getClientForReplacedConnectionManager() {
+        HttpClientCache cache = new HttpClientCache();
+        cache.put("key", connManagerMock, httpClientMock);
+        assertNull(cache.get("key", otherConnManagerMock));
+    }
+
+    @Test
+    public void evictEldestClient() {
+        HttpClientCache cache = new HttpClientCache(1, HttpClientCache.DEFAULT_MAX_IDLE_MILLIS);
+        cache.put("key1", connManagerMock, httpClientMock);
+        cache.put("key2", connManagerMock, otherHttpClientMock);
+        assertEquals(1, cache.size());
+        assertNull(cache.get("key1", connManagerMock));
+        assertEquals(otherHttpClientMock, cache.get("key2", connManagerMock));
+    }
+
+    @Test
+    public void evictIdleClient() throws InterruptedException {
+        HttpClientCache cache = new HttpClientCache(10, 1);
+        cache.put("key", connManagerMock, httpClientMock);
+        Thread.sleep(10);
+        assertNull(cache.get("key", connManagerMock));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void invalidateConnectionManager() {
+        HttpClientCache cache = new HttpClientCache();
+        cache.put("key1", connManagerMock, httpClientMock);
+        cache.put("key2", otherConnManagerMock, otherHttpClientMock);
+        cache.invalidate(connManagerMock);
+        assertEquals(1, cache.size());
+        assertEquals(otherHttpClientMock, cache.get("key2", otherConnManagerMock));
+    }
+
+    @Test
+    public void getHttpClientCacheFromPoolHolder() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        assertNull(HttpClientCache.getHttpClientCache(holder));
+        new ConnectionManagerBuilder()
+                .setConnectionManagerMapKey("key1", "key2")
+                .setSslsf(sslConnectionSocketFactoryMock)
+                .setConnectionPoolHolder(holder)
+                .buildConnectionManager();
+        assertNotNull(HttpClientCache.getHttpClientCache(holder));
+    }
+}
@@ -10,6 +10,7 @@
 package io.cloudslang.content.httpclient.build.conn;
 
 import org.apache.http.conn.ssl.*;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -61,6 +62,11 @@ public class SSLConnectionSocketFactoryBuilderTest {
     @Mock
     private InputStream inputStreamMock;
 
+    @Before
+    public void setUp() {
+        SSLConnectionSocketFactoryBuilder.clearCache();
+    }
+
     @Test
     public void build() throws Exception {
         builder = new SSLConnectionSocketFactoryBuilder() {
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.build.conn;
+
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
+
+public class SSLConnectionSocketFactoryCacheTest {
+
+    @Before
+    public void setUp() {
+        SSLConnectionSocketFactoryBuilder.clearCache();
+    }
+
+    @Test
+    public void buildReusesSocketFactoryForSameTrustConfiguration() {
+        SSLConnectionSocketFactory first = new SSLConnectionSocketFactoryBuilder().build();
+        SSLConnectionSocketFactory second = new SSLConnectionSocketFactoryBuilder().build();
+        assertSame(first, second);
+    }
+
+    @Test
+    public void buildCreatesSocketFactoryForDifferentTrustConfiguration() {
+        SSLConnectionSocketFactory strict = new SSLConnectionSocketFactoryBuilder().build();
+        SSLConnectionSocketFactory allowAll = new SSLConnectionSocketFactoryBuilder()
+                .setX509HostnameVerifier("allow_all")
+                .build();
+        assertNotSame(strict, allowAll);
+    }
+}
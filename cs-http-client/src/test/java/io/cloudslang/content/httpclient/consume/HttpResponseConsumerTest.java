@@ -9,11 +9,14 @@
  *******************************************************************************/
 package io.cloudslang.content.httpclient.consume;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.Consts;
 import org.apache.http.Header;
 import org.apache.http.HttpResponse;
 import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -24,11 +27,13 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.*;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.when;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
@@ -45,6 +50,7 @@ public class HttpResponseConsumerTest {
 
     private static final String CONTENT_TYPE = "text/plain;charset=UTF-8";
     private static final String RETURN_RESULT = "returnResult";
+    private static final String RESPONSE_FILE = "responseFile";
     private HttpResponseConsumer httpResponseConsumer;
     @Mock
     private HttpResponse httpResponseMock;
@@ -115,6 +121,53 @@ public class HttpResponseConsumerTest {
         assertNull(result.get(RETURN_RESULT));
     }
 
+    @Test
+    public void consumeBinaryToDestinationFile() throws Exception {
+        byte[] content = new byte[]{0, (byte) 0xff, (byte) 0xc3, 0x28, 10};
+        when(httpResponseMock.getEntity()).thenReturn(new ByteArrayEntity(content, ContentType.create("text/plain", Consts.UTF_8)));
+        File file = File.createTempFile("binaryResponse", ".tmp");
+
+        httpResponseConsumer
+                .setHttpResponse(httpResponseMock)
+                .setDestinationFile(file.getAbsolutePath())
+                .setBinaryResponse("true")
+                .consume(result);
+
+        byte[] saved = FileUtils.readFileToByteArray(file);
+        file.delete();
+        assertTrue(Arrays.equals(content, saved));
+        assertNull(result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void consumeWithinMaxInMemorySize() throws Exception {
+        when(httpResponseMock.getEntity()).thenReturn(new ByteArrayEntity("doc".getBytes(Consts.UTF_8), ContentType.TEXT_PLAIN));
+
+        httpResponseConsumer
+                .setHttpResponse(httpResponseMock)
+                .setMaxInMemoryResponseSize("3")
+                .consume(result);
+
+        assertEquals("doc", result.get(RETURN_RESULT));
+        assertNull(result.get(RESPONSE_FILE));
+    }
+
+    @Test
+    public void consumeAboveMaxInMemorySize() throws Exception {
+        when(httpResponseMock.getEntity()).thenReturn(new ByteArrayEntity("document".getBytes(Consts.UTF_8), ContentType.TEXT_PLAIN));
+
+        httpResponseConsumer
+                .setHttpResponse(httpResponseMock)
+                .setMaxInMemoryResponseSize("3")
+                .consume(result);
+
+        File file = new File(result.get(RESPONSE_FILE));
+        String saved = FileUtils.readFileToString(file, Consts.UTF_8);
+        file.delete();
+        assertEquals("", result.get(RETURN_RESULT));
+        assertEquals("document", saved);
+    }
+
     private void setHttpResponseEntity(String contentType) {
         BasicHttpEntity entity = new BasicHttpEntity();
         entity.setContent(inputStreamMock);
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.httpclient.execute;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.FileEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class SpillingResponseConsumerTest {
+
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    @Test
+    public void keepsSmallEntityInMemory() throws Exception {
+        HttpResponse response = consume(new SpillingResponseConsumer(CONTENT.length()));
+
+        assertTrue(response.getEntity() instanceof ByteArrayEntity);
+        assertEquals("text/plain", response.getEntity().getContentType().getValue());
+        assertEquals(CONTENT, IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void spillsBigEntityToTemporaryFile() throws Exception {
+        HttpResponse response = consume(new SpillingResponseConsumer(10));
+
+        assertTrue(response.getEntity() instanceof FileEntity);
+        assertEquals(CONTENT.length(), response.getEntity().getContentLength());
+        InputStream content = response.getEntity().getContent();
+        assertEquals(CONTENT, IOUtils.toString(content, StandardCharsets.UTF_8));
+        content.close();
+    }
+
+    @Test
+    public void deletesTemporaryFileOnceContentIsRead() throws Exception {
+        SpillingResponseConsumer consumer = new SpillingResponseConsumer(10);
+        HttpResponse response = consume(consumer);
+        File spillFile = consumer.getSpillFile();
+
+        assertTrue(spillFile.exists());
+        response.getEntity().getContent().close();
+        assertFalse(spillFile.exists());
+    }
+
+    @Test
+    public void deletesTemporaryFileWhenRequestFails() throws Exception {
+        SpillingResponseConsumer consumer = new SpillingResponseConsumer(0);
+        consumer.responseReceived(buildResponse());
+        consumer.consumeContent(new ChunkedDecoder(CONTENT.getBytes(StandardCharsets.UTF_8), 5), null);
+        File spillFile = consumer.getSpillFile();
+        assertTrue(spillFile.exists());
+
+        consumer.failed(new Exception("connection reset"));
+        assertFalse(spillFile.exists());
+    }
+
+    private HttpResponse consume(SpillingResponseConsumer consumer) throws Exception {
+        consumer.responseReceived(buildResponse());
+        ChunkedDecoder decoder = new ChunkedDecoder(CONTENT.getBytes(StandardCharsets.UTF_8), 7);
+        while (!decoder.isCompleted()) {
+            consumer.consumeContent(decoder, null);
+        }
+        consumer.responseCompleted(new BasicHttpContext());
+        return consumer.getResult();
+    }
+
+    private HttpResponse buildResponse() {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContentType("text/plain");
+        response.setEntity(entity);
+        return response;
+    }
+
+    //returns one chunk of the content per consumeContent call, like a decoder reading a slow connection
+    private static class ChunkedDecoder implements ContentDecoder {
+        private final byte[] content;
+        private final int chunkSize;
+        private int position;
+        private boolean paused;
+
+        private ChunkedDecoder(byte[] content, int chunkSize) {
+            this.content = content;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (position == content.length) {
+                return -1;
+            }
+            paused = !paused;
+            if (!paused) {
+                return 0;
+            }
+            int length = Math.min(Math.min(chunkSize, dst.remaining()), content.length - position);
+            dst.put(content, position, length);
+            position += length;
+            return length;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return position == content.length;
+        }
+    }
+}
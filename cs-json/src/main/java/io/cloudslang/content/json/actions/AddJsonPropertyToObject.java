@@ -9,9 +9,7 @@
  *******************************************************************************/
 package io.cloudslang.content.json.actions;
 
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ContainerNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -82,7 +80,6 @@ public class AddJsonPropertyToObject {
             return populateResult(returnResult, new Exception("Empty jsonObject provided!"));
         }
 
-        ObjectMapper mapper = new ObjectMapper().configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
         final boolean validateValueBoolean = JsonUtils.parseBooleanWithDefault(validateValue, true);
 
         if (StringUtilities.isBlank(newPropertyValue)) {
@@ -96,7 +93,7 @@ public class AddJsonPropertyToObject {
 
         JsonNode jsonRoot;
         try {
-            jsonRoot = mapper.readTree(jsonObject);
+            jsonRoot = JsonUtils.getSingleQuotesDocumentCache().readTreeCopy(jsonObject);
         } catch (Exception exception) {
             final String exceptionValue = "Invalid jsonObject provided! " + exception.getMessage();
             return populateResult(returnResult, exceptionValue, exception);
@@ -105,10 +102,10 @@ public class AddJsonPropertyToObject {
         ContainerNode jsonNodes = null;
         JsonNode jsonNodeValueWrapper;
         try {
-            jsonNodeValueWrapper = mapper.readTree(newPropertyValue);
+            jsonNodeValueWrapper = JsonUtils.getSingleQuotesDocumentCache().readTree(newPropertyValue);
         } catch (IOException exception) {
             if (!validateValueBoolean) {
-                jsonNodeValueWrapper = mapper.valueToTree(newPropertyValue);
+                jsonNodeValueWrapper = JsonUtils.getSingleQuotesObjectMapper().valueToTree(newPropertyValue);
             } else {
                 final String exceptionValue = "The value for the property " + newPropertyName + " it is not a valid JSON object!";
                 return populateResult(returnResult, exceptionValue, exception);
@@ -10,7 +10,6 @@
 package io.cloudslang.content.json.actions;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.hp.oo.sdk.content.annotations.Action;
 import com.hp.oo.sdk.content.annotations.Output;
@@ -22,6 +21,7 @@ import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonUtils;
 import io.cloudslang.content.utils.StringUtilities;
 
 import java.io.IOException;
@@ -71,8 +71,7 @@ public class ArraySize {
         }
         JsonNode jsonNode;
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            jsonNode = mapper.readTree(array);
+            jsonNode = JsonUtils.getDocumentCache().readTree(array);
         } catch (IOException exception) {
             final String value = "Invalid jsonObject provided! " + exception.getMessage();
             return populateResult(returnResult, value, exception);
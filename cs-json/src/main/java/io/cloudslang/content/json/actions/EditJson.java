@@ -82,18 +82,7 @@ public class EditJson {
         final ActionsEnum actionEnum = ActionsEnum.valueOf(action);
         String result;
         try {
-            Object valueObject;
-            JsonContext valueJsonContext;
-            try {
-                valueJsonContext = JsonUtils.getValidJsonContext(value);
-                valueObject = valueJsonContext.json();
-            } catch (Exception e) {
-                if (!validateValueBoolean || !actionEnum.getNeedValue()) {
-                    valueObject = value;
-                } else {
-                    throw e;
-                }
-            }
+            final Object valueObject = JsonUtils.getValidEditJsonValue(value, actionEnum, validateValueBoolean);
             Object json = editJson(jsonPath, action, name, valueObject, jsonContext);
             result = json.toString();
         } catch (Exception e) {
@@ -10,7 +10,6 @@
 package io.cloudslang.content.json.actions;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.hp.oo.sdk.content.annotations.Action;
@@ -23,6 +22,7 @@ import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonUtils;
 import io.cloudslang.content.utils.StringUtilities;
 
 import java.util.HashMap;
@@ -78,9 +78,8 @@ public class GetValueFromObject {
         }
 
         final JsonNode jsonRoot;
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
-            jsonRoot = objectMapper.readTree(object);
+            jsonRoot = JsonUtils.getDocumentCache().readTree(object);
         } catch (Exception exception) {
             final String value = "Invalid object provided! " + exception.getMessage();
             return populateResult(returnResult, value, exception);
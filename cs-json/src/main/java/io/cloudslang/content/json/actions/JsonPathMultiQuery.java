@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.json.actions;
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import io.cloudslang.content.constants.OutputNames;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.json.services.JsonService;
+import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonUtils;
+import io.cloudslang.content.utils.OutputUtilities;
+
+import java.util.Map;
+
+/**
+ * Runs several JSON Path queries on the same JSON, which is parsed only once. The queries are then evaluated one
+ * after the other on the parsed JSON.
+ */
+public class JsonPathMultiQuery {
+
+    /**
+     * This operation takes a reference to JSON (in the form of a string) and runs several JSON Path queries on it.
+     * It returns the results of all the queries as a JSON Object.
+     *
+     * @param jsonObject The JSON in the form of a string.
+     * @param jsonPaths  The JSON Path queries to run, either as a JSON array of queries or as a JSON object
+     *                   with a query for every result name.
+     *                   Examples: ["$.a", "$.b[0]"] or {"first": "$.a", "second": "$.b[0]"}
+     * @return           A map which contains a JSON object with the result of every query. The results of the
+     *                   queries given as an array are named after the queries.
+     */
+    @Action(name = "JSON Path Multi Query",
+            outputs = {
+                    @Output(OutputNames.RETURN_RESULT),
+                    @Output(OutputNames.RETURN_CODE),
+                    @Output(OutputNames.EXCEPTION)
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = OutputNames.RETURN_CODE, value = ReturnCodes.SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute(
+            @Param(value = Constants.InputNames.JSON_OBJECT, required = true) String jsonObject,
+            @Param(value = Constants.InputNames.JSON_PATHS, required = true) String jsonPaths) {
+        try {
+            final Map<String, String> paths = JsonUtils.getValidJsonPaths(jsonPaths);
+            return OutputUtilities.getSuccessResultsMap(JsonService.evaluateJsonPathQueries(jsonObject, paths).toString());
+        } catch (Exception exception) {
+            return OutputUtilities.getFailureResultsMap(exception);
+        }
+    }
+}
@@ -10,7 +10,6 @@
 package io.cloudslang.content.json.actions;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.hp.oo.sdk.content.annotations.Action;
 import com.hp.oo.sdk.content.annotations.Output;
@@ -22,6 +21,7 @@ import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonUtils;
 import io.cloudslang.content.utils.StringUtilities;
 
 import java.io.IOException;
@@ -87,15 +87,14 @@ public class MergeArrays {
 
         JsonNode jsonNode1;
         JsonNode jsonNode2;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            jsonNode1 = mapper.readTree(array1);
+            jsonNode1 = JsonUtils.getDocumentCache().readTree(array1);
         } catch (IOException exception) {
             final String value = INVALID_JSON_OBJECT_PROVIDED_EXCEPTION_MESSAGE + ARRAY1_MESSAGE + array1;
             return populateResult(returnResult, value, exception);
         }
         try {
-            jsonNode2 = mapper.readTree(array2);
+            jsonNode2 = JsonUtils.getDocumentCache().readTree(array2);
         } catch (IOException exception) {
             final String value = INVALID_JSON_OBJECT_PROVIDED_EXCEPTION_MESSAGE + ARRAY2_MESSAGE + array2;
             return populateResult(returnResult, value, exception);
@@ -105,7 +104,7 @@ public class MergeArrays {
         if (jsonNode1 instanceof ArrayNode && jsonNode2 instanceof ArrayNode) {
             final ArrayNode asJsonArray1 = (ArrayNode) jsonNode1;
             final ArrayNode asJsonArray2 = (ArrayNode) jsonNode2;
-            final ArrayNode asJsonArrayResult = new ArrayNode(mapper.getNodeFactory());
+            final ArrayNode asJsonArrayResult = new ArrayNode(JsonUtils.getObjectMapper().getNodeFactory());
 
             asJsonArrayResult.addAll(asJsonArray1);
             asJsonArrayResult.addAll(asJsonArray2);
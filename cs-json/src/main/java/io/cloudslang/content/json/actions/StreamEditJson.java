@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.json.actions;
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import io.cloudslang.content.constants.OutputNames;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.json.services.JsonStreamEditor;
+import io.cloudslang.content.json.utils.ActionsEnum;
+import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonStreams;
+import io.cloudslang.content.json.utils.JsonUtils;
+import io.cloudslang.content.utils.OutputUtilities;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Streaming variant of the Edit Json action for large JSON documents.
+ */
+public class StreamEditJson {
+
+    /**
+     * This operation edits a JSON object while it reads it, without keeping the JSON in memory, and returns the
+     * edited JSON. Only JSON paths made of member names and array indexes are supported, like $.store.book[0].title.
+     *
+     * @param jsonObject    The JSON object in the form of a string. Only one of jsonObject and filePath can be given.
+     * @param filePath      The absolute path of the JSON file to read. Only one of jsonObject and filePath can be given.
+     * @param outputFile    The local file to write the resulted JSON to. If an output file is not specified
+     *                      the resulted JSON will be returned as returnResult.
+     * @param jsonPath      The JSON path of the value to edit.
+     * @param action        The action used for editing the json. Valid values are: get, insert, add, update and delete.
+     *                      The get action returns the value at jsonPath instead of the JSON.
+     * @param name          The property name used for insert operation
+     * @param value         The property value used for insert, add and update operations.
+     * @param validateValue Whether the value must be a valid JSON for insert, add and update operations.
+     *                      Default value: true
+     * @return a map containing the edited JSON, or the output file it was written to, as returnResult.
+     */
+    @Action(name = "Stream Edit Json",
+            outputs = {
+                    @Output(OutputNames.RETURN_RESULT),
+                    @Output(OutputNames.RETURN_CODE),
+                    @Output(OutputNames.EXCEPTION)
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = OutputNames.RETURN_CODE, value = ReturnCodes.SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute(@Param(value = Constants.InputNames.JSON_OBJECT) String jsonObject,
+                                       @Param(value = Constants.InputNames.FILE_PATH) String filePath,
+                                       @Param(value = Constants.InputNames.OUTPUT_FILE) String outputFile,
+                                       @Param(value = Constants.InputNames.JSON_PATH, required = true) final String jsonPath,
+                                       @Param(value = Constants.InputNames.ACTION, required = true) String action,
+                                       @Param(value = Constants.InputNames.NAME) final String name,
+                                       @Param(value = Constants.InputNames.VALUE) String value,
+                                       @Param(value = Constants.InputNames.VALIDATE_VALUE) String validateValue) {
+        try {
+            JsonUtils.validateEditJsonActionInputs(jsonPath, action, name, value);
+            final ActionsEnum actionEnum = ActionsEnum.valueOf(action.toLowerCase().trim());
+            final Object valueObject = JsonUtils.getValidEditJsonValue(value, actionEnum, JsonUtils.parseBooleanWithDefault(validateValue, true));
+            final String result = JsonStreams.execute(jsonObject, filePath, outputFile, new JsonStreams.JsonStreamOperation() {
+                @Override
+                public void execute(Reader json, Writer output) throws Exception {
+                    JsonStreamEditor.editJson(json, output, jsonPath, actionEnum, name, valueObject);
+                }
+            });
+            return OutputUtilities.getSuccessResultsMap(result);
+        } catch (Exception e) {
+            return OutputUtilities.getFailureResultsMap(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.json.actions;
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import io.cloudslang.content.constants.OutputNames;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.json.services.JsonService;
+import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonStreams;
+import io.cloudslang.content.utils.OutputUtilities;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Streaming variant of the Remove Empty Elements action for large JSON documents.
+ */
+public class StreamRemoveEmptyElements {
+
+    /**
+     * This operation removes the empty members and elements of a JSON object while it reads it, without keeping the
+     * JSON in memory. Null values, empty strings, empty objects and empty arrays are removed.
+     *
+     * @param jsonObject The JSON object in the form of a string. Only one of jsonObject and filePath can be given.
+     * @param filePath   The absolute path of the JSON file to read. Only one of jsonObject and filePath can be given.
+     * @param outputFile The local file to write the resulted JSON to. If an output file is not specified
+     *                   the resulted JSON will be returned as returnResult.
+     * @return a map containing the JSON without empty elements, or the output file it was written to, as returnResult.
+     */
+    @Action(name = "Stream Remove Empty Elements",
+            outputs = {
+                    @Output(OutputNames.RETURN_CODE),
+                    @Output(OutputNames.RETURN_RESULT),
+                    @Output(OutputNames.EXCEPTION)
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = OutputNames.RETURN_CODE, value = ReturnCodes.SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute(@Param(value = Constants.InputNames.JSON_OBJECT) String jsonObject,
+                                       @Param(value = Constants.InputNames.FILE_PATH) String filePath,
+                                       @Param(value = Constants.InputNames.OUTPUT_FILE) String outputFile) {
+        try {
+            final String result = JsonStreams.execute(jsonObject, filePath, outputFile, new JsonStreams.JsonStreamOperation() {
+                @Override
+                public void execute(Reader json, Writer output) throws Exception {
+                    new JsonService().removeEmptyElementsJson(json, output);
+                }
+            });
+            return OutputUtilities.getSuccessResultsMap(result);
+        } catch (Exception ex) {
+            return OutputUtilities.getFailureResultsMap(ex);
+        }
+    }
+}
@@ -10,21 +10,34 @@
 package io.cloudslang.content.json.services;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.internal.JsonContext;
 import com.jayway.jsonpath.spi.json.GsonJsonProvider;
-import com.jayway.jsonpath.spi.json.JsonProvider;
 import io.cloudslang.content.json.exceptions.RemoveEmptyElementException;
 import io.cloudslang.content.json.utils.JsonUtils;
 import io.cloudslang.content.json.utils.StringUtils;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.EOFException;
+import java.io.FilterReader;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -34,6 +47,8 @@ import java.util.Set;
  * Created by Folea Ilie Cristian on 2/3/2016.
  */
 public class JsonService {
+    //the provider keeps one Gson instance, it is only used to validate the json
+    private static final Configuration GSON_CONFIGURATION = Configuration.builder().jsonProvider(new GsonJsonProvider()).build();
 
     public String removeEmptyElementsJson(String json) throws RemoveEmptyElementException {
         String normalizedJson = json.trim();
@@ -45,7 +60,7 @@ public class JsonService {
         try {
             parseJsonForInconsistencies(normalizedJson);
             jsonMap = JsonPath.read(normalizedJson, "$");
-        } catch (com.jayway.jsonpath.InvalidJsonException | com.google.gson.JsonSyntaxException ije) {
+        } catch (com.jayway.jsonpath.InvalidJsonException | JsonSyntaxException ije) {
             throw new RemoveEmptyElementException(ije);
         }
 
@@ -53,6 +68,133 @@ public class JsonService {
         return generateResultingJsonString(wrappingQuote, jsonMap);
     }
 
+    /**
+     * Streaming variant of {@link #removeEmptyElementsJson(String)}. The json is read token by token and every
+     * member is written as soon as it is read, so the memory used does not depend on the size of the json.
+     * For valid json the output is the one removeEmptyElementsJson returns. Lenient values are read as Gson reads
+     * them: unquoted values that are not json numbers, such as 01 or NaN, are written as strings and the = separator
+     * is accepted. The quote of the output is the first quote the json reader has read when the first quote is
+     * written, which is the first quote of the json unless the first members have unquoted names and values.
+     *
+     * @param json   the json to remove the empty elements from, its root must be an object
+     * @param output the writer the json without empty elements is written to
+     */
+    public void removeEmptyElementsJson(Reader json, Writer output) throws RemoveEmptyElementException, IOException {
+        final QuoteRecordingReader quoteRecordingReader = new QuoteRecordingReader(json);
+        final JsonReader reader = new JsonReader(quoteRecordingReader);
+        reader.setLenient(true);
+        final Writer writer = new QuoteReplacingWriter(output, quoteRecordingReader);
+        try {
+            final JsonToken root;
+            try {
+                root = reader.peek();
+            } catch (EOFException e) {
+                throw new IllegalArgumentException("json string can not be null or empty");
+            }
+            if (root != JsonToken.BEGIN_OBJECT) {
+                throw new RemoveEmptyElementException("The root of the json must be an object");
+            }
+            final JSONParser numberParser = new JSONParser(JSONParser.MODE_PERMISSIVE);
+            reader.beginObject();
+            writer.write('{');
+            writeNonEmptyElements(reader, writer, true, numberParser);
+            writer.write('}');
+            reader.endObject();
+            //like Gson, only the value itself is read leniently
+            reader.setLenient(false);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+            writer.flush();
+        } catch (MalformedJsonException | NumberFormatException | EOFException e) {
+            throw new RemoveEmptyElementException(new JsonSyntaxException(e));
+        } catch (JsonSyntaxException jse) {
+            throw new RemoveEmptyElementException(jse);
+        }
+    }
+
+    private void writeNonEmptyElements(JsonReader reader, Writer writer, boolean objectMembers, JSONParser numberParser) throws IOException {
+        boolean first = true;
+        while (reader.hasNext()) {
+            final String name = objectMembers ? reader.nextName() : null;
+            if (writeNonEmptyValue(reader, writer, name, first, numberParser)) {
+                first = false;
+            }
+        }
+    }
+
+    /**
+     * Writes the next value if it is not empty, an object or an array is empty if it has no elements in the json.
+     *
+     * @return true if the value was written
+     */
+    private boolean writeNonEmptyValue(JsonReader reader, Writer writer, @Nullable String name, boolean first, JSONParser numberParser)
+            throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                if (!reader.hasNext()) {
+                    reader.endObject();
+                    return false;
+                }
+                writeElementStart(writer, name, first);
+                writer.write('{');
+                writeNonEmptyElements(reader, writer, true, numberParser);
+                writer.write('}');
+                reader.endObject();
+                return true;
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                if (!reader.hasNext()) {
+                    reader.endArray();
+                    return false;
+                }
+                writeElementStart(writer, name, first);
+                writer.write('[');
+                writeNonEmptyElements(reader, writer, false, numberParser);
+                writer.write(']');
+                reader.endArray();
+                return true;
+            case STRING:
+                final String value = reader.nextString();
+                if (StringUtils.isEmpty(value)) {
+                    return false;
+                }
+                writeElementStart(writer, name, first);
+                writer.write(JSONValue.toJSONString(value, JSONStyle.LT_COMPRESS));
+                return true;
+            case NUMBER:
+                final Object number;
+                try {
+                    number = numberParser.parse(reader.nextString());
+                } catch (ParseException e) {
+                    throw new NumberFormatException(e.getMessage());
+                }
+                writeElementStart(writer, name, first);
+                writer.write(JSONValue.toJSONString(number, JSONStyle.LT_COMPRESS));
+                return true;
+            case BOOLEAN:
+                writeElementStart(writer, name, first);
+                writer.write(Boolean.toString(reader.nextBoolean()));
+                return true;
+            case NULL:
+                reader.nextNull();
+                return false;
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    private void writeElementStart(Writer writer, @Nullable String name, boolean first) throws IOException {
+        if (!first) {
+            writer.write(',');
+        }
+        if (name != null) {
+            writer.write(JSONValue.toJSONString(name, JSONStyle.LT_COMPRESS));
+            writer.write(':');
+        }
+    }
+
     private String generateResultingJsonString(char wrappingQuote, Map<String, Object> jsonMap) {
         JSONObject jsonObject = new JSONObject(jsonMap);
         String newJson = jsonObject.toJSONString(JSONStyle.LT_COMPRESS);
@@ -66,9 +208,7 @@ public class JsonService {
 
 
     private void parseJsonForInconsistencies(String normalizedJson) {
-        JsonProvider provider = new GsonJsonProvider();
-        Configuration configuration = Configuration.builder().jsonProvider(provider).build();
-        JsonPath.parse(normalizedJson, configuration);       //throws an exception at runtime if the json is malformed
+        JsonPath.parse(normalizedJson, GSON_CONFIGURATION);       //throws an exception at runtime if the json is malformed
     }
 
     /**
@@ -79,7 +219,8 @@ public class JsonService {
      */
     private char retrieveWrappingQuoteTypeOfJsonMemberNames(String jsonString) {
         char quote = '\"';   //  the default quote character used to specify json member names and string value according to the json specification
-        for (char c : jsonString.toCharArray()) {
+        for (int i = 0; i < jsonString.length(); i++) {
+            final char c = jsonString.charAt(i);
             if (c == '\'' || c == '\"') {
                 quote = c;
                 break;
@@ -156,8 +297,108 @@ public class JsonService {
 
     @NotNull
     public static JsonNode evaluateJsonPathQuery(@Nullable final String jsonObject, @Nullable final String jsonPath) {
-        final JsonContext jsonContext = JsonUtils.getValidJsonContext(jsonObject);
+        final JsonContext jsonContext = JsonUtils.getValidJsonContext(jsonObject, false);
         final JsonPath path = JsonUtils.getValidJsonPath(jsonPath);
         return jsonContext.read(path);
     }
+
+    /**
+     * Evaluates several JSON Path queries on the same json, which is parsed only once. Every query is then
+     * evaluated on its own on the parsed json.
+     *
+     * @param jsonObject the json the queries run on
+     * @param jsonPaths  the queries by the name of their results
+     * @return an object with the result of every query under its name, in the order of the queries
+     */
+    @NotNull
+    public static ObjectNode evaluateJsonPathQueries(@Nullable final String jsonObject, @NotNull final Map<String, String> jsonPaths) {
+        final JsonContext jsonContext = JsonUtils.getValidJsonContext(jsonObject, false);
+        final Map<String, JsonPath> paths = new LinkedHashMap<>();
+        for (Map.Entry<String, String> jsonPath : jsonPaths.entrySet()) {
+            paths.put(jsonPath.getKey(), JsonUtils.getValidJsonPath(jsonPath.getValue()));
+        }
+        final ObjectNode results = JsonUtils.getObjectMapper().createObjectNode();
+        for (Map.Entry<String, JsonPath> path : paths.entrySet()) {
+            final JsonNode jsonNode = jsonContext.read(path.getValue());
+            results.set(path.getKey(), jsonNode);
+        }
+        return results;
+    }
+
+    /**
+     * Remembers the first quote character read from the json.
+     */
+    private static class QuoteRecordingReader extends FilterReader {
+        private char quote;
+
+        QuoteRecordingReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int c = super.read();
+            if (quote == 0 && (c == '\'' || c == '\"')) {
+                quote = (char) c;
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            final int count = super.read(buffer, offset, length);
+            for (int i = offset; quote == 0 && i < offset + count; i++) {
+                if (buffer[i] == '\'' || buffer[i] == '\"') {
+                    quote = buffer[i];
+                }
+            }
+            return count;
+        }
+
+        char getQuote() {
+            return quote == 0 ? '\"' : quote;
+        }
+    }
+
+    /**
+     * Replaces the unescaped double quotes written with the quote of the json, as
+     * {@link #replaceUnescapedOccurrencesOfCharacterInText(String, char, char)} does for the whole json.
+     */
+    private static class QuoteReplacingWriter extends FilterWriter {
+        private final QuoteRecordingReader json;
+        private char quote;
+        private int previous = -1;
+
+        QuoteReplacingWriter(Writer out, QuoteRecordingReader json) {
+            super(out);
+            this.json = json;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (c == '\"' && previous != '\\') {
+                if (quote == 0) {
+                    quote = json.getQuote();
+                }
+                super.write(quote);
+            } else {
+                super.write(c);
+            }
+            previous = c;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                write(buffer[i]);
+            }
+        }
+
+        @Override
+        public void write(String text, int offset, int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                write(text.charAt(i));
+            }
+        }
+    }
 }
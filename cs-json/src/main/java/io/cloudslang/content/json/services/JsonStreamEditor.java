@@ -0,0 +1,299 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.json.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jayway.jsonpath.InvalidModificationException;
+import com.jayway.jsonpath.PathNotFoundException;
+import io.cloudslang.content.json.utils.ActionsEnum;
+import io.cloudslang.content.json.utils.JsonUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONOBJECT;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.UNSUPPORTED_STREAM_JSONPATH;
+
+/**
+ * Edits a json the way the Edit Json action does, without reading the json into a tree. The json is copied token
+ * by token from the reader to the writer and only the value selected by the path is changed, so the memory used
+ * does not depend on the size of the json.
+ * <p/>
+ * Only definite paths made of member names and array indexes are supported, like $.store.book[0]['title'].
+ * As with JSON Path, a path whose last member or index is missing selects nothing: the get action fails and the
+ * other actions leave the json unchanged. A missing member or index before the last one is an error.
+ */
+public class JsonStreamEditor {
+    private final JsonParser parser;
+    private final JsonGenerator generator;
+    private final String jsonPath;
+    private final List<Object> steps;
+    private final ActionsEnum action;
+    private final String name;
+    private final Object value;
+    private boolean found;
+    private int reachedDepth;
+
+    private JsonStreamEditor(@NotNull final Reader json, @NotNull final Writer output, @NotNull final String jsonPath,
+                             @NotNull final ActionsEnum action, @Nullable final String name, @Nullable final Object value) throws IOException {
+        this.parser = JsonUtils.getSingleQuotesObjectMapper().getFactory().createParser(json);
+        this.generator = JsonUtils.getObjectMapper().getFactory().createGenerator(output);
+        this.jsonPath = jsonPath;
+        this.steps = parseSimplePath(jsonPath);
+        this.action = action;
+        this.name = name;
+        this.value = value;
+    }
+
+    /**
+     * @param json     the json to edit, member names and strings may be single quoted
+     * @param output   the writer the edited json, or the value selected by the get action, is written to
+     * @param jsonPath the simple path of the value to edit
+     * @param action   the edit action
+     * @param name     the name of the member added by the insert action
+     * @param value    the value used by the insert, add and update actions, a JsonNode or a string
+     */
+    public static void editJson(@NotNull final Reader json, @NotNull final Writer output, @NotNull final String jsonPath,
+                                @NotNull final ActionsEnum action, @Nullable final String name, @Nullable final Object value) throws IOException {
+        JsonUtils.getValidJsonPath(jsonPath);
+        final JsonStreamEditor editor = new JsonStreamEditor(json, output, jsonPath, action, name, value);
+        try {
+            if (editor.parser.nextToken() == null) {
+                throw new IllegalArgumentException(INVALID_JSONOBJECT);
+            }
+            if (action == ActionsEnum.get) {
+                editor.copySelectedValue(0);
+            } else {
+                editor.copyEditedValue(0, true);
+            }
+            editor.generator.flush();
+        } finally {
+            editor.parser.close();
+        }
+    }
+
+    /**
+     * @return the steps of the path: member names as strings and array indexes as integers
+     */
+    @NotNull
+    static List<Object> parseSimplePath(@NotNull final String jsonPath) {
+        final String path = jsonPath.trim();
+        if (!path.startsWith("$")) {
+            throw new IllegalArgumentException(UNSUPPORTED_STREAM_JSONPATH);
+        }
+        final List<Object> steps = new ArrayList<>();
+        int position = 1;
+        while (position < path.length()) {
+            final char c = path.charAt(position);
+            if (c == '.') {
+                int end = position + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                final String member = path.substring(position + 1, end).trim();
+                if (member.isEmpty() || member.equals("*")) {
+                    throw new IllegalArgumentException(UNSUPPORTED_STREAM_JSONPATH);
+                }
+                steps.add(member);
+                position = end;
+            } else if (c == '[') {
+                position = parseBracketStep(path, position + 1, steps);
+            } else {
+                throw new IllegalArgumentException(UNSUPPORTED_STREAM_JSONPATH);
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * @return the position after the closing bracket
+     */
+    private static int parseBracketStep(@NotNull final String path, final int start, @NotNull final List<Object> steps) {
+        int position = start;
+        while (position < path.length() && path.charAt(position) == ' ') {
+            position++;
+        }
+        final int end;
+        if (position < path.length() && (path.charAt(position) == '\'' || path.charAt(position) == '"')) {
+            final int closingQuote = path.indexOf(path.charAt(position), position + 1);
+            if (closingQuote < 0) {
+                throw new IllegalArgumentException(UNSUPPORTED_STREAM_JSONPATH);
+            }
+            steps.add(path.substring(position + 1, closingQuote));
+            end = path.indexOf(']', closingQuote);
+            if (end < 0 || !path.substring(closingQuote + 1, end).trim().isEmpty()) {
+                throw new IllegalArgumentException(UNSUPPORTED_STREAM_JSONPATH);
+            }
+        } else {
+            end = path.indexOf(']', position);
+            final String index = end < 0 ? "" : path.substring(position, end).trim();
+            if (!index.matches("\\d{1,9}")) {
+                throw new IllegalArgumentException(UNSUPPORTED_STREAM_JSONPATH);
+            }
+            steps.add(Integer.valueOf(index));
+        }
+        return end + 1;
+    }
+
+    /**
+     * Writes only the value selected by the path, the rest of the json is skipped.
+     *
+     * @param depth the number of path steps that selected the current value
+     */
+    private void copySelectedValue(final int depth) throws IOException {
+        if (depth == steps.size()) {
+            generator.copyCurrentStructure(parser);
+            return;
+        }
+        final Object step = steps.get(depth);
+        if (step instanceof String && parser.getCurrentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String memberName = parser.getCurrentName();
+                parser.nextToken();
+                if (step.equals(memberName)) {
+                    copySelectedValue(depth + 1);
+                    return;
+                }
+                parser.skipChildren();
+            }
+        } else if (step instanceof Integer && parser.getCurrentToken() == JsonToken.START_ARRAY) {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (step.equals(index++)) {
+                    copySelectedValue(depth + 1);
+                    return;
+                }
+                parser.skipChildren();
+            }
+        }
+        throw new PathNotFoundException("No results for path: " + jsonPath);
+    }
+
+    /**
+     * Copies the current value and edits the value selected by the path inside it.
+     *
+     * @param depth  the number of path steps that were matched to reach the current value
+     * @param onPath true if the path steps matched so far lead to the current value
+     */
+    private void copyEditedValue(final int depth, final boolean onPath) throws IOException {
+        if (!onPath) {
+            generator.copyCurrentStructure(parser);
+            return;
+        }
+        reachedDepth = Math.max(reachedDepth, depth);
+        if (depth == steps.size()) {
+            editSelectedValue();
+            return;
+        }
+        final Object step = steps.get(depth);
+        final boolean lastStep = depth + 1 == steps.size();
+        if (step instanceof String && parser.getCurrentToken() == JsonToken.START_OBJECT) {
+            generator.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String memberName = parser.getCurrentName();
+                parser.nextToken();
+                final boolean match = step.equals(memberName);
+                if (match && lastStep && action == ActionsEnum.delete) {
+                    reachedDepth = steps.size();
+                    found = true;
+                    parser.skipChildren();
+                    continue;
+                }
+                generator.writeFieldName(memberName);
+                copyEditedValue(depth + 1, match);
+            }
+            generator.writeEndObject();
+        } else if (step instanceof Integer && parser.getCurrentToken() == JsonToken.START_ARRAY) {
+            generator.writeStartArray();
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                final boolean match = step.equals(index++);
+                if (match && lastStep && action == ActionsEnum.delete) {
+                    reachedDepth = steps.size();
+                    found = true;
+                    parser.skipChildren();
+                    continue;
+                }
+                copyEditedValue(depth + 1, match);
+            }
+            generator.writeEndArray();
+        } else {
+            throw new PathNotFoundException("Missing property in path " + jsonPath);
+        }
+        if (depth == 0 && !found && reachedDepth < steps.size() - 1) {
+            throw new PathNotFoundException("Missing property in path " + jsonPath);
+        }
+    }
+
+    private void editSelectedValue() throws IOException {
+        found = true;
+        switch (action) {
+            case update:
+                writeValue();
+                parser.skipChildren();
+                break;
+            case insert:
+                if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+                    throw new InvalidModificationException("Can only add properties to a map");
+                }
+                boolean replaced = false;
+                generator.writeStartObject();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String memberName = parser.getCurrentName();
+                    parser.nextToken();
+                    generator.writeFieldName(memberName);
+                    if (memberName.equals(name)) {
+                        writeValue();
+                        parser.skipChildren();
+                        replaced = true;
+                    } else {
+                        generator.copyCurrentStructure(parser);
+                    }
+                }
+                if (!replaced) {
+                    generator.writeFieldName(name);
+                    writeValue();
+                }
+                generator.writeEndObject();
+                break;
+            case add:
+                if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                    throw new InvalidModificationException("Can only add to an array");
+                }
+                generator.writeStartArray();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    generator.copyCurrentStructure(parser);
+                }
+                writeValue();
+                generator.writeEndArray();
+                break;
+            default:
+                throw new InvalidModificationException("Invalid " + action.getValue() + " operation");
+        }
+    }
+
+    private void writeValue() throws IOException {
+        if (value instanceof JsonNode) {
+            JsonUtils.getObjectMapper().writeTree(generator, (JsonNode) value);
+        } else if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
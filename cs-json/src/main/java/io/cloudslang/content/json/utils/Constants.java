@@ -24,9 +24,12 @@ public final class Constants {
         public static final String ARRAY = "array";
         public static final String ACTION = "action";
         public static final String JSON_PATH = "jsonPath";
+        public static final String JSON_PATHS = "jsonPaths";
         public static final String NAME = "name";
         public static final String VALUE = "value";
         public static final String VALIDATE_VALUE = "validateValue";
+        public static final String FILE_PATH = "filePath";
+        public static final String OUTPUT_FILE = "outputFile";
     }
 
     static final class EditJsonOperations {
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.json.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the trees of the most recently parsed json documents, so the actions chained on the same document
+ * parse it only once. A document is identified by the SHA-256 hash of its content.
+ * <p/>
+ * The cached trees are shared by all the threads and must not be modified, use {@link #readTreeCopy(String)}
+ * to get a tree that can be edited. A cache with a maximum size of 0 parses every document.
+ */
+public class JsonDocumentCache {
+    private static final int HASH_BUFFER_SIZE = 8192;
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, JsonNode> documents;
+
+    public JsonDocumentCache(@NotNull final ObjectMapper objectMapper, final int maxSize) {
+        this.objectMapper = objectMapper;
+        this.documents = maxSize > 0 ? Collections.synchronizedMap(new LruCache(maxSize)) : null;
+    }
+
+    /**
+     * @param json the json document
+     * @return the tree of the document, shared with the other readers of the same document
+     * @throws IOException if the document is not valid
+     */
+    public JsonNode readTree(@NotNull final String json) throws IOException {
+        if (documents == null) {
+            return objectMapper.readTree(json);
+        }
+        final String key = contentKey(json);
+        JsonNode jsonNode = documents.get(key);
+        if (jsonNode == null) {
+            jsonNode = objectMapper.readTree(json);
+            if (jsonNode != null) {
+                documents.put(key, jsonNode);
+            }
+        }
+        return jsonNode;
+    }
+
+    /**
+     * @param json the json document
+     * @return a tree of the document that is not shared and can be modified
+     * @throws IOException if the document is not valid
+     */
+    public JsonNode readTreeCopy(@NotNull final String json) throws IOException {
+        final JsonNode jsonNode = readTree(json);
+        return documents == null || jsonNode == null ? jsonNode : jsonNode.deepCopy();
+    }
+
+    public void clear() {
+        if (documents != null) {
+            documents.clear();
+        }
+    }
+
+    @NotNull
+    static String contentKey(@NotNull final String json) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            int length = 0;
+            for (int i = 0; i < json.length(); i++) {
+                final char c = json.charAt(i);
+                buffer[length++] = (byte) (c >>> 8);
+                buffer[length++] = (byte) c;
+                if (length == buffer.length) {
+                    digest.update(buffer, 0, length);
+                    length = 0;
+                }
+            }
+            digest.update(buffer, 0, length);
+            return String.format("%064x", new BigInteger(1, digest.digest())) + ":" + json.length();
+        } catch (NoSuchAlgorithmException e) {
+            //every java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class LruCache extends LinkedHashMap<String, JsonNode> {
+        private final int maxSize;
+
+        LruCache(final int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, JsonNode> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -17,4 +17,6 @@ import io.cloudslang.content.constants.ExceptionValues;
 public final class JsonExceptionValues extends ExceptionValues {
     public static final String INVALID_JSONOBJECT = "Invalid jsonObject provided!";
     public static final String INVALID_JSONPATH = "Invalid jsonPath provided!";
+    public static final String INVALID_JSONPATHS = "Invalid jsonPaths provided! Provide a JSON array or object of JSON Path queries.";
+    public static final String UNSUPPORTED_STREAM_JSONPATH = "Unsupported jsonPath provided! Only JSON paths made of member names and array indexes can be streamed.";
 }
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.json.utils;
+
+import io.cloudslang.content.utils.StringUtilities;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Runs the streaming json operations on a json given as a string or as a file, and writes their result to a
+ * string or to a file.
+ */
+public final class JsonStreams {
+    public static final String RESULT_WRITTEN_TO_FILE = "Result was written in the output file: ";
+
+    private JsonStreams() {
+    }
+
+    /**
+     * An operation that reads the json and writes its result while it reads it.
+     */
+    public interface JsonStreamOperation {
+        void execute(@NotNull Reader json, @NotNull Writer output) throws Exception;
+    }
+
+    /**
+     * @param jsonObject the json, when it is not read from a file
+     * @param filePath   the file to read the json from, when it is not given as jsonObject
+     * @param outputFile the file to write the result to, or empty to return the result
+     * @param operation  the operation to run
+     * @return the result of the operation, or a message with the output file the result was written to
+     */
+    @NotNull
+    public static String execute(@Nullable final String jsonObject, @Nullable final String filePath, @Nullable final String outputFile,
+                                 @NotNull final JsonStreamOperation operation) throws Exception {
+        validateJsonObjectAndFilePathInputs(jsonObject, filePath);
+        try (final Reader json = openJson(jsonObject, filePath)) {
+            if (StringUtilities.isNotEmpty(outputFile)) {
+                writeToFile(json, new File(outputFile), operation);
+                return RESULT_WRITTEN_TO_FILE + outputFile;
+            }
+            final StringWriter output = new StringWriter();
+            operation.execute(json, output);
+            return output.toString();
+        }
+    }
+
+    public static void validateJsonObjectAndFilePathInputs(@Nullable final String jsonObject, @Nullable final String filePath) throws Exception {
+        if (StringUtilities.isBlank(filePath) && StringUtilities.isBlank(jsonObject)) {
+            throw new Exception("Supplied parameters: file path and jsonObject is missing when one is required");
+        }
+        if (StringUtilities.isNotEmpty(filePath) && StringUtilities.isNotEmpty(jsonObject)) {
+            throw new Exception("Supplied parameters: file path and jsonObject when only one is required");
+        }
+    }
+
+    @NotNull
+    private static Reader openJson(@Nullable final String jsonObject, @Nullable final String filePath) throws IOException {
+        if (StringUtilities.isNotEmpty(filePath)) {
+            return new BufferedReader(new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8));
+        }
+        return new StringReader(jsonObject);
+    }
+
+    /**
+     * Writes the result to a temporary file next to the output file and replaces the output file with it
+     * only when the operation succeeded.
+     */
+    private static void writeToFile(@NotNull final Reader json, @NotNull final File outputFile, @NotNull final JsonStreamOperation operation)
+            throws Exception {
+        final File directory = outputFile.getAbsoluteFile().getParentFile();
+        final File tempFile = File.createTempFile(outputFile.getName(), ".tmp", directory);
+        try {
+            try (final Writer output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8))) {
+                operation.execute(json, output);
+            }
+            Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+}
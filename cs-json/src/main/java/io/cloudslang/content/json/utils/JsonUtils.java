@@ -10,11 +10,15 @@
 package io.cloudslang.content.json.utils;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.internal.JsonContext;
-import com.jayway.jsonpath.spi.json.AbstractJsonProvider;
+import com.jayway.jsonpath.internal.Utils;
+import com.jayway.jsonpath.spi.cache.Cache;
+import com.jayway.jsonpath.spi.cache.CacheProvider;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import io.cloudslang.content.constants.OtherValues;
 import io.cloudslang.content.constants.OutputNames;
@@ -22,17 +26,65 @@ import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.utils.StringUtilities;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static io.cloudslang.content.json.utils.ActionsEnum.insert;
 import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONOBJECT;
 import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONPATH;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONPATHS;
 
 /**
  * Created by ioanvranauhp
  * Date 2/9/2015.
  */
 public class JsonUtils {
+    //the maximum number of parsed documents kept by each document cache, 0 disables the caches
+    public static final String DOCUMENT_CACHE_SIZE_PROPERTY = "json.document.cache.size";
+
+    //object mappers are thread safe once configured, so they are shared by all the actions
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectMapper SINGLE_QUOTES_OBJECT_MAPPER = new ObjectMapper().configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
+    private static final Configuration JSON_NODE_CONFIGURATION = Configuration.defaultConfiguration()
+            .jsonProvider(new JacksonJsonNodeJsonProvider(SINGLE_QUOTES_OBJECT_MAPPER));
+
+    private static final int DOCUMENT_CACHE_SIZE = Integer.getInteger(DOCUMENT_CACHE_SIZE_PROPERTY, 0);
+    private static final JsonDocumentCache DOCUMENTS = new JsonDocumentCache(OBJECT_MAPPER, DOCUMENT_CACHE_SIZE);
+    private static final JsonDocumentCache SINGLE_QUOTES_DOCUMENTS = new JsonDocumentCache(SINGLE_QUOTES_OBJECT_MAPPER, DOCUMENT_CACHE_SIZE);
+
+    /**
+     * @return the shared object mapper that reads standard json
+     */
+    @NotNull
+    public static ObjectMapper getObjectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    /**
+     * @return the shared object mapper that also reads single quoted member names and strings
+     */
+    @NotNull
+    public static ObjectMapper getSingleQuotesObjectMapper() {
+        return SINGLE_QUOTES_OBJECT_MAPPER;
+    }
+
+    /**
+     * @return the cache of the documents read with {@link #getObjectMapper()}
+     */
+    @NotNull
+    public static JsonDocumentCache getDocumentCache() {
+        return DOCUMENTS;
+    }
+
+    /**
+     * @return the cache of the documents read with {@link #getSingleQuotesObjectMapper()}
+     */
+    @NotNull
+    public static JsonDocumentCache getSingleQuotesDocumentCache() {
+        return SINGLE_QUOTES_DOCUMENTS;
+    }
 
     public static Map<String, String> populateResult(Map<String, String> returnResult, String value, Exception exception) {
         returnResult.put(OutputNames.RETURN_RESULT, value);
@@ -57,6 +109,10 @@ public class JsonUtils {
         if (StringUtilities.isBlank(jsonObject)) {
             throw new Exception("Empty jsonObject provided!");
         }
+        validateEditJsonActionInputs(jsonPath, action, name, value);
+    }
+
+    public static void validateEditJsonActionInputs(String jsonPath, String action, String name, String value) throws Exception {
         if (StringUtilities.isBlank(jsonPath)) {
             throw new Exception("Empty jsonPath provided!");
         }
@@ -97,23 +153,107 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * @param value         the value of an edit action
+     * @param action        the edit action
+     * @param validateValue true if the value must be a valid json for the actions that need a value
+     * @return the json tree of the value, or the value itself if it is not a valid json and it does not need to be
+     */
+    public static Object getValidEditJsonValue(String value, ActionsEnum action, boolean validateValue) {
+        try {
+            return getValidJsonContext(value, false).json();
+        } catch (RuntimeException e) {
+            if (!validateValue || !action.getNeedValue()) {
+                return value;
+            }
+            throw e;
+        }
+    }
+
     public static JsonPath getValidJsonPath(final String jsonPath) {
         try {
-            return JsonPath.compile(jsonPath);
+            if (jsonPath == null) {
+                return JsonPath.compile(jsonPath);
+            }
+            //compiled paths are immutable, the cache of the JsonPath library is shared with the json contexts
+            final Cache cache = CacheProvider.getCache();
+            JsonPath path = cache.get(jsonPath);
+            if (path == null) {
+                path = JsonPath.compile(jsonPath);
+                cache.put(jsonPath, path);
+            }
+            return path;
         } catch (IllegalArgumentException iae) {
             throw hammerIllegalArgumentExceptionWithMessage(INVALID_JSONPATH, iae);
         }
     }
 
+    /**
+     * @param jsonPaths a JSON array of JSON Path queries, or a JSON object with a query for every name
+     * @return the queries by the name of their results, the name of a query from an array is the query itself
+     */
+    @NotNull
+    public static Map<String, String> getValidJsonPaths(final String jsonPaths) {
+        final JsonNode jsonNode;
+        try {
+            jsonNode = StringUtilities.isBlank(jsonPaths) ? null : SINGLE_QUOTES_DOCUMENTS.readTree(jsonPaths);
+        } catch (IOException e) {
+            throw hammerIllegalArgumentExceptionWithMessage(INVALID_JSONPATHS, e);
+        }
+        if (jsonNode == null || !jsonNode.isContainerNode() || jsonNode.size() == 0) {
+            throw new IllegalArgumentException(INVALID_JSONPATHS);
+        }
+        final Map<String, String> paths = new LinkedHashMap<>();
+        if (jsonNode.isArray()) {
+            for (JsonNode element : jsonNode) {
+                final String path = getTextValue(element);
+                paths.put(path, path);
+            }
+        } else {
+            final Iterator<Map.Entry<String, JsonNode>> fields = jsonNode.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                paths.put(field.getKey(), getTextValue(field.getValue()));
+            }
+        }
+        return paths;
+    }
+
+    @NotNull
+    private static String getTextValue(final JsonNode jsonNode) {
+        if (!jsonNode.isTextual()) {
+            throw new IllegalArgumentException(INVALID_JSONPATHS);
+        }
+        return jsonNode.textValue();
+    }
+
+    /**
+     * @param jsonObject the json document, member names and strings may be single quoted
+     * @return a context over a tree of the document that can be modified
+     */
     @NotNull
     public static JsonContext getValidJsonContext(final String jsonObject) {
+        return getValidJsonContext(jsonObject, true);
+    }
+
+    /**
+     * @param jsonObject the json document, member names and strings may be single quoted
+     * @param forUpdate  true if the document will be modified through the context, otherwise the context may
+     *                   read a tree shared with the other readers of the same document
+     * @return a context over the document
+     */
+    @NotNull
+    public static JsonContext getValidJsonContext(final String jsonObject, final boolean forUpdate) {
         try {
-            final ObjectMapper objectMapper = new ObjectMapper().configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
-            final AbstractJsonProvider provider = new JacksonJsonNodeJsonProvider(objectMapper);
-            final Configuration configuration = Configuration.defaultConfiguration()
-                    .jsonProvider(provider);
-            final JsonContext jsonContext = new JsonContext(configuration);
-            jsonContext.parse(jsonObject);
+            Utils.notEmpty(jsonObject, "json string can not be null or empty");
+            final JsonNode jsonNode;
+            try {
+                jsonNode = forUpdate ? SINGLE_QUOTES_DOCUMENTS.readTreeCopy(jsonObject) : SINGLE_QUOTES_DOCUMENTS.readTree(jsonObject);
+            } catch (IOException e) {
+                throw new InvalidJsonException(e, jsonObject);
+            }
+            final JsonContext jsonContext = new JsonContext(JSON_NODE_CONFIGURATION);
+            jsonContext.parse(jsonNode);
             return jsonContext;
         } catch (IllegalArgumentException iae) {
             throw hammerIllegalArgumentExceptionWithMessage(INVALID_JSONOBJECT, iae);
@@ -286,4 +286,39 @@ public class AddJsonPropertyToObjectTest {
         assertEquals("The value for the property test it is not a valid JSON object!", result.get(EXCEPTION));
         assertEquals("-1", result.get("returnCode"));
     }
+
+    @Test
+    public void testExecuteValidatedValueWithSingleQuotes() {
+        final Map<String, String> result = addJsonPropertyToObject.execute("{'a':1}", "b", "{'c':2}", "true");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("{\"a\":1,\"b\":{\"c\":2}}", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testExecuteTextValueNotValidated() {
+        final Map<String, String> result = addJsonPropertyToObject.execute("{\"a\":1}", "b", "not json", "false");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("{\"a\":1,\"b\":\"not json\"}", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testExecuteTextValueValidated() {
+        final Map<String, String> result = addJsonPropertyToObject.execute("{\"a\":1}", "b", "not json", "true");
+        assertEquals("-1", result.get("returnCode"));
+        assertEquals("The value for the property b it is not a valid JSON object!", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testExecuteReplacesExistingProperty() {
+        final Map<String, String> result = addJsonPropertyToObject.execute("{\"a\":1}", "a", "2", "");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("{\"a\":2}", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testExecuteArrayAppendsValue() {
+        final Map<String, String> result = addJsonPropertyToObject.execute("[1]", "b", "1", "");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("[1,1]", result.get(RETURN_RESULT));
+    }
 }
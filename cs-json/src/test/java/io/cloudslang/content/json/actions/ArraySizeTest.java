@@ -99,4 +99,32 @@ public class ArraySizeTest {
         final Map<String, String> execute = arraySize.execute(array);
         assertEquals("The input value is not a valid JavaScript array!", execute.get(RETURN_RESULT));
     }
+
+    @Test
+    public void testWithNestedArray() {
+        final Map<String, String> execute = arraySize.execute("[1,2,[3]]");
+        assertEquals("0", execute.get("returnCode"));
+        assertEquals("3", execute.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testWithObject() {
+        final Map<String, String> execute = arraySize.execute("{\"a\":1}");
+        assertEquals("-1", execute.get("returnCode"));
+        assertEquals("The input value is not a valid JavaScript array!", execute.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testWithSingleQuotes() {
+        final Map<String, String> execute = arraySize.execute("['a','b']");
+        assertEquals("-1", execute.get("returnCode"));
+        assertTrue(execute.get(RETURN_RESULT).startsWith("Invalid jsonObject provided!"));
+    }
+
+    @Test
+    public void testWithTruncatedArray() {
+        final Map<String, String> execute = arraySize.execute("[1,");
+        assertEquals("-1", execute.get("returnCode"));
+        assertTrue(execute.get(RETURN_RESULT).startsWith("Invalid jsonObject provided!"));
+    }
 }
@@ -530,4 +530,53 @@ public class EditJsonTest {
                     "    },\n" +
                     "    \"arrayTest\":[1,2,3] \n" +
                     "}";
+
+    @Test
+    public void testUpdateWithSingleQuotes() {
+        final Map<String, String> result = editJson.execute("{'a':{'b':1}}", "$.a.b", "update", "", "2", "");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("{\"a\":{\"b\":2}}", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testGetWithSingleQuotes() {
+        final Map<String, String> result = editJson.execute("{'a':{'b':1}}", "$.a", "get", "", "", "");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("{\"b\":1}", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testInsertValidatedObject() {
+        final Map<String, String> result = editJson.execute("{\"a\":{\"b\":1}}", "$.a", "insert", "c", "{'d':'e'}", "true");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("{\"a\":{\"b\":1,\"c\":{\"d\":\"e\"}}}", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testAddTextToArray() {
+        final Map<String, String> result = editJson.execute("{\"a\":[1]}", "$.a", "add", "", "x y", "false");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("{\"a\":[1,\"x y\"]}", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testDeleteArrayElement() {
+        final Map<String, String> result = editJson.execute("{\"a\":[1,2]}", "$.a[0]", "delete", "", "", "");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("{\"a\":[2]}", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testGetWithDeepScan() {
+        final Map<String, String> result = editJson.execute("{\"a\":1}", "$..a", "get", "", "", "");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("[1]", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testUpdateMissingProperty() {
+        final Map<String, String> result = editJson.execute("{\"a\":1}", "$.b.c", "update", "", "2", "");
+        assertEquals("-1", result.get("returnCode"));
+        assertEquals("Missing property in path $['b']", result.get(RETURN_RESULT));
+    }
 }
@@ -233,4 +233,60 @@ public class GetValueFromObjectTest {
         assertEquals("Null key provided!", result.get(EXCEPTION));
         assertEquals("-1", result.get("returnCode"));
     }
+
+    @Test
+    public void testExecuteNestedArrayElement() {
+        final Map<String, String> result = getValueFromObject.execute("{\"a\":[1,{\"b\":2}]}", "a[1].b");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("2", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testExecuteNullValue() {
+        final Map<String, String> result = getValueFromObject.execute("{\"a\":null}", "a");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("null", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testExecuteNonAsciiValue() {
+        final Map<String, String> result = getValueFromObject.execute("{\"a\":\"\u00e9\"}", "a");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("\u00e9", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testExecuteObjectValue() {
+        final Map<String, String> result = getValueFromObject.execute("{\"a\":{\"b\":[1,2]}}", "a");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("{\"b\":[1,2]}", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testExecuteMissingKey() {
+        final Map<String, String> result = getValueFromObject.execute("{\"a\":1}", "b");
+        assertEquals("-1", result.get("returnCode"));
+        assertEquals("The b key does not exist in JavaScript object!", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testExecuteIndexOutOfRange() {
+        final Map<String, String> result = getValueFromObject.execute("{\"a\":[1,2]}", "a[5]");
+        assertEquals("-1", result.get("returnCode"));
+        assertEquals("The provided 5 index is out of range! Provide a valid index value in the provided JSON!", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testExecuteSingleQuotes() {
+        final Map<String, String> result = getValueFromObject.execute("{'a':{'b':'v'}}", "a.b");
+        assertEquals("-1", result.get("returnCode"));
+        assertTrue(result.get(RETURN_RESULT).startsWith("Invalid object provided!"));
+    }
+
+    @Test
+    public void testExecuteTruncatedObject() {
+        final Map<String, String> result = getValueFromObject.execute("{\"a\":", "a");
+        assertEquals("-1", result.get("returnCode"));
+        assertTrue(result.get(RETURN_RESULT).startsWith("Invalid object provided!"));
+    }
 }
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.json.actions;
+
+import io.cloudslang.content.constants.OutputNames;
+import io.cloudslang.content.constants.ReturnCodes;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONPATH;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONPATHS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class JsonPathMultiQueryTest {
+    private static final String JSON = "{'a':'b', 'c':[1, {'d':null}], 'e':{'f':true}}";
+
+    private final JsonPathMultiQuery jsonPathMultiQuery = new JsonPathMultiQuery();
+
+    @Test
+    public void executeWithArrayOfPaths() {
+        final Map<String, String> resultMap = jsonPathMultiQuery.execute(JSON, "['$.a', '$.c[0]', '$..d']");
+        assertEquals(ReturnCodes.SUCCESS, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals("{\"$.a\":\"b\",\"$.c[0]\":1,\"$..d\":[null]}", resultMap.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void executeWithObjectOfPaths() {
+        final Map<String, String> resultMap = jsonPathMultiQuery.execute(JSON, "{\"f\": \"$.e.f\", \"d\": \"$.c[1].d\", \"e\": \"$.e\"}");
+        assertEquals(ReturnCodes.SUCCESS, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals("{\"f\":true,\"d\":null,\"e\":{\"f\":true}}", resultMap.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void executeWithInvalidPaths() {
+        final Map<String, String> resultMap = jsonPathMultiQuery.execute(JSON, "$.a");
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(INVALID_JSONPATHS, resultMap.get(OutputNames.RETURN_RESULT));
+        assertNotNull(resultMap.get(OutputNames.EXCEPTION));
+    }
+
+    @Test
+    public void executeWithInvalidPath() {
+        final Map<String, String> resultMap = jsonPathMultiQuery.execute(JSON, "['$.a', '']");
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(INVALID_JSONPATH, resultMap.get(OutputNames.RETURN_RESULT));
+    }
+}
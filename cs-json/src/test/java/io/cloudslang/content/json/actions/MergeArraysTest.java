@@ -155,4 +155,32 @@ public class MergeArraysTest {
         assertEquals(result.toString(), returnResult.get(RETURN_RESULT));
         assertEquals("0", returnResult.get(RETURN_CODE));
     }
+
+    @Test
+    public void testEmptyArrays() {
+        final Map<String, String> returnResult = mergeArrays.execute("[]", "[]");
+        assertEquals("0", returnResult.get(RETURN_CODE));
+        assertEquals("[]", returnResult.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testArrayWithSingleQuotes() {
+        final Map<String, String> returnResult = mergeArrays.execute("[1,2]", "['a',{'b':1}]");
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+        assertTrue(returnResult.get(RETURN_RESULT).startsWith("Invalid jsonObject provided!"));
+    }
+
+    @Test
+    public void testObjectInsteadOfArray() {
+        final Map<String, String> returnResult = mergeArrays.execute("[1]", "{\"a\":1}");
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+        assertEquals("The input value is not a valid JavaScript array array1=[1] array2={\"a\":1}", returnResult.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testTruncatedArray() {
+        final Map<String, String> returnResult = mergeArrays.execute("[1", "[2]");
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+        assertTrue(returnResult.get(RETURN_RESULT).startsWith("Invalid jsonObject provided!"));
+    }
 }
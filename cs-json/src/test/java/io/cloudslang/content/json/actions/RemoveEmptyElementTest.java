@@ -62,4 +62,92 @@ public class RemoveEmptyElementTest {
         assertNotNull(returnResult.get(EXCEPTION));
     }
 
+    @Test
+    public void givenSingleQuotesThenReturnSingleQuotes() {
+        returnResult = actionUnderTest.removeEmptyElements("{'a':'','b':{'c':[]},'d':'x'}");
+
+        assertEquals("0", returnResult.get(RETURN_CODE));
+        assertEquals("{'d':'x','b':{}}", returnResult.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void givenUnquotedNamesThenReturnQuotedNames() {
+        returnResult = actionUnderTest.removeEmptyElements("{a:1,b:'x y',c:true}");
+
+        assertEquals("0", returnResult.get(RETURN_CODE));
+        assertEquals("{'a':1,'b':'x y','c':true}", returnResult.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void givenNestedEmptyElementsThenKeepTheirParents() {
+        returnResult = actionUnderTest.removeEmptyElements("{\"a\":null,\"b\":[null,\"\",{}],\"c\":{\"d\":{\"e\":\"\"}},\"f\":0,\"g\":false}");
+
+        assertEquals("0", returnResult.get(RETURN_CODE));
+        assertEquals("{\"b\":[],\"c\":{\"d\":{}},\"f\":0,\"g\":false}", returnResult.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void givenNestedArraysThenRemoveTheEmptyOnes() {
+        returnResult = actionUnderTest.removeEmptyElements("{\"a\":[1,[2,[]]]}");
+
+        assertEquals("{\"a\":[1,[2]]}", returnResult.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void givenDuplicateNamesThenTheLastValueWins() {
+        returnResult = actionUnderTest.removeEmptyElements("{\"dup\":1,\"dup\":\"\"}");
+
+        assertEquals("{}", returnResult.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void givenNumbersAndEscapedStringsThenReturnTheParsedValues() {
+        returnResult = actionUnderTest.removeEmptyElements("{\"a\":\"\u00e9\\n\\\"q\\\"\",\"b\":1.50,\"c\":1e2,\"d\":-0,\"e\":12345678901234567890}");
+
+        assertEquals("0", returnResult.get(RETURN_CODE));
+        assertEquals("{\"a\":\"\u00e9\\n\\\"q\\\"\",\"b\":1.5,\"c\":100.0,\"d\":0,\"e\":12345678901234567890}", returnResult.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void givenTrailingCommaThenReturnFailure() {
+        returnResult = actionUnderTest.removeEmptyElements("{\"a\":1,}");
+
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+        assertNotNull(returnResult.get(EXCEPTION));
+    }
+
+    @Test
+    public void givenTruncatedJsonThenReturnFailure() {
+        returnResult = actionUnderTest.removeEmptyElements("{\"a\":");
+
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+        assertNotNull(returnResult.get(EXCEPTION));
+    }
+
+    @Test
+    public void givenTwoDocumentsThenReturnFailure() {
+        returnResult = actionUnderTest.removeEmptyElements("{\"a\":1}{\"b\":2}");
+
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+        assertNotNull(returnResult.get(EXCEPTION));
+    }
+
+    @Test
+    public void givenBlankJsonThenReturnFailure() {
+        returnResult = actionUnderTest.removeEmptyElements("  ");
+
+        assertEquals("-1", returnResult.get(RETURN_CODE));
+        assertEquals("json string can not be null or empty", returnResult.get(RETURN_RESULT));
+    }
+
+    /**
+     * Gson validates the json leniently and json-smart reads the values: 01 is read as 1 and NaN is written
+     * back unquoted, the = separator that Gson accepts fails in json-smart.
+     */
+    @Test
+    public void givenLenientValuesThenReadThemAsJsonSmartDoes() {
+        assertEquals("{\"a\":1}", actionUnderTest.removeEmptyElements("{\"a\":01}").get(RETURN_RESULT));
+        assertEquals("{\"a\":NaN}", actionUnderTest.removeEmptyElements("{\"a\":NaN}").get(RETURN_RESULT));
+        assertEquals("-1", actionUnderTest.removeEmptyElements("{\"a\"=1}").get(RETURN_CODE));
+    }
 }
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.json.actions;
+
+import io.cloudslang.content.constants.OutputNames;
+import io.cloudslang.content.constants.ReturnCodes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static io.cloudslang.content.json.utils.JsonExceptionValues.UNSUPPORTED_STREAM_JSONPATH;
+import static org.junit.Assert.assertEquals;
+
+public class StreamEditJsonTest {
+    private static final String JSON = "{'store': {'book': [{'title': 'Sayings of the Century', 'price': 8.95}, " +
+            "{'title': 'Sword of Honour', 'price': 12.99}], 'bicycle': {'color': 'red', 'price': 19.95}}, 'arrayTest': [1, 2, 3]}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final StreamEditJson streamEditJson = new StreamEditJson();
+    private final EditJson editJson = new EditJson();
+
+    @Test
+    public void executeGivesTheResultOfEditJson() {
+        assertSameResult("$.store.bicycle", "get", "", "");
+        assertSameResult("$.store.book[1]['title']", "get", "", "");
+        assertSameResult("$.store.book[0].price", "update", "", "10");
+        assertSameResult("$.store.bicycle", "insert", "gears", "{'front': 2, 'rear': 9}");
+        assertSameResult("$.store.bicycle", "insert", "color", "\"blue\"");
+        assertSameResult("$.arrayTest", "add", "", "4");
+        assertSameResult("$['store']['book'][0]", "delete", "", "");
+    }
+
+    @Test
+    public void executeWithMissingPath() {
+        final Map<String, String> resultMap = streamEditJson.execute(JSON, null, null, "$.missing.price", "update", "", "1", "true");
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals("Missing property in path $.missing.price", resultMap.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void executeWithUnsupportedPath() {
+        final Map<String, String> resultMap = streamEditJson.execute(JSON, null, null, "$..price", "get", "", "", "true");
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(UNSUPPORTED_STREAM_JSONPATH, resultMap.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void executeFromFileToFile() throws Exception {
+        final File jsonFile = folder.newFile("input.json");
+        Files.write(jsonFile.toPath(), "{\"a\": {\"b\": [1, 2]}, \"c\": \"d\"}".getBytes(StandardCharsets.UTF_8));
+        final File outputFile = new File(folder.getRoot(), "output.json");
+
+        final Map<String, String> resultMap = streamEditJson.execute(null, jsonFile.getAbsolutePath(), outputFile.getAbsolutePath(),
+                "$.a.b[0]", "update", "", "\"one\"", "true");
+        assertEquals(ReturnCodes.SUCCESS, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals("{\"a\":{\"b\":[\"one\",2]},\"c\":\"d\"}", new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+    }
+
+    private void assertSameResult(final String jsonPath, final String action, final String name, final String value) {
+        final Map<String, String> resultMap = streamEditJson.execute(JSON, null, null, jsonPath, action, name, value, "true");
+        assertEquals(ReturnCodes.SUCCESS, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(editJson.execute(JSON, jsonPath, action, name, value, "true").get(OutputNames.RETURN_RESULT),
+                resultMap.get(OutputNames.RETURN_RESULT));
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.json.actions;
+
+import io.cloudslang.content.constants.OutputNames;
+import io.cloudslang.content.constants.ReturnCodes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class StreamRemoveEmptyElementsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final StreamRemoveEmptyElements streamRemoveEmptyElements = new StreamRemoveEmptyElements();
+
+    @Test
+    public void executeGivesTheResultOfRemoveEmptyElements() {
+        final String json = "{'a':{'b':''}, 'c':[null, '', [], {}, 1, [2.50]], 'd':'', 'e':true}";
+        final Map<String, String> resultMap = streamRemoveEmptyElements.execute(json, null, null);
+        assertEquals(ReturnCodes.SUCCESS, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(new RemoveEmptyElementAction().removeEmptyElements(json).get(OutputNames.RETURN_RESULT),
+                resultMap.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void executeFromFileToFile() throws Exception {
+        final File jsonFile = folder.newFile("input.json");
+        Files.write(jsonFile.toPath(), "{\"removed\":[], \"kept\":[\"value\", null]}".getBytes(StandardCharsets.UTF_8));
+        final File outputFile = new File(folder.getRoot(), "output.json");
+
+        final Map<String, String> resultMap = streamRemoveEmptyElements.execute(null, jsonFile.getAbsolutePath(), outputFile.getAbsolutePath());
+        assertEquals(ReturnCodes.SUCCESS, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals("{\"kept\":[\"value\"]}", new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+        assertEquals(2, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void executeWithInvalidJsonKeepsTheOutputFile() throws Exception {
+        final File outputFile = folder.newFile("output.json");
+        Files.write(outputFile.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+
+        final Map<String, String> resultMap = streamRemoveEmptyElements.execute("{\"a\":\"\" \"b\":1}", null, outputFile.getAbsolutePath());
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertNotNull(resultMap.get(OutputNames.EXCEPTION));
+        assertEquals("{}", new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void executeWithJsonAndFilePath() {
+        final Map<String, String> resultMap = streamRemoveEmptyElements.execute("{}", "input.json", null);
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals("Supplied parameters: file path and jsonObject when only one is required", resultMap.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void executeWithArrayRoot() {
+        final Map<String, String> resultMap = streamRemoveEmptyElements.execute("[1, '']", null, null);
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals("The root of the json must be an object", resultMap.get(OutputNames.RETURN_RESULT));
+    }
+}
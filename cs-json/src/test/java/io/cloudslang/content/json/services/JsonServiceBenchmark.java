@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.json.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading 30 fields of a document of 1000 records with 30 separate JSON Path queries and with one
+ * multi query.
+ * Run the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonServiceBenchmark {
+    private static final int RECORDS = 1000;
+    private static final int FIELDS = 30;
+
+    private String json;
+    private Map<String, String> jsonPaths;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder builder = new StringBuilder("{\"records\":[");
+        for (int i = 0; i < RECORDS; i++) {
+            builder.append(i == 0 ? "" : ",").append("{\"id\":").append(i)
+                    .append(",\"name\":\"record ").append(i).append("\",\"tags\":[\"a\",\"b\",\"c\"],\"active\":true}");
+        }
+        json = builder.append("],\"total\":").append(RECORDS).append('}').toString();
+        jsonPaths = new LinkedHashMap<>();
+        for (int i = 0; i < FIELDS; i++) {
+            jsonPaths.put("field" + i, "$.records[" + i * 31 + "].name");
+        }
+    }
+
+    @Benchmark
+    public void separateQueries(final Blackhole blackhole) {
+        for (String jsonPath : jsonPaths.values()) {
+            final JsonNode jsonNode = JsonService.evaluateJsonPathQuery(json, jsonPath);
+            blackhole.consume(jsonNode);
+        }
+    }
+
+    @Benchmark
+    public JsonNode multiQuery() {
+        return JsonService.evaluateJsonPathQueries(json, jsonPaths);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JsonServiceBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -194,6 +194,15 @@ public class JsonServiceTest {
         assertEquals(expectedJsonStringOutput, actualJsonStringOutput);
     }
 
+    @Test
+    public void givenJsonWithNumbersThenKeepTheNumbers() throws RemoveEmptyElementException {
+        jsonStringInput = "{\"removed\":[], \"decimal\":1.50, \"array\":[12345678901234567890, -2, null]}";
+        expectedJsonStringOutput = "{\"decimal\":1.5,\"array\":[12345678901234567890,-2]}";
+        actualJsonStringOutput = jsonServiceUnderTest.removeEmptyElementsJson(jsonStringInput);
+
+        assertEquals(expectedJsonStringOutput, actualJsonStringOutput);
+    }
+
     @Test
     public void evaluateSimpleJsonPathQuery() throws Exception {
         JsonNode jsonNode = JsonService.evaluateJsonPathQuery("{'key1': 'value1','key2': 'value2', 'key3': { 'key31': 'value31'}}", "$.key3.key31");
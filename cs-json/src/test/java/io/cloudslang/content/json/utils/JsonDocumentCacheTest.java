@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.json.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class JsonDocumentCacheTest {
+    private static final String JSON = "{\"a\":{\"b\":1}}";
+
+    @Test
+    public void readTreeReusesTheParsedDocument() throws Exception {
+        final JsonDocumentCache cache = new JsonDocumentCache(JsonUtils.getObjectMapper(), 2);
+        final JsonNode jsonNode = cache.readTree(JSON);
+
+        assertSame(jsonNode, cache.readTree(new String(JSON)));
+        assertNotSame(jsonNode, cache.readTree("{\"a\":{\"b\":2}}"));
+    }
+
+    @Test
+    public void readTreeCopyDoesNotChangeTheCachedDocument() throws Exception {
+        final JsonDocumentCache cache = new JsonDocumentCache(JsonUtils.getObjectMapper(), 2);
+        ((ObjectNode) cache.readTreeCopy(JSON)).put("c", 2);
+
+        assertEquals(JSON, cache.readTree(JSON).toString());
+    }
+
+    @Test
+    public void disabledCacheParsesEveryDocument() throws Exception {
+        final JsonDocumentCache cache = new JsonDocumentCache(JsonUtils.getObjectMapper(), 0);
+
+        assertNotSame(cache.readTree(JSON), cache.readTree(JSON));
+    }
+
+    @Test
+    public void contentKeyDependsOnEveryCharacter() {
+        assertEquals(JsonDocumentCache.contentKey(JSON), JsonDocumentCache.contentKey(new String(JSON)));
+        assertNotEquals(JsonDocumentCache.contentKey("{\"a\":\"\u0100\"}"), JsonDocumentCache.contentKey("{\"a\":\"\u0001\"}"));
+    }
+}
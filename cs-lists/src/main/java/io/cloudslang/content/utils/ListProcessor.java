@@ -13,8 +13,10 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class ListProcessor {
 
@@ -119,38 +121,22 @@ public class ListProcessor {
     }
 
     public static String[] sort(String[] unsorted) {
-        List<String> sorted = new ArrayList<>(unsorted.length);
-        for (int count = 0; count < unsorted.length; count++) {
-            sorted.add(unsorted[count]);
-        }
-        Collections.sort(sorted);
-        return sorted.toArray(new String[unsorted.length]);
+        String[] sorted = Arrays.copyOf(unsorted, unsorted.length);
+        Arrays.sort(sorted);
+        return sorted;
     }
 
     public static int[] sort(int[] unsorted) {
-        List<Integer> sorted = new ArrayList<>(unsorted.length);
-        for (int count = 0; count < unsorted.length; count++) {
-            sorted.add(unsorted[count]);
-        }
-        Collections.sort(sorted);
-        int[] out = new int[unsorted.length];
-        for (int count = 0; count < out.length; count++) {
-            out[count] = sorted.get(count);
-        }
-        return out;
+        int[] sorted = Arrays.copyOf(unsorted, unsorted.length);
+        Arrays.sort(sorted);
+        return sorted;
     }
 
     public static double[] sort(double[] unsorted) {
-        List<Double> sorted = new ArrayList<>(unsorted.length);
-        for (int count = 0; count < unsorted.length; count++) {
-            sorted.add(unsorted[count]);
-        }
-        Collections.sort(sorted);
-        double[] out = new double[unsorted.length];
-        for (int count = 0; count < out.length; count++) {
-            out[count] = sorted.get(count);
-        }
-        return out;
+        // Arrays.sort orders doubles like Double.compareTo: -0.0 before 0.0 and NaN last
+        double[] sorted = Arrays.copyOf(unsorted, unsorted.length);
+        Arrays.sort(sorted);
+        return sorted;
     }
 
     public static int[] trimPercent(int[] array, int percent) {
@@ -298,26 +284,109 @@ public class ListProcessor {
         return empty;
     }
 
+    /**
+     * Looks the elements up in a hash set of the container elements, so large lists are compared in linear time.
+     *
+     * @return the elements of the sub array that are not in the container array, in their order
+     */
     public static String[] getUncontainedArray(String[] subArray, String[] containerArray, boolean ignoreCase) {
-        String[] uncontainedArray = new String[subArray.length];
-        int index = 0;
-        boolean found = false;
+        Set<String> containerKeys = toKeySet(containerArray, ignoreCase);
+        List<String> uncontained = new ArrayList<>();
         for (String subStr : subArray) {
-            for (String contStr : containerArray) {
-                found = elementsAreEqual(subStr, contStr, ignoreCase);
-                if (found) {
-                    break;
-                }
+            if (!containerKeys.contains(toKey(subStr, ignoreCase))) {
+                uncontained.add(subStr);
             }
-            if (!found) {
-                uncontainedArray[index] = subStr;
-                index++;
+        }
+        return uncontained.toArray(new String[uncontained.size()]);
+    }
+
+    /**
+     * @return the distinct elements of both lists, in the order they first appear
+     */
+    public static String[] union(String[] first, String[] second, boolean ignoreCase) {
+        Set<String> keys = new HashSet<>(capacityFor(first.length + second.length));
+        List<String> union = new ArrayList<>();
+        addDistinct(first, ignoreCase, keys, union);
+        addDistinct(second, ignoreCase, keys, union);
+        return union.toArray(new String[union.size()]);
+    }
+
+    /**
+     * @return the distinct elements of the first list that are in the second list, in the order of the first list
+     */
+    public static String[] intersection(String[] first, String[] second, boolean ignoreCase) {
+        Set<String> secondKeys = toKeySet(second, ignoreCase);
+        Set<String> keys = new HashSet<>(capacityFor(first.length));
+        List<String> intersection = new ArrayList<>();
+        for (String element : first) {
+            String key = toKey(element, ignoreCase);
+            if (secondKeys.contains(key) && keys.add(key)) {
+                intersection.add(element);
+            }
+        }
+        return intersection.toArray(new String[intersection.size()]);
+    }
+
+    /**
+     * @return the distinct elements of the first list that are not in the second list, in the order of the first list
+     */
+    public static String[] difference(String[] first, String[] second, boolean ignoreCase) {
+        Set<String> keys = toKeySet(second, ignoreCase);
+        List<String> difference = new ArrayList<>();
+        addDistinct(first, ignoreCase, keys, difference);
+        return difference.toArray(new String[difference.size()]);
+    }
+
+    /**
+     * @return the distinct elements of the list, in the order they first appear
+     */
+    public static String[] dedupe(String[] list, boolean ignoreCase) {
+        return union(list, new String[0], ignoreCase);
+    }
+
+    /**
+     * Splits a list with String.split, so the delimiter is a regular expression as in every other list operation.
+     * Trailing empty elements are removed.
+     *
+     * @return the elements of the list, or no elements if the list is empty
+     */
+    public static String[] split(String list, String delimiter) {
+        return toArrayFromNormalized(list, delimiter);
+    }
+
+    private static void addDistinct(String[] list, boolean ignoreCase, Set<String> keys, List<String> distinct) {
+        for (String element : list) {
+            if (keys.add(toKey(element, ignoreCase))) {
+                distinct.add(element);
             }
         }
-        String[] newUncontainedArray = new String[index];
-         System.arraycopy(uncontainedArray, 0, newUncontainedArray, 0, index);
+    }
+
+    private static Set<String> toKeySet(String[] list, boolean ignoreCase) {
+        Set<String> keys = new HashSet<>(capacityFor(list.length));
+        for (String element : list) {
+            keys.add(toKey(element, ignoreCase));
+        }
+        return keys;
+    }
+
+    /**
+     * Two elements have the same key exactly when {@link #elementsAreEqual(String, String, boolean)} is true.
+     * Ignoring case, every character is folded the way String.equalsIgnoreCase compares it.
+     */
+    private static String toKey(String element, boolean ignoreCase) {
+        if (!ignoreCase || element == null) {
+            return element;
+        }
+        char[] folded = new char[element.length()];
+        for (int count = 0; count < folded.length; count++) {
+            folded[count] = Character.toLowerCase(Character.toUpperCase(element.charAt(count)));
+        }
+        return new String(folded);
+    }
 
-        return newUncontainedArray;
+    private static int capacityFor(int elements) {
+        return Math.max(16, (int) (elements / 0.75f) + 1);
     }
 
     public static boolean elementsAreEqual(String a, String b, boolean ignoreCase) {
@@ -41,4 +41,22 @@ public class ContainsAllActionTest {
         assertEquals(RETURN_RESULT_FAILURE, result.get(RETURN_RESULT));
         assertEquals(RETURN_CODE_FAILURE, result.get(RETURN_CODE));
     }
+
+    @Test
+    public void testContainsElementWithRegexDelimiter() {
+        Map<String, String> result = listContains.containsElement("Hulk , IronMan", "SpiderMan ,IronMan,  Hulk", "\\s*,\\s*", "false");
+        assertEquals(RESPONSE_SUCCESS, result.get(RESPONSE));
+        assertEquals(RETURN_CODE_SUCCESS, result.get(RETURN_CODE));
+    }
+
+    @Test
+    public void testEmptySublistIsAnEmptyElement() {
+        Map<String, String> result = listContains.containsElement("", CONTAINER, ",", "false");
+        assertEquals(RESPONSE_FAILURE, result.get(RESPONSE));
+        assertEquals(RETURN_CODE_FAILURE, result.get(RETURN_CODE));
+
+        result = listContains.containsElement("", "SpiderMan,,Hulk", ",", "false");
+        assertEquals(RESPONSE_SUCCESS, result.get(RESPONSE));
+        assertEquals(RETURN_CODE_SUCCESS, result.get(RETURN_CODE));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.actions;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class ListDedupeActionTest {
+    private final ListDedupeAction action = new ListDedupeAction();
+
+    @Test
+    public void testDedupe() {
+        Map<String, String> result = action.dedupe("web1,Web1,web2,web1", ",", "false");
+        assertEquals("success", result.get("response"));
+        assertEquals("web1,Web1,web2", result.get("returnResult"));
+    }
+
+    @Test
+    public void testDedupeIgnoreCase() {
+        Map<String, String> result = action.dedupe("web1;Web1;web2;WEB2", ";", "true");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("web1;web2", result.get("returnResult"));
+    }
+}
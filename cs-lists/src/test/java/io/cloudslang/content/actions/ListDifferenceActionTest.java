@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.actions;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class ListDifferenceActionTest {
+    private final ListDifferenceAction action = new ListDifferenceAction();
+
+    @Test
+    public void testDifference() {
+        Map<String, String> result = action.difference("web1,web2,db1,web1", "WEB2", ",", "true");
+        assertEquals("success", result.get("response"));
+        assertEquals("web1,db1", result.get("returnResult"));
+    }
+
+    @Test
+    public void testDifferenceWithRegexDelimiter() {
+        Map<String, String> result = action.difference("a . b.c", "b", "\\s*\\.\\s*", "false");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("a\\s*\\.\\s*c", result.get("returnResult"));
+    }
+}
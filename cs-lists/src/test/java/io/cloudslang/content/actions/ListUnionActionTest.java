@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.actions;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class ListUnionActionTest {
+    private final ListUnionAction action = new ListUnionAction();
+
+    @Test
+    public void testUnion() {
+        Map<String, String> result = action.union("web1,web2,web1", "WEB2,db1", ",", "true");
+        assertEquals("success", result.get("response"));
+        assertEquals("web1,web2,db1", result.get("returnResult"));
+    }
+
+    @Test
+    public void testUnionCaseSensitive() {
+        Map<String, String> result = action.union("web1;web2", "WEB2;web1", ";", "");
+        assertEquals("0", result.get("returnCode"));
+        assertEquals("web1;web2;WEB2", result.get("returnResult"));
+    }
+
+    @Test
+    public void testUnionInvalidIgnoreCase() {
+        Map<String, String> result = action.union("web1", "web2", ",", "yes");
+        assertEquals("-1", result.get("returnCode"));
+        assertEquals("Input ignoreCase not a boolean value!", result.get("exception"));
+    }
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the list operations on a list of 50000 host names checked against an inventory of 200000 host names,
+ * and the sorting of 200000 numbers.
+ * Run the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ListProcessorBenchmark {
+    private static final int HOSTS = 50000;
+    private static final int INVENTORY = 200000;
+
+    private String[] hosts;
+    private String[] inventory;
+    private int[] ints;
+    private double[] doubles;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        inventory = new String[INVENTORY];
+        ints = new int[INVENTORY];
+        doubles = new double[INVENTORY];
+        for (int i = 0; i < INVENTORY; i++) {
+            inventory[i] = "Host-" + i + ".example.com";
+            ints[i] = random.nextInt();
+            doubles[i] = random.nextDouble();
+        }
+        hosts = new String[HOSTS];
+        for (int i = 0; i < HOSTS; i++) {
+            //every tenth host is not in the inventory
+            hosts[i] = (i % 10 == 0 ? "missing-" : "HOST-") + random.nextInt(INVENTORY) + ".example.com";
+        }
+    }
+
+    @Benchmark
+    public String[] uncontained() {
+        return ListProcessor.getUncontainedArray(hosts, inventory, true);
+    }
+
+    @Benchmark
+    public String[] union() {
+        return ListProcessor.union(hosts, inventory, true);
+    }
+
+    @Benchmark
+    public String[] intersection() {
+        return ListProcessor.intersection(hosts, inventory, true);
+    }
+
+    @Benchmark
+    public String[] difference() {
+        return ListProcessor.difference(hosts, inventory, false);
+    }
+
+    @Benchmark
+    public String[] dedupe() {
+        return ListProcessor.dedupe(hosts, false);
+    }
+
+    @Benchmark
+    public int[] sortInts() {
+        return ListProcessor.sort(ints);
+    }
+
+    @Benchmark
+    public double[] sortDoubles() {
+        return ListProcessor.sort(doubles);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ListProcessorBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build();
+        new Runner(options).run();
+    }
+}
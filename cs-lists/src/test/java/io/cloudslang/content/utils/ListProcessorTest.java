@@ -58,4 +58,41 @@ public class ListProcessorTest {
 
     }
 
+    @Test
+    public void getUncontainedArrayKeepsOrderAndDuplicates() throws Exception {
+        String[] result = ListProcessor.getUncontainedArray(new String[]{"b", "X", "a", "b", "STRASSE"},
+                new String[]{"A", "x", "straße"}, true);
+        assertEquals(Arrays.asList("b", "b", "STRASSE"), Arrays.asList(result));
+    }
+
+    @Test
+    public void setOperations() throws Exception {
+        String[] first = {"a", "B", "c", "a", "d"};
+        String[] second = {"b", "D", "e", "e"};
+        assertEquals(Arrays.asList("a", "B", "c", "d", "b", "D", "e"), Arrays.asList(ListProcessor.union(first, second, false)));
+        assertEquals(Arrays.asList("a", "B", "c", "d", "e"), Arrays.asList(ListProcessor.union(first, second, true)));
+        assertEquals(Arrays.asList("B", "d"), Arrays.asList(ListProcessor.intersection(first, second, true)));
+        assertEquals(Collections.emptyList(), Arrays.asList(ListProcessor.intersection(first, second, false)));
+        assertEquals(Arrays.asList("a", "c"), Arrays.asList(ListProcessor.difference(first, second, true)));
+        assertEquals(Arrays.asList("a", "B", "c", "d"), Arrays.asList(ListProcessor.dedupe(first, false)));
+        assertEquals(Arrays.asList("a", "B"), Arrays.asList(ListProcessor.dedupe(new String[]{"a", "B", "A", "b"}, true)));
+    }
+
+    @Test
+    public void splitUsesTheDelimiterAsRegularExpression() throws Exception {
+        assertEquals(Arrays.asList("a", "", "b"), Arrays.asList(ListProcessor.split("a||||b", "\\|\\|")));
+        assertEquals(Arrays.asList("", "a.b"), Arrays.asList(ListProcessor.split("|a.b||", "\\|")));
+        assertEquals(Arrays.asList("a", "b"), Arrays.asList(ListProcessor.split("a , b", "\\s*,\\s*")));
+        assertEquals(Collections.emptyList(), Arrays.asList(ListProcessor.split("", ",")));
+    }
+
+    @Test
+    public void sortNumbers() throws Exception {
+        int[] ints = {3, -1, 2};
+        assertTrue(Arrays.equals(new int[]{-1, 2, 3}, ListProcessor.sort(ints)));
+        assertTrue(Arrays.equals(new int[]{3, -1, 2}, ints));
+        assertTrue(Arrays.equals(new double[]{-1.5, -0.0, 0.0, 2.0, Double.NaN},
+                ListProcessor.sort(new double[]{Double.NaN, 0.0, 2.0, -0.0, -1.5})));
+    }
+
 }
\ No newline at end of file
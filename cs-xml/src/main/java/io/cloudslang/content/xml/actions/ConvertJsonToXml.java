@@ -19,6 +19,7 @@ import io.cloudslang.content.xml.services.ConvertJsonToXmlService;
 import io.cloudslang.content.xml.utils.ValidateUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.File;
 import java.util.Map;
 
 import static io.cloudslang.content.constants.BooleanValues.TRUE;
@@ -30,11 +31,13 @@ import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
 import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.DEFAULT_JSON_ARRAY_ITEM_NAME;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.DELIMITER;
+import static io.cloudslang.content.xml.utils.Constants.Inputs.FILE_PATH;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.JSON;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.JSON_ARRAYS_ITEM_NAMES;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.JSON_ARRAYS_NAMES;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.NAMESPACES_PREFIXES;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.NAMESPACES_URIS;
+import static io.cloudslang.content.xml.utils.Constants.Inputs.OUTPUT_FILE;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.PRETTY_PRINT;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.ROOT_TAG_NAME;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.SHOW_XML_DECLARATION;
@@ -48,6 +51,7 @@ public class ConvertJsonToXml {
      * Converts a JSON array or a JSON object to a XML document.
      *
      * @param json                     - The JSON array or object (in the form of a String).
+     *                                 Optional if filePath is given.
      * @param prettyPrint              - The flag for formatting the resulted XML. If it is true the result will contain tabs and newline ('\n') chars.
      *                                 Default value: true
      *                                 Valid values: true, false
@@ -64,6 +68,9 @@ public class ConvertJsonToXml {
      * @param namespacesUris           - The coresponding list of namespaces uris separated by delimiter.
      * @param delimiter                - The list separator
      *                                 Default value: ','
+     * @param filePath                 - The absolute path of the JSON file to convert. Only one of json and filePath can be given.
+     * @param outputFile               - The local file to write the resulted XML to. If an output file is not specified
+     *                                 the resulted XML will be returned as returnResult.
      * @return The converted JSON array or object as an XML document
      */
     @Action(name = "Convert JSON to XML",
@@ -76,7 +83,7 @@ public class ConvertJsonToXml {
                     @Response(text = ResponseNames.FAILURE, field = RETURN_CODE, value = FAILURE)
             })
     public Map<String, String> execute(
-            @Param(value = JSON, required = true) String json,
+            @Param(value = JSON) String json,
             @Param(value = PRETTY_PRINT) String prettyPrint,
             @Param(value = SHOW_XML_DECLARATION) String showXmlDeclaration,
             @Param(value = ROOT_TAG_NAME) String rootTagName,
@@ -85,12 +92,17 @@ public class ConvertJsonToXml {
             @Param(value = NAMESPACES_URIS) String namespacesUris,
             @Param(value = JSON_ARRAYS_NAMES) String jsonArraysNames,
             @Param(value = JSON_ARRAYS_ITEM_NAMES) String jsonArraysItemNames,
-            @Param(value = DELIMITER) String delimiter) {
+            @Param(value = DELIMITER) String delimiter,
+            @Param(value = FILE_PATH) String filePath,
+            @Param(value = OUTPUT_FILE) String outputFile) {
 
         try {
             showXmlDeclaration = StringUtils.defaultIfEmpty(showXmlDeclaration, TRUE);
             prettyPrint = StringUtils.defaultIfEmpty(prettyPrint, TRUE);
             ValidateUtils.validateInputs(prettyPrint, showXmlDeclaration);
+            if (StringUtils.isNotEmpty(filePath)) {
+                ValidateUtils.validateXmlAndFilePathInputs(json, filePath);
+            }
 
             final ConvertJsonToXmlInputs inputs = new ConvertJsonToXmlInputs.ConvertJsonToXmlInputsBuilder()
                     .withJson(json)
@@ -100,12 +112,18 @@ public class ConvertJsonToXml {
                     .withDefaultJsonArrayItemName(defaultJsonArrayItemName)
                     .withNamespaces(namespacesUris, namespacesPrefixes, delimiter)
                     .withJsonArraysNames(jsonArraysNames, jsonArraysItemNames, delimiter)
+                    .withFilePath(filePath)
+                    .withOutputFile(outputFile)
                     .build();
 
             final ConvertJsonToXmlService converter = new ConvertJsonToXmlService();
             converter.setNamespaces(inputs.getNamespaces());
             converter.setJsonArrayItemNames(inputs.getArraysItemNames());
             converter.setJsonArrayItemName(inputs.getDefaultJsonArrayItemName());
+            if (StringUtils.isNotEmpty(inputs.getOutputFile())) {
+                converter.convertToXmlFile(inputs, new File(inputs.getOutputFile()));
+                return getSuccessResultsMap("Result was written in the output file: " + inputs.getOutputFile());
+            }
             final String xml = converter.convertToXmlString(inputs);
 
             return getSuccessResultsMap(xml);
@@ -18,6 +18,7 @@ import io.cloudslang.content.xml.entities.inputs.ConvertXmlToJsonInputs;
 import io.cloudslang.content.xml.services.ConvertXmlToJsonService;
 import io.cloudslang.content.xml.utils.ValidateUtils;
 
+import java.io.File;
 import java.util.Map;
 
 import static io.cloudslang.content.constants.BooleanValues.TRUE;
@@ -28,8 +29,10 @@ import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
 import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
+import static io.cloudslang.content.xml.utils.Constants.Inputs.FILE_PATH;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.INCLUDE_ATTRIBUTES;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.INCLUDE_ROOT;
+import static io.cloudslang.content.xml.utils.Constants.Inputs.OUTPUT_FILE;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.PARSING_FEATURES;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.PRETTY_PRINT;
 import static io.cloudslang.content.xml.utils.Constants.Inputs.TEXT_ELEMENTS_NAME;
@@ -38,6 +41,7 @@ import static io.cloudslang.content.xml.utils.Constants.Outputs.NAMESPACES_PREFI
 import static io.cloudslang.content.xml.utils.Constants.Outputs.NAMESPACES_URIS;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 /**
  * Created by ursan on 8/2/2016.
@@ -48,6 +52,7 @@ public class ConvertXmlToJson {
      * Converts a XML document to a JSON array or a JSON object.
      *
      * @param xml                - The XML document (in the form of a String)
+     *                           Optional if filePath is given.
      * @param textElementsName   - specify custom property name for text elements. This will be used for elements that have attributes and text content.
      *                           Default value: '_text'
      * @param includeRootElement - The flag for including the xml root in the resulted JSON.
@@ -71,6 +76,9 @@ public class ConvertXmlToJson {
      *                           http://apache.org/xml/features/disallow-doctype-decl true
      *                           http://xml.org/sax/features/external-general-entities false
      *                           http://xml.org/sax/features/external-parameter-entities false
+     * @param filePath           - The absolute path of the XML file to convert. Only one of xml and filePath can be given.
+     * @param outputFile         - The local file to write the resulted JSON to. If an output file is not specified
+     *                           the resulted JSON will be returned as returnResult.
      * @return The converted XML document as a JSON array or object
      */
 
@@ -87,18 +95,23 @@ public class ConvertXmlToJson {
                     @Response(text = ResponseNames.FAILURE, field = RETURN_CODE, value = FAILURE)
             })
     public Map<String, String> execute(
-            @Param(value = XML, required = true) String xml,
+            @Param(value = XML) String xml,
             @Param(value = TEXT_ELEMENTS_NAME) String textElementsName,
             @Param(value = INCLUDE_ROOT) String includeRootElement,
             @Param(value = INCLUDE_ATTRIBUTES) String includeAttributes,
             @Param(value = PRETTY_PRINT) String prettyPrint,
-            @Param(value = PARSING_FEATURES) String parsingFeatures) {
+            @Param(value = PARSING_FEATURES) String parsingFeatures,
+            @Param(value = FILE_PATH) String filePath,
+            @Param(value = OUTPUT_FILE) String outputFile) {
 
         try {
             includeRootElement = defaultIfEmpty(includeRootElement, TRUE);
             includeAttributes = defaultIfEmpty(includeAttributes, TRUE);
             prettyPrint = defaultIfEmpty(prettyPrint, TRUE);
             ValidateUtils.validateInputs(includeRootElement, includeAttributes, prettyPrint);
+            if (isNotEmpty(filePath)) {
+                ValidateUtils.validateXmlAndFilePathInputs(xml, filePath);
+            }
 
             final ConvertXmlToJsonInputs inputs = new ConvertXmlToJsonInputs.ConvertXmlToJsonInputsBuilder()
                     .withXml(xml)
@@ -107,12 +120,18 @@ public class ConvertXmlToJson {
                     .withIncludeAttributes(Boolean.parseBoolean(includeAttributes))
                     .withPrettyPrint(Boolean.parseBoolean(prettyPrint))
                     .withParsingFeatures(parsingFeatures)
+                    .withFilePath(filePath)
+                    .withOutputFile(outputFile)
                     .build();
 
             final ConvertXmlToJsonService converter = new ConvertXmlToJsonService();
-            final String json = converter.convertToJsonString(inputs);
-
-            final Map<String, String> result = getSuccessResultsMap(json);
+            final Map<String, String> result;
+            if (isNotEmpty(inputs.getOutputFile())) {
+                converter.convertToJsonFile(inputs, new File(inputs.getOutputFile()));
+                result = getSuccessResultsMap("Result was written in the output file: " + inputs.getOutputFile());
+            } else {
+                result = getSuccessResultsMap(converter.convertToJsonString(inputs));
+            }
             result.put(NAMESPACES_PREFIXES, converter.getNamespacesPrefixes());
             result.put(NAMESPACES_URIS, converter.getNamespacesUris());
             return result;
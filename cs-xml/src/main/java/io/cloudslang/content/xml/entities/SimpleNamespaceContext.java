@@ -41,4 +41,14 @@ public class SimpleNamespaceContext implements NamespaceContext {
     public Iterator getPrefixes(String namespaceURI) {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof SimpleNamespaceContext && PREF_MAP.equals(((SimpleNamespaceContext) o).PREF_MAP);
+    }
+
+    @Override
+    public int hashCode() {
+        return PREF_MAP.hashCode();
+    }
 }
@@ -30,6 +30,8 @@ public class ConvertJsonToXmlInputs {
     private final String defaultJsonArrayItemName;
     private final Map<String, String> namespaces;
     private final Map<String, String> arraysItemNames;
+    private final String filePath;
+    private final String outputFile;
 
     public ConvertJsonToXmlInputs(final ConvertJsonToXmlInputsBuilder builder) {
         this.json = builder.json;
@@ -39,6 +41,8 @@ public class ConvertJsonToXmlInputs {
         this.defaultJsonArrayItemName = builder.defaultJsonArrayItemName;
         this.namespaces = builder.namespaces;
         this.arraysItemNames = builder.arraysItemNames;
+        this.filePath = builder.filePath;
+        this.outputFile = builder.outputFile;
     }
 
     public String getJson() {
@@ -69,6 +73,14 @@ public class ConvertJsonToXmlInputs {
         return arraysItemNames;
     }
 
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getOutputFile() {
+        return outputFile;
+    }
+
     public static class ConvertJsonToXmlInputsBuilder {
         private String json;
         private boolean prettyPrint;
@@ -77,6 +89,8 @@ public class ConvertJsonToXmlInputs {
         private String defaultJsonArrayItemName;
         private Map<String, String> namespaces;
         private Map<String, String> arraysItemNames;
+        private String filePath;
+        private String outputFile;
 
         public ConvertJsonToXmlInputs build() {
             return new ConvertJsonToXmlInputs(this);
@@ -123,5 +137,15 @@ public class ConvertJsonToXmlInputs {
             return this;
         }
 
+        public ConvertJsonToXmlInputsBuilder withFilePath(final String filePath) {
+            this.filePath = defaultString(filePath, EMPTY);
+            return this;
+        }
+
+        public ConvertJsonToXmlInputsBuilder withOutputFile(final String outputFile) {
+            this.outputFile = defaultString(outputFile, EMPTY);
+            return this;
+        }
+
     }
 }
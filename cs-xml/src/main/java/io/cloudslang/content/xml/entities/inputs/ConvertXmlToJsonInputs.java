@@ -25,6 +25,8 @@ public class ConvertXmlToJsonInputs {
     private boolean includeAttributes;
     private boolean prettyPrint;
     private String parsingFeatures;
+    private String filePath;
+    private String outputFile;
 
     public ConvertXmlToJsonInputs(ConvertXmlToJsonInputsBuilder builder) {
         this.xml = builder.xml;
@@ -33,6 +35,8 @@ public class ConvertXmlToJsonInputs {
         this.includeAttributes = builder.includeAttributes;
         this.prettyPrint = builder.prettyPrint;
         this.parsingFeatures = builder.parsingFeatures;
+        this.filePath = builder.filePath;
+        this.outputFile = builder.outputFile;
     }
 
     public String getXml() {
@@ -59,6 +63,14 @@ public class ConvertXmlToJsonInputs {
         return parsingFeatures;
     }
 
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public String getOutputFile() {
+        return outputFile;
+    }
+
     public static class ConvertXmlToJsonInputsBuilder {
         private String xml;
         private String textElementsName;
@@ -66,6 +78,8 @@ public class ConvertXmlToJsonInputs {
         private boolean includeAttributes;
         private boolean prettyPrint;
         private String parsingFeatures;
+    private String filePath;
+    private String outputFile;
 
         public ConvertXmlToJsonInputs build() {
             return new ConvertXmlToJsonInputs(this);
@@ -100,5 +114,15 @@ public class ConvertXmlToJsonInputs {
             this.parsingFeatures = parsingFeatures;
             return this;
         }
+
+        public ConvertXmlToJsonInputsBuilder withFilePath(final String filePath) {
+            this.filePath = defaultIfBlank(filePath, EMPTY_STRING);
+            return this;
+        }
+
+        public ConvertXmlToJsonInputsBuilder withOutputFile(final String outputFile) {
+            this.outputFile = defaultIfBlank(outputFile, EMPTY_STRING);
+            return this;
+        }
     }
 }
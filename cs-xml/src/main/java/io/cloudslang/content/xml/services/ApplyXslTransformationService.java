@@ -13,23 +13,39 @@ import io.cloudslang.content.utils.OutputUtilities;
 import io.cloudslang.content.utils.StringUtilities;
 import io.cloudslang.content.xml.entities.inputs.ApplyXslTransformationInputs;
 import io.cloudslang.content.xml.utils.Constants;
-import io.cloudslang.content.xml.utils.XmlUtils;
+import io.cloudslang.content.xml.utils.TemplatesCache;
+import io.cloudslang.content.xml.utils.XmlFactories;
+import org.apache.commons.io.IOUtils;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.XMLFilterImpl;
 
+import javax.xml.transform.ErrorListener;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
 import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 
 
@@ -38,28 +54,45 @@ import java.util.Map;
  */
 
 public class ApplyXslTransformationService {
+    /**
+     * The xml document is parsed by the transformation itself, with the parsing features, so an invalid
+     * document fails the transformation instead of being parsed twice. The compiled stylesheets are cached.
+     */
     public final Map<String, String> execute(final ApplyXslTransformationInputs applyXslTransformationInputs)
             throws Exception {
         final Templates template = getTemplate(applyXslTransformationInputs);
         final Transformer xmlTransformer = template.newTransformer();
 
         final Source source = getSourceStream(applyXslTransformationInputs);
-        final Result result = getResultStream(applyXslTransformationInputs);
-
-        xmlTransformer.transform(source, result);
-        if (StringUtilities.isEmpty(applyXslTransformationInputs.getOutputFile())) {
-            return OutputUtilities.getSuccessResultsMap(((StreamResult) result).getWriter().toString());
+        try {
+            final String outputFile = applyXslTransformationInputs.getOutputFile();
+            if (StringUtilities.isEmpty(outputFile)) {
+                final StringWriter stringWriter = new StringWriter();
+                transform(xmlTransformer, source, new StreamResult(stringWriter));
+                return OutputUtilities.getSuccessResultsMap(stringWriter.toString());
+            }
+            transformToFile(xmlTransformer, source, new File(outputFile));
+            return OutputUtilities.getSuccessResultsMap("Result was written in the output file: " + outputFile);
+        } finally {
+            close(source);
         }
-        return OutputUtilities.getSuccessResultsMap("Result was written in the output file: " + applyXslTransformationInputs.getOutputFile());
     }
 
-    private Result getResultStream(ApplyXslTransformationInputs applyXslTransformationInputs) throws FileNotFoundException {
-        String outputFile = applyXslTransformationInputs.getOutputFile();
-        if (StringUtilities.isEmpty(outputFile)) {
-            StringWriter stringWriter = new StringWriter();
-            return new StreamResult(stringWriter);
+    /**
+     * Streams the output to a temporary file next to the output file and replaces the output file with it
+     * only when the transformation succeeded.
+     */
+    private void transformToFile(final Transformer xmlTransformer, final Source source, final File outputFile) throws Exception {
+        final File directory = outputFile.getAbsoluteFile().getParentFile();
+        final File tempFile = File.createTempFile(outputFile.getName(), ".tmp", directory);
+        try {
+            try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+                transform(xmlTransformer, source, new StreamResult(out));
+            }
+            Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
         }
-        return new StreamResult(new FileOutputStream(outputFile));
     }
 
     private Source getSourceStream(ApplyXslTransformationInputs applyXslTransformationInputs) throws Exception {
@@ -72,31 +105,154 @@ public class ApplyXslTransformationService {
     }
 
     /**
-     * Reads the xml content from a file, URL or string.
+     * Opens the xml content from a file, URL or string. It is parsed with the parsing features when it is transformed.
      *
      * @param xmlDocument xml document as String, path or URL
-     * @return the resulting xml after validation
+     * @return the source of the xml
      * @throws Exception in case something went wrong
      */
     private Source readSource(String xmlDocument, String features) throws Exception {
-        if (xmlDocument.startsWith(Constants.Inputs.HTTP_PREFIX_STRING) || xmlDocument.startsWith(Constants.Inputs.HTTPS_PREFIX_STRING)) {
-            URL xmlUrl = new URL(xmlDocument);
-            InputStream xmlStream = xmlUrl.openStream();
-            XmlUtils.parseXmlInputStream(xmlStream, features);
-            return new StreamSource(xmlStream);
+        final InputSource inputSource;
+        if (isUrl(xmlDocument)) {
+            inputSource = new InputSource(new URL(xmlDocument).openStream());
+            inputSource.setSystemId(xmlDocument);
         } else {
-            if (new File(xmlDocument).exists()) {
-                XmlUtils.parseXmlFile(xmlDocument, features);
-                return new StreamSource(new FileInputStream(xmlDocument));
+            final File file = new File(xmlDocument);
+            if (file.exists()) {
+                inputSource = new InputSource(new FileInputStream(file));
+                inputSource.setSystemId(file.toURI().toString());
+            } else {
+                inputSource = new InputSource(new StringReader(xmlDocument));
             }
-            XmlUtils.parseXmlString(xmlDocument, features);
-            return new StreamSource(new StringReader(xmlDocument));
-
         }
+        return newSource(inputSource, features);
     }
 
     private Templates getTemplate(ApplyXslTransformationInputs applyXslTransformationInputs) throws Exception {
-        final TransformerFactory factory = TransformerFactory.newInstance();
-        return factory.newTemplates(readSource(applyXslTransformationInputs.getXslTemplate(), applyXslTransformationInputs.getParsingFeatures()));
+        final String xslTemplate = applyXslTransformationInputs.getXslTemplate();
+        final String features = applyXslTransformationInputs.getParsingFeatures();
+        byte[] content = null;
+        final String key;
+        if (isUrl(xslTemplate)) {
+            //the content of a URL has to be read to know if it changed
+            try (final InputStream xslStream = new URL(xslTemplate).openStream()) {
+                content = IOUtils.toByteArray(xslStream);
+            }
+            key = TemplatesCache.contentKey(features, content);
+        } else if (new File(xslTemplate).exists()) {
+            key = TemplatesCache.fileKey(features, new File(xslTemplate));
+        } else {
+            key = TemplatesCache.contentKey(features, xslTemplate.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Templates templates = TemplatesCache.get(key);
+        if (templates == null) {
+            final Source source;
+            if (content != null) {
+                final InputSource inputSource = new InputSource(new ByteArrayInputStream(content));
+                inputSource.setSystemId(xslTemplate);
+                source = newSource(inputSource, features);
+            } else {
+                source = readSource(xslTemplate, features);
+            }
+            try {
+                templates = XmlFactories.getTransformerFactory().newTemplates(source);
+            } catch (TransformerException e) {
+                throw getParseException(source, e);
+            } finally {
+                close(source);
+            }
+            TemplatesCache.put(key, templates);
+        }
+        return templates;
+    }
+
+    private static Source newSource(final InputSource inputSource, final String features) throws Exception {
+        final XMLReader reader = XmlFactories.getSAXParserFactory(features).newSAXParser().getXMLReader();
+        return new SAXSource(new ParseErrorFilter(reader), inputSource);
+    }
+
+    private static void transform(final Transformer xmlTransformer, final Source source, final Result result) throws Exception {
+        xmlTransformer.setErrorListener(new ParseErrorListener());
+        try {
+            xmlTransformer.transform(source, result);
+        } catch (TransformerException e) {
+            throw getParseException(source, e);
+        }
+    }
+
+    /**
+     * @return the parser error when the xml could not be parsed, so it is reported as it was before the
+     * parsing moved into the transformation, otherwise the exception itself
+     */
+    private static Exception getParseException(final Source source, final TransformerException e) {
+        if (source instanceof SAXSource && ((SAXSource) source).getXMLReader() instanceof ParseErrorFilter) {
+            final SAXParseException parseError = ((ParseErrorFilter) ((SAXSource) source).getXMLReader()).parseError;
+            if (parseError != null) {
+                return parseError;
+            }
+        }
+        return e;
+    }
+
+    private static void close(final Source source) {
+        if (source instanceof SAXSource) {
+            final InputSource inputSource = ((SAXSource) source).getInputSource();
+            closeQuietly(inputSource.getByteStream());
+            closeQuietly(inputSource.getCharacterStream());
+        }
+    }
+
+    private static void closeQuietly(final Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Keeps the error that stopped the parser, the transformer reports it wrapped in its own exceptions.
+     */
+    private static class ParseErrorFilter extends XMLFilterImpl {
+        private SAXParseException parseError;
+
+        ParseErrorFilter(final XMLReader parent) {
+            super(parent);
+        }
+
+        @Override
+        public void parse(final InputSource input) throws SAXException, IOException {
+            try {
+                super.parse(input);
+            } catch (SAXParseException e) {
+                parseError = e;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Fails the transformation on errors without printing them, they are returned as the result of the operation.
+     */
+    private static class ParseErrorListener implements ErrorListener {
+        @Override
+        public void warning(final TransformerException exception) {
+        }
+
+        @Override
+        public void error(final TransformerException exception) throws TransformerException {
+            throw exception;
+        }
+
+        @Override
+        public void fatalError(final TransformerException exception) throws TransformerException {
+            throw exception;
+        }
+    }
+
+    private static boolean isUrl(final String location) {
+        return location.startsWith(Constants.Inputs.HTTP_PREFIX_STRING) || location.startsWith(Constants.Inputs.HTTPS_PREFIX_STRING);
     }
 }
@@ -9,22 +9,40 @@
  *******************************************************************************/
 package io.cloudslang.content.xml.services;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 import io.cloudslang.content.xml.entities.inputs.ConvertJsonToXmlInputs;
-import org.apache.commons.lang3.StringUtils;
 import org.jdom2.Attribute;
-import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
+import org.jdom2.output.EscapeStrategy;
 import org.jdom2.output.Format;
-import org.jdom2.output.XMLOutputter;
+import org.jdom2.util.NamespaceStack;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +60,14 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 
 /**
  * Created by ursan on 8/2/2016.
+ * <p/>
+ * The JSON is read token by token with a JsonReader and the XML is written while it is read, so neither
+ * the JSON nor the XML document is kept in memory. Every element is still created and checked as a JDOM
+ * element without content, and it is written the way XMLOutputter writes it.
+ * <p/>
+ * The attributes of an element are written in its start tag. When an object has an attribute after one of
+ * its child elements, the start tag is already written, so the JSON is read once more to collect the
+ * attributes of such objects before the conversion is started again.
  */
 public class ConvertJsonToXmlService {
     private Map<String, String> jsonArrayItemNames;
@@ -54,25 +80,57 @@ public class ConvertJsonToXmlService {
         jsonArrayItemNames = new HashMap<>();
     }
 
-    public String convertToXmlString(final ConvertJsonToXmlInputs inputs) {
-        if (isBlank(inputs.getJson())) {
+    public String convertToXmlString(final ConvertJsonToXmlInputs inputs) throws IOException {
+        if (isEmpty(inputs.getFilePath()) && isBlank(inputs.getJson())) {
             return EMPTY;
         }
-        final XMLOutputter xmlWriter = new XMLOutputter();
-        xmlWriter.setFormat(getFormat(inputs.getPrettyPrint(), inputs.getShowXmlDeclaration()));
-        if (inputs.getShowXmlDeclaration()) {
-            return xmlWriter.outputString(convertJsonStringToXmlDocument(inputs.getJson(), inputs.getRootTagName()));
+        StringWriter writer = new StringWriter();
+        try {
+            convert(inputs, writer, null);
+        } catch (LateAttributeException e) {
+            writer = new StringWriter();
+            convert(inputs, writer, collectLateAttributes(inputs));
         }
-        return getXmlFromElements(convertJsonStringToXmlElements(inputs.getJson(), inputs.getRootTagName()), xmlWriter);
+        return writer.toString();
     }
 
-    private String getXmlFromElements(final List<Element> elements, final XMLOutputter xmlWriter) {
-        final StringBuilder result = new StringBuilder();
-        for (final Element element : elements) {
-            result.append(xmlWriter.outputString(element)).append(NEW_LINE);
+    /**
+     * Writes the XML to a temporary file next to the output file and replaces the output file with it
+     * only when the conversion succeeded.
+     */
+    public void convertToXmlFile(final ConvertJsonToXmlInputs inputs, final File outputFile) throws IOException {
+        final File directory = outputFile.getAbsoluteFile().getParentFile();
+        final File tempFile = File.createTempFile(outputFile.getName(), ".tmp", directory);
+        try {
+            if (isNotEmptyInput(inputs)) {
+                try {
+                    convertToFile(inputs, tempFile, null);
+                } catch (LateAttributeException e) {
+                    convertToFile(inputs, tempFile, collectLateAttributes(inputs));
+                }
+            }
+            Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
         }
-        result.delete(result.length() - NEW_LINE.length(), result.length());
-        return result.toString();
+    }
+
+    private boolean isNotEmptyInput(final ConvertJsonToXmlInputs inputs) {
+        return !isEmpty(inputs.getFilePath()) || !isBlank(inputs.getJson());
+    }
+
+    private void convertToFile(final ConvertJsonToXmlInputs inputs, final File file, final Map<Integer, List<String[]>> lateAttributes)
+            throws IOException {
+        try (final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            convert(inputs, writer, lateAttributes);
+        }
+    }
+
+    private Reader openJson(final ConvertJsonToXmlInputs inputs) throws IOException {
+        if (!isEmpty(inputs.getFilePath())) {
+            return new BufferedReader(new InputStreamReader(new FileInputStream(inputs.getFilePath()), StandardCharsets.UTF_8));
+        }
+        return new StringReader(inputs.getJson());
     }
 
     private Format getFormat(final boolean prettyPrint, final boolean showXmlDeclaration) {
@@ -82,167 +140,454 @@ public class ConvertJsonToXmlService {
                 .setLineSeparator(NEW_LINE);
     }
 
-    private List<Element> convertJsonStringToXmlElements(final String json, final String rootTagName) {
-        final JsonElement jsonElement = new JsonParser().parse(json);
-        if (isEmpty(rootTagName)) {
-            return convertToXmlElementsJsonElement(jsonElement);
+    /**
+     * @param lateAttributes the attributes of the objects that have attributes after child elements, by the index
+     *                       of the object, or null if they are not known yet
+     */
+    private void convert(final ConvertJsonToXmlInputs inputs, final Writer writer, final Map<Integer, List<String[]>> lateAttributes)
+            throws IOException {
+        try (final JsonReader reader = new JsonReader(openJson(inputs))) {
+            reader.setLenient(true);
+            final XmlOutput output = new XmlOutput(writer, getFormat(inputs.getPrettyPrint(), inputs.getShowXmlDeclaration()));
+            new JsonToXml(reader, output, lateAttributes).convert(inputs.getRootTagName(), inputs.getShowXmlDeclaration());
+            output.flush();
+        } catch (MalformedJsonException | EOFException e) {
+            throw new JsonSyntaxException(e);
         }
-        final Element root = convertToXmlElementJsonElementWithRootTag(jsonElement, rootTagName);
-        return Collections.singletonList(root);
     }
 
-    private Document convertJsonStringToXmlDocument(final String json, final String rootTagName) {
-        final JsonElement jsonElement = new JsonParser().parse(json);
-        final Document document = new Document();
-        return document.setRootElement(addRootTagJsonElement(rootTagName, jsonElement));
-
+    private Map<Integer, List<String[]>> collectLateAttributes(final ConvertJsonToXmlInputs inputs) throws IOException {
+        try (final JsonReader reader = new JsonReader(openJson(inputs))) {
+            reader.setLenient(true);
+            return new LateAttributesScanner(reader).scan(inputs.getRootTagName());
+        }
     }
 
-    private Element addRootTagJsonElement(final String rootTagName, final JsonElement jsonElement) {
-        if (isEmpty(rootTagName)) {
-            if (jsonElement.isJsonArray()) {
-                // we don't know the root tag name
-                throw new IllegalArgumentException(ROOT_TAG_NAME_IS_MISSING);
-            } else {
-                final List<Element> elements = convertToXmlElementsJsonObject(jsonElement.getAsJsonObject());
-                if (elements.size() != 1) {
-                    // the JSON object must have only one element
-                    throw new IllegalArgumentException(ONLY_ONE_ROOT_ELEMENT);
-                }
-                return elements.get(0);
-            }
+    private Element createElement(final String tagName) {
+        final String[] tagNames = tagName.split(NAMESPACE_DELIMITER);
+        final Element result = tagNames.length == 1 ? new Element(tagName) : new Element(tagNames[1], namespaces.get(tagNames[0]));
+        for (Namespace namespace : namespaces.values()) {
+            result.addNamespaceDeclaration(namespace);
         }
-        return convertToXmlElementJsonElementWithRootTag(jsonElement, rootTagName);
+        return result;
     }
 
-    private Element convertJsonArrayToXmlElement(final JsonArray jsonArray, final String arrayName) {
-        final Element result = createElement(arrayName);
-        for (JsonElement itemJson : jsonArray) {
-            final Element elementToAdd = getXmlElementFromJsonElement(itemJson, jsonArrayItemName);
-            if (elementToAdd != null) {
-                result.addContent(elementToAdd);
-            }
+    private String getArrayItemName(final String arrayName) {
+        return jsonArrayItemNames.containsKey(arrayName) ? jsonArrayItemNames.get(arrayName) : jsonArrayItemName;
+    }
+
+    private static boolean isPrimitive(final JsonToken token) {
+        return token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN;
+    }
+
+    private static String getJsonPrimitiveValue(final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
         }
-        return result;
+        //numbers are kept as they are written in the JSON
+        return reader.nextString();
     }
 
-    private List<Element> convertToXmlElementsJsonArray(final JsonArray jsonArray) {
-        return convertToXmlElementsJsonArray(jsonArray, jsonArrayItemName);
+    /**
+     * @return the first token, or null if the JSON has no value
+     */
+    private static JsonToken peekFirst(final JsonReader reader) throws IOException {
+        try {
+            return reader.peek();
+        } catch (EOFException e) {
+            return null;
+        }
     }
 
-    private List<Element> convertToXmlElementsJsonArray(final JsonArray jsonArray, final String itemName) {
-        final List<Element> result = new ArrayList<>();
-        for (JsonElement itemJson : jsonArray) {
-            final Element xmlItem = getXmlElementFromJsonElement(itemJson, itemName);
-            if (xmlItem != null) {
-                result.add(xmlItem);
+    /**
+     * Fails the conversion the same way as a JSON tree that is not an object.
+     */
+    private static void checkIsObject(final JsonReader reader, final JsonToken token) throws IOException {
+        if (token != JsonToken.BEGIN_OBJECT) {
+            final JsonElement jsonElement = token == null ? JsonNull.INSTANCE : new JsonParser().parse(reader);
+            if (!jsonElement.isJsonNull()) {
+                checkEndOfDocument(reader);
             }
+            jsonElement.getAsJsonObject();
         }
-        return result;
     }
 
-
-    private List<Element> convertToXmlElementsJsonElement(final JsonElement jsonElement) {
-        if (jsonElement.isJsonArray()) {
-            return convertToXmlElementsJsonArray(jsonElement.getAsJsonArray());
+    private static void checkEndOfDocument(final JsonReader reader) throws IOException {
+        //only whitespace is accepted after the JSON value
+        reader.setLenient(false);
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonSyntaxException("Did not consume the entire document.");
         }
-        return convertToXmlElementsJsonObject(jsonElement.getAsJsonObject());
     }
 
-    private Element convertToXmlElementJsonElementWithRootTag(final JsonElement jsonElement, final String rootTagName) {
-        if (jsonElement.isJsonArray()) {
-            return convertJsonArrayToXmlElement(jsonElement.getAsJsonArray(), rootTagName);
+    public void setJsonArrayItemNames(final Map<String, String> jsonArrayItemNames) {
+        this.jsonArrayItemNames = jsonArrayItemNames;
+    }
+
+    public void setJsonArrayItemName(final String jsonArrayItemName) {
+        this.jsonArrayItemName = jsonArrayItemName;
+    }
+
+    public void setNamespaces(final Map<String, String> namespacesString) {
+        for (final Map.Entry<String, String> entry : namespacesString.entrySet()) {
+            namespaces.put(entry.getValue(), Namespace.getNamespace(entry.getValue(), entry.getKey()));
         }
-        return convertJsonObjectToXmlElement(jsonElement.getAsJsonObject(), rootTagName);
     }
 
-    private List<Element> convertToXmlElementsJsonObject(final JsonObject jsonObject) {
-        final List<Element> result = new ArrayList<>();
-        for (final Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
-            final String childTagName = entry.getKey();
-            final JsonElement childJson = entry.getValue();
-            //if it's null we don't care
-            final Element elementToAdd = getXmlElementFromJsonElement(childJson, childTagName);
-            if (elementToAdd != null) {
-                result.add(elementToAdd);
+    /**
+     * Converts the JSON values to elements while they are read.
+     */
+    private class JsonToXml {
+        private final JsonReader reader;
+        private final XmlOutput output;
+        private final Map<Integer, List<String[]>> lateAttributes;
+        //the number of objects converted to elements, it identifies the objects for the late attributes
+        private int objects;
+
+        JsonToXml(final JsonReader reader, final XmlOutput output, final Map<Integer, List<String[]>> lateAttributes) {
+            this.reader = reader;
+            this.output = output;
+            this.lateAttributes = lateAttributes;
+        }
+
+        void convert(final String rootTagName, final boolean showXmlDeclaration) throws IOException {
+            final JsonToken token = peekFirst(reader);
+            if (showXmlDeclaration) {
+                output.writeDeclaration();
+                if (isEmpty(rootTagName)) {
+                    if (token == JsonToken.BEGIN_ARRAY) {
+                        // we don't know the root tag name
+                        throw new IllegalArgumentException(ROOT_TAG_NAME_IS_MISSING);
+                    }
+                    checkIsObject(reader, token);
+                    if (convertMembers(true) != 1) {
+                        // the JSON object must have only one element
+                        throw new IllegalArgumentException(ONLY_ONE_ROOT_ELEMENT);
+                    }
+                } else {
+                    convertWithRootTag(token, rootTagName);
+                }
+                output.writeEndOfDocument();
+            } else if (isEmpty(rootTagName)) {
+                if (token == JsonToken.BEGIN_ARRAY) {
+                    convertItems(jsonArrayItemName);
+                } else {
+                    checkIsObject(reader, token);
+                    convertMembers(false);
+                }
+            } else {
+                convertWithRootTag(token, rootTagName);
             }
+            checkEndOfDocument(reader);
         }
-        return result;
-    }
 
-    private Element getXmlElementFromJsonElement(final JsonElement childJson, final String childTagName) {
-        if (childJson.isJsonPrimitive()) {
-            final String childValue = getJsonPrimitiveValue(childJson.getAsJsonPrimitive());
-            return createElement(childTagName).setText(childValue);
-        } else if (childJson.isJsonObject()) {
-            return convertJsonObjectToXmlElement(childJson.getAsJsonObject(), childTagName);
-        } else if (childJson.isJsonArray()) {
-            final String itemName = jsonArrayItemNames.containsKey(childTagName) ?
-                    jsonArrayItemNames.get(childTagName) : jsonArrayItemName;
-            final Element container = createElement(childTagName);
-            final List<Element> elements = convertToXmlElementsJsonArray(childJson.getAsJsonArray(), itemName);
-            for (final Element element : elements) {
-                container.addContent(element);
-            }
-            return container;
-        }
-        return null;
-    }
-
-    private Element convertJsonObjectToXmlElement(final JsonObject jsonObject, final String tagName) {
-        final Element result = createElement(tagName);
-        for (final Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
-            String childTagName = entry.getKey();
-            final JsonElement childJson = entry.getValue();
-            //this child element is an XML attribute
-            if (childTagName.startsWith(JSON_ATTRIBUTE_PREFIX)) {
-                //if attribute value is not a primitive value we don't add it to xml element
-                if (childJson.isJsonPrimitive()) {
-                    //remove @ char from the attribute name
-                    childTagName = childTagName.substring(JSON_ATTRIBUTE_PREFIX.length());
-                    final String attributeValue = getJsonPrimitiveValue(childJson.getAsJsonPrimitive());
-                    result.setAttribute(new Attribute(childTagName, attributeValue));
+        private void convertWithRootTag(final JsonToken token, final String rootTagName) throws IOException {
+            if (token == JsonToken.BEGIN_ARRAY) {
+                output.startElement(createElement(rootTagName));
+                convertItems(jsonArrayItemName);
+                output.endElement();
+            } else {
+                checkIsObject(reader, token);
+                convertObject(rootTagName);
+            }
+        }
+
+        /**
+         * Converts the members of an object to elements, the attribute prefix has no meaning here.
+         *
+         * @return the number of elements
+         */
+        private int convertMembers(final boolean singleElement) throws IOException {
+            int elements = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String tagName = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                } else {
+                    if (singleElement && elements == 1) {
+                        throw new IllegalArgumentException(ONLY_ONE_ROOT_ELEMENT);
+                    }
+                    convertValue(tagName);
+                    elements++;
                 }
+            }
+            reader.endObject();
+            return elements;
+        }
+
+        private void convertItems(final String itemName) throws IOException {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                convertValue(itemName);
+            }
+            reader.endArray();
+        }
+
+        private void convertValue(final String tagName) throws IOException {
+            final JsonToken token = reader.peek();
+            if (isPrimitive(token)) {
+                final Element element = createElement(tagName);
+                final String text = getJsonPrimitiveValue(reader);
+                element.setText(text);
+                output.writeTextElement(element, text);
+            } else if (token == JsonToken.BEGIN_OBJECT) {
+                convertObject(tagName);
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                final Element container = createElement(tagName);
+                output.startElement(container);
+                convertItems(getArrayItemName(tagName));
+                output.endElement();
             } else {
                 //if it's null we don't care
-                final Element elementToAdd = getXmlElementFromJsonElement(childJson, childTagName);
-                if (elementToAdd != null) {
-                    result.addContent(elementToAdd);
+                reader.skipValue();
+            }
+        }
+
+        private void convertObject(final String tagName) throws IOException {
+            final Element element = createElement(tagName);
+            final int index = ++objects;
+            final List<String[]> attributes = lateAttributes == null ? null : lateAttributes.get(index);
+            if (attributes != null) {
+                for (final String[] attribute : attributes) {
+                    element.setAttribute(new Attribute(attribute[0], attribute[1]));
+                }
+            }
+            output.startElement(element);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String childTagName = reader.nextName();
+                //this child element is an XML attribute
+                if (childTagName.startsWith(JSON_ATTRIBUTE_PREFIX)) {
+                    //if attribute value is not a primitive value we don't add it to xml element
+                    if (!isPrimitive(reader.peek())) {
+                        reader.skipValue();
+                    } else if (attributes != null) {
+                        reader.skipValue();
+                    } else if (output.isStartTagWritten()) {
+                        throw new LateAttributeException();
+                    } else {
+                        //remove @ char from the attribute name
+                        element.setAttribute(new Attribute(childTagName.substring(JSON_ATTRIBUTE_PREFIX.length()), getJsonPrimitiveValue(reader)));
+                    }
+                } else {
+                    convertValue(childTagName);
                 }
             }
+            reader.endObject();
+            output.endElement();
         }
-        return result;
     }
 
-    private Element createElement(final String tagName) {
-        final String[] tagNames = tagName.split(NAMESPACE_DELIMITER);
-        final Element result = tagNames.length == 1 ? new Element(tagName) : new Element(tagNames[1], namespaces.get(tagNames[0]));
-        for (Namespace namespace : namespaces.values()) {
-            result.addNamespaceDeclaration(namespace);
+    /**
+     * Reads the JSON following the same rules as JsonToXml and collects the attributes of the objects that
+     * have attributes after child elements.
+     */
+    private static class LateAttributesScanner {
+        private final JsonReader reader;
+        private final Map<Integer, List<String[]>> lateAttributes = new HashMap<>();
+        private int objects;
+
+        LateAttributesScanner(final JsonReader reader) {
+            this.reader = reader;
         }
-        return result;
-    }
 
-    private String getJsonPrimitiveValue(final JsonPrimitive jsonPrimitive) {
-        if (jsonPrimitive.isNumber()) {
-            return jsonPrimitive.getAsNumber().toString();
-        } else if (jsonPrimitive.isBoolean()) {
-            return Boolean.toString(jsonPrimitive.getAsBoolean());
+        Map<Integer, List<String[]>> scan(final String rootTagName) throws IOException {
+            final JsonToken token = peekFirst(reader);
+            if (token == JsonToken.BEGIN_OBJECT && isEmpty(rootTagName)) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    reader.nextName();
+                    scanValue();
+                }
+                reader.endObject();
+            } else if (token != null) {
+                scanValue();
+            }
+            return lateAttributes;
+        }
+
+        private void scanValue() throws IOException {
+            final JsonToken token = reader.peek();
+            if (token == JsonToken.BEGIN_OBJECT) {
+                scanObject();
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    scanValue();
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        private void scanObject() throws IOException {
+            final int index = ++objects;
+            final List<String[]> attributes = new ArrayList<>();
+            boolean hasElements = false;
+            boolean hasLateAttributes = false;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String name = reader.nextName();
+                if (name.startsWith(JSON_ATTRIBUTE_PREFIX)) {
+                    if (isPrimitive(reader.peek())) {
+                        attributes.add(new String[]{name.substring(JSON_ATTRIBUTE_PREFIX.length()), getJsonPrimitiveValue(reader)});
+                        hasLateAttributes |= hasElements;
+                    } else {
+                        reader.skipValue();
+                    }
+                } else {
+                    hasElements |= reader.peek() != JsonToken.NULL;
+                    scanValue();
+                }
+            }
+            reader.endObject();
+            if (hasLateAttributes) {
+                lateAttributes.put(index, attributes);
+            }
         }
-        return jsonPrimitive.getAsString();
     }
 
-    public void setJsonArrayItemNames(final Map<String, String> jsonArrayItemNames) {
-        this.jsonArrayItemNames = jsonArrayItemNames;
+    /**
+     * Signals an attribute found after the start tag of its element was written.
+     */
+    private static class LateAttributeException extends RuntimeException {
+        LateAttributeException() {
+            super(null, null, false, false);
+        }
     }
 
-    public void setJsonArrayItemName(final String jsonArrayItemName) {
-        this.jsonArrayItemName = jsonArrayItemName;
+    /**
+     * Writes the elements as they are started and ended, with the format, escaping and namespace declarations
+     * of XMLOutputter. Several top level elements are separated by new lines.
+     */
+    private static class XmlOutput {
+        private final Writer writer;
+        private final boolean prettyPrint;
+        private final EscapeStrategy escapeStrategy;
+        private final Deque<OpenElement> openElements = new ArrayDeque<>();
+        private NamespaceStack namespaceStack = new NamespaceStack();
+        private boolean hasTopLevelElement;
+
+        XmlOutput(final Writer writer, final Format format) {
+            this.writer = writer;
+            this.prettyPrint = format.getTextMode() == Format.TextMode.TRIM;
+            this.escapeStrategy = format.getEscapeStrategy();
+        }
+
+        void writeDeclaration() throws IOException {
+            writer.write("<?xml version=\"1.0\" encoding=\"" + UTF_8_ENCODING + "\"?>");
+            writer.write(NEW_LINE);
+        }
+
+        void writeEndOfDocument() throws IOException {
+            writer.write(NEW_LINE);
+        }
+
+        boolean isStartTagWritten() {
+            return openElements.peek().startTagWritten;
+        }
+
+        void startElement(final Element element) throws IOException {
+            beforeElement();
+            openElements.push(new OpenElement(element));
+        }
+
+        void endElement() throws IOException {
+            final OpenElement open = openElements.pop();
+            if (!open.startTagWritten) {
+                writeStartTag(open.element);
+                writer.write(" />");
+            } else {
+                writePadding(openElements.size());
+                writeEndTag(open.element);
+            }
+            namespaceStack.pop();
+        }
+
+        void writeTextElement(final Element element, final String text) throws IOException {
+            beforeElement();
+            writeStartTag(element);
+            final String formattedText = prettyPrint ? Format.trimBoth(text) : Format.compact(text);
+            if (formattedText.isEmpty()) {
+                writer.write(" />");
+            } else {
+                writer.write(">");
+                writer.write(Format.escapeText(escapeStrategy, NEW_LINE, formattedText));
+                writeEndTag(element);
+            }
+            namespaceStack.pop();
+        }
+
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void beforeElement() throws IOException {
+            final OpenElement parent = openElements.peek();
+            if (parent == null) {
+                if (hasTopLevelElement) {
+                    writer.write(NEW_LINE);
+                    //every top level element is written as a separate document
+                    namespaceStack = new NamespaceStack();
+                }
+                hasTopLevelElement = true;
+                return;
+            }
+            if (!parent.startTagWritten) {
+                writeStartTag(parent.element);
+                writer.write(">");
+                parent.startTagWritten = true;
+            }
+            writePadding(openElements.size());
+        }
+
+        private void writePadding(final int depth) throws IOException {
+            if (prettyPrint) {
+                writer.write(NEW_LINE);
+                for (int i = 0; i < depth; i++) {
+                    writer.write(INDENT);
+                }
+            }
+        }
+
+        private void writeStartTag(final Element element) throws IOException {
+            namespaceStack.push(element);
+            writer.write("<");
+            writer.write(element.getQualifiedName());
+            for (final Namespace namespace : namespaceStack.addedForward()) {
+                writer.write(" xmlns");
+                if (!namespace.getPrefix().isEmpty()) {
+                    writer.write(":");
+                    writer.write(namespace.getPrefix());
+                }
+                writer.write("=\"");
+                writer.write(Format.escapeAttribute(escapeStrategy, namespace.getURI()));
+                writer.write("\"");
+            }
+            for (final Attribute attribute : element.getAttributes()) {
+                writer.write(" ");
+                writer.write(attribute.getQualifiedName());
+                writer.write("=\"");
+                writer.write(Format.escapeAttribute(escapeStrategy, attribute.getValue()));
+                writer.write("\"");
+            }
+        }
+
+        private void writeEndTag(final Element element) throws IOException {
+            writer.write("</");
+            writer.write(element.getQualifiedName());
+            writer.write(">");
+        }
     }
 
-    public void setNamespaces(final Map<String, String> namespacesString) {
-        for (final Map.Entry<String, String> entry : namespacesString.entrySet()) {
-            namespaces.put(entry.getValue(), Namespace.getNamespace(entry.getValue(), entry.getKey()));
+    private static class OpenElement {
+        private final Element element;
+        private boolean startTagWritten;
+
+        OpenElement(final Element element) {
+            this.element = element;
         }
     }
 }
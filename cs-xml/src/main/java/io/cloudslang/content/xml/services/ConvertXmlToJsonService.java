@@ -9,40 +9,60 @@
  *******************************************************************************/
 package io.cloudslang.content.xml.services;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
 import io.cloudslang.content.xml.entities.inputs.ConvertXmlToJsonInputs;
-import io.cloudslang.content.xml.utils.XmlUtils;
+import io.cloudslang.content.xml.utils.XmlFactories;
 import org.apache.commons.lang3.StringUtils;
-import org.jdom2.Attribute;
-import org.jdom2.Element;
-import org.jdom2.JDOMException;
-import org.jdom2.Namespace;
-import org.jdom2.input.SAXBuilder;
-import org.jetbrains.annotations.NotNull;
+import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 import static io.cloudslang.content.xml.utils.Constants.Defaults;
 import static io.cloudslang.content.xml.utils.Constants.Defaults.PREFIX_DELIMITER;
+import static io.cloudslang.content.xml.utils.Constants.INDENT;
 import static io.cloudslang.content.xml.utils.Constants.JSON_ATTRIBUTE_PREFIX;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 /**
  * Created by ursan on 8/2/2016.
+ * <p/>
+ * The document is read with a SAX parser into a compact tree which keeps only the names, the attributes,
+ * the namespace declarations and the text of the elements, and the JSON is written from it with a streaming
+ * JsonWriter. The elements of an object are grouped by name in a single pass over the children.
+ * <p/>
+ * The children of an element are known only at its end, and the repeated ones are written first as arrays,
+ * so the tree of the document is kept until the end of the parsing.
  */
 public class ConvertXmlToJsonService {
+    private static final Pattern TEXT_PATTERN = Pattern.compile(".*[a-zA-Z0-9].*");
+
     private final StringBuilder namespacesPrefixes;
     private final StringBuilder namespacesUris;
 
@@ -51,183 +71,322 @@ public class ConvertXmlToJsonService {
         namespacesUris = new StringBuilder();
     }
 
-    public String convertToJsonString(final ConvertXmlToJsonInputs inputs) throws JDOMException, IOException, SAXException {
-        if (StringUtils.isBlank(inputs.getXml())) {
-            return EMPTY;
-        }
-        final InputSource inputSource = new InputSource(new StringReader(inputs.getXml()));
-        final SAXBuilder builder = new SAXBuilder();
-        XmlUtils.setFeatures(builder, inputs.getParsingFeatures());
-        final Element root = builder.build(inputSource).getRootElement();
-        final List<Element> xmlElements = Collections.singletonList(root);
-        if (root.getChildren().isEmpty() && !inputs.getIncludeAttributes()) {
-            return prettyPrint(addJsonObjectsAndPrimitives(new JsonObject(), xmlElements, inputs.getIncludeAttributes(), inputs.getTextElementsName()),
-                    inputs.getPrettyPrint());
-        }
-        final JsonObject jsonObjectValue = convertXmlElementsToJsonObject(xmlElements, inputs.getIncludeAttributes(), inputs.getTextElementsName());
-        final JsonObject jsonObject = getJsonObjectWithRootElement(root, jsonObjectValue, inputs.getIncludeRootElement());
-        return prettyPrint(jsonObject, inputs.getPrettyPrint());
+    public String convertToJsonString(final ConvertXmlToJsonInputs inputs) throws IOException, SAXException, ParserConfigurationException {
+        final StringWriter writer = new StringWriter();
+        convertToJson(inputs, writer);
+        return writer.toString();
     }
 
-
-    private JsonObject getJsonObjectWithRootElement(final Element rootElement, final JsonObject jsonObject, final boolean addRootElement) {
-        if (addRootElement) {
-            final JsonObject rootJson = new JsonObject();
-            rootJson.add(rootElement.getName(), jsonObject);
-            return rootJson;
+    /**
+     * Writes the JSON to a temporary file next to the output file and replaces the output file with it
+     * only when the conversion succeeded.
+     */
+    public void convertToJsonFile(final ConvertXmlToJsonInputs inputs, final File outputFile)
+            throws IOException, SAXException, ParserConfigurationException {
+        final File directory = outputFile.getAbsoluteFile().getParentFile();
+        final File tempFile = File.createTempFile(outputFile.getName(), ".tmp", directory);
+        try {
+            try (final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8))) {
+                convertToJson(inputs, writer);
+            }
+            Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
         }
-        return jsonObject;
     }
 
-    private String prettyPrint(final JsonObject rootJson, final boolean prettyPrint) {
-        if (prettyPrint) {
-            final Gson gson = new GsonBuilder().setPrettyPrinting()
-                    .disableHtmlEscaping()
-                    .create();
-            return gson.toJson(rootJson);
+    public void convertToJson(final ConvertXmlToJsonInputs inputs, final Writer writer) throws IOException, SAXException, ParserConfigurationException {
+        final XmlElement root;
+        if (StringUtils.isNotEmpty(inputs.getFilePath())) {
+            final File file = new File(inputs.getFilePath());
+            try (final InputStream inputStream = new FileInputStream(file)) {
+                final InputSource inputSource = new InputSource(inputStream);
+                inputSource.setSystemId(file.toURI().toString());
+                root = parse(inputSource, inputs.getParsingFeatures());
+            }
+        } else if (StringUtils.isBlank(inputs.getXml())) {
+            return;
+        } else {
+            root = parse(new InputSource(new StringReader(inputs.getXml())), inputs.getParsingFeatures());
         }
-        return rootJson.toString();
-    }
 
+        final JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setLenient(true);
+        if (inputs.getPrettyPrint()) {
+            jsonWriter.setIndent(INDENT);
+        }
+        final JsonObjectWriter objectWriter = new JsonObjectWriter(jsonWriter, inputs.getIncludeAttributes(), inputs.getTextElementsName());
+        if (root.children.isEmpty() && !inputs.getIncludeAttributes()) {
+            jsonWriter.beginObject();
+            jsonWriter.name(root.fullName);
+            if (root.isPrimitive()) {
+                jsonWriter.value(root.getText());
+            } else {
+                addNamespaces(root);
+                objectWriter.write(root);
+            }
+            jsonWriter.endObject();
+        } else {
+            addNamespaces(root);
+            if (inputs.getIncludeRootElement()) {
+                jsonWriter.beginObject();
+                jsonWriter.name(root.name);
+                objectWriter.write(root);
+                jsonWriter.endObject();
+            } else {
+                objectWriter.write(root);
+            }
+        }
+        jsonWriter.flush();
+    }
 
-    private JsonObject addJsonObjectsAndPrimitives(final JsonObject jsonObject, final List<Element> elements, final boolean includeAttributes, final String textPropName) {
-        for (final Element element : elements) {
-            final JsonElement jsonElement = isPrimitiveElement(element) ?
-                    new JsonPrimitive(element.getValue()) : convertXmlElementsToJsonObject(Collections.singletonList(element), includeAttributes, textPropName);
-            jsonObject.add(getElementFullName(element), jsonElement);
+    private XmlElement parse(final InputSource inputSource, final String features) throws IOException, SAXException, ParserConfigurationException {
+        final XMLReader reader = XmlFactories.getSAXParserFactory(features).newSAXParser().getXMLReader();
+        final TreeHandler handler = new TreeHandler();
+        reader.setContentHandler(handler);
+        reader.setErrorHandler(handler);
+        try {
+            reader.parse(inputSource);
+        } catch (SAXParseException e) {
+            final StringBuilder message = new StringBuilder("Error on line ").append(e.getLineNumber());
+            if (e.getSystemId() != null) {
+                message.append(" of document ").append(e.getSystemId());
+            }
+            throw new SAXException(message.append(": ").append(e.getMessage()).toString(), e);
         }
-        return jsonObject;
+        return handler.root;
     }
 
-    private JsonObject convertXmlElementsToJsonObject(final List<Element> xmlElements, final boolean includeAttributes, final String textPropName) {
-        JsonObject result = new JsonObject();
-        for (final Element xmlElement : xmlElements) {
-            result = addXmlElementToJsonObject(result, xmlElement, includeAttributes, textPropName);
+    /**
+     * Collects the namespaces declared by the elements written as objects, in the order they are written.
+     */
+    private void addNamespaces(final XmlElement element) {
+        for (final String[] namespace : element.namespaces) {
+            if (namespacesUris.length() > 0) {
+                namespacesPrefixes.append(Defaults.DELIMITER);
+                namespacesUris.append(Defaults.DELIMITER);
+            }
+            namespacesPrefixes.append(namespace[0]);
+            namespacesUris.append(namespace[1]);
+        }
+        final Map<String, List<XmlElement>> childrenByName = groupByName(element.children);
+        for (final List<XmlElement> group : childrenByName.values()) {
+            if (group.size() > 1) {
+                for (final XmlElement child : group) {
+                    addNamespaces(child);
+                }
+            }
+        }
+        for (final XmlElement child : element.children) {
+            if (childrenByName.get(child.fullName).size() == 1 && !child.isPrimitive()) {
+                addNamespaces(child);
+            }
         }
-        return result;
     }
 
-    private JsonArray convertXmlElementsToJsonArray(final List<Element> xmlElements, final boolean includeAttributes, final String textPropName) {
-        final JsonArray result = new JsonArray();
-        for (final Element xmlElement : xmlElements) {
-            result.add(addXmlElementToJsonObject(new JsonObject(), xmlElement, includeAttributes, textPropName));
+    private static Map<String, List<XmlElement>> groupByName(final List<XmlElement> elements) {
+        final Map<String, List<XmlElement>> groups = new LinkedHashMap<>();
+        for (final XmlElement element : elements) {
+            List<XmlElement> group = groups.get(element.fullName);
+            if (group == null) {
+                group = new ArrayList<>(1);
+                groups.put(element.fullName, group);
+            }
+            group.add(element);
         }
-        return result;
+        return groups;
     }
 
-    private JsonObject addXmlElementToJsonObject(JsonObject jsonObject, final Element xmlElement, final boolean includeAttributes, final String textPropName) {
-        addNamespaces(xmlElement.getAdditionalNamespaces());
-        if (includeAttributes) {
-            jsonObject = addAttributesToJsonObject(jsonObject, xmlElement.getAttributes());
-        }
-        List<Element> children = xmlElement.getChildren();
-        jsonObject = searchAndAddArrayElementsToJsonObject(jsonObject, children, includeAttributes, textPropName);
-        children = eliminateArrayElements(children);
-        jsonObject = addJsonObjectsAndPrimitives(jsonObject, children, includeAttributes, textPropName);
-        jsonObject = addTextProp(jsonObject, xmlElement.getText(), textPropName);
-        return jsonObject;
+    public String getNamespacesUris() {
+        return namespacesUris.toString();
     }
 
-    private JsonObject searchAndAddArrayElementsToJsonObject(final JsonObject jsonObject, final List<Element> elements, final boolean includeAttributes, final String textPropName) {
-        final List<String> arrayElementsNames = getListOfArrayElementNames(elements);
-        for (final String arrayName : arrayElementsNames) {
-            final List<Element> arrayElements = getElementsByName(arrayName, elements);
-            jsonObject.add(arrayName, convertXmlElementsToJsonArray(arrayElements, includeAttributes, textPropName));
-        }
-        return jsonObject;
+    public String getNamespacesPrefixes() {
+        return namespacesPrefixes.toString();
     }
 
-    private List<Element> eliminateArrayElements(List<Element> elements) {
-        final List<String> arrayElementsNames = getListOfArrayElementNames(elements);
-        for (final String arrayName : arrayElementsNames) {
-            elements = eliminateElementsWithName(arrayName, elements);
+    /**
+     * Writes an element as a JSON object: its attributes, the repeated children as arrays, the other children
+     * and its text. A later member with the same name replaces the value of the earlier one.
+     */
+    private static class JsonObjectWriter {
+        private final JsonWriter jsonWriter;
+        private final boolean includeAttributes;
+        private final String textPropName;
+
+        JsonObjectWriter(final JsonWriter jsonWriter, final boolean includeAttributes, final String textPropName) {
+            this.jsonWriter = jsonWriter;
+            this.includeAttributes = includeAttributes;
+            this.textPropName = textPropName;
         }
-        return elements;
-    }
 
-    private JsonObject addTextProp(final JsonObject jsonObject, final String text, final String textPropName) {
-        if (isNotEmpty(text) && text.matches(".*[a-zA-Z0-9].*")) {
-            jsonObject.addProperty(textPropName, text);
+        void write(final XmlElement element) throws IOException {
+            final Map<String, Object> members = new LinkedHashMap<>();
+            if (includeAttributes) {
+                for (final String[] attribute : element.attributes) {
+                    members.put(JSON_ATTRIBUTE_PREFIX + attribute[0], attribute[1]);
+                }
+            }
+            final Map<String, List<XmlElement>> childrenByName = groupByName(element.children);
+            for (final Map.Entry<String, List<XmlElement>> group : childrenByName.entrySet()) {
+                if (group.getValue().size() > 1) {
+                    members.put(group.getKey(), group.getValue());
+                }
+            }
+            for (final XmlElement child : element.children) {
+                if (childrenByName.get(child.fullName).size() == 1) {
+                    members.put(child.fullName, child.isPrimitive() ? child.getText() : child);
+                }
+            }
+            final String text = element.getText();
+            if (isNotEmpty(text) && TEXT_PATTERN.matcher(text).matches()) {
+                members.put(textPropName, text);
+            }
+
+            jsonWriter.beginObject();
+            for (final Map.Entry<String, Object> member : members.entrySet()) {
+                jsonWriter.name(member.getKey());
+                writeValue(member.getValue());
+            }
+            jsonWriter.endObject();
         }
-        return jsonObject;
-    }
 
-    private void addNamespaces(final List<Namespace> namespaces) {
-        for (final Namespace namespace : namespaces) {
-            if (namespacesUris.length() > 0) {
-                namespacesPrefixes.append(Defaults.DELIMITER);
-                namespacesUris.append(Defaults.DELIMITER);
+        @SuppressWarnings("unchecked")
+        private void writeValue(final Object value) throws IOException {
+            if (value instanceof String) {
+                jsonWriter.value((String) value);
+            } else if (value instanceof XmlElement) {
+                write((XmlElement) value);
+            } else {
+                jsonWriter.beginArray();
+                for (final XmlElement element : (List<XmlElement>) value) {
+                    write(element);
+                }
+                jsonWriter.endArray();
             }
-            namespacesPrefixes.append(namespace.getPrefix());
-            namespacesUris.append(namespace.getURI());
         }
     }
 
-    private JsonObject addAttributesToJsonObject(final JsonObject jsonObject, final List<Attribute> attributes) {
-        for (final Attribute attribute : attributes) {
-            jsonObject.addProperty(JSON_ATTRIBUTE_PREFIX + attribute.getName(), attribute.getValue());
+    /**
+     * An element of the document, with only what the conversion needs.
+     */
+    private static class XmlElement {
+        private final String name;
+        private final String fullName;
+        private List<String[]> attributes = Collections.emptyList();
+        private List<String[]> namespaces = Collections.emptyList();
+        private List<XmlElement> children = Collections.emptyList();
+        private StringBuilder text;
+
+        XmlElement(final String name, final String fullName) {
+            this.name = name;
+            this.fullName = fullName;
         }
-        return jsonObject;
-    }
 
-    @NotNull
-    private String getElementFullName(final Element element) {
-        final StringBuilder name = new StringBuilder(element.getNamespacePrefix());
-        if (!element.getNamespacePrefix().isEmpty())
-            name.append(PREFIX_DELIMITER);
-        name.append(element.getName());
-        return name.toString();
-    }
+        void addChild(final XmlElement child) {
+            if (children.isEmpty()) {
+                children = new ArrayList<>();
+            }
+            children.add(child);
+        }
 
-    private List<String> getElementsFullName(final List<Element> elements) {
-        final List<String> names = new ArrayList<>();
-        for (final Element element : elements) {
-            names.add(getElementFullName(element));
+        void appendText(final char[] ch, final int start, final int length) {
+            if (text == null) {
+                text = new StringBuilder(length);
+            }
+            text.append(ch, start, length);
         }
-        return names;
-    }
 
+        String getText() {
+            return text == null ? EMPTY : text.toString();
+        }
 
-    private boolean isPrimitiveElement(final Element element) {
-        return element.getChildren().isEmpty() && element.getAttributes().isEmpty(); //if it doesn't have child and doesn't have attributes it's primitive.
+        //if it doesn't have child and doesn't have attributes it's primitive.
+        boolean isPrimitive() {
+            return children.isEmpty() && attributes.isEmpty();
+        }
     }
 
-    private List<String> getListOfArrayElementNames(final List<Element> elements) {
-        final List<String> names = new ArrayList<>();
-        final List<String> elementsStr = getElementsFullName(elements);
-        for (final String name : elementsStr) {
-            if (elementsStr.indexOf(name) != elementsStr.lastIndexOf(name) && !names.contains(name)) {
-                names.add(name);
-            }
+    /**
+     * Builds the tree of XmlElement. Recoverable parsing errors fail the conversion, warnings are ignored.
+     */
+    private static class TreeHandler extends DefaultHandler {
+        private final Deque<XmlElement> open = new ArrayDeque<>();
+        private final List<String[]> declaredNamespaces = new ArrayList<>();
+        private XmlElement root;
+
+        @Override
+        public void startPrefixMapping(final String prefix, final String uri) {
+            declaredNamespaces.add(new String[]{prefix, uri});
         }
-        return names;
-    }
 
-    private List<Element> getElementsByName(final String arrayName, final List<Element> elementsToSearch) {
-        final List<Element> elements = new ArrayList<>();
-        for (Element element : elementsToSearch) {
-            if (getElementFullName(element).equals(arrayName)) {
-                elements.add(element);
+        @Override
+        public void startElement(final String uri, final String localName, final String qName, final Attributes atts) {
+            final String prefix = getPrefix(qName);
+            final String name = getLocalName(localName, qName);
+            final XmlElement element = new XmlElement(name, prefix.isEmpty() ? name : prefix + PREFIX_DELIMITER + name);
+
+            if (!declaredNamespaces.isEmpty()) {
+                element.namespaces = new ArrayList<>(declaredNamespaces.size());
+                for (final String[] namespace : declaredNamespaces) {
+                    //the namespace of the element itself is not an additional namespace
+                    if (!namespace[0].equals(prefix) || !namespace[1].equals(StringUtils.defaultString(uri))) {
+                        element.namespaces.add(namespace);
+                    }
+                }
+                declaredNamespaces.clear();
+            }
+            if (atts.getLength() > 0) {
+                element.attributes = new ArrayList<>(atts.getLength());
+                for (int i = 0; i < atts.getLength(); i++) {
+                    final String attQName = atts.getQName(i);
+                    if (!attQName.equals("xmlns") && !attQName.startsWith("xmlns:")) {
+                        element.attributes.add(new String[]{getLocalName(atts.getLocalName(i), attQName), atts.getValue(i)});
+                    }
+                }
+            }
+
+            if (root == null) {
+                root = element;
+            } else {
+                open.peek().addChild(element);
             }
+            open.push(element);
         }
-        return elements;
-    }
 
-    private List<Element> eliminateElementsWithName(final String arrayName, final List<Element> elements) {
-        final List<Element> newElements = new ArrayList<>();
-        for (final Element element : elements) {
-            if (!getElementFullName(element).equals(arrayName)) {
-                newElements.add(element);
+        @Override
+        public void endElement(final String uri, final String localName, final String qName) {
+            open.pop();
+        }
+
+        @Override
+        public void characters(final char[] ch, final int start, final int length) {
+            if (!open.isEmpty()) {
+                open.peek().appendText(ch, start, length);
             }
         }
-        return newElements;
-    }
 
-    public String getNamespacesUris() {
-        return namespacesUris.toString();
-    }
+        @Override
+        public void ignorableWhitespace(final char[] ch, final int start, final int length) {
+            characters(ch, start, length);
+        }
 
-    public String getNamespacesPrefixes() {
-        return namespacesPrefixes.toString();
+        @Override
+        public void error(final SAXParseException e) throws SAXException {
+            throw e;
+        }
+
+        private static String getPrefix(final String qName) {
+            final int colon = qName.indexOf(PREFIX_DELIMITER);
+            return colon < 0 ? EMPTY : qName.substring(0, colon);
+        }
+
+        private static String getLocalName(final String localName, final String qName) {
+            if (isNotEmpty(localName)) {
+                return localName;
+            }
+            final int colon = qName.indexOf(PREFIX_DELIMITER);
+            return colon < 0 ? qName : qName.substring(colon + 1);
+        }
     }
 }
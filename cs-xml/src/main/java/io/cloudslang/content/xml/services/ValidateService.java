@@ -14,18 +14,19 @@ import io.cloudslang.content.xml.entities.inputs.CommonInputs;
 import io.cloudslang.content.xml.entities.inputs.CustomInputs;
 import io.cloudslang.content.xml.utils.Constants;
 import io.cloudslang.content.xml.utils.ResultUtils;
+import io.cloudslang.content.xml.utils.SchemaCache;
+import io.cloudslang.content.xml.utils.XmlFactories;
 import io.cloudslang.content.xml.utils.XmlUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
 
-import javax.xml.XMLConstants;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
-import javax.xml.validation.Validator;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.util.HashMap;
 import java.util.Map;
@@ -45,45 +46,50 @@ import static org.apache.commons.lang3.StringUtils.EMPTY;
  * Created by markowis on 03/03/2016.
  */
 public class ValidateService {
-    private static String getStringValueOfDocument(Document doc) throws TransformerException {
-        return XmlUtils.getStringWriter(doc).toString();
-    }
-
-    private static void validateAgainstXsd(String xmlDocument, String xsdDocument) throws Exception {
-        SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-        Schema schema = schemaFactory.newSchema(new StreamSource(new StringReader(xsdDocument)));
-        Validator validator = schema.newValidator();
-        validator.validate(new StreamSource(new StringReader(xmlDocument)));
+    private static Schema getSchema(CommonInputs commonInputs, CustomInputs customInputs) throws Exception {
+        if (Constants.XSD_PATH.equalsIgnoreCase(customInputs.getXsdDocumentSource())) {
+            return SchemaCache.getSchemaFromFile(customInputs.getXsdDocument(), commonInputs.getSecureProcessing());
+        }
+        if (StringUtils.isNotBlank(customInputs.getXsdDocument())) {
+            return SchemaCache.getSchema(customInputs.getXsdDocument());
+        }
+        return null;
     }
 
-    public Map<String, String> execute(CommonInputs commonInputs, CustomInputs customInputs) {
-        Map<String, String> result = new HashMap<>();
+    /**
+     * Parses the xml document once, validating it against the schema while it is read.
+     */
+    private static void parseAndValidate(CommonInputs commonInputs, Schema schema) throws Exception {
+        XMLReader reader = XmlFactories.getSecureSAXParserFactory(commonInputs.getSecureProcessing()).newSAXParser().getXMLReader();
+        if (schema != null) {
+            reader.setContentHandler(schema.newValidatorHandler());
+        }
 
-        try {
+        if (Constants.XML_PATH.equalsIgnoreCase(commonInputs.getXmlDocumentSource())) {
+            File file = new File(commonInputs.getXmlDocument());
+            try (InputStream inputStream = new FileInputStream(file)) {
+                InputSource inputSource = new InputSource(inputStream);
+                inputSource.setSystemId(file.toURI().toString());
+                reader.parse(inputSource);
+            }
+        } else {
             String xmlDocument;
-            String xsdDocument;
-            if (Constants.XML_PATH.equalsIgnoreCase(commonInputs.getXmlDocumentSource())) {
-                Document doc = XmlUtils.createDocumentFromFile(commonInputs.getXmlDocument(), commonInputs.getSecureProcessing());
-                xmlDocument = getStringValueOfDocument(doc);
-            } else if (Constants.XML_URL.equalsIgnoreCase(commonInputs.getXmlDocumentSource())) {
+            if (Constants.XML_URL.equalsIgnoreCase(commonInputs.getXmlDocumentSource())) {
                 xmlDocument = XmlUtils.createXmlDocumentFromUrl(commonInputs);
             } else {
                 xmlDocument = commonInputs.getXmlDocument();
             }
+            reader.parse(new InputSource(new StringReader(xmlDocument)));
+        }
+    }
 
-            if (Constants.XSD_PATH.equalsIgnoreCase(customInputs.getXsdDocumentSource())) {
-                Document doc = XmlUtils.createDocumentFromFile(customInputs.getXsdDocument(), commonInputs.getSecureProcessing());
-                xsdDocument = getStringValueOfDocument(doc);
-            } else {
-                xsdDocument = customInputs.getXsdDocument();
-            }
-            XmlUtils.parseXmlStringSecurely(xmlDocument, commonInputs.getSecureProcessing());
-            result.put(RETURN_RESULT, PARSING_SUCCESS);
+    public Map<String, String> execute(CommonInputs commonInputs, CustomInputs customInputs) {
+        Map<String, String> result = new HashMap<>();
 
-            if (StringUtils.isNotBlank(xsdDocument)) {
-                validateAgainstXsd(xmlDocument, xsdDocument);
-                result.put(RETURN_RESULT, VALIDATION_SUCCESS);
-            }
+        try {
+            Schema schema = getSchema(commonInputs, customInputs);
+            parseAndValidate(commonInputs, schema);
+            result.put(RETURN_RESULT, schema == null ? PARSING_SUCCESS : VALIDATION_SUCCESS);
 
             result.put(RESULT_TEXT, ResponseNames.SUCCESS);
             result.put(RETURN_CODE, SUCCESS);
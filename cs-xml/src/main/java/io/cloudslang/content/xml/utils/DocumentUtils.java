@@ -14,7 +14,6 @@ import org.apache.xml.serialize.XMLSerializer;
 import org.w3c.dom.Document;
 
 import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.io.StringWriter;
@@ -29,10 +28,7 @@ public class DocumentUtils {
      * @throws ParserConfigurationException
      */
     public static DocumentBuilder createDocumentBuilder(String features) throws ParserConfigurationException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        XmlUtils.setFeatures(factory, features);
-        factory.setNamespaceAware(false);
-        return factory.newDocumentBuilder();
+        return XmlFactories.getDocumentBuilderFactory(features, false).newDocumentBuilder();
     }
 
     /**
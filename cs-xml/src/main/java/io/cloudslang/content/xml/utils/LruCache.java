@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.xml.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A map that removes its least recently used entry when it grows over its maximum size.
+ * It is not synchronized.
+ */
+class LruCache<K, V> extends LinkedHashMap<K, V> {
+    private final int maxSize;
+
+    LruCache(final int maxSize) {
+        super(16, 0.75f, true);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+    }
+}
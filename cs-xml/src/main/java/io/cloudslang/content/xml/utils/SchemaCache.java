@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.xml.utils;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Source;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Keeps the most recently compiled XML schemas. Compiled schemas are thread safe, so the cache is
+ * shared by all the threads.
+ * <p/>
+ * A schema file is identified by its path, its modification time and its size, a schema given as
+ * a string by the SHA-256 hash of its content. Schemas included or imported by a schema are not part of the key.
+ */
+public class SchemaCache {
+    //the number of compiled schemas kept
+    static final int MAX_SCHEMAS = 64;
+
+    private static final Map<String, Schema> SCHEMAS = Collections.synchronizedMap(new LruCache<String, Schema>(MAX_SCHEMAS));
+
+    private SchemaCache() {
+    }
+
+    /**
+     * @param xsdDocument the schema
+     * @return the compiled schema
+     * @throws SAXException if the schema is not valid
+     */
+    public static Schema getSchema(final String xsdDocument) throws SAXException {
+        final String key = TemplatesCache.contentKey("xsd", xsdDocument.getBytes(StandardCharsets.UTF_8));
+        Schema schema = SCHEMAS.get(key);
+        if (schema == null) {
+            schema = compile(new StreamSource(new StringReader(xsdDocument)));
+            SCHEMAS.put(key, schema);
+        }
+        return schema;
+    }
+
+    /**
+     * The schema file is read without DTDs and external entities. Relative includes and imports are
+     * resolved against the location of the file.
+     *
+     * @param xsdPath the path of the schema file
+     * @param secure  if the schema file is read with secure processing
+     * @return the compiled schema
+     * @throws IOException                  if the file cannot be read
+     * @throws SAXException                 if the schema is not valid
+     * @throws ParserConfigurationException if the parser cannot be created
+     */
+    public static Schema getSchemaFromFile(final String xsdPath, final boolean secure)
+            throws IOException, SAXException, ParserConfigurationException {
+        final File file = new File(xsdPath);
+        final String key = TemplatesCache.fileKey("xsd\nsecure=" + secure, file);
+        Schema schema = SCHEMAS.get(key);
+        if (schema == null) {
+            try (InputStream inputStream = new FileInputStream(file)) {
+                final InputSource inputSource = new InputSource(inputStream);
+                inputSource.setSystemId(file.toURI().toString());
+                schema = compile(new SAXSource(XmlFactories.getSecureSAXParserFactory(secure).newSAXParser().getXMLReader(), inputSource));
+            }
+            SCHEMAS.put(key, schema);
+        }
+        return schema;
+    }
+
+    private static Schema compile(final Source source) throws SAXException {
+        return XmlFactories.getSchemaFactory().newSchema(source);
+    }
+
+    static void clear() {
+        SCHEMAS.clear();
+    }
+}
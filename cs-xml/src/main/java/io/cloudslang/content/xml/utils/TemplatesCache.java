@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.xml.utils;
+
+import org.apache.commons.lang3.StringUtils;
+
+import javax.xml.transform.Templates;
+import java.io.File;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Keeps the most recently compiled XSL stylesheets. Compiled Templates are thread safe, so the cache is
+ * shared by all the threads.
+ * <p/>
+ * A stylesheet file is identified by its path, its modification time and its size, any other stylesheet
+ * by the SHA-256 hash of its content. Files included or imported by a stylesheet are not part of the key.
+ */
+public class TemplatesCache {
+    //the number of compiled stylesheets kept
+    static final int MAX_TEMPLATES = 64;
+
+    private static final Map<String, Templates> TEMPLATES = Collections.synchronizedMap(new LruCache<String, Templates>(MAX_TEMPLATES));
+
+    private TemplatesCache() {
+    }
+
+    /**
+     * @return the compiled stylesheet, or null if it is not in the cache
+     */
+    public static Templates get(final String key) {
+        return TEMPLATES.get(key);
+    }
+
+    public static void put(final String key, final Templates templates) {
+        TEMPLATES.put(key, templates);
+    }
+
+    /**
+     * @param features the parsing features the stylesheet is read with
+     * @param content  the stylesheet
+     * @return the key of a stylesheet given as content or as URL
+     */
+    public static String contentKey(final String features, final byte[] content) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return StringUtils.defaultString(features) + "\nsha256:" + String.format("%064x", new BigInteger(1, hash));
+        } catch (NoSuchAlgorithmException e) {
+            //every java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param features the parsing features the stylesheet is read with
+     * @param file     the stylesheet file
+     * @return the key of a stylesheet file, it changes when the file is modified
+     */
+    public static String fileKey(final String features, final File file) {
+        return StringUtils.defaultString(features) + "\nfile:" + file.getAbsolutePath() + ":" + file.lastModified() + ":" + file.length();
+    }
+
+    static void clear() {
+        TEMPLATES.clear();
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.xml.utils;
+
+import io.cloudslang.content.xml.entities.SimpleNamespaceContext;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import java.util.Map;
+
+/**
+ * Keeps the compiled XPath expressions of the most recent queries, keyed by the query and the namespace context.
+ * <p/>
+ * A compiled expression is not thread safe, so every thread has its own cache. The namespace prefixes of a query
+ * are resolved when it is compiled, so only queries with no context or with a SimpleNamespaceContext, which can be
+ * compared, are cached.
+ */
+public class XPathExpressionCache {
+    //the number of compiled expressions kept by a thread
+    static final int MAX_EXPRESSIONS = 256;
+
+    private static final ThreadLocal<Map<Key, XPathExpression>> EXPRESSIONS = new ThreadLocal<Map<Key, XPathExpression>>() {
+        @Override
+        protected Map<Key, XPathExpression> initialValue() {
+            return new LruCache<>(MAX_EXPRESSIONS);
+        }
+    };
+
+    private XPathExpressionCache() {
+    }
+
+    /**
+     * @param context    the namespace context used to resolve the prefixes of the query
+     * @param xPathQuery the query
+     * @return the compiled query
+     * @throws XPathExpressionException if the query can not be compiled
+     */
+    public static XPathExpression getExpression(final NamespaceContext context, final String xPathQuery)
+            throws XPathExpressionException {
+        if (context != null && !(context instanceof SimpleNamespaceContext)) {
+            return compile(context, xPathQuery);
+        }
+        final Map<Key, XPathExpression> expressions = EXPRESSIONS.get();
+        final Key key = new Key(xPathQuery, context);
+        XPathExpression expression = expressions.get(key);
+        if (expression == null) {
+            expression = compile(context, xPathQuery);
+            expressions.put(key, expression);
+        }
+        return expression;
+    }
+
+    private static XPathExpression compile(final NamespaceContext context, final String xPathQuery)
+            throws XPathExpressionException {
+        final XPath xpath = XmlFactories.getXPathFactory().newXPath();
+        if (context != null) {
+            xpath.setNamespaceContext(context);
+        }
+        return xpath.compile(xPathQuery);
+    }
+
+    private static class Key {
+        private final String xPathQuery;
+        private final NamespaceContext context;
+
+        Key(final String xPathQuery, final NamespaceContext context) {
+            this.xPathQuery = xPathQuery;
+            this.context = context;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return xPathQuery.equals(key.xPathQuery) && (context == null ? key.context == null : context.equals(key.context));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * xPathQuery.hashCode() + (context == null ? 0 : context.hashCode());
+        }
+    }
+}
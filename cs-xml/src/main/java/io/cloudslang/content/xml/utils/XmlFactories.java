@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.xml.utils;
+
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.xpath.XPathFactory;
+import java.util.Map;
+
+/**
+ * Keeps the JAXP factories used by the xml operations, so that they are looked up and configured only once.
+ * <p/>
+ * Looking up a factory scans the classpath for an implementation, which costs more than parsing a small document.
+ * The factories are not thread safe, so every thread gets its own instances.
+ */
+public class XmlFactories {
+    //the number of differently configured parser factories of each kind kept by a thread
+    private static final int MAX_DOCUMENT_BUILDER_FACTORIES = 16;
+
+    private static final ThreadLocal<XPathFactory> XPATH_FACTORY = new ThreadLocal<XPathFactory>() {
+        @Override
+        protected XPathFactory initialValue() {
+            return XPathFactory.newInstance();
+        }
+    };
+
+    private static final ThreadLocal<TransformerFactory> TRANSFORMER_FACTORY = new ThreadLocal<TransformerFactory>() {
+        @Override
+        protected TransformerFactory initialValue() {
+            return TransformerFactory.newInstance();
+        }
+    };
+
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = new ThreadLocal<XMLInputFactory>() {
+        @Override
+        protected XMLInputFactory initialValue() {
+            return XMLInputFactory.newInstance();
+        }
+    };
+
+    private static final ThreadLocal<SchemaFactory> SCHEMA_FACTORY = new ThreadLocal<SchemaFactory>() {
+        @Override
+        protected SchemaFactory initialValue() {
+            return SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        }
+    };
+
+    private static final ThreadLocal<Map<String, DocumentBuilderFactory>> DOCUMENT_BUILDER_FACTORIES =
+            new ThreadLocal<Map<String, DocumentBuilderFactory>>() {
+                @Override
+                protected Map<String, DocumentBuilderFactory> initialValue() {
+                    return new LruCache<>(MAX_DOCUMENT_BUILDER_FACTORIES);
+                }
+            };
+
+    private static final ThreadLocal<Map<String, SAXParserFactory>> SAX_PARSER_FACTORIES =
+            new ThreadLocal<Map<String, SAXParserFactory>>() {
+                @Override
+                protected Map<String, SAXParserFactory> initialValue() {
+                    return new LruCache<>(MAX_DOCUMENT_BUILDER_FACTORIES);
+                }
+            };
+
+    private XmlFactories() {
+    }
+
+    public static XPathFactory getXPathFactory() {
+        return XPATH_FACTORY.get();
+    }
+
+    /**
+     * The factory is shared by the operations of the thread, its attributes and its error listener must not be changed.
+     */
+    public static TransformerFactory getTransformerFactory() {
+        return TRANSFORMER_FACTORY.get();
+    }
+
+    public static XMLInputFactory getXMLInputFactory() {
+        return XML_INPUT_FACTORY.get();
+    }
+
+    /**
+     * The factory is shared by the operations of the thread, its features, its error handler and
+     * its resource resolver must not be changed.
+     */
+    public static SchemaFactory getSchemaFactory() {
+        return SCHEMA_FACTORY.get();
+    }
+
+    /**
+     * @param features       parsing features to set on the factory, as accepted by XmlUtils.setFeatures
+     * @param namespaceAware if the documents are parsed with namespaces
+     * @return a factory configured with the features
+     * @throws ParserConfigurationException if a feature is not supported
+     */
+    public static DocumentBuilderFactory getDocumentBuilderFactory(final String features, final boolean namespaceAware)
+            throws ParserConfigurationException {
+        final String key = namespaceAware + "\n" + features;
+        final Map<String, DocumentBuilderFactory> factories = DOCUMENT_BUILDER_FACTORIES.get();
+        DocumentBuilderFactory factory = factories.get(key);
+        if (factory == null) {
+            factory = DocumentBuilderFactory.newInstance();
+            XmlUtils.setFeatures(factory, features);
+            factory.setNamespaceAware(namespaceAware);
+            factories.put(key, factory);
+        }
+        return factory;
+    }
+
+    /**
+     * @param features parsing features to set on the factory, as accepted by XmlUtils.setFeatures
+     * @return a namespace aware factory configured with the features
+     * @throws ParserConfigurationException if a feature is not supported
+     * @throws SAXException                 if a feature is not supported
+     */
+    public static SAXParserFactory getSAXParserFactory(final String features) throws ParserConfigurationException, SAXException {
+        final Map<String, SAXParserFactory> factories = SAX_PARSER_FACTORIES.get();
+        SAXParserFactory factory = factories.get(features);
+        if (factory == null) {
+            factory = SAXParserFactory.newInstance();
+            XmlUtils.setFeatures(factory, features);
+            factory.setNamespaceAware(true);
+            factories.put(features, factory);
+        }
+        return factory;
+    }
+
+    /**
+     * @param secure if the factory uses secure processing
+     * @return a namespace aware factory that does not load external entities, DTDs or XIncludes
+     * @throws ParserConfigurationException if a feature is not supported
+     */
+    public static DocumentBuilderFactory getSecureDocumentBuilderFactory(final boolean secure) throws ParserConfigurationException {
+        final String key = "secure\n" + secure;
+        final Map<String, DocumentBuilderFactory> factories = DOCUMENT_BUILDER_FACTORIES.get();
+        DocumentBuilderFactory factory = factories.get(key);
+        if (factory == null) {
+            factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setXIncludeAware(false);
+            factory.setExpandEntityReferences(false);
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, secure);
+            factories.put(key, factory);
+        }
+        return factory;
+    }
+
+    /**
+     * @param secure if the factory uses secure processing
+     * @return a namespace aware factory that does not load external entities, DTDs or XIncludes
+     * @throws ParserConfigurationException if a feature is not supported
+     * @throws SAXException                 if a feature is not supported
+     */
+    public static SAXParserFactory getSecureSAXParserFactory(final boolean secure) throws ParserConfigurationException, SAXException {
+        final String key = "secure\n" + secure;
+        final Map<String, SAXParserFactory> factories = SAX_PARSER_FACTORIES.get();
+        SAXParserFactory factory = factories.get(key);
+        if (factory == null) {
+            factory = SAXParserFactory.newInstance();
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setXIncludeAware(false);
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, secure);
+            factories.put(key, factory);
+        }
+        return factory;
+    }
+}
@@ -23,12 +23,12 @@ import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
-import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
@@ -36,14 +36,11 @@ import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -89,7 +86,7 @@ public class XmlUtils {
      */
     public static NamespaceContext getNamespaceContext(String xmlString, String xmlFilePath) throws Exception {
         InputStream inputXML = getStream(xmlString, xmlFilePath);
-        XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        XMLInputFactory inputFactory = XmlFactories.getXMLInputFactory();
         XMLStreamReader reader = inputFactory.createXMLStreamReader(inputXML);
         Map<String, String> namespaces = new HashMap<>();
         while (reader.hasNext()) {
@@ -112,22 +109,7 @@ public class XmlUtils {
     }
 
     public static DocumentBuilder getDocumentBuilder(boolean secure) throws ParserConfigurationException {
-        String feature;
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-
-        feature = "http://xml.org/sax/features/external-general-entities";
-        factory.setFeature(feature, false);
-        feature = "http://xml.org/sax/features/external-parameter-entities";
-        factory.setFeature(feature, false);
-        feature = "http://apache.org/xml/features/nonvalidating/load-external-dtd";
-        factory.setFeature(feature, false);
-        feature = "http://apache.org/xml/features/disallow-doctype-decl";
-        factory.setFeature(feature, true);
-        factory.setXIncludeAware(false);
-        factory.setExpandEntityReferences(false);
-        factory.setNamespaceAware(true);
-        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, secure);
-        return factory.newDocumentBuilder();
+        return XmlFactories.getSecureDocumentBuilderFactory(secure).newDocumentBuilder();
     }
 
     /**
@@ -177,11 +159,7 @@ public class XmlUtils {
 
     public static Document parseXmlInputStream(InputStream inputStream, String features) throws Exception {
         Document xmlDocument;
-        DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
-        XmlUtils.setFeatures(builderFactory, features);
-
-        builderFactory.setNamespaceAware(true);
-        DocumentBuilder builder = builderFactory.newDocumentBuilder();
+        DocumentBuilder builder = XmlFactories.getDocumentBuilderFactory(features, true).newDocumentBuilder();
         xmlDocument = builder.parse(inputStream);
         return xmlDocument;
     }
@@ -195,9 +173,7 @@ public class XmlUtils {
      * @throws XPathExpressionException if  xpath exception occurred
      */
     public static NodeList readNode(Document doc, String pathToNode, NamespaceContext ctx) throws XPathExpressionException {
-        XPath xPath = createXpath();
-        xPath.setNamespaceContext(ctx);
-        return (NodeList) xPath.evaluate(pathToNode, doc, XPathConstants.NODESET);
+        return (NodeList) XPathExpressionCache.getExpression(ctx, pathToNode).evaluate(doc, XPathConstants.NODESET);
     }
 
     /**
@@ -223,15 +199,6 @@ public class XmlUtils {
         return node;
     }
 
-    /**
-     * Returns a new instance of XPath.
-     *
-     * @return XPath object
-     */
-    private static XPath createXpath() {
-        return XPathFactory.newInstance().newXPath();
-    }
-
     /**
      * Returns the InputStream representation of a file or string.
      *
@@ -258,8 +225,7 @@ public class XmlUtils {
         DOMSource domSource = new DOMSource(doc);
         StringWriter writer = new StringWriter();
         StreamResult streamResult = new StreamResult(writer);
-        TransformerFactory tf = TransformerFactory.newInstance();
-        Transformer transformer = tf.newTransformer();
+        Transformer transformer = XmlFactories.getTransformerFactory().newTransformer();
         transformer.transform(domSource, streamResult);
         return writer;
     }
@@ -270,10 +236,11 @@ public class XmlUtils {
         return (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
     }
 
+    /**
+     * @return the compiled query, from the cache of the current thread when it was compiled before
+     */
     public static XPathExpression createXPathExpression(NamespaceContext context, String xPathQuery) throws XPathExpressionException {
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        xpath.setNamespaceContext(context);
-        return xpath.compile(xPathQuery);
+        return XPathExpressionCache.getExpression(context, xPathQuery);
     }
 
     public static void validateNodeList(NodeList nodeList) throws Exception {
@@ -285,7 +252,7 @@ public class XmlUtils {
     private static String transformElementNode(Node node) throws TransformerException {
         StringWriter stringWriter = new StringWriter();
 
-        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        Transformer transformer = XmlFactories.getTransformerFactory().newTransformer();
         transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, Constants.YES);
         transformer.setOutputProperty(OutputKeys.INDENT, Constants.YES);
         transformer.transform(new DOMSource(node), new StreamResult(stringWriter));
@@ -359,6 +326,15 @@ public class XmlUtils {
 
     }
 
+    public static void setFeatures(SAXParserFactory reader, String features) throws ParserConfigurationException, SAXException {
+        if (StringUtils.isNotBlank(features)) {
+            Map<String, Boolean> featuresMap = parseFeatures(features);
+            for (String key : featuresMap.keySet()) {
+                reader.setFeature(key, featuresMap.get(key));
+            }
+        }
+    }
+
     public static void setFeatures(SAXBuilder reader, String features) throws SAXException {
         if (!StringUtils.isEmpty(features)) {
             Map<String, Boolean> featuresMap = parseFeatures(features);
@@ -13,7 +13,9 @@ import io.cloudslang.content.xml.utils.Constants;
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.net.URI;
@@ -24,7 +26,9 @@ import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
 import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertTrue;
 
 /**
  * Created by moldovas on 09/21/2016.
@@ -34,6 +38,9 @@ public class ApplyXslTransformationTest {
     private String xml;
     private String xsl;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Before
     public void setUp() throws Exception {
         applyXslTransformation = new ApplyXslTransformation();
@@ -212,4 +219,25 @@ public class ApplyXslTransformationTest {
         assertEquals(FAILURE, result.get(RETURN_CODE));
         assertEquals(result.get(RETURN_RESULT), "XML document structures must start and end within the same entity.");
     }
+
+    @Test
+    public void applyXslTransformationToOutputFile() throws Exception {
+        File outputFile = new File(folder.getRoot(), "result.html");
+        Map<String, String> result = applyXslTransformation.applyXslTransformation(xml, xsl, outputFile.getAbsolutePath(), "");
+        assertEquals(SUCCESS, result.get(RETURN_CODE));
+        assertEquals("Result was written in the output file: " + outputFile.getAbsolutePath(), result.get(RETURN_RESULT));
+        assertTrue(FileUtils.readFileToString(outputFile).contains("key1=value1<br>"));
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void applyXslTransformationInvalidXmlKeepsOutputFile() throws Exception {
+        File outputFile = folder.newFile("result.html");
+        FileUtils.writeStringToFile(outputFile, "previous");
+        Map<String, String> result = applyXslTransformation.applyXslTransformation("<map><entry>", xsl, outputFile.getAbsolutePath(), "");
+        assertEquals(FAILURE, result.get(RETURN_CODE));
+        assertEquals("previous", FileUtils.readFileToString(outputFile));
+        assertEquals(1, folder.getRoot().list().length);
+        assertFalse(new File(folder.getRoot(), "result.html.tmp").exists());
+    }
 }
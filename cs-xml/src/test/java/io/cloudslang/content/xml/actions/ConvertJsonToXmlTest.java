@@ -10,9 +10,13 @@
 package io.cloudslang.content.xml.actions;
 
 import io.cloudslang.content.xml.utils.Constants.Outputs;
+import org.apache.commons.io.FileUtils;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.util.Map;
 
 import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
@@ -30,6 +34,9 @@ import static org.junit.Assert.assertNotNull;
 public class ConvertJsonToXmlTest {
     private ConvertJsonToXml converter;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Before
     public void setUp() throws Exception {
         converter = new ConvertJsonToXml();
@@ -47,7 +54,9 @@ public class ConvertJsonToXmlTest {
                 "",
                 "",
                 "",
-                ",");
+                ",",
+                "",
+                "");
         assertNotNull(result);
         assertNotNull(result.get(RETURN_RESULT));
         assertEquals(result.get(RETURN_CODE), SUCCESS);
@@ -66,7 +75,9 @@ public class ConvertJsonToXmlTest {
                 "",
                 "",
                 "",
-                ",");
+                ",",
+                "",
+                "");
         assertNotNull(result);
         assertNotNull(result.get(RETURN_RESULT));
         assertEquals(result.get(RETURN_CODE), SUCCESS);
@@ -85,7 +96,9 @@ public class ConvertJsonToXmlTest {
                 "",
                 "",
                 "",
-                ",");
+                ",",
+                "",
+                "");
         assertNotNull(result);
         assertNotNull(result.get(RETURN_RESULT));
         assertEquals(result.get(RETURN_CODE), SUCCESS);
@@ -105,7 +118,9 @@ public class ConvertJsonToXmlTest {
                 "",
                 "",
                 "",
-                ",");
+                ",",
+                "",
+                "");
         assertNotNull(result);
         assertNotNull(result.get(RETURN_RESULT));
         assertEquals(result.get(RETURN_CODE), SUCCESS);
@@ -128,7 +143,9 @@ public class ConvertJsonToXmlTest {
                 "http://java.sun.com/jsf/core,urn:x-hp:2012:software:eve:uibinding",
                 "f:properties",
                 "f:property",
-                ",");
+                ",",
+                "",
+                "");
         assertNotNull(result);
         assertNotNull(result.get(RETURN_RESULT));
         assertEquals(result.get(RETURN_CODE), SUCCESS);
@@ -160,7 +177,9 @@ public class ConvertJsonToXmlTest {
                 "",
                 "",
                 "",
-                ",");
+                ",",
+                "",
+                "");
         assertNotNull(result);
         assertNotNull(result.get(RETURN_RESULT));
         assertEquals(result.get(RETURN_CODE), SUCCESS);
@@ -179,7 +198,9 @@ public class ConvertJsonToXmlTest {
                 "",
                 "",
                 "",
-                ",");
+                ",",
+                "",
+                "");
         assertNotNull(result);
         assertNotNull(result.get(RETURN_RESULT));
         assertEquals(result.get(RETURN_CODE), FAILURE);
@@ -198,7 +219,9 @@ public class ConvertJsonToXmlTest {
                 "",
                 "",
                 "",
-                ",");
+                ",",
+                "",
+                "");
         assertNotNull(result);
         assertNotNull(result.get(RETURN_RESULT));
         assertEquals(result.get(RETURN_CODE), FAILURE);
@@ -217,10 +240,207 @@ public class ConvertJsonToXmlTest {
                 "",
                 "",
                 "",
-                ",");
+                ",",
+                "",
+                "");
         assertNotNull(result);
         assertNotNull(result.get(RETURN_RESULT));
         assertEquals(result.get(RETURN_CODE), FAILURE);
         assertEquals(result.get(RETURN_RESULT), "com.google.gson.stream.MalformedJsonException: Expected name at line 1 column 28 path $.items");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testConvertJsonWithAttributesAfterChildElements() {
+        Map<String, String> result = converter.execute(
+                "{\"@id\":\"1\",\"name\":\"value\",\"list\":[{\"key\":\"k\",\"@type\":\"t\"}],\"@size\":2}",
+                "false",
+                "false",
+                "root",
+                "item",
+                "",
+                "",
+                "",
+                "",
+                ",",
+                "",
+                "");
+        assertEquals(SUCCESS, result.get(RETURN_CODE));
+        assertEquals("<root id=\"1\" size=\"2\"><name>value</name><list><item type=\"t\"><key>k</key></item></list></root>",
+                result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonFileToXmlFile() throws Exception {
+        final File jsonFile = folder.newFile("input.json");
+        FileUtils.writeStringToFile(jsonFile, "{\"property\":{\"name1\":\"value1\",\"name2\":[1,2]}}", "UTF-8");
+        final File xmlFile = new File(folder.getRoot(), "output.xml");
+
+        Map<String, String> result = converter.execute(
+                "",
+                "true",
+                "true",
+                "",
+                "",
+                "",
+                "",
+                "",
+                "",
+                ",",
+                jsonFile.getAbsolutePath(),
+                xmlFile.getAbsolutePath());
+        assertEquals(SUCCESS, result.get(RETURN_CODE));
+        assertEquals("Result was written in the output file: " + xmlFile.getAbsolutePath(), result.get(RETURN_RESULT));
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NEW_LINE +
+                "<property>" + NEW_LINE +
+                "  <name1>value1</name1>" + NEW_LINE +
+                "  <name2>" + NEW_LINE +
+                "    <item>1</item>" + NEW_LINE +
+                "    <item>2</item>" + NEW_LINE +
+                "  </name2>" + NEW_LINE +
+                "</property>" + NEW_LINE, FileUtils.readFileToString(xmlFile, "UTF-8"));
+    }
+
+    @Test
+    public void testConvertJsonToXmlAttributes() {
+        final Map<String, String> result = convert("{\"a\":{\"@id\":\"1\",\"@x\":\"q\\\"s<&>\",\"b\":\"t\"}}", "");
+
+        assertEquals(SUCCESS, result.get(RETURN_CODE));
+        assertEquals("<a xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\" id=\"1\" x=\"q&quot;s&lt;&amp;&gt;\"><b>t</b></a>", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlAttributesAfterChildren() {
+        final Map<String, String> result = convert("{\"a\":{\"b\":\"x\",\"@late\":\"y\",\"c\":{\"d\":\"z\",\"@l2\":\"w\"}}}", "root");
+
+        assertEquals("<root xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><a late=\"y\"><b>x</b><c l2=\"w\"><d>z</d></c></a></root>", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlIgnoresAttributesThatAreNotValues() {
+        final Map<String, String> result = convert("{\"a\":{\"@n\":{\"x\":1},\"@m\":[1],\"b\":\"t\"}}", "");
+
+        assertEquals("<a xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><b>t</b></a>", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlNamespaces() {
+        final Map<String, String> result = convert("{\"f:a\":{\"ui:b\":\"1\",\"c\":2}}", "");
+
+        assertEquals("<f:a xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><ui:b>1</ui:b><c>2</c></f:a>", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlPrefixedAttribute() {
+        final Map<String, String> result = convert("{\"f:a\":{\"ui:b\":\"1\",\"@f:at\":\"v\"}}", "root");
+
+        assertEquals(FAILURE, result.get(RETURN_CODE));
+        assertEquals("The name \"f:at\" is not legal for JDOM/XML attributes: Attribute names cannot contain colons.",
+                result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlSingleQuotes() {
+        final Map<String, String> result = convert("{'a':{'@k':'v','b':'x'}}", "");
+
+        assertEquals("<a xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\" k=\"v\"><b>x</b></a>", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlArrays() {
+        final Map<String, String> result = convert("{\"a\":[1,true,null,\"s\",{\"b\":1},[2,3]]}", "");
+
+        assertEquals("<a xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><item>1</item><item>true</item><item>s</item><item><b>1</b></item>" +
+                "<item><item>2</item><item>3</item></item></a>", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlArrayItemNames() {
+        final Map<String, String> result = convert("{\"list\":[{\"x\":1},{\"x\":2}],\"other\":[\"y\"]}", "root");
+
+        assertEquals("<root xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><list><entry><x>1</x></entry><entry><x>2</x></entry></list><other><item>y</item></other></root>",
+                result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlTopLevelArray() {
+        assertEquals("<item xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><a>1</a></item>\n<item xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><b>2</b></item>", convert("[{\"a\":1},{\"b\":2}]", "").get(RETURN_RESULT));
+        assertEquals("<root xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><item><a>1</a></item><item><b>2</b></item></root>", convert("[{\"a\":1},{\"b\":2}]", "root").get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlSeveralTopLevelElements() {
+        assertEquals("<a xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\">1</a>\n<b xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\">2</b>", convert("{\"a\":1,\"b\":2}", "").get(RETURN_RESULT));
+        assertEquals("<root xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><a>1</a><b>2</b></root>", convert("{\"a\":1,\"b\":2}", "root").get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlEscapedCharacters() {
+        final Map<String, String> result = convert("{\"a\":\"<&>\\\"'\\r\\n\\t\\u00e9\"}", "");
+
+        assertEquals("<a xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\">&lt;&amp;&gt;\"' \u00e9</a>", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlEmptyValues() {
+        final Map<String, String> result = convert("{\"a\":{\"b\":{},\"c\":[],\"d\":\"\",\"e\":null}}", "");
+
+        assertEquals("<a xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><b /><c /><d /></a>", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlNumbers() {
+        final Map<String, String> result = convert("{\"a\":{\"n\":1.0,\"e\":1e3,\"z\":-0,\"big\":12345678901234567890}}", "");
+
+        assertEquals("<a xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><n>1.0</n><e>1e3</e><z>0</z><big>12345678901234567890</big></a>", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlTrimsText() {
+        final Map<String, String> result = convert("{\"a\":{\"_text\":\"t\",\"b\":\"  spaced  \"}}", "");
+
+        assertEquals("<a xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\"><_text>t</_text><b>spaced</b></a>", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlIllegalElementName() {
+        final Map<String, String> result = convert("{\"a b\":1}", "");
+
+        assertEquals(FAILURE, result.get(RETURN_CODE));
+        assertEquals("The name \"a b\" is not legal for JDOM/XML elements: XML names cannot contain the character \" \".",
+                result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertJsonToXmlTruncatedJson() {
+        final Map<String, String> result = convert("{\"a\":", "");
+
+        assertEquals(FAILURE, result.get(RETURN_CODE));
+        assertNotNull(result.get(RETURN_RESULT));
+    }
+
+    /**
+     * The pretty printed result of the Gson and JDOM tree conversion that the streaming conversion replaced.
+     */
+    @Test
+    public void testConvertJsonToXmlSameAsTreeConversion() {
+        final Map<String, String> result = converter.execute("{\"f:a\":{\"@id\":\"1\",\"b\":[\"x\",{\"c\":2}]}}", "true", "true",
+                "root", "item", "f,ui", "urn:f,urn:ui", "list", "entry", ",", "", "");
+
+        assertEquals(SUCCESS, result.get(RETURN_CODE));
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<root xmlns:f=\"urn:f\" xmlns:ui=\"urn:ui\">\n" +
+                "  <f:a id=\"1\">\n" +
+                "    <b>\n" +
+                "      <item>x</item>\n" +
+                "      <item>\n" +
+                "        <c>2</c>\n" +
+                "      </item>\n" +
+                "    </b>\n" +
+                "  </f:a>\n" +
+                "</root>\n", result.get(RETURN_RESULT));
+    }
+
+    private Map<String, String> convert(final String json, final String rootTagName) {
+        return converter.execute(json, "false", "false", rootTagName, "item", "f,ui", "urn:f,urn:ui", "list", "entry", ",", "", "");
+    }
+}
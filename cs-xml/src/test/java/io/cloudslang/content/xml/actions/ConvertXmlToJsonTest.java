@@ -12,9 +12,13 @@ package io.cloudslang.content.xml.actions;
 import io.cloudslang.content.constants.BooleanValues;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.utils.BooleanUtilities;
+import org.apache.commons.io.FileUtils;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.util.Map;
 
 import static io.cloudslang.content.constants.BooleanValues.FALSE;
@@ -137,6 +141,9 @@ public class ConvertXmlToJsonTest {
             "}";
     private ConvertXmlToJson convertXmlToJson;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Before
     public void setUp() throws Exception {
         convertXmlToJson = new ConvertXmlToJson();
@@ -144,7 +151,7 @@ public class ConvertXmlToJsonTest {
 
     @Test
     public void testConvertXmlToJsonWithDefaultValues() {
-        Map<String, String> result = convertXmlToJson.execute(XML, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
+        Map<String, String> result = convertXmlToJson.execute(XML, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY);
 
         assertEquals(SUCCESS, result.get(RETURN_CODE));
         assertEquals(JSON, result.get(RETURN_RESULT));
@@ -155,7 +162,7 @@ public class ConvertXmlToJsonTest {
     @SuppressWarnings("Duplicates")
     @Test
     public void testConvertXmlToJsonWithDefaultValuesSpecified() {
-        Map<String, String> result = convertXmlToJson.execute(XML, "_text", TRUE, TRUE, TRUE, EMPTY);
+        Map<String, String> result = convertXmlToJson.execute(XML, "_text", TRUE, TRUE, TRUE, EMPTY, EMPTY, EMPTY);
 
         assertEquals(SUCCESS, result.get(RETURN_CODE));
         assertEquals(JSON, result.get(RETURN_RESULT));
@@ -166,7 +173,7 @@ public class ConvertXmlToJsonTest {
 
     @Test
     public void testConvertXmlToJsonWithInvalidBooleanValues() {
-        Map<String, String> result = convertXmlToJson.execute(XML, "_text", "abc", "abc", "abc", EMPTY);
+        Map<String, String> result = convertXmlToJson.execute(XML, "_text", "abc", "abc", "abc", EMPTY, EMPTY, EMPTY);
 
         assertEquals(ReturnCodes.FAILURE, result.get(RETURN_CODE));
         assertEquals("abc is not a valid value for Boolean", result.get(RETURN_RESULT));
@@ -176,7 +183,7 @@ public class ConvertXmlToJsonTest {
 
     @Test
     public void testConvertXmlToJsonWithNooRootNoPrettyPrintNoAttributes() {
-        Map<String, String> result = convertXmlToJson.execute(XML, "+text", FALSE, FALSE, FALSE, EMPTY);
+        Map<String, String> result = convertXmlToJson.execute(XML, "+text", FALSE, FALSE, FALSE, EMPTY, EMPTY, EMPTY);
 
         assertEquals(SUCCESS, result.get(RETURN_CODE));
         assertEquals(JSON_NO_PRETTY_NO_ROOT_NO_ATTRIBUTES, result.get(RETURN_RESULT));
@@ -186,7 +193,7 @@ public class ConvertXmlToJsonTest {
 
     @Test
     public void testConvertXmlToJsonWithInvalidXml() {
-        Map<String, String> result = convertXmlToJson.execute(XML + "abc", "+text", FALSE, FALSE, FALSE, EMPTY);
+        Map<String, String> result = convertXmlToJson.execute(XML + "abc", "+text", FALSE, FALSE, FALSE, EMPTY, EMPTY, EMPTY);
 
         assertEquals(ReturnCodes.FAILURE, result.get(RETURN_CODE));
         assertEquals("Error on line 12: Content is not allowed in trailing section.", result.get(RETURN_RESULT));
@@ -197,7 +204,7 @@ public class ConvertXmlToJsonTest {
     @SuppressWarnings("Duplicates")
     @Test
     public void testConvertXmlToJsonWithTextElements() {
-        Map<String, String> result = convertXmlToJson.execute(XML_WITH_TEXT, "_text", TRUE, TRUE, TRUE, EMPTY);
+        Map<String, String> result = convertXmlToJson.execute(XML_WITH_TEXT, "_text", TRUE, TRUE, TRUE, EMPTY, EMPTY, EMPTY);
 
         assertEquals(SUCCESS, result.get(RETURN_CODE));
         assertEquals(JSON_WITH_TEXT, result.get(RETURN_RESULT));
@@ -207,7 +214,7 @@ public class ConvertXmlToJsonTest {
 
     @Test
     public void testConvertXmlToJsonSimpleTag() {
-        final Map<String, String> result = convertXmlToJson.execute("<ip>1.2.3.4</ip>", EMPTY, TRUE, FALSE, FALSE, EMPTY);
+        final Map<String, String> result = convertXmlToJson.execute("<ip>1.2.3.4</ip>", EMPTY, TRUE, FALSE, FALSE, EMPTY, EMPTY, EMPTY);
 
         assertEquals(SUCCESS, result.get(RETURN_CODE));
         assertEquals("{\"ip\":\"1.2.3.4\"}", result.get(RETURN_RESULT));
@@ -215,4 +222,129 @@ public class ConvertXmlToJsonTest {
         assertEquals(EMPTY, result.get(NAMESPACES_PREFIXES));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testConvertXmlFileToJsonFile() throws Exception {
+        final File xmlFile = folder.newFile("input.xml");
+        FileUtils.writeStringToFile(xmlFile, XML_WITH_TEXT, "UTF-8");
+        final File jsonFile = new File(folder.getRoot(), "output.json");
+
+        final Map<String, String> result = convertXmlToJson.execute(EMPTY, "_text", TRUE, TRUE, TRUE, EMPTY,
+                xmlFile.getAbsolutePath(), jsonFile.getAbsolutePath());
+
+        assertEquals(SUCCESS, result.get(RETURN_CODE));
+        assertEquals("Result was written in the output file: " + jsonFile.getAbsolutePath(), result.get(RETURN_RESULT));
+        assertEquals(JSON_WITH_TEXT, FileUtils.readFileToString(jsonFile, "UTF-8"));
+        assertEquals("http://java.sun.com/jsf/core,urn:x-hp:2012:software:eve:uibinding", result.get(NAMESPACES_URIS));
+        assertEquals("f,ui", result.get(NAMESPACES_PREFIXES));
+    }
+
+    @Test
+    public void testConvertXmlToJsonWithXmlAndFilePath() {
+        final Map<String, String> result = convertXmlToJson.execute(XML, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, "input.xml", EMPTY);
+
+        assertEquals(ReturnCodes.FAILURE, result.get(RETURN_CODE));
+        assertEquals("Supplied parameters: file path and xml when only one is required", result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertXmlToJsonAttributes() {
+        final String xml = "<r a=\"x &amp; y\" b=\"&lt;q&gt;\" c='single \"dq\"'>t &amp; u</r>";
+
+        assertEquals("{\"r\":{\"@a\":\"x & y\",\"@b\":\"<q>\",\"@c\":\"single \\\"dq\\\"\",\"_text\":\"t & u\"}}",
+                convert(xml, TRUE).get(RETURN_RESULT));
+        assertEquals("{\"r\":{\"_text\":\"t & u\"}}", convert(xml, FALSE).get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertXmlToJsonAttributesOfRepeatedElements() {
+        final String xml = "<r><e id=\"1\"/><e/><e>t</e></r>";
+
+        assertEquals("{\"r\":{\"e\":[{\"@id\":\"1\"},{},{\"_text\":\"t\"}]}}", convert(xml, TRUE).get(RETURN_RESULT));
+        assertEquals("{\"e\":[{},{},{\"_text\":\"t\"}]}", convert(xml, FALSE).get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertXmlToJsonNamespaces() {
+        final String xml = "<r xmlns=\"urn:d\" xmlns:p=\"urn:p\" p:at=\"1\"><p:c>v</p:c><c>w</c><p:c>z</p:c></r>";
+
+        final Map<String, String> result = convert(xml, TRUE);
+        assertEquals(SUCCESS, result.get(RETURN_CODE));
+        assertEquals("{\"r\":{\"@at\":\"1\",\"p:c\":[{\"_text\":\"v\"},{\"_text\":\"z\"}],\"c\":\"w\"}}", result.get(RETURN_RESULT));
+        assertEquals("p", result.get(NAMESPACES_PREFIXES));
+        assertEquals("urn:p", result.get(NAMESPACES_URIS));
+        assertEquals("{\"p:c\":[{\"_text\":\"v\"},{\"_text\":\"z\"}],\"c\":\"w\"}", convert(xml, FALSE).get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertXmlToJsonNamespacesDeclaredOnChildren() {
+        final String xml = "<?xml version=\"1.0\"?>\n<!-- lead --><r><x:a xmlns:x=\"urn:x\"><x:b>1</x:b></x:a><y:a xmlns:y=\"urn:y\"/></r>";
+
+        final Map<String, String> result = convert(xml, TRUE);
+        assertEquals("{\"r\":{\"x:a\":{\"x:b\":\"1\"},\"y:a\":\"\"}}", result.get(RETURN_RESULT));
+        assertEquals(EMPTY, result.get(NAMESPACES_PREFIXES));
+        assertEquals(EMPTY, result.get(NAMESPACES_URIS));
+        assertEquals("{\"x:a\":{\"x:b\":\"1\"},\"y:a\":\"\"}", convert(xml, FALSE).get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertXmlToJsonArrays() {
+        final String xml = "<r><a>1</a><b>2</b><a>3</a><c/><b>4</b></r>";
+
+        assertEquals("{\"r\":{\"a\":[{\"_text\":\"1\"},{\"_text\":\"3\"}],\"b\":[{\"_text\":\"2\"},{\"_text\":\"4\"}],\"c\":\"\"}}",
+                convert(xml, TRUE).get(RETURN_RESULT));
+        assertEquals("{\"a\":[{\"_text\":\"1\"},{\"_text\":\"3\"}],\"b\":[{\"_text\":\"2\"},{\"_text\":\"4\"}],\"c\":\"\"}",
+                convert(xml, FALSE).get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertXmlToJsonArrayOfMixedElements() {
+        final String xml = "<r><a>1</a><a><b>2</b></a><a/></r>";
+
+        assertEquals("{\"r\":{\"a\":[{\"_text\":\"1\"},{\"b\":\"2\"},{}]}}", convert(xml, TRUE).get(RETURN_RESULT));
+        assertEquals("{\"a\":[{\"_text\":\"1\"},{\"b\":\"2\"},{}]}", convert(xml, FALSE).get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertXmlToJsonTextNodes() {
+        final String xml = "<a>text<b>x</b>tail<b>y</b>more</a>";
+
+        assertEquals("{\"a\":{\"b\":[{\"_text\":\"x\"},{\"_text\":\"y\"}],\"_text\":\"texttailmore\"}}", convert(xml, TRUE).get(RETURN_RESULT));
+        assertEquals("{\"b\":[{\"_text\":\"x\"},{\"_text\":\"y\"}],\"_text\":\"texttailmore\"}", convert(xml, FALSE).get(RETURN_RESULT));
+        assertEquals("{\"a\":\"\",\"_text\":\"12\"}", convert("<r>1<a/>2</r>", FALSE).get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertXmlToJsonTextNodesWithCommentsAndCdata() {
+        final String xml = "<r>  <!-- c --><![CDATA[<cd>]]><?pi x?>  <e/>  </r>";
+
+        assertEquals("{\"r\":{\"e\":\"\",\"_text\":\"  <cd>    \"}}", convert(xml, TRUE).get(RETURN_RESULT));
+        assertEquals("{\"e\":\"\",\"_text\":\"  <cd>    \"}", convert(xml, FALSE).get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertXmlToJsonEscapedText() {
+        final String xml = "<r>\u00e9 \"q\" \\ / \t\n</r>";
+
+        assertEquals("{\"r\":\"\u00e9 \\\"q\\\" \\\\ / \\t\\n\"}", convert(xml, FALSE).get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertXmlToJsonNestedElementWithSameName() {
+        final String xml = "<r x=\"1\">t<r>u</r></r>";
+
+        assertEquals("{\"r\":{\"@x\":\"1\",\"r\":\"u\",\"_text\":\"t\"}}", convert(xml, TRUE).get(RETURN_RESULT));
+        assertEquals("{\"r\":\"u\",\"_text\":\"t\"}", convert(xml, FALSE).get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testConvertXmlToJsonUnclosedElement() {
+        final Map<String, String> result = convert("<r><a>1</a>", TRUE);
+
+        assertEquals(ReturnCodes.FAILURE, result.get(RETURN_CODE));
+        assertEquals("Error on line 1: XML document structures must start and end within the same entity.", result.get(RETURN_RESULT));
+    }
+
+    private Map<String, String> convert(final String xml, final String includeRootAndAttributes) {
+        return convertXmlToJson.execute(xml, "_text", includeRootAndAttributes, includeRootAndAttributes, FALSE, EMPTY, EMPTY, EMPTY);
+    }
+}
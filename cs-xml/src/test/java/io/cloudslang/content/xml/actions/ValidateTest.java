@@ -26,6 +26,8 @@ import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
 import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.xml.utils.Constants.ErrorMessages.PARSING_ERROR;
+import static io.cloudslang.content.xml.utils.Constants.XML_PATH;
+import static io.cloudslang.content.xml.utils.Constants.XSD_PATH;
 import static io.cloudslang.content.xml.utils.Constants.Outputs.ERROR_MESSAGE;
 import static io.cloudslang.content.xml.utils.Constants.Outputs.RESULT_TEXT;
 import static io.cloudslang.content.xml.utils.Constants.SuccessMessages.PARSING_SUCCESS;
@@ -107,4 +109,30 @@ public class ValidateTest {
                 "cvc-complex-type.4: Attribute 'someid' must appear on element 'root'.",
                 result.get(ERROR_MESSAGE));
     }
+
+    @Test
+    public void testWithValidXMLFromPath() throws Exception {
+        String xmlPath = new File(getClass().getResource("/xml/valid.xml").toURI()).getAbsolutePath();
+        String xsdPath = new File(getClass().getResource("/xml/test.xsd").toURI()).getAbsolutePath();
+
+        Map<String, String> result = validate.execute(xmlPath, XML_PATH, xsdPath, XSD_PATH, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, FALSE);
+
+        assertEquals(ResponseNames.SUCCESS, result.get(RESULT_TEXT));
+        assertEquals(SUCCESS, result.get(RETURN_CODE));
+        assertEquals(VALIDATION_SUCCESS, result.get(RETURN_RESULT));
+    }
+
+    @Test
+    public void testWithNotValidXMLFromPath() throws Exception {
+        String xmlPath = new File(getClass().getResource("/xml/notValid.xml").toURI()).getAbsolutePath();
+        String xsdPath = new File(getClass().getResource("/xml/test.xsd").toURI()).getAbsolutePath();
+
+        Map<String, String> result = validate.execute(xmlPath, XML_PATH, xsdPath, XSD_PATH, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, EMPTY, FALSE);
+
+        assertEquals(ResponseNames.FAILURE, result.get(RESULT_TEXT));
+        assertEquals(FAILURE, result.get(RETURN_CODE));
+        assertEquals(PARSING_ERROR +
+                "cvc-complex-type.4: Attribute 'someid' must appear on element 'root'.",
+                result.get(ERROR_MESSAGE));
+    }
 }
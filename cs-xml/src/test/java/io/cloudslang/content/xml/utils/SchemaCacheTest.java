@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.xml.utils;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class SchemaCacheTest {
+
+    private static final String XSD = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">" +
+            "<xs:element name=\"root\" type=\"xs:string\"/></xs:schema>";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        SchemaCache.clear();
+    }
+
+    @Test
+    public void testSchemaIsCompiledOnce() throws Exception {
+        assertSame(SchemaCache.getSchema(XSD), SchemaCache.getSchema(new String(XSD)));
+        assertNotSame(SchemaCache.getSchema(XSD), SchemaCache.getSchema(XSD.replace("root", "other")));
+    }
+
+    @Test
+    public void testSchemaFileIsCompiledAgainWhenModified() throws Exception {
+        File xsd = folder.newFile("test.xsd");
+        FileUtils.writeStringToFile(xsd, XSD);
+        String path = xsd.getAbsolutePath();
+        assertSame(SchemaCache.getSchemaFromFile(path, true), SchemaCache.getSchemaFromFile(path, true));
+
+        Object schema = SchemaCache.getSchemaFromFile(path, true);
+        FileUtils.writeStringToFile(xsd, XSD.replace("root", "document"));
+        assertNotSame(schema, SchemaCache.getSchemaFromFile(path, true));
+    }
+}
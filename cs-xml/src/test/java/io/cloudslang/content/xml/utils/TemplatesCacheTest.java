@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.xml.utils;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TemplatesCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testContentKey() {
+        byte[] stylesheet = "<xsl:stylesheet/>".getBytes(StandardCharsets.UTF_8);
+        assertEquals(TemplatesCache.contentKey("", stylesheet), TemplatesCache.contentKey(null, stylesheet.clone()));
+        assertNotEquals(TemplatesCache.contentKey("", stylesheet), TemplatesCache.contentKey("", "<other/>".getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(TemplatesCache.contentKey("", stylesheet),
+                TemplatesCache.contentKey("http://apache.org/xml/features/disallow-doctype-decl true", stylesheet));
+    }
+
+    @Test
+    public void testFileKeyChangesWhenFileIsModified() throws Exception {
+        File stylesheet = folder.newFile("template.xsl");
+        FileUtils.writeStringToFile(stylesheet, "<xsl:stylesheet/>");
+        String key = TemplatesCache.fileKey("", stylesheet);
+        assertEquals(key, TemplatesCache.fileKey("", stylesheet));
+
+        FileUtils.writeStringToFile(stylesheet, "<xsl:stylesheet version=\"1.0\"/>");
+        assertNotEquals(key, TemplatesCache.fileKey("", stylesheet));
+    }
+}
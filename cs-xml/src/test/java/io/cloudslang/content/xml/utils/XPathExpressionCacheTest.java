@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.xml.utils;
+
+import io.cloudslang.content.xml.entities.SimpleNamespaceContext;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.xpath.XPathConstants;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class XPathExpressionCacheTest {
+
+    private static final String XML = "<root xmlns:a=\"urn:a\" xmlns:b=\"urn:b\"><a:item>first</a:item><b:item>second</b:item></root>";
+
+    @Test
+    public void testSameQueryAndNamespacesReuseExpression() throws Exception {
+        assertSame(XPathExpressionCache.getExpression(namespace("urn:a"), "/root/ns:item"),
+                XPathExpressionCache.getExpression(namespace("urn:a"), "/root/ns:item"));
+        assertSame(XPathExpressionCache.getExpression(null, "/root"), XPathExpressionCache.getExpression(null, "/root"));
+    }
+
+    @Test
+    public void testPrefixesResolvedWithTheirOwnNamespaces() throws Exception {
+        Document doc = XmlUtils.parseXmlStringSecurely(XML, true);
+        assertNotSame(XPathExpressionCache.getExpression(namespace("urn:a"), "/root/ns:item"),
+                XPathExpressionCache.getExpression(namespace("urn:b"), "/root/ns:item"));
+        assertEquals("first", XPathExpressionCache.getExpression(namespace("urn:a"), "/root/ns:item").evaluate(doc, XPathConstants.STRING));
+        assertEquals("second", XPathExpressionCache.getExpression(namespace("urn:b"), "/root/ns:item").evaluate(doc, XPathConstants.STRING));
+    }
+
+    private static SimpleNamespaceContext namespace(String uri) {
+        return new SimpleNamespaceContext(Collections.singletonMap("ns", uri));
+    }
+}
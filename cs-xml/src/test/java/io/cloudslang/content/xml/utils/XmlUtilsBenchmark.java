@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * (c) Copyright 2017 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.content.xml.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import javax.xml.namespace.NamespaceContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the steps every xml operation runs on a small document: parsing it, reading its namespaces,
+ * evaluating an XPath query and serializing the selected node.
+ * Run the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class XmlUtilsBenchmark {
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<root xmlns:ns=\"http://cloudslang.io/ns\"><ns:element id=\"1\">first</ns:element>" +
+            "<ns:element id=\"2\">second</ns:element><other>value</other></root>";
+    private static final String XPATH_QUERY = "/root/ns:element[@id='2']";
+
+    @Benchmark
+    public Document parse() throws Exception {
+        return XmlUtils.parseXmlStringSecurely(XML, true);
+    }
+
+    @Benchmark
+    public String xpathQuery() throws Exception {
+        Document doc = XmlUtils.parseXmlStringSecurely(XML, true);
+        NamespaceContext context = XmlUtils.getNamespaceContext(XML, "");
+        NodeList nodeList = XmlUtils.evaluateXPathQuery(doc, context, XPATH_QUERY);
+        return XmlUtils.nodeToString(nodeList.item(0));
+    }
+
+    @Benchmark
+    public String documentToString() throws Exception {
+        return XmlUtils.getStringWriter(XmlUtils.parseXmlStringSecurely(XML, true)).toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(XmlUtilsBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build();
+        new Runner(options).run();
+    }
+}